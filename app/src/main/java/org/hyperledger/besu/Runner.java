@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketService;
 import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogBloomCachingService;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogIndexingService;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolEvictionService;
@@ -79,6 +80,7 @@ public class Runner implements AutoCloseable {
   private final Path dataDir;
   private final Optional<AutoTransactionLogBloomCachingService>
       autoTransactionLogBloomCachingService;
+  private final Optional<AutoTransactionLogIndexingService> autoTransactionLogIndexingService;
 
   /**
    * Instantiates a new Runner.
@@ -98,6 +100,7 @@ public class Runner implements AutoCloseable {
    * @param dataDir the data dir
    * @param pidPath the pid path
    * @param transactionLogBloomCacher the transaction log bloom cacher
+   * @param autoTransactionLogIndexingService the transaction log indexing service
    * @param blockchain the blockchain
    */
   Runner(
@@ -116,6 +119,7 @@ public class Runner implements AutoCloseable {
       final Path dataDir,
       final Optional<Path> pidPath,
       final Optional<TransactionLogBloomCacher> transactionLogBloomCacher,
+      final Optional<AutoTransactionLogIndexingService> autoTransactionLogIndexingService,
       final Blockchain blockchain) {
     this.vertx = vertx;
     this.networkRunner = networkRunner;
@@ -134,6 +138,7 @@ public class Runner implements AutoCloseable {
     this.autoTransactionLogBloomCachingService =
         transactionLogBloomCacher.map(
             cacher -> new AutoTransactionLogBloomCachingService(blockchain, cacher));
+    this.autoTransactionLogIndexingService = autoTransactionLogIndexingService;
     this.transactionPoolEvictionService =
         new TransactionPoolEvictionService(vertx, besuController.getTransactionPool());
   }
@@ -152,6 +157,7 @@ public class Runner implements AutoCloseable {
             waitForServiceToStart(
                 "ipcJsonRpc", service.start().toCompletionStage().toCompletableFuture()));
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::start);
+    autoTransactionLogIndexingService.ifPresent(AutoTransactionLogIndexingService::start);
   }
 
   private void startExternalServicePostMainLoop() {
@@ -209,6 +215,7 @@ public class Runner implements AutoCloseable {
     networkRunner.stop();
     waitForServiceToStop("Network", networkRunner::awaitStop);
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::stop);
+    autoTransactionLogIndexingService.ifPresent(AutoTransactionLogIndexingService::stop);
     natService.stop();
     besuController.close();
     vertx.close((res) -> vertxShutdownLatch.countDown());
@@ -63,6 +63,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.PendingTransactionSubscriptionService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.SyncingSubscriptionService;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogIndexingService;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
@@ -98,6 +100,7 @@ import org.hyperledger.besu.ethereum.permissioning.node.InsufficientPeersPermiss
 import org.hyperledger.besu.ethereum.permissioning.node.NodePermissioningController;
 import org.hyperledger.besu.ethereum.permissioning.node.PeerPermissionsAdapter;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethstats.EthStatsService;
 import org.hyperledger.besu.ethstats.util.EthStatsConnectOptions;
@@ -180,6 +183,7 @@ public class RunnerBuilder {
   private Optional<String> identityString = Optional.empty();
   private BesuPluginContextImpl besuPluginContext;
   private boolean autoLogBloomCaching = true;
+  private boolean logIndexing = false;
   private StorageProvider storageProvider;
   private RpcEndpointServiceImpl rpcEndpointServiceImpl;
   private JsonRpcIpcConfiguration jsonRpcIpcConfiguration;
@@ -515,6 +519,17 @@ public class RunnerBuilder {
     return this;
   }
 
+  /**
+   * Enable the address and topic log index.
+   *
+   * @param logIndexing the log indexing
+   * @return the runner builder
+   */
+  public RunnerBuilder logIndexing(final boolean logIndexing) {
+    this.logIndexing = logIndexing;
+    return this;
+  }
+
   /**
    * Add Storage provider.
    *
@@ -734,6 +749,14 @@ public class RunnerBuilder {
     final MiningCoordinator miningCoordinator = besuController.getMiningCoordinator();
     final MiningConfiguration miningConfiguration = besuController.getMiningParameters();
 
+    final Optional<TransactionLogIndex> transactionLogIndex =
+        logIndexing
+            ? Optional.of(
+                new TransactionLogIndex(
+                    besuController
+                        .getStorageProvider()
+                        .getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.LOG_INDEX)))
+            : Optional.empty();
     final BlockchainQueries blockchainQueries =
         new BlockchainQueries(
             protocolSchedule,
@@ -742,7 +765,8 @@ public class RunnerBuilder {
             Optional.of(dataDir.resolve(CACHE_PATH)),
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
             apiConfiguration,
-            miningConfiguration);
+            miningConfiguration,
+            transactionLogIndex);
 
     final FilterManager filterManager =
         new FilterManagerBuilder()
@@ -1079,6 +1103,12 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        transactionLogIndex.map(
+            logIndex ->
+                new AutoTransactionLogIndexingService(
+                    context.getBlockchain(),
+                    logIndex,
+                    besuController.getProtocolManager().ethContext().getScheduler())),
         context.getBlockchain());
   }
 
@@ -124,6 +124,7 @@ import org.hyperledger.besu.ethereum.p2p.peers.StaticNodesParser;
 import org.hyperledger.besu.ethereum.permissioning.LocalPermissioningConfiguration;
 import org.hyperledger.besu.ethereum.permissioning.PermissioningConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.freezer.FreezerBlockchainStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
@@ -563,6 +564,15 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final Boolean autoLogBloomCachingEnabled = true;
 
+  @Option(
+      names = {"--Xlog-index-enabled"},
+      description =
+          "Enable an index of the addresses and topics of logs, stored in the database and built"
+              + " in the background, to serve eth_getLogs (default: ${DEFAULT-VALUE})",
+      hidden = true,
+      arity = "1")
+  private final Boolean logIndexEnabled = false;
+
   @Option(
       names = {"--override-genesis-config"},
       paramLabel = "NAME=VALUE",
@@ -2040,6 +2050,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .identityString(identityString)
             .besuPluginContext(besuPluginContext)
             .autoLogBloomCaching(autoLogBloomCachingEnabled)
+            .logIndexing(logIndexEnabled)
             .ethstatsOptions(ethstatsOptions)
             .storageProvider(keyValueStorageProvider(keyValueStorageName))
             .rpcEndpointService(rpcEndpointServiceImpl)
@@ -2409,6 +2420,14 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         && !dataStorageConfiguration.getHistoryExpiryPruneEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!logIndexEnabled) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.LOG_INDEX);
+    }
+    // once used, the freezer segment holds the lookups of the blocks moved out of the blockchain
+    if (!dataStorageConfiguration.getBlockFreezerEnabled()
+        && !FreezerBlockchainStorage.isInUse(dataDir())) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.BLOCK_FREEZER);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
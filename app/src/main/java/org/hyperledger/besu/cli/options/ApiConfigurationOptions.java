@@ -94,6 +94,27 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--Xrpc-trace-streaming-enabled"},
+      hidden = true,
+      description =
+          "Set to write debug_traceBlock*, trace_block and trace_filter results to the response as transactions are traced (default: ${DEFAULT-VALUE})")
+  private final Boolean traceStreamingEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--Xrpc-trace-parallel-enabled"},
+      hidden = true,
+      description =
+          "Set to trace the transactions of a block concurrently in debug_traceBlock*, after executing the block once to capture the state before each transaction (default: ${DEFAULT-VALUE})")
+  private final Boolean traceParallelEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--Xrpc-estimate-gas-parallel-simulations"},
+      hidden = true,
+      description =
+          "Number of simulations eth_estimateGas requests can run concurrently to search the gas limit ahead, 0 to search one step at a time (default: ${DEFAULT-VALUE})")
+  private final Integer estimateGasParallelSimulations = 0;
+
   /**
    * Validates the API options.
    *
@@ -101,6 +122,10 @@ public class ApiConfigurationOptions {
    * @param logger Logger instance
    */
   public void validate(final CommandLine commandLine, final Logger logger) {
+    if (estimateGasParallelSimulations < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--Xrpc-estimate-gas-parallel-simulations must not be negative");
+    }
     if (apiGasAndPriorityFeeLimitingEnabled) {
       if (apiGasAndPriorityFeeLowerBoundCoefficient > apiGasAndPriorityFeeUpperBoundCoefficient) {
         throw new CommandLine.ParameterException(
@@ -137,7 +162,10 @@ public class ApiConfigurationOptions {
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .isTraceStreamingEnabled(traceStreamingEnabled)
+            .isTraceParallelEnabled(traceParallelEnabled)
+            .estimateGasParallelSimulations(estimateGasParallelSimulations);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
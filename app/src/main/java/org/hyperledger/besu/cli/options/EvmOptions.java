@@ -29,6 +29,12 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant WORLDSTATE_UPDATE_MODE. */
   public static final String WORLDSTATE_UPDATE_MODE = "--Xevm-worldstate-update-mode";
 
+  /** The constant LIMB_OPERAND_STACK. */
+  public static final String LIMB_OPERAND_STACK = "--Xevm-limb-operand-stack-enabled";
+
+  /** The constant DECODED_CODE. */
+  public static final String DECODED_CODE = "--Xevm-decoded-code-enabled";
+
   /** Default constructor. */
   EvmOptions() {}
 
@@ -63,13 +69,38 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
       EvmConfiguration.WorldUpdaterMode
           .STACKED; // Stacked Updater.  Years of battle tested correctness.
 
+  @CommandLine.Option(
+      names = {LIMB_OPERAND_STACK},
+      description =
+          "Store EVM stack words as primitive long limbs so that arithmetic does not allocate"
+              + " (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private Boolean limbOperandStackEnabled = false;
+
+  @CommandLine.Option(
+      names = {DECODED_CODE},
+      description =
+          "Run legacy code from a decoded form cached with the code, charging the static gas of"
+              + " basic blocks at once. Only applies to the limb operand stack"
+              + " (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private Boolean decodedCodeEnabled = false;
+
   @Override
   public EvmConfiguration toDomainObject() {
-    return new EvmConfiguration(jumpDestCacheWeightKilobytes, worldstateUpdateMode);
+    return new EvmConfiguration(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        limbOperandStackEnabled,
+        decodedCodeEnabled);
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return List.of(JUMPDEST_CACHE_WEIGHT, WORLDSTATE_UPDATE_MODE);
+    return List.of(JUMPDEST_CACHE_WEIGHT, WORLDSTATE_UPDATE_MODE, LIMB_OPERAND_STACK, DECODED_CODE);
   }
 }
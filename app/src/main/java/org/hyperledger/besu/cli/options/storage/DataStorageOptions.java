@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.cli.options.storage;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BLOCK_FREEZER_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -56,6 +57,15 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
           "Convenience option to enable online history pruning and configure BlobDB garbage collection settings (default: ${DEFAULT-VALUE}). \"--Xhistory-expiry-prune\" is deprecated and will be removed in a future release. Use \"--history-expiry-prune\" instead.")
   private Boolean historyExpiryPrune = false;
 
+  @Option(
+      names = "--Xblock-freezer-enabled",
+      hidden = true,
+      description =
+          "Move the headers, bodies and receipts of finalized blocks out of the database into"
+              + " append-only files in the data directory (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Boolean blockFreezerEnabled = DEFAULT_BLOCK_FREEZER_ENABLED;
+
   /**
    * Options specific to path-based storage modes. Holds the necessary parameters to configure
    * path-based storage, such as the Bonsai mode or Verkle in the future.
@@ -99,6 +109,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         PathBasedExtraStorageOptions.fromConfig(
             domainObject.getPathBasedExtraStorageConfiguration());
     dataStorageOptions.historyExpiryPrune = domainObject.getHistoryExpiryPruneEnabled();
+    dataStorageOptions.blockFreezerEnabled = domainObject.getBlockFreezerEnabled();
     return dataStorageOptions;
   }
 
@@ -109,6 +120,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
             .dataStorageFormat(dataStorageFormat)
             .receiptCompactionEnabled(receiptCompactionEnabled)
             .historyExpiryPruneEnabled(historyExpiryPrune)
+            .blockFreezerEnabled(blockFreezerEnabled)
             .pathBasedExtraStorageConfiguration(pathBasedExtraStorageOptions.toDomainObject());
     return builder.build();
   }
@@ -20,10 +20,16 @@ import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConf
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.DEFAULT_TRIE_LOG_PRUNING_WINDOW_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.MINIMUM_TRIE_LOG_RETENTION_LIMIT;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_CODE_USING_CODE_HASH_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_COMPACT_TRIE_LOG_FORMAT_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_FULL_FLAT_DB_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_PARALLEL_STATE_ROOT_COMPUTATION_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_SIMULATION_STATE_CACHE_BLOCKS;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_SIMULATION_STATE_CACHE_SIZE_MB;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.OffHeapTrieNodeCache;
 import org.hyperledger.besu.ethereum.worldstate.ImmutablePathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
@@ -111,6 +117,50 @@ public class PathBasedExtraStorageOptions
             "Enables code storage using code hash instead of by account hash. (default: ${DEFAULT-VALUE})")
     private boolean codeUsingCodeHashEnabled = DEFAULT_CODE_USING_CODE_HASH_ENABLED;
 
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-parallel-state-root-computation-enabled"},
+        arity = "1",
+        description =
+            "Enables concurrent update and commit of the storage tries and of the account trie subtries when computing the state root. (default: ${DEFAULT-VALUE})")
+    private boolean parallelStateRootComputationEnabled =
+        DEFAULT_PARALLEL_STATE_ROOT_COMPUTATION_ENABLED;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-trie-node-cache-size-mb"},
+        paramLabel = "<LONG>",
+        arity = "1",
+        description =
+            "Size in megabytes of the off-heap cache of account and storage trie nodes, 0 to disable it. The JVM must allow at least as much direct memory with -XX:MaxDirectMemorySize. (default: ${DEFAULT-VALUE})")
+    private long trieNodeCacheSizeMb = DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-compact-trie-log-format-enabled"},
+        arity = "1",
+        description =
+            "Enables writing trie logs in a compact format, trie logs in both formats are read. (default: ${DEFAULT-VALUE})")
+    private boolean compactTrieLogFormatEnabled = DEFAULT_COMPACT_TRIE_LOG_FORMAT_ENABLED;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-simulation-state-cache-blocks"},
+        paramLabel = "<INTEGER>",
+        arity = "1",
+        description =
+            "Number of blocks whose state read by eth_call and eth_estimateGas is cached, 0 to disable the cache. (default: ${DEFAULT-VALUE})")
+    private int simulationStateCacheBlocks = DEFAULT_SIMULATION_STATE_CACHE_BLOCKS;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-simulation-state-cache-size-mb"},
+        paramLabel = "<LONG>",
+        arity = "1",
+        description =
+            "Size in megabytes of the state cached for each block by eth_call and eth_estimateGas. (default: ${DEFAULT-VALUE})")
+    private long simulationStateCacheSizeMb = DEFAULT_SIMULATION_STATE_CACHE_SIZE_MB;
+
     /** Default Constructor. */
     Unstable() {}
   }
@@ -133,6 +183,23 @@ public class PathBasedExtraStorageOptions
    */
   public void validate(final CommandLine commandLine, final DataStorageFormat dataStorageFormat) {
     if (DataStorageFormat.BONSAI == dataStorageFormat) {
+      final long maxTrieNodeCacheSizeMb = OffHeapTrieNodeCache.MAX_CAPACITY / (1024 * 1024);
+      if (unstableOptions.trieNodeCacheSizeMb < 0
+          || unstableOptions.trieNodeCacheSizeMb > maxTrieNodeCacheSizeMb) {
+        throw new CommandLine.ParameterException(
+            commandLine,
+            String.format(
+                "--Xbonsai-trie-node-cache-size-mb must be between 0 and %d",
+                maxTrieNodeCacheSizeMb));
+      }
+      if (unstableOptions.simulationStateCacheBlocks < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine, "--Xbonsai-simulation-state-cache-blocks must not be negative");
+      }
+      if (unstableOptions.simulationStateCacheSizeMb < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine, "--Xbonsai-simulation-state-cache-size-mb must not be negative");
+      }
       if (limitTrieLogsEnabled) {
         if (maxLayersToLoad < MINIMUM_TRIE_LOG_RETENTION_LIMIT) {
           throw new CommandLine.ParameterException(
@@ -178,6 +245,16 @@ public class PathBasedExtraStorageOptions
         domainObject.getUnstable().getFullFlatDbEnabled();
     dataStorageOptions.unstableOptions.codeUsingCodeHashEnabled =
         domainObject.getUnstable().getCodeStoredByCodeHashEnabled();
+    dataStorageOptions.unstableOptions.parallelStateRootComputationEnabled =
+        domainObject.getUnstable().getParallelStateRootComputationEnabled();
+    dataStorageOptions.unstableOptions.trieNodeCacheSizeMb =
+        domainObject.getUnstable().getTrieNodeCacheSizeMb();
+    dataStorageOptions.unstableOptions.compactTrieLogFormatEnabled =
+        domainObject.getUnstable().getCompactTrieLogFormatEnabled();
+    dataStorageOptions.unstableOptions.simulationStateCacheBlocks =
+        domainObject.getUnstable().getSimulationStateCacheBlocks();
+    dataStorageOptions.unstableOptions.simulationStateCacheSizeMb =
+        domainObject.getUnstable().getSimulationStateCacheSizeMb();
     dataStorageOptions.isParallelTxProcessingEnabled =
         domainObject.getParallelTxProcessingEnabled();
 
@@ -195,6 +272,12 @@ public class PathBasedExtraStorageOptions
             ImmutablePathBasedExtraStorageConfiguration.PathBasedUnstable.builder()
                 .fullFlatDbEnabled(unstableOptions.fullFlatDbEnabled)
                 .codeStoredByCodeHashEnabled(unstableOptions.codeUsingCodeHashEnabled)
+                .parallelStateRootComputationEnabled(
+                    unstableOptions.parallelStateRootComputationEnabled)
+                .trieNodeCacheSizeMb(unstableOptions.trieNodeCacheSizeMb)
+                .compactTrieLogFormatEnabled(unstableOptions.compactTrieLogFormatEnabled)
+                .simulationStateCacheBlocks(unstableOptions.simulationStateCacheBlocks)
+                .simulationStateCacheSizeMb(unstableOptions.simulationStateCacheSizeMb)
                 .build())
         .build();
   }
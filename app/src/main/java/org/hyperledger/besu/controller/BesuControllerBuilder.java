@@ -79,15 +79,20 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.mainnet.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.freezer.ChainDataFreezer;
+import org.hyperledger.besu.ethereum.storage.freezer.FreezerBlockchainStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.trie.forest.ForestWorldStateArchive;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiArchiveWorldStateProvider;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiWorldStateProvider;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiSimulationStateCache;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiArchiver;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
@@ -109,6 +114,8 @@ import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.services.BesuPluginContextImpl;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.time.Clock;
@@ -195,6 +202,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   /** Manages a cache of bad blocks globally */
   protected final BadBlockManager badBlockManager = new BadBlockManager();
 
+  /** Recovers transaction senders for block import and gossip, created when building */
+  protected TransactionSenderRecovery transactionSenderRecovery;
+
   private int maxRemotelyInitiatedPeers;
 
   /** The Chain pruner configuration. */
@@ -567,6 +577,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     checkNotNull(dataStorageConfiguration, "Missing data storage configuration");
     checkNotNull(besuComponent, "Must supply a BesuComponent");
     prepForBuild();
+    transactionSenderRecovery = new TransactionSenderRecovery(metricsSystem);
 
     final ProtocolSchedule protocolSchedule = createProtocolSchedule();
 
@@ -575,9 +586,15 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final WorldStateStorageCoordinator worldStateStorageCoordinator =
         storageProvider.createWorldStateStorageCoordinator(dataStorageConfiguration);
 
-    final BlockchainStorage blockchainStorage =
+    final BlockchainStorage keyValueBlockchainStorage =
         storageProvider.createBlockchainStorage(
             protocolSchedule, variablesStorage, dataStorageConfiguration);
+    final Optional<FreezerBlockchainStorage> maybeFreezerStorage =
+        createFreezerStorage(keyValueBlockchainStorage, protocolSchedule);
+    final BlockchainStorage blockchainStorage =
+        maybeFreezerStorage
+            .<BlockchainStorage>map(freezerStorage -> freezerStorage)
+            .orElse(keyValueBlockchainStorage);
 
     final var maybeStoredGenesisBlockHash = blockchainStorage.getBlockHash(0L);
 
@@ -597,7 +614,16 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
+            .orElseGet(
+                () ->
+                    new BonsaiCachedMerkleTrieLoader(
+                        metricsSystem,
+                        dataStorageConfiguration
+                                .getPathBasedExtraStorageConfiguration()
+                                .getUnstable()
+                                .getTrieNodeCacheSizeMb()
+                            * 1024
+                            * 1024));
 
     final var worldStateHealerSupplier = new AtomicReference<WorldStateHealer>();
 
@@ -612,13 +638,21 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       genesisState.writeStateTo(worldStateArchive.getWorldState());
     }
 
+    final PathBasedExtraStorageConfiguration.PathBasedUnstable pathBasedUnstable =
+        dataStorageConfiguration.getPathBasedExtraStorageConfiguration().getUnstable();
+    final BonsaiSimulationStateCache simulationStateCache =
+        new BonsaiSimulationStateCache(
+            pathBasedUnstable.getSimulationStateCacheBlocks(),
+            pathBasedUnstable.getSimulationStateCacheSizeMb() * 1024 * 1024);
+    blockchain.observeBlockAdded(simulationStateCache);
     transactionSimulator =
         new TransactionSimulator(
             blockchain,
             worldStateArchive,
             protocolSchedule,
             miningConfiguration,
-            apiConfiguration.getGasCap());
+            apiConfiguration.getGasCap(),
+            simulationStateCache);
 
     final var consensusContext =
         createConsensusContext(blockchain, worldStateArchive, protocolSchedule);
@@ -712,6 +746,26 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       }
     }
 
+    maybeFreezerStorage
+        .filter(__ -> dataStorageConfiguration.getBlockFreezerEnabled())
+        .ifPresent(
+            freezerStorage -> {
+              LOG.info(
+                  "Block freezer enabled, holding {} blocks from block {}",
+                  freezerStorage.getFrozenBlocks(),
+                  freezerStorage.getFirstFrozenBlock());
+              blockchain.observeBlockAdded(
+                  new ChainDataFreezer(
+                      blockchain,
+                      freezerStorage,
+                      MonitoredExecutors.newBoundedThreadPool(
+                          EthScheduler.class.getSimpleName() + "-ChainDataFreezer",
+                          1,
+                          1,
+                          ChainDataFreezer.MAX_FREEZING_THREAD_QUEUE_SIZE,
+                          metricsSystem)));
+            });
+
     final TransactionPool transactionPool =
         TransactionPoolFactory.createTransactionPool(
             protocolSchedule,
@@ -822,6 +876,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final List<Closeable> closeables = new ArrayList<>();
     closeables.add(protocolContext.getWorldStateArchive());
     closeables.add(storageProvider);
+    maybeFreezerStorage.ifPresent(closeables::add);
+    closeables.add(transactionSenderRecovery);
+    closeables.add(bonsaiCachedMerkleTrieLoader);
 
     return new BesuController(
         protocolSchedule,
@@ -1148,6 +1205,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         .withConsensusContext(consensusContext)
         .withBadBlockManager(badBlockManager)
         .withServiceManager(serviceManager)
+        .withTransactionSenderRecovery(transactionSenderRecovery)
         .build();
   }
 
@@ -1177,33 +1235,41 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage =
             worldStateStorageCoordinator.getStrategy(BonsaiWorldStateKeyValueStorage.class);
 
-        yield new BonsaiWorldStateProvider(
-            worldStateKeyValueStorage,
-            blockchain,
-            Optional.of(
-                dataStorageConfiguration
-                    .getPathBasedExtraStorageConfiguration()
-                    .getMaxLayersToLoad()),
-            bonsaiCachedMerkleTrieLoader,
-            besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
-            evmConfiguration,
-            worldStateHealerSupplier);
+        final BonsaiWorldStateProvider worldStateProvider =
+            new BonsaiWorldStateProvider(
+                worldStateKeyValueStorage,
+                blockchain,
+                Optional.of(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getMaxLayersToLoad()),
+                bonsaiCachedMerkleTrieLoader,
+                besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
+                evmConfiguration,
+                worldStateHealerSupplier);
+        configureParallelStateRootComputation(worldStateProvider);
+        configureCompactTrieLogFormat(worldStateProvider);
+        yield worldStateProvider;
       }
       case X_BONSAI_ARCHIVE -> {
         final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage =
             worldStateStorageCoordinator.getStrategy(BonsaiWorldStateKeyValueStorage.class);
 
-        yield new BonsaiArchiveWorldStateProvider(
-            worldStateKeyValueStorage,
-            blockchain,
-            Optional.of(
-                dataStorageConfiguration
-                    .getPathBasedExtraStorageConfiguration()
-                    .getMaxLayersToLoad()),
-            bonsaiCachedMerkleTrieLoader,
-            besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
-            evmConfiguration,
-            worldStateHealerSupplier);
+        final BonsaiWorldStateProvider worldStateProvider =
+            new BonsaiArchiveWorldStateProvider(
+                worldStateKeyValueStorage,
+                blockchain,
+                Optional.of(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getMaxLayersToLoad()),
+                bonsaiCachedMerkleTrieLoader,
+                besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
+                evmConfiguration,
+                worldStateHealerSupplier);
+        configureParallelStateRootComputation(worldStateProvider);
+        configureCompactTrieLogFormat(worldStateProvider);
+        yield worldStateProvider;
       }
       case FOREST -> {
         final WorldStatePreimageStorage preimageStorage =
@@ -1217,6 +1283,85 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     };
   }
 
+  private void configureParallelStateRootComputation(
+      final BonsaiWorldStateProvider worldStateProvider) {
+    worldStateProvider
+        .getWorldStateSharedSpec()
+        .setParallelStateRootComputationEnabled(
+            dataStorageConfiguration
+                .getPathBasedExtraStorageConfiguration()
+                .getUnstable()
+                .getParallelStateRootComputationEnabled());
+  }
+
+  private void configureCompactTrieLogFormat(final BonsaiWorldStateProvider worldStateProvider) {
+    if (dataStorageConfiguration
+        .getPathBasedExtraStorageConfiguration()
+        .getUnstable()
+        .getCompactTrieLogFormatEnabled()) {
+      worldStateProvider.getTrieLogManager().enableCompactTrieLogFormat();
+    }
+  }
+
+  /**
+   * Opens the block freezer if it is enabled, or if it was used before since the blocks it holds
+   * are no longer in the key value store. In the latter case its blocks stay readable but no more
+   * blocks are frozen.
+   */
+  private Optional<FreezerBlockchainStorage> createFreezerStorage(
+      final BlockchainStorage keyValueBlockchainStorage, final ProtocolSchedule protocolSchedule) {
+    final boolean freezerEnabled = dataStorageConfiguration.getBlockFreezerEnabled();
+    final boolean freezerInUse = FreezerBlockchainStorage.isInUse(dataDirectory);
+    final boolean chainDataPruningEnabled =
+        chainPrunerConfiguration.chainPruningEnabled()
+            || dataStorageConfiguration.getHistoryExpiryPruneEnabled();
+    if (!freezerInUse && (!freezerEnabled || chainDataPruningEnabled)) {
+      if (freezerEnabled) {
+        LOG.warn("Block freezer is not compatible with chain data pruning, it will not be enabled");
+      }
+      return Optional.empty();
+    }
+    final FreezerBlockchainStorage freezerStorage;
+    try {
+      freezerStorage =
+          new FreezerBlockchainStorage(
+              keyValueBlockchainStorage,
+              storageProvider.getStorageBySegmentIdentifier(
+                  KeyValueSegmentIdentifier.BLOCK_FREEZER),
+              dataDirectory.resolve(FreezerBlockchainStorage.FREEZER_DIRECTORY),
+              ScheduleBasedBlockHeaderFunctions.create(protocolSchedule),
+              dataStorageConfiguration.getReceiptCompactionEnabled());
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to open the block freezer", e);
+    }
+    final long frozenBlocks = freezerStorage.getFrozenBlocks();
+    if (frozenBlocks > 0 && chainDataPruningEnabled) {
+      closeFreezerStorage(freezerStorage);
+      throw new IllegalStateException(
+          "Block freezer holds "
+              + frozenBlocks
+              + " blocks, chain data pruning cannot be enabled on this data directory");
+    }
+    if (!freezerEnabled || chainDataPruningEnabled) {
+      if (frozenBlocks == 0) {
+        closeFreezerStorage(freezerStorage);
+        return Optional.empty();
+      }
+      LOG.warn(
+          "Block freezer disabled, its {} frozen blocks stay readable but no more are frozen",
+          frozenBlocks);
+    }
+    return Optional.of(freezerStorage);
+  }
+
+  private static void closeFreezerStorage(final FreezerBlockchainStorage freezerStorage) {
+    try {
+      freezerStorage.close();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to close the block freezer", e);
+    }
+  }
+
   private ChainDataPruner createChainPruner(
       final BlockchainStorage blockchainStorage,
       final Runnable unsubscribeRunnable,
@@ -173,7 +173,8 @@ public class ConsensusScheduleBesuControllerBuilder extends BesuControllerBuilde
         worldStateArchive,
         consensusContext.as(MigratingConsensusContext.class),
         badBlockManager,
-        serviceManager);
+        serviceManager,
+        Optional.of(transactionSenderRecovery));
   }
 
   @Override
@@ -22,6 +22,7 @@ import org.hyperledger.besu.cli.options.storage.DataStorageOptions;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.ImmutablePathBasedExtraStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
 import org.junit.jupiter.api.Test;
@@ -138,6 +139,79 @@ public class DataStorageOptionsTest
         "false");
   }
 
+  @Test
+  public void pathbasedParallelStateRootComputationCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getUnstable()
+                        .getParallelStateRootComputationEnabled())
+                .isEqualTo(true),
+        "--Xbonsai-parallel-state-root-computation-enabled",
+        "true");
+  }
+
+  @Test
+  public void pathbasedTrieNodeCacheSizeCanBeSet() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getUnstable()
+                        .getTrieNodeCacheSizeMb())
+                .isEqualTo(8192),
+        "--Xbonsai-trie-node-cache-size-mb",
+        "8192");
+  }
+
+  @Test
+  public void pathbasedCompactTrieLogFormatCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getUnstable()
+                        .getCompactTrieLogFormatEnabled())
+                .isEqualTo(true),
+        "--Xbonsai-compact-trie-log-format-enabled",
+        "true");
+  }
+
+  @Test
+  public void pathbasedTrieNodeCacheSizeShouldNotBeNegative() {
+    internalTestFailure(
+        "--Xbonsai-trie-node-cache-size-mb must be between 0 and 65536",
+        "--Xbonsai-trie-node-cache-size-mb",
+        "-1");
+  }
+
+  @Test
+  public void pathbasedSimulationStateCacheCanBeSized() {
+    internalTestSuccess(
+        dataStorageConfiguration -> {
+          final PathBasedExtraStorageConfiguration.PathBasedUnstable unstable =
+              dataStorageConfiguration.getPathBasedExtraStorageConfiguration().getUnstable();
+          assertThat(unstable.getSimulationStateCacheBlocks()).isEqualTo(8);
+          assertThat(unstable.getSimulationStateCacheSizeMb()).isEqualTo(64);
+        },
+        "--Xbonsai-simulation-state-cache-blocks",
+        "8",
+        "--Xbonsai-simulation-state-cache-size-mb",
+        "64");
+  }
+
+  @Test
+  public void pathbasedSimulationStateCacheBlocksShouldNotBeNegative() {
+    internalTestFailure(
+        "--Xbonsai-simulation-state-cache-blocks must not be negative",
+        "--Xbonsai-simulation-state-cache-blocks",
+        "-1");
+  }
+
   @Test
   public void receiptCompactionCanBeEnabledWithImplicitTrueValue() {
     internalTestSuccess(
@@ -18,9 +18,12 @@ import org.hyperledger.besu.ethereum.ConsensusContext;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.mainnet.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
+import java.util.Optional;
+
 /** The Migrating protocol context. */
 public class MigratingProtocolContext extends ProtocolContext {
 
@@ -34,15 +37,22 @@ public class MigratingProtocolContext extends ProtocolContext {
    * @param migratingConsensusContext the consensus context
    * @param badBlockManager the cache to use to keep invalid blocks
    * @param serviceManager the plugin service manager
+   * @param transactionSenderRecovery the workers recovering transaction senders, if any
    */
   public MigratingProtocolContext(
       final MutableBlockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final MigratingConsensusContext migratingConsensusContext,
       final BadBlockManager badBlockManager,
-      final ServiceManager serviceManager) {
+      final ServiceManager serviceManager,
+      final Optional<TransactionSenderRecovery> transactionSenderRecovery) {
     super(
-        blockchain, worldStateArchive, migratingConsensusContext, badBlockManager, serviceManager);
+        blockchain,
+        worldStateArchive,
+        migratingConsensusContext,
+        badBlockManager,
+        serviceManager,
+        transactionSenderRecovery);
     this.consensusContextSchedule = migratingConsensusContext.getConsensusContextSchedule();
   }
 
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -51,7 +52,8 @@ public class MigratingProtocolContextTest {
             worldStateArchive,
             new MigratingConsensusContext(contextSchedule),
             new BadBlockManager(),
-            new ServiceManager.SimpleServiceManager());
+            new ServiceManager.SimpleServiceManager(),
+            Optional.empty());
 
     assertThat(migratingProtocolContext.getConsensusContext(ConsensusContext.class))
         .isSameAs(context1);
@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares hashing trie nodes with {@link Keccak256} against cloning the Keccak-256 message digest
+ * for every hash, as {@link Hash#keccak256(Bytes)} used to do.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Keccak256Benchmark {
+
+  private static final int BATCH_SIZE = 16;
+
+  // the sizes of an account leaf, a storage leaf, a short branch and a full branch
+  @Param({"32", "110", "200", "532"})
+  public int inputSize;
+
+  private MessageDigest messageDigest;
+  private List<Bytes> inputs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws NoSuchAlgorithmException {
+    messageDigest = MessageDigestFactory.create(MessageDigestFactory.KECCAK256_ALG);
+    final Random random = new Random(1);
+    inputs = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final byte[] input = new byte[inputSize];
+      random.nextBytes(input);
+      inputs.add(Bytes.wrap(input));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void clonedMessageDigest(final Blackhole blackhole) throws CloneNotSupportedException {
+    for (final Bytes input : inputs) {
+      final MessageDigest digest = (MessageDigest) messageDigest.clone();
+      input.update(digest);
+      blackhole.consume(Bytes32.wrap(digest.digest()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void keccak256(final Blackhole blackhole) {
+    for (final Bytes input : inputs) {
+      blackhole.consume(Keccak256.hash(input));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<Bytes32> keccak256Batch() {
+    return Keccak256.hashBatch(inputs);
+  }
+}
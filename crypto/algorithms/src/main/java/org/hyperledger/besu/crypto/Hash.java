@@ -15,12 +15,12 @@
 package org.hyperledger.besu.crypto;
 
 import static org.hyperledger.besu.crypto.MessageDigestFactory.BLAKE2BF_ALG;
-import static org.hyperledger.besu.crypto.MessageDigestFactory.KECCAK256_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.RIPEMD160_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.SHA256_ALG;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.function.Supplier;
 
 import com.google.common.base.Suppliers;
@@ -31,8 +31,6 @@ import org.apache.tuweni.bytes.Bytes32;
 public abstract class Hash {
   private Hash() {}
 
-  private static final Supplier<MessageDigest> KECCAK256_SUPPLIER =
-      Suppliers.memoize(() -> messageDigest(KECCAK256_ALG));
   private static final Supplier<MessageDigest> SHA256_SUPPLIER =
       Suppliers.memoize(() -> messageDigest(SHA256_ALG));
   private static final Supplier<MessageDigest> RIPEMD160_SUPPLIER =
@@ -83,7 +81,17 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final Bytes input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_SUPPLIER));
+    return Keccak256.hash(input);
+  }
+
+  /**
+   * Digest many inputs using keccak-256 in one call.
+   *
+   * @param inputs The input bytes to produce the digests for.
+   * @return The digests, in the order of the inputs.
+   */
+  public static List<Bytes32> keccak256Batch(final List<? extends Bytes> inputs) {
+    return Keccak256.hashBatch(inputs);
   }
 
   /**
@@ -0,0 +1,293 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Keccak-256, as used by Ethereum, hashing byte arrays in place.
+ *
+ * <p>Unlike a {@link java.security.MessageDigest}, which has to be cloned for every hash, the
+ * sponge state is kept per thread and reset between hashes, and the input is absorbed a lane at a
+ * time straight from the given array, so that hashing allocates nothing but the digest.
+ */
+public final class Keccak256 {
+
+  /** The size of a digest, in bytes. */
+  public static final int DIGEST_SIZE = 32;
+
+  private static final int RATE = 136;
+  private static final int RATE_LANES = RATE / Long.BYTES;
+  private static final int STATE_LANES = 25;
+
+  private static final long[] ROUND_CONSTANTS = {
+    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+    0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+    0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+    0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+  };
+
+  private static final VarHandle LANE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final ThreadLocal<long[]> STATE =
+      ThreadLocal.withInitial(() -> new long[STATE_LANES]);
+
+  private Keccak256() {}
+
+  /**
+   * Hashes some bytes.
+   *
+   * @param input the bytes to hash, read in place when they wrap a whole array
+   * @return the digest
+   */
+  public static Bytes32 hash(final Bytes input) {
+    final byte[] digest = new byte[DIGEST_SIZE];
+    final byte[] bytes = input.toArrayUnsafe();
+    hash(STATE.get(), bytes, 0, bytes.length, digest, 0);
+    return Bytes32.wrap(digest);
+  }
+
+  /**
+   * Hashes a slice of an array into another array.
+   *
+   * @param input the array holding the bytes to hash
+   * @param offset the offset of the bytes to hash
+   * @param length the number of bytes to hash
+   * @param output the array to write the digest to
+   * @param outputOffset the offset to write the digest at
+   */
+  public static void hash(
+      final byte[] input,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    hash(STATE.get(), input, offset, length, output, outputOffset);
+  }
+
+  /**
+   * Hashes many inputs in one call, writing their digests one after the other to a single array.
+   *
+   * @param inputs the bytes to hash
+   * @return the digests, in the order of the inputs
+   */
+  public static List<Bytes32> hashBatch(final List<? extends Bytes> inputs) {
+    final long[] state = STATE.get();
+    final byte[] digests = new byte[inputs.size() * DIGEST_SIZE];
+    final List<Bytes32> hashes = new ArrayList<>(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      final byte[] bytes = inputs.get(i).toArrayUnsafe();
+      hash(state, bytes, 0, bytes.length, digests, i * DIGEST_SIZE);
+      hashes.add(Bytes32.wrap(digests, i * DIGEST_SIZE));
+    }
+    return hashes;
+  }
+
+  private static void hash(
+      final long[] state,
+      final byte[] input,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    Arrays.fill(state, 0L);
+    int position = offset;
+    int remaining = length;
+    while (remaining >= RATE) {
+      for (int lane = 0; lane < RATE_LANES; lane++) {
+        state[lane] ^= (long) LANE.get(input, position + lane * Long.BYTES);
+      }
+      permute(state);
+      position += RATE;
+      remaining -= RATE;
+    }
+
+    // the last block is padded with a 1 bit after the input and a 1 bit at the end of the rate
+    int lane = 0;
+    for (; remaining >= Long.BYTES; lane++) {
+      state[lane] ^= (long) LANE.get(input, position);
+      position += Long.BYTES;
+      remaining -= Long.BYTES;
+    }
+    long last = 0x01L << (remaining * Byte.SIZE);
+    for (int i = 0; i < remaining; i++) {
+      last |= (input[position + i] & 0xFFL) << (i * Byte.SIZE);
+    }
+    state[lane] ^= last;
+    state[RATE_LANES - 1] ^= 0x8000000000000000L;
+    permute(state);
+
+    for (int i = 0; i < DIGEST_SIZE / Long.BYTES; i++) {
+      LANE.set(output, outputOffset + i * Long.BYTES, state[i]);
+    }
+  }
+
+  private static void permute(final long[] state) {
+    long a00 = state[0], a01 = state[1], a02 = state[2], a03 = state[3], a04 = state[4];
+    long a05 = state[5], a06 = state[6], a07 = state[7], a08 = state[8], a09 = state[9];
+    long a10 = state[10], a11 = state[11], a12 = state[12], a13 = state[13], a14 = state[14];
+    long a15 = state[15], a16 = state[16], a17 = state[17], a18 = state[18], a19 = state[19];
+    long a20 = state[20], a21 = state[21], a22 = state[22], a23 = state[23], a24 = state[24];
+
+    for (int round = 0; round < ROUND_CONSTANTS.length; round++) {
+      // theta
+      long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+      long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+      final long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+      final long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+      final long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+
+      final long d0 = Long.rotateLeft(c1, 1) ^ c4;
+      final long d1 = Long.rotateLeft(c2, 1) ^ c0;
+      final long d2 = Long.rotateLeft(c3, 1) ^ c1;
+      final long d3 = Long.rotateLeft(c4, 1) ^ c2;
+      final long d4 = Long.rotateLeft(c0, 1) ^ c3;
+
+      a00 ^= d0;
+      a05 ^= d0;
+      a10 ^= d0;
+      a15 ^= d0;
+      a20 ^= d0;
+      a01 ^= d1;
+      a06 ^= d1;
+      a11 ^= d1;
+      a16 ^= d1;
+      a21 ^= d1;
+      a02 ^= d2;
+      a07 ^= d2;
+      a12 ^= d2;
+      a17 ^= d2;
+      a22 ^= d2;
+      a03 ^= d3;
+      a08 ^= d3;
+      a13 ^= d3;
+      a18 ^= d3;
+      a23 ^= d3;
+      a04 ^= d4;
+      a09 ^= d4;
+      a14 ^= d4;
+      a19 ^= d4;
+      a24 ^= d4;
+
+      // rho and pi, following the cycle of the lane positions from lane 1
+      c1 = Long.rotateLeft(a01, 1);
+      a01 = Long.rotateLeft(a06, 44);
+      a06 = Long.rotateLeft(a09, 20);
+      a09 = Long.rotateLeft(a22, 61);
+      a22 = Long.rotateLeft(a14, 39);
+      a14 = Long.rotateLeft(a20, 18);
+      a20 = Long.rotateLeft(a02, 62);
+      a02 = Long.rotateLeft(a12, 43);
+      a12 = Long.rotateLeft(a13, 25);
+      a13 = Long.rotateLeft(a19, 8);
+      a19 = Long.rotateLeft(a23, 56);
+      a23 = Long.rotateLeft(a15, 41);
+      a15 = Long.rotateLeft(a04, 27);
+      a04 = Long.rotateLeft(a24, 14);
+      a24 = Long.rotateLeft(a21, 2);
+      a21 = Long.rotateLeft(a08, 55);
+      a08 = Long.rotateLeft(a16, 45);
+      a16 = Long.rotateLeft(a05, 36);
+      a05 = Long.rotateLeft(a03, 28);
+      a03 = Long.rotateLeft(a18, 21);
+      a18 = Long.rotateLeft(a17, 15);
+      a17 = Long.rotateLeft(a11, 10);
+      a11 = Long.rotateLeft(a07, 6);
+      a07 = Long.rotateLeft(a10, 3);
+      a10 = c1;
+
+      // chi
+      c0 = a00 ^ (~a01 & a02);
+      c1 = a01 ^ (~a02 & a03);
+      a02 ^= ~a03 & a04;
+      a03 ^= ~a04 & a00;
+      a04 ^= ~a00 & a01;
+      a00 = c0;
+      a01 = c1;
+
+      c0 = a05 ^ (~a06 & a07);
+      c1 = a06 ^ (~a07 & a08);
+      a07 ^= ~a08 & a09;
+      a08 ^= ~a09 & a05;
+      a09 ^= ~a05 & a06;
+      a05 = c0;
+      a06 = c1;
+
+      c0 = a10 ^ (~a11 & a12);
+      c1 = a11 ^ (~a12 & a13);
+      a12 ^= ~a13 & a14;
+      a13 ^= ~a14 & a10;
+      a14 ^= ~a10 & a11;
+      a10 = c0;
+      a11 = c1;
+
+      c0 = a15 ^ (~a16 & a17);
+      c1 = a16 ^ (~a17 & a18);
+      a17 ^= ~a18 & a19;
+      a18 ^= ~a19 & a15;
+      a19 ^= ~a15 & a16;
+      a15 = c0;
+      a16 = c1;
+
+      c0 = a20 ^ (~a21 & a22);
+      c1 = a21 ^ (~a22 & a23);
+      a22 ^= ~a23 & a24;
+      a23 ^= ~a24 & a20;
+      a24 ^= ~a20 & a21;
+      a20 = c0;
+      a21 = c1;
+
+      // iota
+      a00 ^= ROUND_CONSTANTS[round];
+    }
+
+    state[0] = a00;
+    state[1] = a01;
+    state[2] = a02;
+    state[3] = a03;
+    state[4] = a04;
+    state[5] = a05;
+    state[6] = a06;
+    state[7] = a07;
+    state[8] = a08;
+    state[9] = a09;
+    state[10] = a10;
+    state[11] = a11;
+    state[12] = a12;
+    state[13] = a13;
+    state[14] = a14;
+    state[15] = a15;
+    state[16] = a16;
+    state[17] = a17;
+    state[18] = a18;
+    state[19] = a19;
+    state[20] = a20;
+    state[21] = a21;
+    state[22] = a22;
+    state[23] = a23;
+    state[24] = a24;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.junit.jupiter.api.Test;
+
+public class Keccak256Test {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void hashesTheEmptyInput() {
+    assertThat(Keccak256.hash(Bytes.EMPTY))
+        .isEqualTo(
+            Bytes.fromHexString(
+                "c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470"));
+  }
+
+  @Test
+  public void hashesLikeTheMessageDigestAcrossBlockBoundaries() {
+    for (int length = 0; length <= 3 * 136 + 1; length++) {
+      final Bytes input = randomBytes(length);
+      assertThat(Keccak256.hash(input)).isEqualTo(messageDigestKeccak256(input));
+    }
+  }
+
+  @Test
+  public void hashesSlicesOfArraysInPlace() {
+    final byte[] input = randomBytes(300).toArrayUnsafe();
+    final byte[] output = new byte[40];
+    Keccak256.hash(input, 17, 200, output, 8);
+
+    assertThat(Bytes.wrap(output, 8, Keccak256.DIGEST_SIZE))
+        .isEqualTo(messageDigestKeccak256(Bytes.wrap(input, 17, 200)));
+  }
+
+  @Test
+  public void hashesBatchesInOrder() {
+    final List<Bytes> inputs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      inputs.add(randomBytes(i * 31));
+    }
+
+    final List<Bytes32> hashes = Keccak256.hashBatch(inputs);
+
+    assertThat(hashes).hasSize(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      assertThat(hashes.get(i)).isEqualTo(messageDigestKeccak256(inputs.get(i)));
+    }
+  }
+
+  private Bytes randomBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  private static Bytes messageDigestKeccak256(final Bytes input) {
+    final MessageDigest digest = new Keccak.Digest256();
+    input.update(digest);
+    return Bytes.wrap(digest.digest());
+  }
+}
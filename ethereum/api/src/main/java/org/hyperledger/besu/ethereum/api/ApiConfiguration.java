@@ -157,4 +157,39 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  /**
+   * Returns whether block traces are written to the response as transactions are traced, instead
+   * of being built in memory first. Default value is false.
+   *
+   * @return true if block traces are streamed, false otherwise
+   */
+  @Value.Default
+  public boolean isTraceStreamingEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns whether the transactions of a block are traced concurrently by the debug_traceBlock*
+   * methods, each from a snapshot of the state before it. Default value is false.
+   *
+   * @return true if block traces are built in parallel, false otherwise
+   */
+  @Value.Default
+  public boolean isTraceParallelEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns the number of simulations that eth_estimateGas can run ahead of its binary search, on
+   * top of the ones the requests run themselves. Each request takes two of them at a time while
+   * they are available, and otherwise searches one step at a time. Default value is 0, which
+   * disables searching ahead.
+   *
+   * @return the number of simulations run ahead by eth_estimateGas
+   */
+  @Value.Default
+  public int getEstimateGasParallelSimulations() {
+    return 0;
+  }
 }
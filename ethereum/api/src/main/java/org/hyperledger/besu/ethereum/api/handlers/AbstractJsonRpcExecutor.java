@@ -22,7 +22,9 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingResult;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -126,6 +128,14 @@ public abstract class AbstractJsonRpcExecutor {
     T get() throws Exception;
   }
 
+  protected static void traceResponse(final JsonRpcResponse response) {
+    // a streaming result does its work while it is written, so it is only written to the client
+    if (!(response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamingResult)) {
+      lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
+    }
+  }
+
   protected static void lazyTraceLogger(
       final ExceptionThrowingSupplier<String> logMessageSupplier) {
     if (LOG.isTraceEnabled()) {
@@ -53,10 +53,15 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
     HttpServerResponse response = prepareHttpResponse(ctx);
     final JsonArray batchJsonRequest = getRequestBodyAsJsonArray(ctx);
     if (isBatchSizeValid(batchJsonRequest)) {
-      try (final JsonResponseStreamer streamer =
-          new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
+      final JsonResponseStreamer streamer =
+          new JsonResponseStreamer(response, ctx.request().remoteAddress());
+      try {
         executeRpcRequestBatch(batchJsonRequest, streamer);
+      } catch (final IOException | RuntimeException e) {
+        streamer.abort();
+        throw e;
       }
+      streamer.close();
     } else {
       handleJsonRpcError(ctx, null, RpcErrorType.EXCEEDS_RPC_MAX_BATCH_SIZE);
     }
@@ -71,13 +76,15 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
   public void executeRpcRequestBatch(
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
+      // the streamer is closed by the caller, which aborts it instead if the batch fails
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
       generator.writeStartArray();
       for (int i = 0; i < rpcRequestBatch.size(); i++) {
         JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
         if (response.getType() != RpcResponseType.NONE) {
           generator.writeObject(response);
         }
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
+        traceResponse(response);
       }
       generator.writeEndArray();
     }
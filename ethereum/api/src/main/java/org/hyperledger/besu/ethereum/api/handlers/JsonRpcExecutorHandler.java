@@ -89,7 +89,13 @@ public class JsonRpcExecutorHandler {
 
   private static void handleErrorAndEndResponse(
       final RoutingContext ctx, final Object id, final RpcErrorType errorType) {
-    if (!ctx.response().ended()) {
+    if (ctx.response().ended()) {
+      return;
+    }
+    if (ctx.response().headWritten()) {
+      // part of a streamed response has been sent, so no error can follow it
+      ctx.response().reset();
+    } else {
       handleJsonRpcError(ctx, id, errorType);
     }
   }
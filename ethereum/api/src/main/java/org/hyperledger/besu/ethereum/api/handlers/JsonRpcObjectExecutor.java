@@ -73,12 +73,17 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
     if (jsonRpcResponse.getType() == RpcResponseType.NONE) {
       response.end();
     } else {
-      try (final JsonResponseStreamer streamer =
-          new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
-        // underlying output stream lifecycle is managed by the json object writer
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
+      traceResponse(jsonRpcResponse);
+      final JsonResponseStreamer streamer =
+          new JsonResponseStreamer(response, ctx.request().remoteAddress());
+      try {
         jsonObjectWriter.writeValue(streamer, jsonRpcResponse);
+      } catch (final IOException | RuntimeException e) {
+        // a partly written response is not ended as if it were complete
+        streamer.abort();
+        throw e;
       }
+      streamer.close();
     }
   }
 
@@ -97,7 +102,7 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
             : getJsonObjectMapper().writer();
     return writer
         .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
-        .with(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
 
   private static HttpResponseStatus statusCodeFromError(final RpcErrorType error) {
@@ -61,6 +61,7 @@ public class JsonResponseStreamer extends OutputStream {
       chunked = true;
     }
 
+    WriteQueueBackpressure.awaitDrain(response, () -> !response.closed());
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
@@ -74,6 +75,23 @@ public class JsonResponseStreamer extends OutputStream {
     }
   }
 
+  /**
+   * Ends a response that failed while it was being written. Once part of it has been sent the
+   * connection is reset, so that the client does not take the partial response for a complete one.
+   *
+   * @return true if part of the response had already been sent
+   */
+  public boolean abort() {
+    if (closed) {
+      return false;
+    }
+    closed = true;
+    if (chunked) {
+      response.reset();
+    }
+    return chunked;
+  }
+
   private void stopOnFailureOrClosed() throws IOException {
     if (closed) {
       throw new IOException("Stream closed");
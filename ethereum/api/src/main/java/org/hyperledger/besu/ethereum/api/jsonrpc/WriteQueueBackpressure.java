@@ -0,0 +1,66 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * Pauses a worker writing a response while the write queue of the connection is full, so that a
+ * streamed response is produced no faster than the client reads it rather than being queued in
+ * memory in full.
+ */
+public final class WriteQueueBackpressure {
+  private static final long DRAIN_CHECK_INTERVAL_MILLIS = 100;
+
+  private WriteQueueBackpressure() {}
+
+  /**
+   * Blocks until the write queue of the stream has drained, the stream is no longer open or the
+   * thread is interrupted. Returns at once on an event loop thread, which must never block.
+   *
+   * @param stream the stream the response is written to
+   * @param isOpen whether the stream can still be written to
+   * @throws IOException if interrupted while waiting
+   */
+  public static void awaitDrain(final WriteStream<Buffer> stream, final BooleanSupplier isOpen)
+      throws IOException {
+    if (!stream.writeQueueFull() || Context.isOnEventLoopThread()) {
+      return;
+    }
+    final CountDownLatch drained = new CountDownLatch(1);
+    stream.drainHandler(__ -> drained.countDown());
+    try {
+      // the drain may happen before the handler is set, so the queue is checked again on a timer
+      while (stream.writeQueueFull() && isOpen.getAsBoolean()) {
+        if (drained.await(DRAIN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the client to read");
+    } finally {
+      stream.drainHandler(null);
+    }
+  }
+}
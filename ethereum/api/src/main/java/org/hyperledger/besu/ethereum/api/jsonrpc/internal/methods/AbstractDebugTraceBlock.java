@@ -54,12 +54,39 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
   private final LabelledMetric<Counter> outputCounter;
   private final Supplier<BlockchainQueries> blockchainQueriesSupplier;
   private final EthScheduler ethScheduler;
+  private final Optional<DebugTraceBlockStreamer> maybeStreamer;
+  private final Optional<DebugTraceBlockParallelTracer> maybeParallelTracer;
 
   public AbstractDebugTraceBlock(
       final ProtocolSchedule protocolSchedule,
       final BlockchainQueries blockchainQueries,
       final ObservableMetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
+    this(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, false);
+  }
+
+  public AbstractDebugTraceBlock(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled) {
+    this(
+        protocolSchedule,
+        blockchainQueries,
+        metricsSystem,
+        ethScheduler,
+        traceStreamingEnabled,
+        false);
+  }
+
+  public AbstractDebugTraceBlock(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled,
+      final boolean traceParallelEnabled) {
     this.blockchainQueriesSupplier = Suppliers.ofInstance(blockchainQueries);
     this.protocolSchedule = protocolSchedule;
     this.outputCounter =
@@ -70,6 +97,22 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
             "step",
             "action");
     this.ethScheduler = ethScheduler;
+    this.maybeStreamer =
+        traceStreamingEnabled
+            ? Optional.of(
+                new DebugTraceBlockStreamer(
+                    protocolSchedule,
+                    blockchainQueries,
+                    ethScheduler,
+                    outputCounter,
+                    "debug_trace_block"))
+            : Optional.empty();
+    this.maybeParallelTracer =
+        traceParallelEnabled
+            ? Optional.of(
+                new DebugTraceBlockParallelTracer(
+                    protocolSchedule, blockchainQueries, ethScheduler))
+            : Optional.empty();
   }
 
   protected BlockchainQueries getBlockchainQueries() {
@@ -82,7 +125,7 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
       traceOptions =
           requestContext
               .getOptionalParameter(1, TransactionTraceParams.class)
-              .map(TransactionTraceParams::traceOptions)
+              .map(TransactionTraceParams::structLogTraceOptions)
               .orElse(TraceOptions.DEFAULT);
     } catch (JsonRpcParameter.JsonRpcParameterException e) {
       throw new InvalidJsonRpcParameters(
@@ -93,6 +136,34 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
     return traceOptions;
   }
 
+  /**
+   * Gets the result tracing a block, which is written to the response as the block is traced when
+   * trace streaming is enabled. Otherwise, the transactions are traced concurrently when parallel
+   * tracing is enabled.
+   *
+   * @param requestContext the request
+   * @param traceOptions the options of the trace
+   * @param maybeBlock the block to trace
+   * @return the traces of the block, null if the block is missing
+   */
+  protected Object getTracesResult(
+      final JsonRpcRequestContext requestContext,
+      final TraceOptions traceOptions,
+      final Optional<Block> maybeBlock) {
+    if (maybeStreamer.isPresent()) {
+      return maybeBlock
+          .map(
+              block -> (Object) maybeStreamer.get().traceBlock(requestContext, block, traceOptions))
+          .orElse(null);
+    }
+    if (maybeParallelTracer.isPresent()) {
+      return maybeBlock
+          .map(block -> maybeParallelTracer.get().traceBlock(block, traceOptions))
+          .orElse(null);
+    }
+    return getTraces(requestContext, traceOptions, maybeBlock);
+  }
+
   protected Collection<DebugTraceTransactionResult> getTraces(
       final JsonRpcRequestContext requestContext,
       final TraceOptions traceOptions,
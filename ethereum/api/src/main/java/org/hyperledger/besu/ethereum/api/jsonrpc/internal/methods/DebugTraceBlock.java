@@ -22,7 +22,6 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
@@ -34,7 +33,6 @@ import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
-import java.util.Collection;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -51,7 +49,38 @@ public class DebugTraceBlock extends AbstractDebugTraceBlock {
       final BlockchainQueries blockchainQueries,
       final ObservableMetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
-    super(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler);
+    this(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, false);
+  }
+
+  public DebugTraceBlock(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled) {
+    this(
+        protocolSchedule,
+        blockchainQueries,
+        metricsSystem,
+        ethScheduler,
+        traceStreamingEnabled,
+        false);
+  }
+
+  public DebugTraceBlock(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled,
+      final boolean traceParallelEnabled) {
+    super(
+        protocolSchedule,
+        blockchainQueries,
+        metricsSystem,
+        ethScheduler,
+        traceStreamingEnabled,
+        traceParallelEnabled);
     this.blockHeaderFunctions = ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
   }
 
@@ -80,8 +109,8 @@ public class DebugTraceBlock extends AbstractDebugTraceBlock {
         .getBlockchain()
         .getBlockByHash(block.getHeader().getParentHash())
         .isPresent()) {
-      final Collection<DebugTraceTransactionResult> results =
-          getTraces(requestContext, traceOptions, Optional.ofNullable(block));
+      final Object results =
+          getTracesResult(requestContext, traceOptions, Optional.ofNullable(block));
       return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), results);
     } else {
       return new JsonRpcErrorResponse(
@@ -22,7 +22,6 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcPara
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
@@ -30,7 +29,6 @@ import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
-import java.util.Collection;
 import java.util.Optional;
 
 public class DebugTraceBlockByHash extends AbstractDebugTraceBlock {
@@ -43,6 +41,37 @@ public class DebugTraceBlockByHash extends AbstractDebugTraceBlock {
     super(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler);
   }
 
+  public DebugTraceBlockByHash(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled) {
+    this(
+        protocolSchedule,
+        blockchainQueries,
+        metricsSystem,
+        ethScheduler,
+        traceStreamingEnabled,
+        false);
+  }
+
+  public DebugTraceBlockByHash(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled,
+      final boolean traceParallelEnabled) {
+    super(
+        protocolSchedule,
+        blockchainQueries,
+        metricsSystem,
+        ethScheduler,
+        traceStreamingEnabled,
+        traceParallelEnabled);
+  }
+
   @Override
   public String getName() {
     return RpcMethod.DEBUG_TRACE_BLOCK_BY_HASH.getMethodName();
@@ -61,8 +90,7 @@ public class DebugTraceBlockByHash extends AbstractDebugTraceBlock {
     TraceOptions traceOptions = getTraceOptions(requestContext);
     Optional<Block> maybeBlock = getBlockchainQueries().getBlockchain().getBlockByHash(blockHash);
 
-    final Collection<DebugTraceTransactionResult> results =
-        getTraces(requestContext, traceOptions, maybeBlock);
+    final Object results = getTracesResult(requestContext, traceOptions, maybeBlock);
     return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), results);
   }
 }
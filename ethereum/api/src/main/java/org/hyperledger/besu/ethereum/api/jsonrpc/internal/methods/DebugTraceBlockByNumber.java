@@ -51,12 +51,39 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
   protected final ProtocolSchedule protocolSchedule;
   private final LabelledMetric<Counter> outputCounter;
   private final EthScheduler ethScheduler;
+  private final Optional<DebugTraceBlockStreamer> maybeStreamer;
+  private final Optional<DebugTraceBlockParallelTracer> maybeParallelTracer;
 
   public DebugTraceBlockByNumber(
       final ProtocolSchedule protocolSchedule,
       final BlockchainQueries blockchainQueries,
       final ObservableMetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
+    this(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, false);
+  }
+
+  public DebugTraceBlockByNumber(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled) {
+    this(
+        protocolSchedule,
+        blockchainQueries,
+        metricsSystem,
+        ethScheduler,
+        traceStreamingEnabled,
+        false);
+  }
+
+  public DebugTraceBlockByNumber(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final ObservableMetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled,
+      final boolean traceParallelEnabled) {
     super(blockchainQueries);
     this.protocolSchedule = protocolSchedule;
     this.outputCounter =
@@ -67,6 +94,22 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
             "step",
             "action");
     this.ethScheduler = ethScheduler;
+    this.maybeStreamer =
+        traceStreamingEnabled
+            ? Optional.of(
+                new DebugTraceBlockStreamer(
+                    protocolSchedule,
+                    blockchainQueries,
+                    ethScheduler,
+                    outputCounter,
+                    "debug_trace_block_by_number"))
+            : Optional.empty();
+    this.maybeParallelTracer =
+        traceParallelEnabled
+            ? Optional.of(
+                new DebugTraceBlockParallelTracer(
+                    protocolSchedule, blockchainQueries, ethScheduler))
+            : Optional.empty();
   }
 
   @Override
@@ -93,7 +136,7 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
       traceOptions =
           request
               .getOptionalParameter(1, TransactionTraceParams.class)
-              .map(TransactionTraceParams::traceOptions)
+              .map(TransactionTraceParams::structLogTraceOptions)
               .orElse(TraceOptions.DEFAULT);
     } catch (JsonRpcParameterException e) {
       throw new InvalidJsonRpcParameters(
@@ -103,6 +146,16 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
     }
     Optional<Block> maybeBlock =
         getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
+    if (maybeStreamer.isPresent()) {
+      return maybeBlock
+          .map(block -> (Object) maybeStreamer.get().traceBlock(request, block, traceOptions))
+          .orElse(null);
+    }
+    if (maybeParallelTracer.isPresent()) {
+      return maybeBlock
+          .map(block -> maybeParallelTracer.get().traceBlock(block, traceOptions))
+          .orElse(null);
+    }
 
     return maybeBlock
         .flatMap(
@@ -0,0 +1,165 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
+
+import org.hyperledger.besu.datatypes.BlobGas;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Traces the transactions of a block for the debug_traceBlock* methods concurrently.
+ *
+ * <p>The block is first executed once without tracing, each transaction in its own updater stacked
+ * on the one of the transaction before it. Once a transaction is executed its updater is not
+ * changed anymore, so it is a snapshot of the state before the next transaction. Each transaction
+ * is then executed again with its own tracer on the computation executor, in an updater stacked on
+ * that snapshot, which it can update without affecting the other transactions.
+ */
+public class DebugTraceBlockParallelTracer {
+
+  private final ProtocolSchedule protocolSchedule;
+  private final BlockchainQueries blockchainQueries;
+  private final EthScheduler ethScheduler;
+
+  public DebugTraceBlockParallelTracer(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final EthScheduler ethScheduler) {
+    this.protocolSchedule = protocolSchedule;
+    this.blockchainQueries = blockchainQueries;
+    this.ethScheduler = ethScheduler;
+  }
+
+  /**
+   * Traces a block.
+   *
+   * @param block the block to trace
+   * @param traceOptions the options of the trace
+   * @return the traces of the transactions of the block, null if the state of the block is not
+   *     available
+   */
+  public Collection<DebugTraceTransactionResult> traceBlock(
+      final Block block, final TraceOptions traceOptions) {
+    return Tracer.processTracing(
+            blockchainQueries,
+            Optional.of(block.getHeader()),
+            traceableState -> Optional.of(traceBlock(traceableState, block, traceOptions)))
+        .orElse(null);
+  }
+
+  private List<DebugTraceTransactionResult> traceBlock(
+      final MutableWorldState worldState, final Block block, final TraceOptions traceOptions) {
+    final BlockHeader header = block.getHeader();
+    final Blockchain blockchain = blockchainQueries.getBlockchain();
+    final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+    final Wei blobGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .blobGasPricePerGas(
+                blockchain
+                    .getBlockHeader(header.getParentHash())
+                    .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
+                    .orElse(BlobGas.ZERO));
+    final List<Transaction> transactions = block.getBody().getTransactions();
+
+    final List<WorldUpdater> preTransactionStates = new ArrayList<>(transactions.size());
+    WorldUpdater chainedUpdater = worldState.updater();
+    for (final Transaction transaction : transactions) {
+      preTransactionStates.add(chainedUpdater);
+      chainedUpdater = chainedUpdater.updater();
+      processTransaction(
+          protocolSpec,
+          transactionProcessor,
+          chainedUpdater,
+          header,
+          transaction,
+          OperationTracer.NO_TRACING,
+          blobGasPrice);
+      chainedUpdater.markTransactionBoundary();
+    }
+
+    final List<CompletableFuture<DebugTraceTransactionResult>> traces =
+        new ArrayList<>(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      final Transaction transaction = transactions.get(i);
+      final WorldUpdater preTransactionState = preTransactionStates.get(i);
+      traces.add(
+          ethScheduler.scheduleComputationTask(
+              () -> {
+                final DebugOperationTracer tracer = new DebugOperationTracer(traceOptions, true);
+                final TransactionProcessingResult result =
+                    processTransaction(
+                        protocolSpec,
+                        transactionProcessor,
+                        preTransactionState.updater(),
+                        header,
+                        transaction,
+                        tracer,
+                        blobGasPrice);
+                return new DebugTraceTransactionResult(
+                    new TransactionTrace(
+                        transaction, result, tracer.getTraceFrames(), Optional.of(block)));
+              }));
+    }
+    return traces.stream().map(CompletableFuture::join).toList();
+  }
+
+  private TransactionProcessingResult processTransaction(
+      final ProtocolSpec protocolSpec,
+      final MainnetTransactionProcessor transactionProcessor,
+      final WorldUpdater updater,
+      final BlockHeader header,
+      final Transaction transaction,
+      final OperationTracer tracer,
+      final Wei blobGasPrice) {
+    // the block hash lookup caches the hashes it reads, so each transaction gets its own
+    return transactionProcessor.processTransaction(
+        updater,
+        header,
+        transaction,
+        header.getCoinbase(),
+        tracer,
+        protocolSpec
+            .getBlockHashProcessor()
+            .createBlockHashLookup(blockchainQueries.getBlockchain(), header),
+        blobGasPrice);
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.hyperledger.besu.services.pipeline.PipelineBuilder.createPipelineFrom;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionDetails;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.debug.TraceFrame;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Traces the transactions of a block for the debug_traceBlock* methods while the response is
+ * written, so that the traces of the whole block are never built before the first is sent.
+ *
+ * <p>The struct logs of a transaction are serialized into a token buffer as its operations execute,
+ * and copied to the response once the transaction is done, as they follow its gas used and output
+ * in the result. Transactions go through the same pipeline as the non streaming path, so that the
+ * next one executes while the previous one is written.
+ */
+public class DebugTraceBlockStreamer {
+
+  private final ProtocolSchedule protocolSchedule;
+  private final BlockchainQueries blockchainQueries;
+  private final EthScheduler ethScheduler;
+  private final LabelledMetric<Counter> outputCounter;
+  private final String pipelineName;
+
+  public DebugTraceBlockStreamer(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final EthScheduler ethScheduler,
+      final LabelledMetric<Counter> outputCounter,
+      final String pipelineName) {
+    this.protocolSchedule = protocolSchedule;
+    this.blockchainQueries = blockchainQueries;
+    this.ethScheduler = ethScheduler;
+    this.outputCounter = outputCounter;
+    this.pipelineName = pipelineName;
+  }
+
+  /**
+   * Creates the result tracing a block when serialized.
+   *
+   * @param requestContext the request, which stops the trace once it is no longer alive
+   * @param block the block to trace
+   * @param traceOptions the options of the trace
+   * @return the result, written as null if the state of the block is not available
+   */
+  public StreamingResult traceBlock(
+      final JsonRpcRequestContext requestContext,
+      final Block block,
+      final TraceOptions traceOptions) {
+    return new StreamingResult(
+        generator -> {
+          final Optional<Boolean> traced =
+              Tracer.processTracing(
+                  blockchainQueries,
+                  Optional.of(block.getHeader()),
+                  traceableState -> {
+                    writeTraces(generator, requestContext, traceableState, block, traceOptions);
+                    return Optional.of(Boolean.TRUE);
+                  });
+          if (traced.isEmpty()) {
+            generator.writeNull();
+          }
+        });
+  }
+
+  private void writeTraces(
+      final JsonGenerator generator,
+      final JsonRpcRequestContext requestContext,
+      final Tracer.TraceableState traceableState,
+      final Block block,
+      final TraceOptions traceOptions) {
+    final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(block.getHeader());
+    final StructLogWriter structLogWriter = new StructLogWriter();
+    final ExecuteTransactionStep executeTransactionStep =
+        new ExecuteTransactionStep(
+            new TraceBlock.ChainUpdater(traceableState),
+            protocolSpec.getTransactionProcessor(),
+            blockchainQueries.getBlockchain(),
+            new DebugOperationTracer(traceOptions, true, structLogWriter),
+            protocolSpec,
+            block);
+    final Pipeline<TransactionTrace> traceBlockPipeline =
+        createPipelineFrom(
+                "getTransactions",
+                new TransactionSource(block),
+                4,
+                outputCounter,
+                false,
+                pipelineName)
+            .thenProcess(
+                "executeTransaction",
+                transactionTrace -> {
+                  StreamingResult.checkAlive(requestContext);
+                  structLogWriter.start(new TokenBuffer(generator.getCodec(), false));
+                  final TransactionTrace executed = executeTransactionStep.apply(transactionTrace);
+                  return new TracedTransaction(executed, structLogWriter.finish());
+                })
+            .andFinishWith(
+                "writeTransactionTrace",
+                tracedTransaction -> writeTransactionTrace(generator, tracedTransaction));
+    try {
+      generator.writeStartArray();
+      ethScheduler.startPipeline(traceBlockPipeline).get();
+      generator.writeEndArray();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (final InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void writeTransactionTrace(
+      final JsonGenerator generator, final TracedTransaction tracedTransaction) {
+    final TransactionTrace trace = tracedTransaction.trace();
+    try {
+      generator.writeStartObject();
+      generator.writeStringField("txHash", trace.getTransaction().getHash().toHexString());
+      generator.writeObjectFieldStart("result");
+      generator.writeNumberField("gas", trace.getGas());
+      generator.writeBooleanField("failed", !trace.getResult().isSuccessful());
+      generator.writeStringField(
+          "returnValue", trace.getResult().getOutput().toString().substring(2));
+      generator.writeFieldName("structLogs");
+      tracedTransaction.structLogs().serialize(generator);
+      generator.writeEndObject();
+      generator.writeEndObject();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private record TracedTransaction(TransactionTrace trace, TokenBuffer structLogs) {}
+
+  /** Writes the struct log of each traced operation to the buffer of the current transaction. */
+  private static class StructLogWriter implements Consumer<TraceFrame> {
+    private TokenBuffer structLogs;
+
+    void start(final TokenBuffer structLogs) {
+      this.structLogs = structLogs;
+      write(TokenBuffer::writeStartArray);
+    }
+
+    TokenBuffer finish() {
+      write(TokenBuffer::writeEndArray);
+      return structLogs;
+    }
+
+    @Override
+    public void accept(final TraceFrame traceFrame) {
+      write(buffer -> buffer.writeObject(DebugTraceTransactionDetails.createStructLog(traceFrame)));
+    }
+
+    private void write(final BufferWrite bufferWrite) {
+      try {
+        bufferWrite.writeTo(structLogs);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface BufferWrite {
+    void writeTo(TokenBuffer buffer) throws IOException;
+  }
+}
@@ -26,12 +26,16 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionDetails;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.call.CallTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.prestate.PrestateTracer;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 public class DebugTraceTransaction implements JsonRpcMethod {
 
@@ -63,19 +67,26 @@ public class DebugTraceTransaction implements JsonRpcMethod {
     final Optional<TransactionWithMetadata> transactionWithMetadata =
         blockchain.transactionByHash(hash);
     if (transactionWithMetadata.isPresent()) {
-      final TraceOptions traceOptions;
+      final Optional<TransactionTraceParams> transactionTraceParams;
       try {
-        traceOptions =
-            requestContext
-                .getOptionalParameter(1, TransactionTraceParams.class)
-                .map(TransactionTraceParams::traceOptions)
-                .orElse(TraceOptions.DEFAULT);
+        transactionTraceParams =
+            requestContext.getOptionalParameter(1, TransactionTraceParams.class);
       } catch (JsonRpcParameterException e) {
         throw new InvalidJsonRpcParameters(
             "Invalid transaction trace parameter (index 1)",
             RpcErrorType.INVALID_TRANSACTION_TRACE_PARAMS,
             e);
       }
+      final Optional<String> tracer = transactionTraceParams.map(TransactionTraceParams::tracer);
+      if (tracer.isPresent()) {
+        return new JsonRpcSuccessResponse(
+            requestContext.getRequest().getId(),
+            nativeTracerResult(hash, transactionWithMetadata.get(), tracer.get()));
+      }
+      final TraceOptions traceOptions =
+          transactionTraceParams
+              .map(TransactionTraceParams::traceOptions)
+              .orElse(TraceOptions.DEFAULT);
       final DebugTraceTransactionDetails debugTraceTransactionResult =
           debugTraceTransactionResult(hash, transactionWithMetadata.get(), traceOptions);
 
@@ -103,4 +114,36 @@ public class DebugTraceTransaction implements JsonRpcMethod {
                     .map(DebugTraceTransactionDetails::new))
         .orElse(null);
   }
+
+  private Object nativeTracerResult(
+      final Hash hash, final TransactionWithMetadata transactionWithMetadata, final String tracer) {
+    return switch (tracer) {
+      case CallTracer.NAME ->
+          nativeTracerResult(
+              hash, transactionWithMetadata, new CallTracer(), CallTracer::getResult);
+      case PrestateTracer.NAME ->
+          nativeTracerResult(
+              hash, transactionWithMetadata, new PrestateTracer(), PrestateTracer::getResult);
+      default ->
+          throw new InvalidJsonRpcParameters(
+              "Unsupported tracer " + tracer, RpcErrorType.INVALID_TRANSACTION_TRACE_PARAMS);
+    };
+  }
+
+  private <T extends OperationTracer> Object nativeTracerResult(
+      final Hash hash,
+      final TransactionWithMetadata transactionWithMetadata,
+      final T tracer,
+      final Function<T, Object> result) {
+    final Hash blockHash = transactionWithMetadata.getBlockHash().get();
+
+    return Tracer.processTracing(
+            blockchain,
+            blockHash,
+            mutableWorldState ->
+                transactionTracer
+                    .traceTransaction(mutableWorldState, blockHash, hash, tracer)
+                    .map(__ -> result.apply(tracer)))
+        .orElse(null);
+  }
 }
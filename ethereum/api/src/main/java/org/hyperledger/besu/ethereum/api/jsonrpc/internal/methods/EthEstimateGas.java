@@ -27,7 +27,15 @@ import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +47,11 @@ public class EthEstimateGas extends AbstractEstimateGas {
   // which means keep looping until the estimate is exact (previous behavior)
   protected double estimateGasToleranceRatio;
   private static final long CALL_STIPEND = 2_300L;
+  // the number of steps of the binary search simulated at once, the gas limits of all the steps
+  // that can follow the current one being simulated concurrently
+  private static final int SPECULATIVE_SEARCH_DEPTH = 2;
+  // the simulations run ahead of the search by all the requests, on top of their own
+  private final Semaphore speculativeSimulations;
 
   public EthEstimateGas(
       final BlockchainQueries blockchainQueries,
@@ -46,6 +59,8 @@ public class EthEstimateGas extends AbstractEstimateGas {
       final ApiConfiguration apiConfiguration) {
     super(blockchainQueries, transactionSimulator);
     this.estimateGasToleranceRatio = apiConfiguration.getEstimateGasToleranceRatio();
+    this.speculativeSimulations =
+        new Semaphore(apiConfiguration.getEstimateGasParallelSimulations());
   }
 
   @Override
@@ -84,7 +99,6 @@ public class EthEstimateGas extends AbstractEstimateGas {
 
     final var result = maybeResult.get();
     long high = gasLimitUpperBound;
-    long mid;
 
     long low = result.result().getEstimateGasUsedByTransaction() - 1;
     var optimisticGasLimit = processEstimateGas(result);
@@ -99,27 +113,87 @@ public class EthEstimateGas extends AbstractEstimateGas {
       low = optimisticGasLimit;
     }
 
+    Map<Long, Boolean> probeResults = Map.of();
     while (low + 1 < high) {
       // check if we are close enough
       if (estimateGasToleranceRatio > 0
           && (double) (high - low) / high < estimateGasToleranceRatio) {
         break;
       }
-      mid = (low + high) / 2;
-      var binarySearchResult =
-          simulationFunction.simulate(
-              overrideGasLimit(callParams, mid), OperationTracer.NO_TRACING);
+      final long mid = (low + high) / 2;
+      if (!probeResults.containsKey(mid)) {
+        probeResults = simulateProbes(callParams, simulationFunction, mid, low, high);
+      }
 
-      if (binarySearchResult.isEmpty() || !binarySearchResult.get().isSuccessful()) {
-        low = mid;
-      } else {
+      if (probeResults.get(mid)) {
         high = mid;
+      } else {
+        low = mid;
       }
     }
 
     return Quantity.create(high);
   }
 
+  private static Set<Long> speculativeProbes(final long low, final long high) {
+    final Set<Long> probes = new TreeSet<>();
+    addSpeculativeProbes(low, high, SPECULATIVE_SEARCH_DEPTH, probes);
+    return probes;
+  }
+
+  private static void addSpeculativeProbes(
+      final long low, final long high, final int depth, final Set<Long> probes) {
+    if (depth == 0 || low + 1 >= high) {
+      return;
+    }
+    final long mid = (low + high) / 2;
+    probes.add(mid);
+    addSpeculativeProbes(low, mid, depth - 1, probes);
+    addSpeculativeProbes(mid, high, depth - 1, probes);
+  }
+
+  // Simulates a step of the search, together with the steps it can lead to while the shared
+  // permits allow it. Each simulation runs on its own copy of the world state, so they can run side
+  // by side.
+  private Map<Long, Boolean> simulateProbes(
+      final CallParameter callParams,
+      final TransactionSimulationFunction simulationFunction,
+      final long mid,
+      final long low,
+      final long high) {
+    final Map<Long, Boolean> results = new HashMap<>();
+    final Set<Long> probesAhead = speculativeProbes(low, high);
+    probesAhead.remove(mid);
+    if (probesAhead.isEmpty() || !speculativeSimulations.tryAcquire(probesAhead.size())) {
+      results.put(mid, isSuccessful(simulationFunction, callParams, mid));
+      return results;
+    }
+    try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final Map<Long, CompletableFuture<Boolean>> futures = new HashMap<>();
+      for (final long probe : probesAhead) {
+        futures.put(
+            probe,
+            CompletableFuture.supplyAsync(
+                () -> isSuccessful(simulationFunction, callParams, probe), executor));
+      }
+      results.put(mid, isSuccessful(simulationFunction, callParams, mid));
+      futures.forEach((probe, future) -> results.put(probe, future.join()));
+    } finally {
+      speculativeSimulations.release(probesAhead.size());
+    }
+    return results;
+  }
+
+  private boolean isSuccessful(
+      final TransactionSimulationFunction simulationFunction,
+      final CallParameter callParams,
+      final long gasLimit) {
+    final var result =
+        simulationFunction.simulate(
+            overrideGasLimit(callParams, gasLimit), OperationTracer.NO_TRACING);
+    return result.isPresent() && result.get().isSuccessful();
+  }
+
   private Optional<JsonRpcErrorResponse> validateSimulationResult(
       final JsonRpcRequestContext requestContext,
       final Optional<TransactionSimulatorResult> maybeResult) {
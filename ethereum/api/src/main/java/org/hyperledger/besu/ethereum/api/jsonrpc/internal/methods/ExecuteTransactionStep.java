@@ -106,6 +106,7 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
               blockHashLookup,
               blobGasPrice);
 
+      tracer.flushTraceFrames();
       traceFrames = tracer.copyTraceFrames();
       tracer.reset();
     }
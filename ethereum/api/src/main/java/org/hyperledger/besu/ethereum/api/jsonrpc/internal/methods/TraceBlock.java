@@ -25,9 +25,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcPara
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
+import org.hyperledger.besu.ethereum.api.util.StreamingArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
@@ -57,12 +59,22 @@ public class TraceBlock extends AbstractBlockParameterMethod {
   protected final ProtocolSchedule protocolSchedule;
   private final LabelledMetric<Counter> outputCounter;
   protected final EthScheduler ethScheduler;
+  protected final boolean traceStreamingEnabled;
 
   public TraceBlock(
       final ProtocolSchedule protocolSchedule,
       final BlockchainQueries queries,
       final MetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
+    this(protocolSchedule, queries, metricsSystem, ethScheduler, false);
+  }
+
+  public TraceBlock(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries queries,
+      final MetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled) {
     super(queries);
     this.protocolSchedule = protocolSchedule;
     this.outputCounter =
@@ -73,6 +85,7 @@ public class TraceBlock extends AbstractBlockParameterMethod {
             "step",
             "action");
     this.ethScheduler = ethScheduler;
+    this.traceStreamingEnabled = traceStreamingEnabled;
   }
 
   @Override
@@ -99,6 +112,23 @@ public class TraceBlock extends AbstractBlockParameterMethod {
     }
     LOG.trace("Received RPC rpcName={} block={}", getName(), blockNumber);
 
+    if (traceStreamingEnabled) {
+      return getBlockchainQueries()
+          .getBlockchain()
+          .getBlockByNumber(blockNumber)
+          .map(
+              block ->
+                  new StreamingResult(
+                      generator -> {
+                        generator.writeStartArray();
+                        traceBlock(
+                            block,
+                            Optional.empty(),
+                            new StreamingArrayNodeWrapper(generator, request::isAlive));
+                        generator.writeEndArray();
+                      }))
+          .orElse(null);
+    }
     return getBlockchainQueries()
         .getBlockchain()
         .getBlockByNumber(blockNumber)
@@ -109,17 +139,22 @@ public class TraceBlock extends AbstractBlockParameterMethod {
 
   protected ArrayNodeWrapper traceBlock(
       final Block block, final Optional<FilterParameter> filterParameter) {
-
     if (block == null) {
       return emptyResult();
     }
+    return traceBlock(block, filterParameter, emptyResult());
+  }
+
+  protected ArrayNodeWrapper traceBlock(
+      final Block block,
+      final Optional<FilterParameter> filterParameter,
+      final ArrayNodeWrapper resultArrayNode) {
     final BlockHeader header = block.getHeader();
 
     return Tracer.processTracing(
             getBlockchainQueries(),
             Optional.of(header),
             traceableState -> {
-              ArrayNodeWrapper resultArrayNode = new ArrayNodeWrapper(MAPPER.createArrayNode());
               final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
               final MainnetTransactionProcessor transactionProcessor =
                   protocolSpec.getTransactionProcessor();
@@ -160,11 +195,11 @@ public class TraceBlock extends AbstractBlockParameterMethod {
                 throw new RuntimeException(e);
               }
 
-              resultArrayNode = buildArrayNodeStep.getResultArrayNode();
-              generateRewardsFromBlock(filterParameter, block, resultArrayNode);
-              return Optional.of(resultArrayNode);
+              generateRewardsFromBlock(
+                  filterParameter, block, buildArrayNodeStep.getResultArrayNode());
+              return Optional.of(buildArrayNodeStep.getResultArrayNode());
             })
-        .orElse(emptyResult());
+        .orElse(resultArrayNode);
   }
 
   protected void generateRewardsFromBlock(
@@ -29,10 +29,12 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
+import org.hyperledger.besu.ethereum.api.util.StreamingArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -75,7 +77,17 @@ public class TraceFilter extends TraceBlock {
       final Long maxRange,
       final MetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
-    super(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler);
+    this(protocolSchedule, blockchainQueries, maxRange, metricsSystem, ethScheduler, false);
+  }
+
+  public TraceFilter(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final Long maxRange,
+      final MetricsSystem metricsSystem,
+      final EthScheduler ethScheduler,
+      final boolean traceStreamingEnabled) {
+    super(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, traceStreamingEnabled);
     this.maxRange = maxRange;
     this.outputCounter =
         metricsSystem.createLabelledCounter(
@@ -116,6 +128,26 @@ public class TraceFilter extends TraceBlock {
           requestContext.getRequest().getId(), RpcErrorType.EXCEEDS_RPC_MAX_BLOCK_RANGE);
     }
 
+    if (traceStreamingEnabled && fromBlock <= toBlock) {
+      return new JsonRpcSuccessResponse(
+          requestContext.getRequest().getId(),
+          new StreamingResult(
+              generator -> {
+                generator.writeStartArray();
+                traceFilterWithPipeline(
+                    requestContext,
+                    filterParameter,
+                    fromBlock,
+                    toBlock,
+                    new StreamingArrayNodeWrapper(
+                        generator,
+                        requestContext::isAlive,
+                        filterParameter.getAfter(),
+                        filterParameter.getCount()));
+                generator.writeEndArray();
+              }));
+    }
+
     final ObjectMapper mapper = new ObjectMapper();
     final ArrayNodeWrapper resultArrayNode =
         new ArrayNodeWrapper(
@@ -58,6 +58,7 @@ import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
@@ -388,23 +389,15 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
   }
 
   private void precomputeSenders(final List<Transaction> transactions) {
-    transactions.forEach(
-        transaction -> {
-          mergeCoordinator
-              .getEthScheduler()
-              .scheduleTxWorkerTask(
-                  () -> {
-                    final var sender = transaction.getSender();
-                    LOG.atTrace()
-                        .setMessage("The sender for transaction {} is calculated : {}")
-                        .addArgument(transaction::getHash)
-                        .addArgument(sender)
-                        .log();
-                  });
-          if (transaction.getType().supportsDelegateCode()) {
-            precomputeAuthorities(transaction);
-          }
-        });
+    protocolContext
+        .getTransactionSenderRecovery()
+        .ifPresent(
+            recovery ->
+                recovery.recoverSendersInBackground(
+                    transactions, TransactionSenderRecovery.Priority.BLOCK_IMPORT));
+    transactions.stream()
+        .filter(transaction -> transaction.getType().supportsDelegateCode())
+        .forEach(this::precomputeAuthorities);
   }
 
   private void precomputeAuthorities(final Transaction transaction) {
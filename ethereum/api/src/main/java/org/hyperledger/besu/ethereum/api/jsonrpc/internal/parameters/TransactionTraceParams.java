@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 
 import javax.annotation.Nullable;
@@ -34,6 +36,10 @@ public interface TransactionTraceParams {
   @Nullable
   String getTransactionHash();
 
+  @JsonProperty("tracer")
+  @Nullable
+  String tracer();
+
   @JsonProperty(value = "disableStorage")
   @Value.Default
   default boolean disableStorage() {
@@ -55,4 +61,20 @@ public interface TransactionTraceParams {
   default TraceOptions traceOptions() {
     return new TraceOptions(!disableStorage(), !disableMemory(), !disableStack());
   }
+
+  /**
+   * Gets the trace options of a method tracing struct logs only, which rejects the native tracers
+   * rather than ignoring them.
+   *
+   * @return the trace options
+   * @throws InvalidJsonRpcParameters if a tracer is requested
+   */
+  default TraceOptions structLogTraceOptions() {
+    if (tracer() != null) {
+      throw new InvalidJsonRpcParameters(
+          "Tracer " + tracer() + " is only supported by debug_traceTransaction",
+          RpcErrorType.INVALID_TRANSACTION_TRACE_PARAMS);
+    }
+    return traceOptions();
+  }
 }
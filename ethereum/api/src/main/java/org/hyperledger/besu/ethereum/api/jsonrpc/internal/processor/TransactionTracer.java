@@ -85,6 +85,26 @@ public class TransactionTracer {
         });
   }
 
+  public Optional<TransactionProcessingResult> traceTransaction(
+      final Tracer.TraceableState mutableWorldState,
+      final Hash blockHash,
+      final Hash transactionHash,
+      final OperationTracer tracer) {
+    return blockReplay.beforeTransactionInBlock(
+        mutableWorldState,
+        blockHash,
+        transactionHash,
+        (transaction, header, blockchain, transactionProcessor, blobGasPrice) ->
+            processTransaction(
+                header,
+                blockchain,
+                mutableWorldState.updater(),
+                transaction,
+                transactionProcessor,
+                tracer,
+                blobGasPrice));
+  }
+
   public List<String> traceTransactionToFile(
       final MutableWorldState mutableWorldState,
       final Hash blockHash,
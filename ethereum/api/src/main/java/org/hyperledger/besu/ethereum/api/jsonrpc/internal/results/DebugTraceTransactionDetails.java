@@ -48,7 +48,7 @@ public class DebugTraceTransactionDetails {
     return traces.stream().map(DebugTraceTransactionResult::new).collect(Collectors.toList());
   }
 
-  private static StructLog createStructLog(final TraceFrame frame) {
+  public static StructLog createStructLog(final TraceFrame frame) {
     return frame
         .getExceptionalHaltReason()
         .map(__ -> (StructLog) new StructLogWithError(frame))
@@ -0,0 +1,92 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * A result that is produced while the response is serialized, by writing straight to the generator
+ * of the response, so that large results are never held in memory as a whole.
+ *
+ * <p>The work happens each time the result is serialized, and once the first bytes are written an
+ * error can no longer be turned into a JSON-RPC error response: it aborts the response instead.
+ */
+public class StreamingResult implements JsonRpcResult, JsonSerializable {
+
+  /** Writes a result to a generator. */
+  @FunctionalInterface
+  public interface Writer {
+    /**
+     * Writes the result, as a single JSON value.
+     *
+     * @param generator the generator of the response
+     * @throws IOException if the result cannot be written
+     */
+    void writeTo(JsonGenerator generator) throws IOException;
+  }
+
+  private final Writer writer;
+
+  public StreamingResult(final Writer writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    try {
+      writer.writeTo(generator);
+    } catch (final RuntimeException e) {
+      // a write failing on a pipeline thread is wrapped in the failure of the pipeline
+      for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+        if (cause instanceof UncheckedIOException uncheckedIOException) {
+          throw uncheckedIOException.getCause();
+        }
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Stops a result being written once its request is no longer alive, as when it has timed out or
+   * its connection has closed.
+   *
+   * @param requestContext the request the result is written for
+   * @throws UncheckedIOException if the request is no longer alive
+   */
+  public static void checkAlive(final JsonRpcRequestContext requestContext) {
+    if (!requestContext.isAlive()) {
+      throw new UncheckedIOException(
+          new IOException("Request timed out or its connection closed while streaming"));
+    }
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.call;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.tuweni.bytes.Bytes;
+
+/** A call of the result of the callTracer, in the format of geth. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+  "type",
+  "from",
+  "to",
+  "value",
+  "gas",
+  "gasUsed",
+  "input",
+  "output",
+  "error",
+  "revertReason",
+  "calls"
+})
+public class CallFrame {
+
+  private final String type;
+  private final Address from;
+  private final Address to;
+  private final Wei value;
+  private long gas;
+  private long gasUsed;
+  private final Bytes input;
+  private Bytes output;
+  private String error;
+  private Bytes revertReason;
+  private final List<CallFrame> calls = new ArrayList<>();
+
+  CallFrame(
+      final String type,
+      final Address from,
+      final Address to,
+      final Wei value,
+      final long gas,
+      final Bytes input) {
+    this.type = type;
+    this.from = from;
+    this.to = to;
+    this.value = value;
+    this.gas = gas;
+    this.input = input;
+  }
+
+  void setGas(final long gas) {
+    this.gas = gas;
+  }
+
+  void setGasUsed(final long gasUsed) {
+    this.gasUsed = gasUsed;
+  }
+
+  void setOutput(final Bytes output) {
+    this.output = output;
+  }
+
+  void setError(final String error) {
+    this.error = error;
+  }
+
+  void setRevertReason(final Bytes revertReason) {
+    this.revertReason = revertReason;
+  }
+
+  void addCall(final CallFrame call) {
+    calls.add(call);
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getFrom() {
+    return from.toHexString();
+  }
+
+  public String getTo() {
+    return to.toHexString();
+  }
+
+  public String getValue() {
+    return value == null ? null : value.toShortHexString();
+  }
+
+  public String getGas() {
+    return Quantity.create(gas);
+  }
+
+  public String getGasUsed() {
+    return Quantity.create(gasUsed);
+  }
+
+  public String getInput() {
+    return input.toHexString();
+  }
+
+  public String getOutput() {
+    return output == null || output.isEmpty() ? null : output.toHexString();
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public String getRevertReason() {
+    return revertReason == null
+        ? null
+        : JsonRpcErrorResponse.decodeRevertReason(revertReason).orElse(null);
+  }
+
+  public List<CallFrame> getCalls() {
+    return calls.isEmpty() ? null : calls;
+  }
+}
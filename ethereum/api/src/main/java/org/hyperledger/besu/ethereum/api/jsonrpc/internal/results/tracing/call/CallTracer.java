@@ -0,0 +1,149 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.call;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Traces the calls of a transaction as the tree of calls returned by the callTracer of geth.
+ *
+ * <p>Only the entry and the exit of each call are traced, the execution of the opcodes is not, so
+ * that nothing is captured or copied per opcode.
+ */
+public class CallTracer implements OperationTracer {
+
+  public static final String NAME = "callTracer";
+
+  private static final int INVALID_OPCODE = 0xFE;
+
+  private final Deque<ActiveCall> activeCalls = new ArrayDeque<>();
+  private CallFrame rootCall;
+
+  private record ActiveCall(MessageFrame frame, CallFrame call, long gas) {}
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    final ActiveCall parent = activeCalls.peek();
+    final boolean isCreation = frame.getType() == MessageFrame.Type.CONTRACT_CREATION;
+    // a call is made by the opcode currently executed by its parent, and is reported as made from
+    // the account of the parent to the account of the code it runs, delegate calls included
+    final String type =
+        parent == null
+            ? (isCreation ? "CREATE" : "CALL")
+            : parent.frame().getCurrentOperation().getName();
+    final long gas = frame.getRemainingGas();
+    final CallFrame call =
+        new CallFrame(
+            type,
+            parent == null ? frame.getSenderAddress() : parent.frame().getRecipientAddress(),
+            frame.getContractAddress(),
+            "STATICCALL".equals(type) ? null : frame.getValue(),
+            gas,
+            isCreation ? frame.getCode().getBytes() : frame.getInputData().copy());
+    if (parent == null) {
+      rootCall = call;
+    } else {
+      parent.call().addCall(call);
+    }
+    activeCalls.push(new ActiveCall(frame, call, gas));
+  }
+
+  @Override
+  public void traceContextExit(final MessageFrame frame) {
+    final ActiveCall activeCall = activeCalls.pop();
+    final CallFrame call = activeCall.call();
+    call.setGasUsed(activeCall.gas() - frame.getRemainingGas());
+    final Optional<ExceptionalHaltReason> haltReason = frame.getExceptionalHaltReason();
+    final Optional<Bytes> revertReason = frame.getRevertReason();
+    if (haltReason.isPresent()) {
+      call.setError(error(frame, haltReason.get()));
+    } else if (frame.getState() == MessageFrame.State.COMPLETED_FAILED) {
+      call.setError("execution reverted");
+      revertReason.ifPresent(
+          reason -> {
+            call.setOutput(reason);
+            call.setRevertReason(reason);
+          });
+    } else {
+      call.setOutput(frame.getOutputData());
+    }
+  }
+
+  /*
+   * The errors of geth for the halts of the EVM, which differ from the descriptions of the halt
+   * reasons. The operand counts geth adds to the stack errors are not known once the frame halted.
+   */
+  private static String error(final MessageFrame frame, final ExceptionalHaltReason haltReason) {
+    return switch (haltReason.name()) {
+      case "INSUFFICIENT_GAS" -> "out of gas";
+      case "INSUFFICIENT_STACK_ITEMS" -> "stack underflow";
+      case "TOO_MANY_STACK_ITEMS" -> "stack limit reached";
+      case "INVALID_JUMP_DESTINATION" -> "invalid jump destination";
+      case "INVALID_OPERATION" -> invalidOpcodeError(frame);
+      case "INVALID_RETURN_DATA_BUFFER_ACCESS" -> "return data out of bounds";
+      case "ILLEGAL_STATE_CHANGE" -> "write protection";
+      case "CODE_TOO_LARGE" -> "max code size exceeded";
+      case "INVALID_CODE" -> "invalid code: must not begin with 0xef";
+      default -> haltReason.getDescription();
+    };
+  }
+
+  private static String invalidOpcodeError(final MessageFrame frame) {
+    final int opcode = frame.getCurrentOperation().getOpcode();
+    return opcode == INVALID_OPCODE
+        ? "invalid opcode: INVALID"
+        : String.format("invalid opcode: opcode 0x%x not defined", opcode);
+  }
+
+  @Override
+  public void traceEndTransaction(
+      final WorldView worldView,
+      final Transaction tx,
+      final boolean status,
+      final Bytes output,
+      final List<Log> logs,
+      final long gasUsed,
+      final Set<Address> selfDestructs,
+      final long timeNs) {
+    // the top level call accounts for the whole transaction, intrinsic gas and refunds included
+    if (rootCall != null) {
+      rootCall.setGas(tx.getGasLimit());
+      rootCall.setGasUsed(gasUsed);
+    }
+  }
+
+  /**
+   * Gets the call of the transaction, with the calls it made.
+   *
+   * @return the top level call, null if the transaction did not execute
+   */
+  public CallFrame getResult() {
+    return rootCall;
+  }
+}
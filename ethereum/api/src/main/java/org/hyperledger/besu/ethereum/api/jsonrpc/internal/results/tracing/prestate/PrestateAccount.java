@@ -0,0 +1,72 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.prestate;
+
+import org.hyperledger.besu.datatypes.Wei;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/** An account of the result of the prestateTracer, in the format of geth. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"balance", "nonce", "code", "storage"})
+public class PrestateAccount {
+
+  private final Wei balance;
+  private final long nonce;
+  private final Bytes code;
+  private final Map<UInt256, UInt256> storage = new HashMap<>();
+
+  PrestateAccount(final Wei balance, final long nonce, final Bytes code) {
+    this.balance = balance;
+    this.nonce = nonce;
+    this.code = code;
+  }
+
+  boolean hasStorageValue(final UInt256 slot) {
+    return storage.containsKey(slot);
+  }
+
+  void addStorageValue(final UInt256 slot, final UInt256 value) {
+    storage.put(slot, value);
+  }
+
+  public String getBalance() {
+    return balance.toShortHexString();
+  }
+
+  public Long getNonce() {
+    return nonce == 0 ? null : nonce;
+  }
+
+  public String getCode() {
+    return code.isEmpty() ? null : code.toHexString();
+  }
+
+  public Map<String, String> getStorage() {
+    if (storage.isEmpty()) {
+      return null;
+    }
+    final Map<String, String> sortedStorage = new TreeMap<>();
+    storage.forEach((slot, value) -> sortedStorage.put(slot.toHexString(), value.toHexString()));
+    return sortedStorage;
+  }
+}
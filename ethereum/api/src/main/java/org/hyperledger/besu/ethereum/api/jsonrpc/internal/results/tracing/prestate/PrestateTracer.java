@@ -0,0 +1,133 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.prestate;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.Words;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Traces the state of the accounts and storage slots accessed by a transaction, as it was before
+ * the transaction, like the prestateTracer of geth.
+ *
+ * <p>An account is captured the first time it is touched, before the transaction or the opcode
+ * touching it can change it. Storage slots are read with their value at the start of the
+ * transaction. The authorities of the code delegations of a transaction are captured with the
+ * sender, before their code is delegated. Besides the entry of calls, only the opcodes accessing
+ * accounts or storage are looked at, and nothing else is captured per opcode.
+ */
+public class PrestateTracer implements OperationTracer {
+
+  public static final String NAME = "prestateTracer";
+
+  private static final int BALANCE = 0x31;
+  private static final int EXTCODESIZE = 0x3B;
+  private static final int EXTCODECOPY = 0x3C;
+  private static final int EXTCODEHASH = 0x3F;
+  private static final int SLOAD = 0x54;
+  private static final int SSTORE = 0x55;
+  private static final int SELFDESTRUCT = 0xFF;
+
+  private final Map<Address, PrestateAccount> accounts = new HashMap<>();
+
+  @Override
+  public void tracePrepareTransaction(final WorldView worldView, final Transaction transaction) {
+    // called before the nonce and the gas of the sender are updated, and before the code
+    // delegations of the transaction set the code and the nonce of their authorities
+    captureAccount(worldView, transaction.getSender());
+    transaction.getTo().ifPresent(to -> captureAccount(worldView, to));
+    transaction
+        .getCodeDelegationList()
+        .ifPresent(
+            codeDelegations ->
+                codeDelegations.forEach(
+                    codeDelegation ->
+                        codeDelegation
+                            .authorizer()
+                            .ifPresent(authority -> captureAccount(worldView, authority))));
+  }
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    final WorldView worldView = frame.getWorldUpdater();
+    if (frame.getDepth() == 0) {
+      captureAccount(worldView, frame.getMiningBeneficiary());
+    }
+    // called before the value is transferred
+    captureAccount(worldView, frame.getRecipientAddress());
+    captureAccount(worldView, frame.getContractAddress());
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    if (frame.stackSize() == 0) {
+      return;
+    }
+    switch (frame.getCurrentOperation().getOpcode()) {
+      case SLOAD, SSTORE ->
+          captureStorageValue(
+              frame.getWorldUpdater(),
+              frame.getRecipientAddress(),
+              UInt256.fromBytes(frame.getStackItem(0)));
+      case BALANCE, EXTCODESIZE, EXTCODECOPY, EXTCODEHASH, SELFDESTRUCT ->
+          captureAccount(frame.getWorldUpdater(), Words.toAddress(frame.getStackItem(0)));
+      default -> {}
+    }
+  }
+
+  private PrestateAccount captureAccount(final WorldView worldView, final Address address) {
+    return accounts.computeIfAbsent(
+        address,
+        __ -> {
+          final Account account = worldView.get(address);
+          return account == null
+              ? new PrestateAccount(Wei.ZERO, 0, Bytes.EMPTY)
+              : new PrestateAccount(account.getBalance(), account.getNonce(), account.getCode());
+        });
+  }
+
+  private void captureStorageValue(
+      final WorldView worldView, final Address address, final UInt256 slot) {
+    final PrestateAccount prestateAccount = captureAccount(worldView, address);
+    if (!prestateAccount.hasStorageValue(slot)) {
+      final Account account = worldView.get(address);
+      prestateAccount.addStorageValue(
+          slot, account == null ? UInt256.ZERO : account.getOriginalStorageValue(slot));
+    }
+  }
+
+  /**
+   * Gets the state of the accessed accounts before the transaction.
+   *
+   * @return the accounts by address, sorted by address
+   */
+  public Map<String, PrestateAccount> getResult() {
+    final Map<String, PrestateAccount> result = new TreeMap<>();
+    accounts.forEach((address, account) -> result.put(address.toHexString(), account));
+    return result;
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.ipc;
 
 import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INVALID_REQUEST;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.WriteQueueBackpressure;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -24,6 +25,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -32,7 +34,6 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
@@ -58,7 +59,7 @@ public class JsonRpcIpcService {
           .registerModule(new Jdk8Module()) // Handle JDK8 Optionals (de)serialization
           .writer()
           .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
-          .with(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+          .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
   private final Vertx vertx;
   private final Path path;
@@ -96,18 +97,9 @@ public class JsonRpcIpcService {
                                           closedSocket::get,
                                           jsonRpcRequest,
                                           req -> req.mapTo(JsonRpcRequest.class));
+                                  writeResponse(socket, closedSocket, jsonRpcResponse);
                                   promise.complete(jsonRpcResponse);
                                 })
-                            .onSuccess(
-                                jsonRpcResponse -> {
-                                  try {
-                                    socket.write(
-                                        JSON_OBJECT_WRITER.writeValueAsString(jsonRpcResponse)
-                                            + '\n');
-                                  } catch (JsonProcessingException e) {
-                                    LOG.error("Error streaming JSON-RPC response", e);
-                                  }
-                                })
                             .onFailure(
                                 throwable -> {
                                   try {
@@ -145,26 +137,17 @@ public class JsonRpcIpcService {
                                                 jsonRequest,
                                                 req -> req.mapTo(JsonRpcRequest.class)));
                                       }
+                                      writeResponse(
+                                          socket,
+                                          closedSocket,
+                                          responses.stream()
+                                              .filter(
+                                                  jsonRpcResponse ->
+                                                      jsonRpcResponse.getType()
+                                                          != RpcResponseType.NONE)
+                                              .toArray(JsonRpcResponse[]::new));
                                       promise.complete(responses);
                                     })
-                                .onSuccess(
-                                    jsonRpcBatchResponse -> {
-                                      try {
-                                        final JsonRpcResponse[] completed =
-                                            jsonRpcBatchResponse.stream()
-                                                .filter(
-                                                    jsonRpcResponse ->
-                                                        jsonRpcResponse.getType()
-                                                            != RpcResponseType.NONE)
-                                                .toArray(JsonRpcResponse[]::new);
-
-                                        socket.write(
-                                            JSON_OBJECT_WRITER.writeValueAsString(completed)
-                                                + '\n');
-                                      } catch (JsonProcessingException e) {
-                                        LOG.error("Error streaming JSON-RPC response", e);
-                                      }
-                                    })
                                 .onFailure(
                                     throwable ->
                                         errorReturn(socket, null, RpcErrorType.INTERNAL_ERROR));
@@ -204,7 +187,82 @@ public class JsonRpcIpcService {
     return socket.write(Buffer.buffer(Json.encode(new JsonRpcErrorResponse(id, rpcError)) + '\n'));
   }
 
+  /**
+   * Writes a response to the socket while it is serialized, followed by a new line. This is done on
+   * the worker that executed the request rather than on the event loop, as a streaming result does
+   * its work while it is written. If it fails once part of it has been sent the socket is closed,
+   * otherwise a runtime failure is rethrown so that an error response is sent in its place.
+   */
+  private void writeResponse(
+      final NetSocket socket, final AtomicBoolean closedSocket, final Object response) {
+    final NetSocketOutputStream outputStream = new NetSocketOutputStream(socket, closedSocket);
+    try {
+      JSON_OBJECT_WRITER.writeValue(outputStream, response);
+      outputStream.close();
+    } catch (IOException e) {
+      LOG.error("Error streaming JSON-RPC response", e);
+      socket.close();
+    } catch (RuntimeException e) {
+      if (!outputStream.hasWritten()) {
+        throw e;
+      }
+      LOG.error("Error streaming JSON-RPC response", e);
+      socket.close();
+    }
+  }
+
   private NetServerOptions buildNetServerOptions() {
     return new NetServerOptions();
   }
+
+  /**
+   * Writes to a socket, holding back the last chunk written so that the new line ending the
+   * response goes with it, and a small response is written at once.
+   */
+  private static class NetSocketOutputStream extends OutputStream {
+    private final NetSocket socket;
+    private final AtomicBoolean closedSocket;
+    private Buffer pending = Buffer.buffer();
+    private boolean written = false;
+    private boolean closed = false;
+
+    private NetSocketOutputStream(final NetSocket socket, final AtomicBoolean closedSocket) {
+      this.socket = socket;
+      this.closedSocket = closedSocket;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bbuf, final int off, final int len) throws IOException {
+      if (closedSocket.get()) {
+        throw new IOException("Socket closed");
+      }
+      if (pending.length() > 0) {
+        writeToSocket(pending);
+      }
+      pending = Buffer.buffer(len).appendBytes(bbuf, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        writeToSocket(pending.appendString("\n"));
+        closed = true;
+      }
+    }
+
+    private boolean hasWritten() {
+      return written;
+    }
+
+    private void writeToSocket(final Buffer buffer) throws IOException {
+      WriteQueueBackpressure.awaitDrain(socket, () -> !closedSocket.get());
+      socket.write(buffer);
+      written = true;
+    }
+  }
 }
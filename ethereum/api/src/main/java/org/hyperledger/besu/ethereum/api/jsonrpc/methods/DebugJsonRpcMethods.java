@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.methods;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.DebugReplayBlock;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugAccountAt;
@@ -65,6 +66,7 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
   private final Path dataDir;
   private final TransactionSimulator transactionSimulator;
   private final EthScheduler ethScheduler;
+  private final ApiConfiguration apiConfiguration;
 
   DebugJsonRpcMethods(
       final BlockchainQueries blockchainQueries,
@@ -75,7 +77,8 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
       final Synchronizer synchronizer,
       final Path dataDir,
       final TransactionSimulator transactionSimulator,
-      final EthScheduler ethScheduler) {
+      final EthScheduler ethScheduler,
+      final ApiConfiguration apiConfiguration) {
     this.blockchainQueries = blockchainQueries;
     this.protocolContext = protocolContext;
     this.protocolSchedule = protocolSchedule;
@@ -85,6 +88,7 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
     this.dataDir = dataDir;
     this.transactionSimulator = transactionSimulator;
     this.ethScheduler = ethScheduler;
+    this.apiConfiguration = apiConfiguration;
   }
 
   @Override
@@ -103,12 +107,29 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
         new DebugStorageRangeAt(blockchainQueries, blockReplay),
         new DebugMetrics(metricsSystem),
         new DebugResyncWorldstate(protocolContext, synchronizer),
-        new DebugTraceBlock(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler),
+        new DebugTraceBlock(
+            protocolSchedule,
+            blockchainQueries,
+            metricsSystem,
+            ethScheduler,
+            apiConfiguration.isTraceStreamingEnabled(),
+            apiConfiguration.isTraceParallelEnabled()),
         new DebugSetHead(blockchainQueries, protocolContext),
         new DebugReplayBlock(blockchainQueries, protocolContext, protocolSchedule),
         new DebugTraceBlockByNumber(
-            protocolSchedule, blockchainQueries, metricsSystem, ethScheduler),
-        new DebugTraceBlockByHash(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler),
+            protocolSchedule,
+            blockchainQueries,
+            metricsSystem,
+            ethScheduler,
+            apiConfiguration.isTraceStreamingEnabled(),
+            apiConfiguration.isTraceParallelEnabled()),
+        new DebugTraceBlockByHash(
+            protocolSchedule,
+            blockchainQueries,
+            metricsSystem,
+            ethScheduler,
+            apiConfiguration.isTraceStreamingEnabled(),
+            apiConfiguration.isTraceParallelEnabled()),
         new DebugBatchSendRawTransaction(transactionPool),
         new DebugGetBadBlocks(protocolContext, blockResult),
         new DebugStandardTraceBlockToFile(
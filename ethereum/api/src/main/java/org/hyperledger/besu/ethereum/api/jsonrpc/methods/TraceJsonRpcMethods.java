@@ -80,11 +80,17 @@ public class TraceJsonRpcMethods extends ApiGroupJsonRpcMethods {
             blockchainQueries,
             apiConfiguration.getMaxTraceFilterRange(),
             metricsSystem,
-            ethScheduler),
+            ethScheduler,
+            apiConfiguration.isTraceStreamingEnabled()),
         new TraceGet(() -> new BlockTracer(blockReplay), blockchainQueries, protocolSchedule),
         new TraceTransaction(
             () -> new BlockTracer(blockReplay), protocolSchedule, blockchainQueries),
-        new TraceBlock(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler),
+        new TraceBlock(
+            protocolSchedule,
+            blockchainQueries,
+            metricsSystem,
+            ethScheduler,
+            apiConfiguration.isTraceStreamingEnabled()),
         new TraceCall(blockchainQueries, protocolSchedule, transactionSimulator),
         new TraceCallMany(blockchainQueries, protocolSchedule, transactionSimulator),
         new TraceRawTransaction(protocolSchedule, blockchainQueries, transactionSimulator));
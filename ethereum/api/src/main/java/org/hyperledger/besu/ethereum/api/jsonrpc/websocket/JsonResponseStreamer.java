@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.WriteQueueBackpressure;
+
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.concurrent.atomic.AtomicReference;
@@ -63,7 +65,8 @@ class JsonResponseStreamer extends OutputStream {
     buffer = buf;
   }
 
-  private void writeFrame(final Buffer buf, final boolean isFinal) {
+  private void writeFrame(final Buffer buf, final boolean isFinal) throws IOException {
+    WriteQueueBackpressure.awaitDrain(response, () -> !response.isClosed());
     if (firstFrame) {
       response
           .writeFrame(WebSocketFrame.textFrame(buf.toString(), isFinal))
@@ -85,6 +88,23 @@ class JsonResponseStreamer extends OutputStream {
     }
   }
 
+  /**
+   * Ends a response that failed while it was being written. A fragmented message cannot be
+   * abandoned once its first frame has been sent, so the websocket is then closed.
+   *
+   * @return true if part of the response had already been sent
+   */
+  public boolean abort() {
+    if (closed) {
+      return false;
+    }
+    closed = true;
+    if (!firstFrame) {
+      response.close((short) 1011, "Error streaming JSON-RPC response");
+    }
+    return !firstFrame;
+  }
+
   private void stopOnFailureOrClosed() throws IOException {
     if (closed) {
       throw new IOException("Stream closed");
@@ -20,13 +20,16 @@ import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,7 +60,7 @@ public class WebSocketMessageHandler {
           .registerModule(new Jdk8Module()) // Handle JDK8 Optionals (de)serialization
           .writer()
           .without(Feature.FLUSH_PASSED_TO_STREAM)
-          .with(Feature.AUTO_CLOSE_TARGET);
+          .without(Feature.AUTO_CLOSE_TARGET);
 
   private final Vertx vertx;
   private final JsonRpcExecutor jsonRpcExecutor;
@@ -99,12 +102,14 @@ public class WebSocketMessageHandler {
                               websocketRequest.setConnectionId(websocket.textHandlerID());
                               return websocketRequest;
                             });
+                    // a streaming result does its work while it is written, so it is written here
+                    // rather than on the event loop
+                    replyToClient(websocket, jsonRpcResponse);
                     promise.complete(jsonRpcResponse);
                   } catch (RuntimeException e) {
                     promise.fail(e);
                   }
                 })
-            .onSuccess(jsonRpcResponse -> replyToClient(websocket, jsonRpcResponse))
             .onFailure(
                 throwable -> {
                   try {
@@ -143,17 +148,18 @@ public class WebSocketMessageHandler {
                                 return websocketRequest;
                               }));
                     }
-                    promise.complete(responses);
-                  })
-              .onSuccess(
-                  jsonRpcBatchResponse -> {
                     final JsonRpcResponse[] completed =
-                        jsonRpcBatchResponse.stream()
+                        responses.stream()
                             .filter(
                                 jsonRpcResponse ->
                                     jsonRpcResponse.getType() != RpcResponseType.NONE)
                             .toArray(JsonRpcResponse[]::new);
-                    replyToClient(websocket, completed);
+                    try {
+                      replyToClient(websocket, completed);
+                      promise.complete(responses);
+                    } catch (RuntimeException e) {
+                      promise.fail(e);
+                    }
                   })
               .onFailure(
                   throwable ->
@@ -165,13 +171,25 @@ public class WebSocketMessageHandler {
     }
   }
 
+  /**
+   * Writes a response to the websocket while it is serialized. If it fails once part of it has
+   * been sent the websocket is closed, otherwise a runtime failure is rethrown so that an error
+   * response can be sent in its place.
+   */
   private void replyToClient(final ServerWebSocket websocket, final Object result) {
     traceResponse(result);
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(websocket);
     try {
-      // underlying output stream lifecycle is managed by the json object writer
-      JSON_OBJECT_WRITER.writeValue(new JsonResponseStreamer(websocket), result);
+      JSON_OBJECT_WRITER.writeValue(streamer, result);
+      streamer.close();
     } catch (IOException ex) {
       LOG.error("Error streaming JSON-RPC response", ex);
+      streamer.abort();
+    } catch (RuntimeException ex) {
+      if (!streamer.abort()) {
+        throw ex;
+      }
+      LOG.error("Error streaming JSON-RPC response", ex);
     }
   }
 
@@ -180,10 +198,21 @@ public class WebSocketMessageHandler {
   }
 
   private void traceResponse(final Object response) {
+    if (!LOG.isTraceEnabled() || isStreaming(response)) {
+      return;
+    }
     try {
       LOG.trace(jsonObjectMapper.writeValueAsString(response));
     } catch (JsonProcessingException e) {
       LOG.error("Error tracing JSON-RPC response", e);
     }
   }
+
+  private static boolean isStreaming(final Object response) {
+    if (response instanceof JsonRpcResponse[] responses) {
+      return Arrays.stream(responses).anyMatch(WebSocketMessageHandler::isStreaming);
+    }
+    return response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamingResult;
+  }
 }
@@ -24,7 +24,9 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomIndex;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -43,6 +45,7 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
 
 import java.io.EOFException;
@@ -54,6 +57,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -77,6 +82,7 @@ public class BlockchainQueries {
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<TransactionLogIndex> transactionLogIndex;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
   private final MiningConfiguration miningConfiguration;
@@ -135,6 +141,26 @@ public class BlockchainQueries {
       final Optional<EthScheduler> scheduler,
       final ApiConfiguration apiConfig,
       final MiningConfiguration miningConfiguration) {
+    this(
+        protocolSchedule,
+        blockchain,
+        worldStateArchive,
+        cachePath,
+        scheduler,
+        apiConfig,
+        miningConfiguration,
+        Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final ProtocolSchedule protocolSchedule,
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<Path> cachePath,
+      final Optional<EthScheduler> scheduler,
+      final ApiConfiguration apiConfig,
+      final MiningConfiguration miningConfiguration,
+      final Optional<TransactionLogIndex> transactionLogIndex) {
     this.protocolSchedule = protocolSchedule;
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
@@ -145,6 +171,7 @@ public class BlockchainQueries {
             ? Optional.of(
                 new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
             : Optional.empty();
+    this.transactionLogIndex = transactionLogIndex;
     this.apiConfig = apiConfig;
     this.miningConfiguration = miningConfiguration;
   }
@@ -161,6 +188,10 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<TransactionLogIndex> getTransactionLogIndex() {
+    return transactionLogIndex;
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -819,6 +850,14 @@ public class BlockchainQueries {
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
     try {
+      if (transactionLogIndex.isPresent()) {
+        final Optional<List<LogWithMetadata>> indexedLogs =
+            matchingLogsFromLogIndex(
+                transactionLogIndex.get(), fromBlockNumber, toBlockNumber, query, isQueryAlive);
+        if (indexedLogs.isPresent()) {
+          return indexedLogs.get();
+        }
+      }
       final List<LogWithMetadata> result = new ArrayList<>();
       final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
       final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
@@ -828,31 +867,53 @@ public class BlockchainQueries {
         final long thisStep = currentStep;
         final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
         BackendQuery.stopIfExpired(isQueryAlive);
-        result.addAll(
+        final Optional<List<LogWithMetadata>> indexedLogs =
             cachePath
-                .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
+                .map(path -> LogBloomIndex.indexFile(path, thisSegment))
                 .filter(Files::isRegularFile)
-                .map(
-                    cacheFile -> {
+                .flatMap(
+                    indexFile -> {
                       try {
-                        return matchingLogsCached(
+                        return matchingLogsIndexed(
                             thisSegment * BLOCKS_PER_BLOOM_CACHE,
                             thisStep % BLOCKS_PER_BLOOM_CACHE,
                             Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
                             query,
-                            cacheFile,
+                            indexFile,
                             isQueryAlive);
                       } catch (final Exception e) {
                         throw new RuntimeException(e);
                       }
-                    })
-                .orElseGet(
-                    () ->
-                        matchingLogsUncached(
-                            thisStep,
-                            Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
-                            query,
-                            isQueryAlive)));
+                    });
+        if (indexedLogs.isPresent()) {
+          result.addAll(indexedLogs.get());
+        } else {
+          result.addAll(
+              cachePath
+                  .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
+                  .filter(Files::isRegularFile)
+                  .map(
+                      cacheFile -> {
+                        try {
+                          return matchingLogsCached(
+                              thisSegment * BLOCKS_PER_BLOOM_CACHE,
+                              thisStep % BLOCKS_PER_BLOOM_CACHE,
+                              Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
+                              query,
+                              cacheFile,
+                              isQueryAlive);
+                        } catch (final Exception e) {
+                          throw new RuntimeException(e);
+                        }
+                      })
+                  .orElseGet(
+                      () ->
+                          matchingLogsUncached(
+                              thisStep,
+                              Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
+                              query,
+                              isQueryAlive)));
+        }
         currentStep = nextStep;
       }
       return result;
@@ -879,6 +940,105 @@ public class BlockchainQueries {
         .collect(Collectors.toList());
   }
 
+  private Optional<List<LogWithMetadata>> matchingLogsFromLogIndex(
+      final TransactionLogIndex logIndex,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final long lastBlockNumber = Math.min(toBlockNumber, headBlockNumber());
+    if (fromBlockNumber > lastBlockNumber) {
+      return Optional.of(Collections.emptyList());
+    }
+    final Optional<NavigableMap<Long, int[]>> positions =
+        logIndex.matchingPositions(query, fromBlockNumber, lastBlockNumber);
+    if (positions.isEmpty()) {
+      return Optional.empty();
+    }
+    final List<LogWithMetadata> results = new ArrayList<>();
+    for (final Map.Entry<Long, int[]> blockPositions : positions.get().entrySet()) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(blockPositions.getKey());
+      if (blockHash.isEmpty()) {
+        break;
+      }
+      results.addAll(
+          matchingLogsAtPositions(
+              blockHash.get(),
+              blockPositions.getKey(),
+              blockPositions.getValue(),
+              query,
+              isQueryAlive));
+    }
+    return Optional.of(results);
+  }
+
+  // only builds the logs at the given positions in the block, in increasing order
+  private List<LogWithMetadata> matchingLogsAtPositions(
+      final Hash blockHash,
+      final long blockNumber,
+      final int[] positions,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final List<TransactionReceipt> receipts = getReceipts(blockHash, isQueryAlive);
+    final List<Transaction> transactions = getTransactions(blockHash, isQueryAlive);
+    final boolean removed = getRemoved(blockHash, isQueryAlive);
+    final List<LogWithMetadata> results = new ArrayList<>(positions.length);
+    int next = 0;
+    int logIndexOffset = 0;
+    for (int i = 0; i < receipts.size() && next < positions.length; i++) {
+      final List<Log> logs = receipts.get(i).getLogsList();
+      for (; next < positions.length && positions[next] < logIndexOffset + logs.size(); next++) {
+        final Log log = logs.get(positions[next] - logIndexOffset);
+        if (query.matches(log)) {
+          results.add(
+              new LogWithMetadata(
+                  positions[next],
+                  blockNumber,
+                  blockHash,
+                  transactions.get(i).getHash(),
+                  i,
+                  log.getLogger(),
+                  log.getData(),
+                  log.getTopics(),
+                  removed));
+        }
+      }
+      logIndexOffset += logs.size();
+    }
+    return results;
+  }
+
+  private Optional<List<LogWithMetadata>> matchingLogsIndexed(
+      final long segmentStart,
+      final long offset,
+      final long endOffset,
+      final LogsQuery query,
+      final Path indexFile,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final long[] candidates;
+    try {
+      candidates =
+          LogBloomIndex.matchingBlocks(indexFile, query.getBloomGroups(), offset, endOffset);
+    } catch (final IOException e) {
+      LOG.error("Error reading log bloom index", e);
+      return Optional.empty();
+    }
+    final List<LogWithMetadata> results = new ArrayList<>();
+    for (final long candidate : candidates) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(segmentStart + candidate);
+      if (blockHash.isEmpty()) {
+        break;
+      }
+      results.addAll(matchingLogs(blockHash.get(), query, isQueryAlive));
+    }
+    return Optional.of(results);
+  }
+
   private List<LogWithMetadata> matchingLogsCached(
       final long segmentStart,
       final long offset,
@@ -83,6 +83,25 @@ public class LogsQuery {
                     topics -> topics.isEmpty() || topics.stream().anyMatch(bloom::couldContain)));
   }
 
+  // the same constraints as couldMatch: the bloom must contain one bloom of each group
+  public List<List<LogsBloomFilter>> getBloomGroups() {
+    final List<List<LogsBloomFilter>> groups = new ArrayList<>();
+    if (!addressBlooms.isEmpty()) {
+      groups.add(addressBlooms);
+    }
+    topicsBlooms.stream().filter(topics -> !topics.isEmpty()).forEach(groups::add);
+    return groups;
+  }
+
+  public List<Address> getAddresses() {
+    return addresses;
+  }
+
+  // a null topic in a group matches any topic, like an empty group
+  public List<List<LogTopic>> getTopics() {
+    return topics;
+  }
+
   public boolean matches(final Log log) {
     return matchesAddresses(log.getLogger()) && matchesTopics(log.getTopics());
   }
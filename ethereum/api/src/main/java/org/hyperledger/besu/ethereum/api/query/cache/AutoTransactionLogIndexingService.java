@@ -0,0 +1,177 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link TransactionLogIndex} up to date with the canonical chain. New heads are indexed
+ * as they are added, reorgs move the index back to the common ancestor, and the blocks the index
+ * is missing, on first start or after a reorg, are indexed by a background job.
+ *
+ * <p>On a node synced from a checkpoint, or whose history has expired, the receipts of the blocks
+ * after genesis and up to some block are not available. The index then starts at the first block
+ * with receipts, instead of stopping at the first block without.
+ */
+public class AutoTransactionLogIndexingService {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AutoTransactionLogIndexingService.class);
+  private static final long PROGRESS_LOG_INTERVAL = 100_000;
+
+  private final Blockchain blockchain;
+  private final TransactionLogIndex transactionLogIndex;
+  private final EthScheduler scheduler;
+  private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+  private volatile boolean stopped = false;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  public AutoTransactionLogIndexingService(
+      final Blockchain blockchain,
+      final TransactionLogIndex transactionLogIndex,
+      final EthScheduler scheduler) {
+    this.blockchain = blockchain;
+    this.transactionLogIndex = transactionLogIndex;
+    this.scheduler = scheduler;
+  }
+
+  public void start() {
+    LOG.info(
+        "Starting auto transaction log indexing service from block {}.",
+        transactionLogIndex.nextBlockToIndex());
+    stopped = false;
+    blockAddedSubscriptionId = OptionalLong.of(blockchain.observeBlockAdded(this::onBlockAdded));
+    scheduleBackfill();
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto transaction log indexing service.");
+    stopped = true;
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final BlockHeader header = event.getBlock().getHeader();
+    if (event.getEventType() == BlockAddedEvent.EventType.CHAIN_REORG) {
+      final Optional<BlockHeader> commonAncestor =
+          blockchain.getBlockHeader(event.getCommonAncestorHash());
+      if (commonAncestor.isPresent()) {
+        final List<LogWithMetadata> removedLogs =
+            event.getLogsWithMetadata().stream().filter(LogWithMetadata::isRemoved).toList();
+        synchronized (transactionLogIndex) {
+          transactionLogIndex.rewind(commonAncestor.get().getNumber(), removedLogs);
+        }
+      }
+    } else if (indexCanonicalBlock(header, event.getTransactionReceipts())) {
+      return;
+    }
+    if (header.getNumber() >= transactionLogIndex.nextBlockToIndex()) {
+      scheduleBackfill();
+    }
+  }
+
+  private void scheduleBackfill() {
+    if (!backfillRunning.compareAndSet(false, true)) {
+      return;
+    }
+    scheduler.scheduleComputationTask(
+        () -> {
+          try {
+            backfill();
+          } catch (final Exception e) {
+            LOG.error("Unhandled log indexing exception.", e);
+          } finally {
+            backfillRunning.set(false);
+          }
+          // a head may have been skipped while the job was finishing
+          if (!stopped
+              && transactionLogIndex.nextBlockToIndex() <= blockchain.getChainHeadBlockNumber()) {
+            scheduleBackfill();
+          }
+          return null;
+        });
+  }
+
+  private void backfill() {
+    long next = transactionLogIndex.nextBlockToIndex();
+    boolean skipping = false;
+    while (!stopped && next <= blockchain.getChainHeadBlockNumber()) {
+      final Optional<BlockHeader> header = blockchain.getBlockHeader(next);
+      final Optional<List<TransactionReceipt>> receipts =
+          header.flatMap(h -> blockchain.getTxReceipts(h.getHash()));
+      if (receipts.isEmpty()) {
+        if (skipping || startsBefore(next)) {
+          // the first block with receipts is searched before moving the start of the index
+          skipping = true;
+          next++;
+          continue;
+        }
+        LOG.debug("Receipts of block {} are not available, stopping log indexing", next);
+        return;
+      }
+      if (skipping) {
+        skipping = false;
+        startAt(next);
+      }
+      indexCanonicalBlock(header.get(), receipts.get());
+      if (next % PROGRESS_LOG_INTERVAL == 0) {
+        LOG.info("Indexed logs up to block {}", next);
+      }
+      next = transactionLogIndex.nextBlockToIndex();
+    }
+    if (skipping) {
+      startAt(next);
+    }
+  }
+
+  // whether the index holds no block yet, or only the genesis block
+  private boolean startsBefore(final long blockNumber) {
+    return blockNumber <= Math.max(1, transactionLogIndex.getFirstIndexed());
+  }
+
+  private void startAt(final long blockNumber) {
+    synchronized (transactionLogIndex) {
+      if (transactionLogIndex.startAt(blockNumber)) {
+        LOG.info(
+            "Receipts before block {} are not available, indexing logs from this block",
+            blockNumber);
+      }
+    }
+  }
+
+  private boolean indexCanonicalBlock(
+      final BlockHeader header, final List<TransactionReceipt> receipts) {
+    // checked along with the cursor, so that a block read before a reorg is not indexed after it
+    synchronized (transactionLogIndex) {
+      return blockchain.blockIsOnCanonicalChain(header.getHash())
+          && transactionLogIndex.indexBlock(header.getNumber(), receipts);
+    }
+  }
+}
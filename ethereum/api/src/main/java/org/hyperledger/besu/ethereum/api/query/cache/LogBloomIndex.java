@@ -0,0 +1,188 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A transposed copy of a complete segment of the log bloom cache.
+ *
+ * <p>The file holds one bitmap per bit of the bloom, across the blocks of the segment, so that a
+ * query only reads the few columns set by the addresses and topics it looks for instead of the
+ * blooms of every block. Columns are stored one after the other, each as the same number of longs,
+ * and the file is memory mapped when queried.
+ */
+public final class LogBloomIndex {
+
+  private static final int BLOOM_BITS = BLOOM_BITS_LENGTH * Byte.SIZE;
+  private static final int WORDS_PER_COLUMN = (BLOCKS_PER_BLOOM_CACHE + Long.SIZE - 1) / Long.SIZE;
+  private static final long INDEX_FILE_SIZE = (long) BLOOM_BITS * WORDS_PER_COLUMN * Long.BYTES;
+
+  private LogBloomIndex() {}
+
+  /**
+   * Gets the index file of a segment.
+   *
+   * @param cacheDir the directory of the log bloom cache
+   * @param segment the segment number
+   * @return the path of the index file
+   */
+  public static Path indexFile(final Path cacheDir, final long segment) {
+    return cacheDir.resolve("logBloom-" + segment + ".index");
+  }
+
+  /**
+   * Builds the index of a complete segment from its cache file, replacing any previous index
+   * atomically.
+   *
+   * @param cacheFile the cache file holding the blooms of every block of the segment
+   * @param indexFile the index file to write
+   * @throws IOException if the cache file is incomplete or the index cannot be written
+   */
+  static void build(final Path cacheFile, final Path indexFile) throws IOException {
+    final long[] columns = new long[BLOOM_BITS * WORDS_PER_COLUMN];
+    try (final InputStream in = new BufferedInputStream(Files.newInputStream(cacheFile), 1 << 20)) {
+      final byte[] bloom = new byte[BLOOM_BITS_LENGTH];
+      for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+        if (in.readNBytes(bloom, 0, BLOOM_BITS_LENGTH) != BLOOM_BITS_LENGTH) {
+          throw new IOException("Log bloom cache file " + cacheFile + " is incomplete");
+        }
+        final int word = block / Long.SIZE;
+        final long blockBit = 1L << (block % Long.SIZE);
+        for (int i = 0; i < BLOOM_BITS_LENGTH; i++) {
+          for (int bits = bloom[i] & 0xff; bits != 0; bits &= bits - 1) {
+            final int column = column(i, Integer.numberOfTrailingZeros(bits));
+            columns[column * WORDS_PER_COLUMN + word] |= blockBit;
+          }
+        }
+      }
+    }
+
+    final Path tmpFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+    try (final FileChannel channel =
+        FileChannel.open(
+            tmpFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      final ByteBuffer buffer = ByteBuffer.allocate(WORDS_PER_COLUMN * Long.BYTES);
+      for (int column = 0; column < BLOOM_BITS; column++) {
+        buffer.clear();
+        buffer.asLongBuffer().put(columns, column * WORDS_PER_COLUMN, WORDS_PER_COLUMN);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    }
+    Files.move(
+        tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Finds the blocks of a segment whose bloom could match a query. A block matches if, for every
+   * group, its bloom contains at least one of the blooms of the group.
+   *
+   * @param indexFile the index file of the segment
+   * @param bloomGroups the groups of blooms of the query
+   * @param fromOffset the offset in the segment of the first block to look at
+   * @param toOffset the offset in the segment of the last block to look at, inclusive
+   * @return the offsets in the segment of the matching blocks, in increasing order
+   * @throws IOException if the index cannot be read
+   */
+  public static long[] matchingBlocks(
+      final Path indexFile,
+      final List<List<LogsBloomFilter>> bloomGroups,
+      final long fromOffset,
+      final long toOffset)
+      throws IOException {
+    final int[][][] groupColumns =
+        bloomGroups.stream()
+            .map(
+                group ->
+                    group.stream().map(LogBloomIndex::columnsOf).toArray(size -> new int[size][]))
+            .toArray(size -> new int[size][][]);
+
+    final LongBuffer index;
+    try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      if (channel.size() != INDEX_FILE_SIZE) {
+        throw new IOException("Log bloom index file " + indexFile + " has an unexpected size");
+      }
+      index = channel.map(FileChannel.MapMode.READ_ONLY, 0, INDEX_FILE_SIZE).asLongBuffer();
+    }
+
+    long[] matches = new long[64];
+    int matchCount = 0;
+    final int fromWord = (int) (fromOffset / Long.SIZE);
+    final int toWord = (int) (toOffset / Long.SIZE);
+    for (int word = fromWord; word <= toWord; word++) {
+      long candidates = -1L;
+      if (word == fromWord) {
+        candidates &= -1L << (fromOffset % Long.SIZE);
+      }
+      if (word == toWord) {
+        candidates &= -1L >>> (Long.SIZE - 1 - toOffset % Long.SIZE);
+      }
+      for (int g = 0; g < groupColumns.length && candidates != 0; g++) {
+        long groupBits = 0;
+        for (final int[] bloomColumns : groupColumns[g]) {
+          long bloomBits = -1L;
+          for (final int column : bloomColumns) {
+            bloomBits &= index.get(column * WORDS_PER_COLUMN + word);
+          }
+          groupBits |= bloomBits;
+        }
+        candidates &= groupBits;
+      }
+      for (; candidates != 0; candidates &= candidates - 1) {
+        if (matchCount == matches.length) {
+          matches = Arrays.copyOf(matches, matchCount * 2);
+        }
+        matches[matchCount++] = (long) word * Long.SIZE + Long.numberOfTrailingZeros(candidates);
+      }
+    }
+    return Arrays.copyOf(matches, matchCount);
+  }
+
+  private static int[] columnsOf(final LogsBloomFilter bloom) {
+    final int[] columns = new int[BLOOM_BITS];
+    int count = 0;
+    for (int i = 0; i < BLOOM_BITS_LENGTH; i++) {
+      for (int bits = bloom.get(i) & 0xff; bits != 0; bits &= bits - 1) {
+        columns[count++] = column(i, Integer.numberOfTrailingZeros(bits));
+      }
+    }
+    return Arrays.copyOf(columns, count);
+  }
+
+  private static int column(final int byteIndex, final int bitIndex) {
+    return byteIndex * Byte.SIZE + bitIndex;
+  }
+}
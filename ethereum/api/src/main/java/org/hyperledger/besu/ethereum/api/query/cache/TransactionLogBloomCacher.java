@@ -114,6 +114,7 @@ public class TransactionLogBloomCacher {
                       cacheLogsBloomForBlockHeader(
                           blockHeader, Optional.empty(), Optional.of(cacheFile)));
           fillCacheFile(blockNum, blockNum + BLOCKS_PER_BLOOM_CACHE, cacheFile);
+          updateLogBloomIndex(blockNum / BLOCKS_PER_BLOOM_CACHE);
         }
       } catch (final Exception e) {
         LOG.error("Unhandled caching exception", e);
@@ -185,6 +186,17 @@ public class TransactionLogBloomCacher {
       } else {
         populateLatestSegment(blockNumber);
       }
+      final long segment = blockNumber / BLOCKS_PER_BLOOM_CACHE;
+      if (blockNumber % BLOCKS_PER_BLOOM_CACHE == BLOCKS_PER_BLOOM_CACHE - 1) {
+        scheduler.scheduleComputationTask(
+            () -> {
+              updateLogBloomIndex(segment);
+              return null;
+            });
+      } else {
+        // the segment is not complete anymore after a reorg
+        Files.deleteIfExists(LogBloomIndex.indexFile(cacheDir, segment));
+      }
     } catch (final IOException e) {
       if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
         LOG.error(e.getMessage());
@@ -246,6 +258,29 @@ public class TransactionLogBloomCacher {
     return false;
   }
 
+  /**
+   * Builds the index of a segment from its cache file if the segment is complete, otherwise
+   * removes the index as it no longer matches the cache file.
+   */
+  private void updateLogBloomIndex(final long segment) {
+    final File cacheFile = calculateCacheFileName(Long.toString(segment), cacheDir);
+    final Path indexFile = LogBloomIndex.indexFile(cacheDir, segment);
+    try {
+      if (cacheFile.length() == EXPECTED_BLOOM_FILE_SIZE) {
+        LOG.debug("Building transaction log bloom index for segment {}", segment);
+        LogBloomIndex.build(cacheFile.toPath(), indexFile);
+      } else {
+        Files.deleteIfExists(indexFile);
+      }
+    } catch (final IOException e) {
+      if (e.getMessage() != null && e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
+        LOG.error(e.getMessage());
+        System.exit(0);
+      }
+      LOG.error("Unhandled exception building log bloom index for segment {}", segment, e);
+    }
+  }
+
   public void removeSegments(final Long startBlock, final Long stopBlock) {
     if (!cachingStatus.isCaching()) {
       LOG.info(
@@ -260,6 +295,7 @@ public class TransactionLogBloomCacher {
           final long fromBlock = segmentNumber * BLOCKS_PER_BLOOM_CACHE;
           final File cacheFile = calculateCacheFileName(fromBlock, cacheDir);
           cachedSegments.remove(segmentNumber);
+          Files.deleteIfExists(LogBloomIndex.indexFile(cacheDir, segmentNumber));
           if (Files.deleteIfExists(cacheFile.toPath())) {
             LOG.info(
                 "Deleted transaction log bloom cache file: {}/{}", cacheDir, cacheFile.getName());
@@ -299,6 +335,10 @@ public class TransactionLogBloomCacher {
                               || !cacheFile.isFile()
                               || cacheFile.length() != EXPECTED_BLOOM_FILE_SIZE) {
                             generateLogBloomCache(startBlock, startBlock + BLOCKS_PER_BLOOM_CACHE);
+                          } else if (!Files.isRegularFile(
+                              LogBloomIndex.indexFile(cacheDir, currentSegment))) {
+                            // cache files written before the index existed
+                            updateLogBloomIndex(currentSegment);
                           }
                           cachedSegments.put(currentSegment, true);
                         }
@@ -0,0 +1,326 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An inverted index of the logs of the canonical chain, from each address and topic to the blocks
+ * holding logs with it.
+ *
+ * <p>Keys are a term, the address of a log or one of its topics along with its position, followed
+ * by a block number, so that the blocks of a term are contiguous and in order. Values are the
+ * positions in the block of the logs holding the term, delta encoded as variable length integers.
+ * The index covers every block from a lower bound up to a cursor, both kept in the storage. The
+ * lower bound is genesis, or the first block with receipts on a node that has none before it, and
+ * the cursor only moves forward one block at a time and back on reorgs.
+ */
+public class TransactionLogIndex {
+
+  /** The number of topics a log can hold, each position being indexed separately. */
+  public static final int MAX_TOPICS = 4;
+
+  private static final byte ADDRESS_PREFIX = 0;
+  private static final byte TOPIC_PREFIX = 1;
+  private static final byte[] FIRST_INDEXED_KEY = {(byte) 0xfe};
+  private static final byte[] INDEXED_TO_KEY = {(byte) 0xff};
+
+  private final KeyValueStorage storage;
+
+  public TransactionLogIndex(final KeyValueStorage storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * Gets the first block of the indexed range.
+   *
+   * @return the number of the first indexed block
+   */
+  public long getFirstIndexed() {
+    return storage.get(FIRST_INDEXED_KEY).map(bytes -> Bytes.wrap(bytes).toLong()).orElse(0L);
+  }
+
+  /**
+   * Gets the last block of the indexed range.
+   *
+   * @return the number of the last indexed block, empty if no block is indexed
+   */
+  public OptionalLong getIndexedTo() {
+    return storage
+        .get(INDEXED_TO_KEY)
+        .map(bytes -> OptionalLong.of(Bytes.wrap(bytes).toLong()))
+        .orElse(OptionalLong.empty());
+  }
+
+  /**
+   * Gets the block to index next.
+   *
+   * @return the number of the block following the last indexed one, or the first block of the
+   *     range if none is indexed
+   */
+  public long nextBlockToIndex() {
+    final OptionalLong indexedTo = getIndexedTo();
+    return indexedTo.isPresent() ? indexedTo.getAsLong() + 1 : getFirstIndexed();
+  }
+
+  /**
+   * Moves the first block of the range forward, past blocks whose receipts are not available. Only
+   * possible while the index holds no block, or only the genesis block.
+   *
+   * @param blockNumber the number of the new first block
+   * @return false if the index already holds blocks, and the range was not moved
+   */
+  public synchronized boolean startAt(final long blockNumber) {
+    final long next = nextBlockToIndex();
+    if (blockNumber <= next || next > Math.max(1, getFirstIndexed())) {
+      return false;
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(FIRST_INDEXED_KEY, Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    transaction.remove(INDEXED_TO_KEY);
+    transaction.commit();
+    return true;
+  }
+
+  /**
+   * Indexes the logs of a block, which must be the next block to index, and moves the cursor to it.
+   *
+   * @param blockNumber the number of the block
+   * @param receipts the receipts of the transactions of the block
+   * @return false if the block is not the next one to index, and was not indexed
+   */
+  public synchronized boolean indexBlock(
+      final long blockNumber, final List<TransactionReceipt> receipts) {
+    if (blockNumber != nextBlockToIndex()) {
+      return false;
+    }
+    final Map<Bytes, List<Integer>> positionsByTerm = new LinkedHashMap<>();
+    int position = 0;
+    for (final TransactionReceipt receipt : receipts) {
+      for (final Log log : receipt.getLogsList()) {
+        for (final Bytes term : terms(log)) {
+          final List<Integer> positions =
+              positionsByTerm.computeIfAbsent(term, __ -> new ArrayList<>());
+          if (positions.isEmpty() || positions.getLast() != position) {
+            positions.add(position);
+          }
+        }
+        position++;
+      }
+    }
+
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    positionsByTerm.forEach(
+        (term, positions) ->
+            transaction.put(key(term, blockNumber), encodePositions(positions)));
+    transaction.put(INDEXED_TO_KEY, Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    transaction.commit();
+    return true;
+  }
+
+  /**
+   * Removes the logs of blocks that are no longer canonical, and moves the cursor back to their
+   * common ancestor with the new canonical chain.
+   *
+   * @param commonAncestorNumber the number of the last block common to both chains
+   * @param removedLogs the logs of the blocks removed from the canonical chain
+   */
+  public synchronized void rewind(
+      final long commonAncestorNumber, final List<LogWithMetadata> removedLogs) {
+    final OptionalLong indexedTo = getIndexedTo();
+    if (indexedTo.isEmpty() || indexedTo.getAsLong() <= commonAncestorNumber) {
+      return;
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    for (final LogWithMetadata log : removedLogs) {
+      if (log.getBlockNumber() > commonAncestorNumber
+          && log.getBlockNumber() <= indexedTo.getAsLong()) {
+        for (final Bytes term : terms(log)) {
+          transaction.remove(key(term, log.getBlockNumber()));
+        }
+      }
+    }
+    if (commonAncestorNumber < getFirstIndexed()) {
+      transaction.remove(INDEXED_TO_KEY);
+    } else {
+      transaction.put(INDEXED_TO_KEY, Bytes.ofUnsignedLong(commonAncestorNumber).toArrayUnsafe());
+    }
+    transaction.commit();
+  }
+
+  /**
+   * Finds the logs matching a query in a range of blocks. A log matches if it holds one of the
+   * addresses of the query, if any, and one of the topics of each position the query constrains.
+   *
+   * @param query the query
+   * @param fromBlockNumber the first block of the range
+   * @param toBlockNumber the last block of the range, inclusive
+   * @return the positions of the matching logs by block, empty if the range is not all indexed or
+   *     the query does not constrain any address or topic
+   */
+  public Optional<NavigableMap<Long, int[]>> matchingPositions(
+      final LogsQuery query, final long fromBlockNumber, final long toBlockNumber) {
+    final List<List<Bytes>> groups = termGroups(query);
+    if (groups.isEmpty()
+        || fromBlockNumber < getFirstIndexed()
+        || toBlockNumber >= nextBlockToIndex()) {
+      return Optional.empty();
+    }
+    NavigableMap<Long, int[]> matches = null;
+    for (final List<Bytes> group : groups) {
+      final NavigableMap<Long, int[]> groupMatches = new TreeMap<>();
+      for (final Bytes term : group) {
+        try (final Stream<Pair<byte[], byte[]>> entries =
+            storage.streamFromKey(key(term, fromBlockNumber), key(term, toBlockNumber))) {
+          entries.forEach(
+              entry -> {
+                final Bytes key = Bytes.wrap(entry.getKey());
+                if (key.size() == term.size() + Long.BYTES
+                    && key.commonPrefixLength(term) == term.size()) {
+                  final long blockNumber = key.getLong(term.size());
+                  if (blockNumber >= fromBlockNumber && blockNumber <= toBlockNumber) {
+                    groupMatches.merge(
+                        blockNumber, decodePositions(entry.getValue()), TransactionLogIndex::union);
+                  }
+                }
+              });
+        }
+      }
+      matches = matches == null ? groupMatches : intersect(matches, groupMatches);
+      if (matches.isEmpty()) {
+        break;
+      }
+    }
+    return Optional.of(matches);
+  }
+
+  private static NavigableMap<Long, int[]> intersect(
+      final NavigableMap<Long, int[]> left, final NavigableMap<Long, int[]> right) {
+    final NavigableMap<Long, int[]> result = new TreeMap<>();
+    left.forEach(
+        (blockNumber, leftPositions) -> {
+          final int[] rightPositions = right.get(blockNumber);
+          if (rightPositions != null) {
+            final int[] positions =
+                Arrays.stream(leftPositions)
+                    .filter(position -> Arrays.binarySearch(rightPositions, position) >= 0)
+                    .toArray();
+            if (positions.length > 0) {
+              result.put(blockNumber, positions);
+            }
+          }
+        });
+    return result;
+  }
+
+  private static int[] union(final int[] left, final int[] right) {
+    return Stream.of(left, right).flatMapToInt(Arrays::stream).sorted().distinct().toArray();
+  }
+
+  private static List<List<Bytes>> termGroups(final LogsQuery query) {
+    final List<List<Bytes>> groups = new ArrayList<>();
+    if (!query.getAddresses().isEmpty()) {
+      groups.add(query.getAddresses().stream().map(TransactionLogIndex::addressTerm).toList());
+    }
+    final List<List<LogTopic>> topics = query.getTopics();
+    for (int i = 0; i < Math.min(topics.size(), MAX_TOPICS); i++) {
+      final int topicPosition = i;
+      final List<LogTopic> group = topics.get(i);
+      if (!group.isEmpty() && !group.contains(null)) {
+        groups.add(group.stream().map(topic -> topicTerm(topic, topicPosition)).toList());
+      }
+    }
+    return groups;
+  }
+
+  private static List<Bytes> terms(final Log log) {
+    final List<Bytes> terms = new ArrayList<>(1 + MAX_TOPICS);
+    terms.add(addressTerm(log.getLogger()));
+    final List<LogTopic> topics = log.getTopics();
+    for (int i = 0; i < Math.min(topics.size(), MAX_TOPICS); i++) {
+      terms.add(topicTerm(topics.get(i), i));
+    }
+    return terms;
+  }
+
+  private static Bytes addressTerm(final Address address) {
+    return Bytes.concatenate(Bytes.of(ADDRESS_PREFIX), address);
+  }
+
+  private static Bytes topicTerm(final LogTopic topic, final int position) {
+    return Bytes.concatenate(Bytes.of(TOPIC_PREFIX + position), topic);
+  }
+
+  private static byte[] key(final Bytes term, final long blockNumber) {
+    return Bytes.concatenate(term, Bytes.ofUnsignedLong(blockNumber)).toArrayUnsafe();
+  }
+
+  static byte[] encodePositions(final List<Integer> positions) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(positions.size() + 4);
+    int previous = 0;
+    for (final int position : positions) {
+      int delta = position - previous;
+      while ((delta & ~0x7f) != 0) {
+        out.write((delta & 0x7f) | 0x80);
+        delta >>>= 7;
+      }
+      out.write(delta);
+      previous = position;
+    }
+    return out.toByteArray();
+  }
+
+  static int[] decodePositions(final byte[] bytes) {
+    final int[] positions = new int[bytes.length];
+    int count = 0;
+    int previous = 0;
+    int i = 0;
+    while (i < bytes.length) {
+      int delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = bytes[i++];
+        delta |= (b & 0x7f) << shift;
+        shift += 7;
+      } while (b < 0 && i < bytes.length);
+      previous += delta;
+      positions[count++] = previous;
+    }
+    return Arrays.copyOf(positions, count);
+  }
+}
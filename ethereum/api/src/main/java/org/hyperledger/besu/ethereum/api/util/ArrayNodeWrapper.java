@@ -43,9 +43,9 @@ public class ArrayNodeWrapper {
 
   public void addPOJO(final Object object) {
     final boolean isValidOffset = maybeAfter.map(after -> currentOffset >= after).orElse(true);
-    final boolean isValidSize = maybeCount.map(count -> count > arrayNode.size()).orElse(true);
+    final boolean isValidSize = maybeCount.map(count -> count > size()).orElse(true);
     if (isValidOffset && isValidSize) {
-      arrayNode.addPOJO(object);
+      add(object);
     }
     currentOffset++;
   }
@@ -58,7 +58,15 @@ public class ArrayNodeWrapper {
   }
 
   public boolean isFull() {
-    return maybeCount.map(count -> count <= arrayNode.size()).orElse(false);
+    return maybeCount.map(count -> count <= size()).orElse(false);
+  }
+
+  protected int size() {
+    return arrayNode.size();
+  }
+
+  protected void add(final Object object) {
+    arrayNode.addPOJO(object);
   }
 
   public ArrayNode getArrayNode() {
@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+/**
+ * An {@link ArrayNodeWrapper} writing the objects it accepts straight to a generator, inside an
+ * array the caller has started, instead of keeping them in its array node, which stays empty. It
+ * stops accepting objects once the request it writes for is no longer alive.
+ */
+public class StreamingArrayNodeWrapper extends ArrayNodeWrapper {
+
+  private final JsonGenerator generator;
+  private final BooleanSupplier isAlive;
+  private int size;
+
+  public StreamingArrayNodeWrapper(final JsonGenerator generator, final BooleanSupplier isAlive) {
+    this(generator, isAlive, Optional.empty(), Optional.empty());
+  }
+
+  public StreamingArrayNodeWrapper(
+      final JsonGenerator generator,
+      final BooleanSupplier isAlive,
+      final Optional<Integer> maybeAfter,
+      final Optional<Integer> maybeCount) {
+    super(JsonNodeFactory.instance.arrayNode(), maybeAfter, maybeCount);
+    this.generator = generator;
+    this.isAlive = isAlive;
+  }
+
+  @Override
+  protected int size() {
+    return size;
+  }
+
+  @Override
+  protected void add(final Object object) {
+    try {
+      if (!isAlive.getAsBoolean()) {
+        throw new IOException("Request timed out or its connection closed while streaming");
+      }
+      generator.writeObject(object);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    size++;
+  }
+}
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -92,6 +93,26 @@ class JsonRpcExecutorHandlerTest {
     verify(mockVertx, times(1)).cancelTimer(1L);
   }
 
+  @Test
+  void timeoutResetsStreamedResponse() {
+    Handler<RoutingContext> handler =
+        JsonRpcExecutorHandler.handler(mockExecutor, mockTracer, mockConfig);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+
+    when(mockContext.get(eq(ContextKey.REQUEST_BODY_AS_JSON_OBJECT.name()))).thenReturn("{}");
+    when(mockVertx.setTimer(anyLong(), timerHandlerCaptor.capture())).thenReturn(1L);
+
+    handler.handle(mockContext);
+    // the timeout fires once part of the response has been streamed
+    when(mockResponse.headWritten()).thenReturn(true);
+    timerHandlerCaptor.getValue().handle(1L);
+
+    verify(mockResponse).reset();
+    verify(mockResponse, never()).setStatusCode(eq(HttpResponseStatus.REQUEST_TIMEOUT.code()));
+    verify(mockResponse, never()).end(contains("Timeout expired"));
+  }
+
   @Test
   void testCancelTimerOnSuccessfulExecution() {
     // Arrange
@@ -118,43 +118,54 @@ public abstract class AbstractJsonRpcHttpBySpecTest extends AbstractJsonRpcHttpS
     final String json = Resources.toString(specFile, StandardCharsets.UTF_8);
     final ObjectNode specNode = (ObjectNode) objectMapper.readTree(json);
     final String rawRequestBody = specNode.get("request").toString();
+    final String body = sendRequest(rawRequestBody, specNode.get("statusCode").asInt());
 
+    final JsonNode expectedResponse = specNode.get("response");
+    if (expectedResponse.isObject()) {
+      try {
+        final ObjectNode responseBody = (ObjectNode) objectMapper.readTree(body);
+        checkResponse(
+            responseBody,
+            (ObjectNode) expectedResponse,
+            getMethod(rawRequestBody),
+            getTraceType(specFile.toString()));
+      } catch (final Exception e) {
+        throw new RuntimeException("Unable to parse response as json object", e);
+      }
+    } else if (expectedResponse.isArray()) {
+      final ArrayNode responseBody;
+      try {
+        responseBody = (ArrayNode) objectMapper.readTree(body);
+      } catch (final Exception e) {
+        throw new RuntimeException("Unable to parse response as json Array", e);
+      }
+      for (int i = 0; i < ((ArrayNode) expectedResponse).size(); i++) {
+        checkResponse(
+            (ObjectNode) responseBody.get(i),
+            (ObjectNode) ((ArrayNode) expectedResponse).get(i),
+            getMethod(rawRequestBody),
+            getTraceType(specFile.toString()));
+      }
+    }
+  }
+
+  /**
+   * Sends the request of a spec and returns the body of its response, over HTTP unless overridden
+   * to test another transport.
+   *
+   * @param rawRequestBody the request
+   * @param expectedStatusCode the HTTP status code the spec expects
+   * @return the body of the response
+   * @throws IOException if the request cannot be sent
+   */
+  protected String sendRequest(final String rawRequestBody, final int expectedStatusCode)
+      throws IOException {
     final RequestBody requestBody = RequestBody.create(rawRequestBody, JSON);
     final Request request = new Request.Builder().post(requestBody).url(baseUrl).build();
 
     try (final Response resp = client.newCall(request).execute()) {
-      final int expectedStatusCode = specNode.get("statusCode").asInt();
       assertThat(resp.code()).isEqualTo(expectedStatusCode);
-
-      final JsonNode expectedResponse = specNode.get("response");
-      if (expectedResponse.isObject()) {
-        try {
-          final ObjectNode responseBody =
-              (ObjectNode) objectMapper.readTree(Objects.requireNonNull(resp.body()).string());
-          checkResponse(
-              responseBody,
-              (ObjectNode) expectedResponse,
-              getMethod(rawRequestBody),
-              getTraceType(specFile.toString()));
-        } catch (final Exception e) {
-          throw new RuntimeException("Unable to parse response as json object", e);
-        }
-      } else if (expectedResponse.isArray()) {
-        final ArrayNode responseBody;
-        try {
-          responseBody =
-              (ArrayNode) objectMapper.readTree(Objects.requireNonNull(resp.body()).string());
-        } catch (final Exception e) {
-          throw new RuntimeException("Unable to parse response as json Array", e);
-        }
-        for (int i = 0; i < ((ArrayNode) expectedResponse).size(); i++) {
-          checkResponse(
-              (ObjectNode) responseBody.get(i),
-              (ObjectNode) ((ArrayNode) expectedResponse).get(i),
-              getMethod(rawRequestBody),
-              getTraceType(specFile.toString()));
-        }
-      }
+      return Objects.requireNonNull(resp.body()).string();
     }
   }
 
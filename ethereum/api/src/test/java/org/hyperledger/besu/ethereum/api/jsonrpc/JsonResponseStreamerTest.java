@@ -14,9 +14,11 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc;
 
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,6 +35,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -111,6 +114,39 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  public void waitForDrainWhenWriteQueueFull() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true, false);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    InOrder inOrder = inOrder(httpResponse);
+    inOrder.verify(httpResponse).drainHandler(any());
+    inOrder.verify(httpResponse).write(argThat(bufferContains("xyz")));
+  }
+
+  @Test
+  public void abortAfterWriteResetsResponse() throws IOException {
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(streamer.abort()).isTrue();
+    streamer.close();
+
+    verify(httpResponse).reset();
+    verify(httpResponse, never()).end();
+  }
+
+  @Test
+  public void abortBeforeWriteLeavesResponseForError() throws IOException {
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+
+    assertThat(streamer.abort()).isFalse();
+
+    verify(httpResponse, never()).reset();
+    verify(httpResponse, never()).end();
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
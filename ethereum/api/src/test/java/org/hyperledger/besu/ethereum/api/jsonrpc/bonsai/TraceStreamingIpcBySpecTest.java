@@ -0,0 +1,100 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that the traces of a block streamed over an IPC socket, ended by a new line, give the
+ * traces built in full before the response is written.
+ */
+@EnabledOnOs({OS.LINUX, OS.MAC})
+public class TraceStreamingIpcBySpecTest extends TraceStreamingJsonRpcHttpBySpecTest {
+
+  @TempDir private Path tempDir;
+  private Vertx ipcVertx;
+  private Path socketPath;
+  private JsonRpcIpcService ipcService;
+
+  @Override
+  @BeforeEach
+  public void setup() throws Exception {
+    super.setup();
+    ipcVertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    socketPath = tempDir.resolve("besu-test.ipc");
+    ipcService =
+        new JsonRpcIpcService(
+            ipcVertx, socketPath, new JsonRpcExecutor(new BaseJsonRpcProcessor(), methods));
+    ipcService.start().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @AfterEach
+  public void stopIpcService() throws Exception {
+    ipcService.stop().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    ipcVertx.close();
+  }
+
+  @Override
+  protected String sendRequest(final String rawRequestBody, final int expectedStatusCode)
+      throws IOException {
+    assertThat(expectedStatusCode).isEqualTo(200);
+    final Buffer received = Buffer.buffer();
+    final CompletableFuture<String> response = new CompletableFuture<>();
+    ipcVertx
+        .createNetClient()
+        .connect(SocketAddress.domainSocketAddress(socketPath.toString()))
+        .onSuccess(
+            socket ->
+                socket
+                    .handler(
+                        buffer -> {
+                          received.appendBuffer(buffer);
+                          if (received.length() > 0
+                              && received.getByte(received.length() - 1) == '\n') {
+                            response.complete(received.toString());
+                            socket.close();
+                          }
+                        })
+                    .write(Buffer.buffer(rawRequestBody)))
+        .onFailure(response::completeExceptionally);
+
+    try {
+      return response.get(30, TimeUnit.SECONDS);
+    } catch (final InterruptedException | ExecutionException | TimeoutException e) {
+      throw new IOException("No response over the IPC socket", e);
+    }
+  }
+}
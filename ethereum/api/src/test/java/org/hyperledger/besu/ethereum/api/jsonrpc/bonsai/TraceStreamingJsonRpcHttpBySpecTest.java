@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.AbstractJsonRpcHttpBySpecTest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugTraceBlock;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugTraceBlockByHash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugTraceBlockByNumber;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.TraceBlock;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.TraceFilter;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that streaming the traces of a block to the response, as they are produced, gives the
+ * traces built in full before the response is written, field order included.
+ */
+public class TraceStreamingJsonRpcHttpBySpecTest extends AbstractJsonRpcHttpBySpecTest {
+
+  protected Map<String, JsonRpcMethod> methods;
+  private EthScheduler ethScheduler;
+
+  @Override
+  @BeforeEach
+  public void setup() throws Exception {
+    setupBonsaiBlockchain();
+    startService();
+  }
+
+  @AfterEach
+  public void stopScheduler() {
+    ethScheduler.stop();
+  }
+
+  @Override
+  protected BlockchainSetupUtil getBlockchainSetupUtil(final DataStorageFormat storageFormat) {
+    return createBlockchainSetupUtil(
+        "trace/chain-data/genesis.json", "trace/chain-data/blocks.bin", storageFormat);
+  }
+
+  @Override
+  protected Map<String, JsonRpcMethod> getRpcMethods(
+      final JsonRpcConfiguration config, final BlockchainSetupUtil blockchainSetupUtil) {
+    methods = new HashMap<>(super.getRpcMethods(config, blockchainSetupUtil));
+    final ProtocolSchedule protocolSchedule = blockchainSetupUtil.getProtocolSchedule();
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(
+            protocolSchedule,
+            blockchainSetupUtil.getBlockchain(),
+            blockchainSetupUtil.getWorldArchive(),
+            MiningConfiguration.newDefault());
+    final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+    ethScheduler = new EthScheduler(1, 1, 4, metricsSystem);
+    List.<JsonRpcMethod>of(
+            new DebugTraceBlock(
+                protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, true, false),
+            new DebugTraceBlockByNumber(
+                protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, true, false),
+            new DebugTraceBlockByHash(
+                protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, true, false),
+            new TraceBlock(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler, true),
+            new TraceFilter(
+                protocolSchedule, blockchainQueries, 1000L, metricsSystem, ethScheduler, true))
+        .forEach(method -> methods.put(method.getName(), method));
+    return methods;
+  }
+
+  public static Object[][] specs() {
+    return AbstractJsonRpcHttpBySpecTest.findSpecFiles(
+        new String[] {"debug/trace-block", "trace/specs/trace-block", "trace/specs/trace-filter"});
+  }
+
+  @Test
+  void dryRunDetector() {
+    assertThat(true)
+        .withFailMessage("This test is here so gradle --dry-run executes this class")
+        .isTrue();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketMessageHandler;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketFrame;
+
+/**
+ * Checks that the traces of a block streamed over a websocket, in as many frames as the response
+ * is written in, give the traces built in full before the response is written.
+ */
+public class TraceStreamingWebSocketBySpecTest extends TraceStreamingJsonRpcHttpBySpecTest {
+
+  @Override
+  protected String sendRequest(final String rawRequestBody, final int expectedStatusCode)
+      throws IOException {
+    assertThat(expectedStatusCode).isEqualTo(200);
+    final ServerWebSocket websocket = mock(ServerWebSocket.class);
+    when(websocket.textHandlerID()).thenReturn(UUID.randomUUID().toString());
+    final Buffer message = Buffer.buffer();
+    final CompletableFuture<String> response = new CompletableFuture<>();
+    when(websocket.writeFrame(any()))
+        .thenAnswer(
+            invocation -> {
+              final WebSocketFrame frame = invocation.getArgument(0);
+              message.appendBuffer(frame.binaryData());
+              if (frame.isFinal()) {
+                response.complete(message.toString());
+              }
+              return Future.succeededFuture();
+            });
+
+    new WebSocketMessageHandler(
+            vertx,
+            new JsonRpcExecutor(new BaseJsonRpcProcessor(), methods),
+            mock(EthScheduler.class),
+            TimeoutOptions.defaultOptions().getTimeoutSeconds())
+        .handle(websocket, Buffer.buffer(rawRequestBody), Optional.empty());
+
+    try {
+      return response.get(30, TimeUnit.SECONDS);
+    } catch (final InterruptedException | ExecutionException | TimeoutException e) {
+      throw new IOException("No response over the websocket", e);
+    }
+  }
+}
@@ -515,6 +515,48 @@ public class EthEstimateGasTest {
             eq(pendingBlockHeader));
   }
 
+  @Test
+  public void shouldFindTheExactGasLimitWhenSimulatingSearchStepsConcurrently() {
+    final long requiredGas = 100_000L;
+    final TransactionSimulatorResult successfulResult = mock(TransactionSimulatorResult.class);
+    final TransactionProcessingResult processingResult = mock(TransactionProcessingResult.class);
+    when(processingResult.getEstimateGasUsedByTransaction()).thenReturn(60_000L);
+    when(successfulResult.result()).thenReturn(processingResult);
+    when(successfulResult.isSuccessful()).thenReturn(true);
+    final TransactionSimulatorResult failedResult = mock(TransactionSimulatorResult.class);
+    when(failedResult.result()).thenReturn(processingResult);
+    when(failedResult.isSuccessful()).thenReturn(false);
+    when(transactionSimulator.processOnPending(
+            any(CallParameter.class),
+            eq(Optional.empty()), // no account overrides
+            any(TransactionValidationParams.class),
+            any(OperationTracer.class),
+            eq(pendingBlockHeader)))
+        .thenAnswer(
+            invocation -> {
+              final CallParameter callParameter = invocation.getArgument(0);
+              return Optional.of(
+                  callParameter.getGas().orElseThrow() >= requiredGas
+                      ? successfulResult
+                      : failedResult);
+            });
+    method =
+        new EthEstimateGas(
+            blockchainQueries,
+            transactionSimulator,
+            ImmutableApiConfiguration.builder()
+                .estimateGasToleranceRatio(0)
+                .estimateGasParallelSimulations(2)
+                .build());
+
+    final JsonRpcRequestContext request =
+        ethEstimateGasRequest(defaultLegacyTransactionCallParameter(Wei.ZERO));
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Quantity.create(requiredGas));
+
+    assertThat(method.response(request)).usingRecursiveComparison().isEqualTo(expectedResponse);
+  }
+
   private void failEstimationOnTxMinGas() {
     getMockTransactionSimulatorResult(
         false,
@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.call;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class CallTracerTest {
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address CONTRACT = Address.fromHexString("0x02");
+  private static final Address CALLED_CONTRACT = Address.fromHexString("0x03");
+
+  private final CallTracer callTracer = new CallTracer();
+
+  @Test
+  public void shouldTraceTheTreeOfCalls() {
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getType()).thenReturn(MessageFrame.Type.MESSAGE_CALL);
+    when(frame.getSenderAddress()).thenReturn(SENDER);
+    when(frame.getRecipientAddress()).thenReturn(CONTRACT);
+    when(frame.getContractAddress()).thenReturn(CONTRACT);
+    when(frame.getValue()).thenReturn(Wei.ONE);
+    when(frame.getRemainingGas()).thenReturn(50_000L, 30_000L);
+    when(frame.getInputData()).thenReturn(Bytes.of(1));
+    when(frame.getExceptionalHaltReason()).thenReturn(Optional.empty());
+    when(frame.getRevertReason()).thenReturn(Optional.empty());
+    when(frame.getState()).thenReturn(MessageFrame.State.COMPLETED_SUCCESS);
+    when(frame.getOutputData()).thenReturn(Bytes.of(2));
+    final Operation staticCall = mock(Operation.class);
+    when(staticCall.getName()).thenReturn("STATICCALL");
+    when(frame.getCurrentOperation()).thenReturn(staticCall);
+
+    final MessageFrame childFrame = mock(MessageFrame.class);
+    when(childFrame.getType()).thenReturn(MessageFrame.Type.MESSAGE_CALL);
+    when(childFrame.getContractAddress()).thenReturn(CALLED_CONTRACT);
+    when(childFrame.getRemainingGas()).thenReturn(10_000L, 4_000L);
+    when(childFrame.getInputData()).thenReturn(Bytes.of(3));
+    when(childFrame.getExceptionalHaltReason()).thenReturn(Optional.empty());
+    when(childFrame.getRevertReason()).thenReturn(Optional.of(Bytes.of(4)));
+    when(childFrame.getState()).thenReturn(MessageFrame.State.COMPLETED_FAILED);
+
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getGasLimit()).thenReturn(60_000L);
+
+    callTracer.traceContextEnter(frame);
+    callTracer.traceContextEnter(childFrame);
+    callTracer.traceContextExit(childFrame);
+    callTracer.traceContextExit(frame);
+    callTracer.traceEndTransaction(
+        null, transaction, true, Bytes.EMPTY, Collections.emptyList(), 35_000L, null, 0L);
+
+    final CallFrame call = callTracer.getResult();
+    assertThat(call.getType()).isEqualTo("CALL");
+    assertThat(call.getFrom()).isEqualTo(SENDER.toHexString());
+    assertThat(call.getTo()).isEqualTo(CONTRACT.toHexString());
+    assertThat(call.getValue()).isEqualTo("0x1");
+    assertThat(call.getGas()).isEqualTo("0xea60");
+    assertThat(call.getGasUsed()).isEqualTo("0x88b8");
+    assertThat(call.getInput()).isEqualTo("0x01");
+    assertThat(call.getOutput()).isEqualTo("0x02");
+    assertThat(call.getError()).isNull();
+    assertThat(call.getCalls()).hasSize(1);
+
+    final CallFrame childCall = call.getCalls().get(0);
+    assertThat(childCall.getType()).isEqualTo("STATICCALL");
+    assertThat(childCall.getFrom()).isEqualTo(CONTRACT.toHexString());
+    assertThat(childCall.getTo()).isEqualTo(CALLED_CONTRACT.toHexString());
+    assertThat(childCall.getValue()).isNull();
+    assertThat(childCall.getGas()).isEqualTo("0x2710");
+    assertThat(childCall.getGasUsed()).isEqualTo("0x1770");
+    assertThat(childCall.getOutput()).isEqualTo("0x04");
+    assertThat(childCall.getError()).isEqualTo("execution reverted");
+    assertThat(childCall.getCalls()).isNull();
+  }
+
+  @Test
+  public void shouldReportHaltsWithTheErrorsOfGeth() {
+    assertThat(haltedCallError(ExceptionalHaltReason.INSUFFICIENT_GAS, 0x01))
+        .isEqualTo("out of gas");
+    assertThat(haltedCallError(ExceptionalHaltReason.INVALID_JUMP_DESTINATION, 0x56))
+        .isEqualTo("invalid jump destination");
+    assertThat(haltedCallError(ExceptionalHaltReason.ILLEGAL_STATE_CHANGE, 0x55))
+        .isEqualTo("write protection");
+    assertThat(haltedCallError(ExceptionalHaltReason.INVALID_OPERATION, 0xFE))
+        .isEqualTo("invalid opcode: INVALID");
+    assertThat(haltedCallError(ExceptionalHaltReason.newInvalidOperation(0xEF), 0xEF))
+        .isEqualTo("invalid opcode: opcode 0xef not defined");
+  }
+
+  private static String haltedCallError(
+      final ExceptionalHaltReason haltReason, final int currentOpcode) {
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getType()).thenReturn(MessageFrame.Type.MESSAGE_CALL);
+    when(frame.getSenderAddress()).thenReturn(SENDER);
+    when(frame.getContractAddress()).thenReturn(CONTRACT);
+    when(frame.getValue()).thenReturn(Wei.ZERO);
+    when(frame.getRemainingGas()).thenReturn(50_000L, 0L);
+    when(frame.getInputData()).thenReturn(Bytes.EMPTY);
+    when(frame.getExceptionalHaltReason()).thenReturn(Optional.of(haltReason));
+    when(frame.getRevertReason()).thenReturn(Optional.empty());
+    final Operation operation = mock(Operation.class);
+    when(operation.getOpcode()).thenReturn(currentOpcode);
+    when(frame.getCurrentOperation()).thenReturn(operation);
+
+    final CallTracer tracer = new CallTracer();
+    tracer.traceContextEnter(frame);
+    tracer.traceContextExit(frame);
+    return tracer.getResult().getError();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.prestate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.CodeDelegation;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+public class PrestateTracerTest {
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address CONTRACT = Address.fromHexString("0x02");
+  private static final Address AUTHORITY = Address.fromHexString("0x03");
+
+  private final PrestateTracer prestateTracer = new PrestateTracer();
+
+  @Test
+  public void shouldCaptureAccountsAndSlotsBeforeTheyChange() {
+    final WorldUpdater worldUpdater = mock(WorldUpdater.class);
+    final Account sender = mock(Account.class);
+    when(sender.getBalance()).thenReturn(Wei.of(100));
+    when(sender.getNonce()).thenReturn(1L);
+    when(sender.getCode()).thenReturn(Bytes.EMPTY);
+    final Account contract = mock(Account.class);
+    when(contract.getBalance()).thenReturn(Wei.ZERO);
+    when(contract.getNonce()).thenReturn(0L);
+    when(contract.getCode()).thenReturn(Bytes.of(0x54));
+    when(contract.getOriginalStorageValue(UInt256.ONE)).thenReturn(UInt256.valueOf(7));
+    when(worldUpdater.get(SENDER)).thenReturn(sender);
+    when(worldUpdater.get(CONTRACT)).thenReturn(contract);
+
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getSender()).thenReturn(SENDER);
+    when(transaction.getTo()).thenAnswer(__ -> Optional.of(CONTRACT));
+
+    final Operation sload = mock(Operation.class);
+    when(sload.getOpcode()).thenReturn(0x54);
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getWorldUpdater()).thenReturn(worldUpdater);
+    when(frame.getRecipientAddress()).thenReturn(CONTRACT);
+    when(frame.stackSize()).thenReturn(1);
+    when(frame.getCurrentOperation()).thenReturn(sload);
+    when(frame.getStackItem(0)).thenReturn(UInt256.ONE);
+
+    prestateTracer.tracePrepareTransaction(worldUpdater, transaction);
+    prestateTracer.tracePreExecution(frame);
+    // the slot is only read the first time it is accessed
+    prestateTracer.tracePreExecution(frame);
+
+    final Map<String, PrestateAccount> result = prestateTracer.getResult();
+    assertThat(result).containsOnlyKeys(SENDER.toHexString(), CONTRACT.toHexString());
+
+    final PrestateAccount senderAccount = result.get(SENDER.toHexString());
+    assertThat(senderAccount.getBalance()).isEqualTo("0x64");
+    assertThat(senderAccount.getNonce()).isEqualTo(1L);
+    assertThat(senderAccount.getCode()).isNull();
+    assertThat(senderAccount.getStorage()).isNull();
+
+    final PrestateAccount contractAccount = result.get(CONTRACT.toHexString());
+    assertThat(contractAccount.getBalance()).isEqualTo("0x0");
+    assertThat(contractAccount.getNonce()).isNull();
+    assertThat(contractAccount.getCode()).isEqualTo("0x54");
+    assertThat(contractAccount.getStorage())
+        .containsExactly(Map.entry(UInt256.ONE.toHexString(), UInt256.valueOf(7).toHexString()));
+  }
+
+  @Test
+  public void shouldCaptureAuthoritiesOfCodeDelegationTransaction() {
+    final WorldUpdater worldUpdater = mock(WorldUpdater.class);
+    final Account sender = mock(Account.class);
+    when(sender.getBalance()).thenReturn(Wei.of(100));
+    when(sender.getNonce()).thenReturn(1L);
+    when(sender.getCode()).thenReturn(Bytes.EMPTY);
+    final Account authority = mock(Account.class);
+    when(authority.getBalance()).thenReturn(Wei.of(5));
+    when(authority.getNonce()).thenReturn(3L);
+    when(authority.getCode()).thenReturn(Bytes.EMPTY);
+    when(worldUpdater.get(SENDER)).thenReturn(sender);
+    when(worldUpdater.get(AUTHORITY)).thenReturn(authority);
+
+    final CodeDelegation codeDelegation = mock(CodeDelegation.class);
+    when(codeDelegation.authorizer()).thenReturn(Optional.of(AUTHORITY));
+    // the signature of an invalid delegation does not recover an authority
+    final CodeDelegation invalidCodeDelegation = mock(CodeDelegation.class);
+    when(invalidCodeDelegation.authorizer()).thenReturn(Optional.empty());
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getType()).thenReturn(TransactionType.DELEGATE_CODE);
+    when(transaction.getSender()).thenReturn(SENDER);
+    when(transaction.getTo()).thenAnswer(__ -> Optional.of(SENDER));
+    when(transaction.getCodeDelegationList())
+        .thenReturn(Optional.of(List.of(codeDelegation, invalidCodeDelegation)));
+
+    prestateTracer.tracePrepareTransaction(worldUpdater, transaction);
+
+    final Map<String, PrestateAccount> result = prestateTracer.getResult();
+    assertThat(result).containsOnlyKeys(SENDER.toHexString(), AUTHORITY.toHexString());
+
+    final PrestateAccount authorityAccount = result.get(AUTHORITY.toHexString());
+    assertThat(authorityAccount.getBalance()).isEqualTo("0x5");
+    assertThat(authorityAccount.getNonce()).isEqualTo(3L);
+    assertThat(authorityAccount.getCode()).isNull();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogBloomIndexTest {
+
+  private static final Address ADDRESS_A = Address.fromHexString("0xaaaa");
+  private static final Address ADDRESS_B = Address.fromHexString("0xbbbb");
+  private static final LogTopic TOPIC = LogTopic.of(Bytes.repeat((byte) 1, 32));
+
+  @TempDir private Path cacheDir;
+  private Path cacheFile;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    cacheFile = cacheDir.resolve("logBloom-0.cache");
+    try (final RandomAccessFile file = new RandomAccessFile(cacheFile.toFile(), "rw")) {
+      file.setLength((long) BLOOM_BITS_LENGTH * BLOCKS_PER_BLOOM_CACHE);
+      writeBloom(file, 3, new Log(ADDRESS_A, Bytes.EMPTY, List.of()));
+      writeBloom(file, 64, new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC)));
+      writeBloom(file, 70_000, new Log(ADDRESS_B, Bytes.EMPTY, List.of(TOPIC)));
+      writeBloom(file, BLOCKS_PER_BLOOM_CACHE - 1, new Log(ADDRESS_A, Bytes.EMPTY, List.of()));
+    }
+  }
+
+  @Test
+  public void shouldFindBlocksMatchingAllGroups() throws IOException {
+    final Path indexFile = LogBloomIndex.indexFile(cacheDir, 0);
+    LogBloomIndex.build(cacheFile, indexFile);
+
+    assertThat(matchingBlocks(indexFile, new LogsQuery(List.of(ADDRESS_A), List.of())))
+        .containsExactly(3, 64, BLOCKS_PER_BLOOM_CACHE - 1);
+    assertThat(
+            matchingBlocks(indexFile, new LogsQuery(List.of(ADDRESS_A), List.of(List.of(TOPIC)))))
+        .containsExactly(64);
+    assertThat(
+            matchingBlocks(
+                indexFile, new LogsQuery(List.of(ADDRESS_A, ADDRESS_B), List.of(List.of(TOPIC)))))
+        .containsExactly(64, 70_000);
+  }
+
+  @Test
+  public void shouldOnlyReturnBlocksInRange() throws IOException {
+    final Path indexFile = LogBloomIndex.indexFile(cacheDir, 0);
+    LogBloomIndex.build(cacheFile, indexFile);
+    final List<List<LogsBloomFilter>> bloomGroups =
+        new LogsQuery(List.of(ADDRESS_A), List.of()).getBloomGroups();
+
+    assertThat(LogBloomIndex.matchingBlocks(indexFile, bloomGroups, 4, 64)).containsExactly(64);
+    assertThat(LogBloomIndex.matchingBlocks(indexFile, bloomGroups, 0, 63)).containsExactly(3);
+    assertThat(LogBloomIndex.matchingBlocks(indexFile, bloomGroups, 65, 99_998)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotBuildIndexOfIncompleteSegment() throws IOException {
+    try (final RandomAccessFile file = new RandomAccessFile(cacheFile.toFile(), "rw")) {
+      file.setLength(BLOOM_BITS_LENGTH * 10);
+    }
+    final Path indexFile = LogBloomIndex.indexFile(cacheDir, 0);
+
+    assertThatThrownBy(() -> LogBloomIndex.build(cacheFile, indexFile))
+        .isInstanceOf(IOException.class);
+    assertThat(indexFile).doesNotExist();
+  }
+
+  private static long[] matchingBlocks(final Path indexFile, final LogsQuery query)
+      throws IOException {
+    return LogBloomIndex.matchingBlocks(
+        indexFile, query.getBloomGroups(), 0, BLOCKS_PER_BLOOM_CACHE - 1);
+  }
+
+  private static void writeBloom(final RandomAccessFile file, final long block, final Log log)
+      throws IOException {
+    file.seek(block * BLOOM_BITS_LENGTH);
+    file.write(LogsBloomFilter.builder().insertLog(log).build().toArray());
+  }
+}
@@ -132,7 +132,10 @@ public class TransactionLogBloomCacherTest {
     when(blockchain.getChainHeadBlockNumber()).thenReturn(200003L);
     assertThat(cacheDir.toFile().list().length).isEqualTo(0);
     transactionLogBloomCacher.cacheAll();
-    assertThat(cacheDir.toFile().list().length).isEqualTo(2);
+    // a cache file and an index file for each of the two complete segments
+    assertThat(cacheDir.toFile().list().length).isEqualTo(4);
+    assertThat(LogBloomIndex.indexFile(cacheDir, 0)).isRegularFile();
+    assertThat(LogBloomIndex.indexFile(cacheDir, 1)).isRegularFile();
   }
 
   @Test
@@ -193,7 +196,34 @@ public class TransactionLogBloomCacherTest {
     assertThat(logBloom.length()).isEqualTo(BLOOM_BITS_LENGTH * BLOCKS_PER_BLOOM_CACHE);
     assertThat(logBloom1.length()).isEqualTo(0);
 
-    assertThat(cacheDir.toFile().list().length).isEqualTo(2);
+    assertThat(cacheDir.toFile().list().length).isEqualTo(3);
+    assertThat(LogBloomIndex.indexFile(cacheDir, 0)).isRegularFile();
+  }
+
+  @Test
+  public void shouldIndexCompleteSegmentsCachedBeforeTheIndex() throws IOException {
+    final File logBloom = Files.createFile(cacheDir.resolve("logBloom-0.cache")).toFile();
+    try (final RandomAccessFile file = new RandomAccessFile(logBloom, "rw")) {
+      file.setLength((long) BLOOM_BITS_LENGTH * BLOCKS_PER_BLOOM_CACHE);
+    }
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100003L);
+
+    transactionLogBloomCacher.cacheAll();
+
+    assertThat(LogBloomIndex.indexFile(cacheDir, 0)).isRegularFile();
+    assertThat(logBloom.length()).isEqualTo(BLOOM_BITS_LENGTH * BLOCKS_PER_BLOOM_CACHE);
+  }
+
+  @Test
+  public void shouldRemoveIndexWhenSegmentIsReorged() throws IOException {
+    final File logBloom = Files.createFile(cacheDir.resolve("logBloom-0.cache")).toFile();
+    final Path indexFile = Files.createFile(LogBloomIndex.indexFile(cacheDir, 0));
+    createLogBloomCache(logBloom);
+
+    transactionLogBloomCacher.cacheLogsBloomForBlockHeader(
+        createBlock(3L), Optional.empty(), Optional.of(logBloom));
+
+    assertThat(indexFile).doesNotExist();
   }
 
   @Test
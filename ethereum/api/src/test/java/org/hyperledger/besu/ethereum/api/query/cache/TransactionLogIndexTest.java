@@ -0,0 +1,172 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionLogIndexTest {
+
+  private static final Address ADDRESS_A = Address.fromHexString("0xaaaa");
+  private static final Address ADDRESS_B = Address.fromHexString("0xbbbb");
+  private static final LogTopic TOPIC_1 = LogTopic.of(Bytes.repeat((byte) 1, 32));
+  private static final LogTopic TOPIC_2 = LogTopic.of(Bytes.repeat((byte) 2, 32));
+
+  private TransactionLogIndex logIndex;
+
+  @BeforeEach
+  public void setup() {
+    logIndex = new TransactionLogIndex(new InMemoryKeyValueStorage());
+    // block 0 has no logs
+    assertThat(logIndex.indexBlock(0, List.of())).isTrue();
+    // block 1: A, then B with TOPIC_1 in a second transaction
+    assertThat(
+            logIndex.indexBlock(
+                1,
+                List.of(
+                    receipt(new Log(ADDRESS_A, Bytes.EMPTY, List.of())),
+                    receipt(
+                        new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_2)),
+                        new Log(ADDRESS_B, Bytes.EMPTY, List.of(TOPIC_1))))))
+        .isTrue();
+    // block 2: A with TOPIC_2 then TOPIC_1
+    assertThat(
+            logIndex.indexBlock(
+                2, List.of(receipt(new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_2, TOPIC_1))))))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldOnlyIndexTheNextBlock() {
+    assertThat(logIndex.indexBlock(4, List.of())).isFalse();
+    assertThat(logIndex.indexBlock(2, List.of())).isFalse();
+    assertThat(logIndex.getIndexedTo()).hasValue(2);
+  }
+
+  @Test
+  public void shouldFindPositionsOfMatchingLogs() {
+    assertThat(positions(new LogsQuery(List.of(ADDRESS_A), List.of()), 0, 2))
+        .containsExactly("1:[0, 1]", "2:[0]");
+    assertThat(positions(new LogsQuery(List.of(ADDRESS_A), List.of()), 2, 2))
+        .containsExactly("2:[0]");
+    assertThat(positions(new LogsQuery(List.of(), List.of(List.of(TOPIC_1))), 0, 2))
+        .containsExactly("1:[2]");
+    assertThat(
+            positions(
+                new LogsQuery(List.of(ADDRESS_A, ADDRESS_B), List.of(List.of(TOPIC_2))), 0, 2))
+        .containsExactly("1:[1]", "2:[0]");
+    assertThat(
+            positions(
+                new LogsQuery(List.of(), List.of(List.of(TOPIC_2), List.of(TOPIC_1, TOPIC_2))),
+                0,
+                2))
+        .containsExactly("2:[0]");
+  }
+
+  @Test
+  public void shouldNotAnswerQueriesItCannotNarrow() {
+    // beyond the indexed blocks
+    assertThat(logIndex.matchingPositions(new LogsQuery(List.of(ADDRESS_A), List.of()), 0, 3))
+        .isEmpty();
+    // no address nor topic
+    assertThat(logIndex.matchingPositions(new LogsQuery(List.of(), List.of()), 0, 2)).isEmpty();
+    // any topic in the only constrained position
+    final List<LogTopic> anyTopic = Arrays.asList(TOPIC_1, null);
+    assertThat(logIndex.matchingPositions(new LogsQuery(List.of(), List.of(anyTopic)), 0, 2))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldRemoveLogsOfReorgedBlocks() {
+    final List<LogWithMetadata> removedLogs =
+        LogWithMetadata.generate(
+            0,
+            List.of(new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_2, TOPIC_1))),
+            2,
+            Hash.ZERO,
+            Hash.ZERO,
+            0,
+            true);
+
+    logIndex.rewind(1, removedLogs);
+
+    assertThat(logIndex.getIndexedTo()).hasValue(1);
+    assertThat(logIndex.indexBlock(2, List.of(receipt(new Log(ADDRESS_B, Bytes.EMPTY, List.of())))))
+        .isTrue();
+    assertThat(positions(new LogsQuery(List.of(ADDRESS_A), List.of()), 0, 2))
+        .containsExactly("1:[0, 1]");
+    assertThat(positions(new LogsQuery(List.of(ADDRESS_B), List.of()), 0, 2))
+        .containsExactly("1:[2]", "2:[0]");
+  }
+
+  @Test
+  public void shouldStartAtTheFirstBlockWithReceiptsAfterTheGenesisBlock() {
+    final TransactionLogIndex index = new TransactionLogIndex(new InMemoryKeyValueStorage());
+    assertThat(index.indexBlock(0, List.of())).isTrue();
+
+    assertThat(index.startAt(5)).isTrue();
+    assertThat(index.getFirstIndexed()).isEqualTo(5);
+    assertThat(index.nextBlockToIndex()).isEqualTo(5);
+    assertThat(index.startAt(7)).isTrue();
+    assertThat(index.indexBlock(7, List.of(receipt(new Log(ADDRESS_A, Bytes.EMPTY, List.of())))))
+        .isTrue();
+    assertThat(index.startAt(9)).isFalse();
+
+    final LogsQuery query = new LogsQuery(List.of(ADDRESS_A), List.of());
+    assertThat(index.matchingPositions(query, 7, 7).orElseThrow()).containsOnlyKeys(7L);
+    // the blocks before the first block are not indexed
+    assertThat(index.matchingPositions(query, 0, 7)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotMoveTheStartOnceBlocksAreIndexed() {
+    assertThat(logIndex.startAt(5)).isFalse();
+    assertThat(logIndex.getFirstIndexed()).isZero();
+    assertThat(logIndex.getIndexedTo()).hasValue(2);
+  }
+
+  @Test
+  public void shouldRoundTripPositions() {
+    final List<Integer> positions = List.of(0, 1, 127, 128, 20_000, 100_000);
+    assertThat(TransactionLogIndex.decodePositions(TransactionLogIndex.encodePositions(positions)))
+        .containsExactly(0, 1, 127, 128, 20_000, 100_000);
+  }
+
+  private List<String> positions(final LogsQuery query, final long from, final long to) {
+    return logIndex.matchingPositions(query, from, to).orElseThrow().entrySet().stream()
+        .map(entry -> entry.getKey() + ":" + Arrays.toString(entry.getValue()))
+        .toList();
+  }
+
+  private static TransactionReceipt receipt(final Log... logs) {
+    return new TransactionReceipt(1, 21_000, List.of(logs), Optional.empty());
+  }
+}
@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobSiz
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlockRlpSizeTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlockSizeTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.MinPriorityFeePerGasTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.PreEvaluatedTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.PriceTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.ProcessingResultTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.SkipSenderTransactionSelector;
@@ -39,6 +40,7 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
@@ -100,6 +102,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private final BlockSelectionContext blockSelectionContext;
   private final TransactionSelectionResults transactionSelectionResults =
       new TransactionSelectionResults();
+  private final PreEvaluatedTransactionSelector preEvaluatedTransactionSelector;
   private final List<AbstractTransactionSelector> transactionSelectors;
   private final SelectorsStateManager selectorsStateManager;
   private final TransactionSelectionService transactionSelectionService;
@@ -144,6 +147,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
             transactionPool);
     this.selectorsStateManager = selectorsStateManager;
     this.transactionSelectionService = miningConfiguration.getTransactionSelectionService();
+    this.preEvaluatedTransactionSelector =
+        createPreEvaluatedTransactionSelector(blockSelectionContext);
     this.transactionSelectors =
         createTransactionSelectors(blockSelectionContext, selectorsStateManager);
     this.pluginTransactionSelector = pluginTransactionSelector;
@@ -160,13 +165,21 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
         new SkipSenderTransactionSelector(context),
         new BlockSizeTransactionSelector(context, selectorsStateManager),
         new BlobSizeTransactionSelector(context, selectorsStateManager),
-        new PriceTransactionSelector(context),
-        new BlobPriceTransactionSelector(context),
-        new MinPriorityFeePerGasTransactionSelector(context),
+        preEvaluatedTransactionSelector,
         new BlockRlpSizeTransactionSelector(context, selectorsStateManager),
         new ProcessingResultTransactionSelector(context));
   }
 
+  private PreEvaluatedTransactionSelector createPreEvaluatedTransactionSelector(
+      final BlockSelectionContext context) {
+    return new PreEvaluatedTransactionSelector(
+        context,
+        List.of(
+            new PriceTransactionSelector(context),
+            new BlobPriceTransactionSelector(context),
+            new MinPriorityFeePerGasTransactionSelector(context)));
+  }
+
   /**
    * Builds a list of transactions for a block by iterating over all transactions in the
    * PendingTransactions pool. This operation can be long-running and, if executed in a separate
@@ -199,7 +212,24 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
                   .setMessage("Starting internal pool transaction selection, stats {}")
                   .addArgument(blockSelectionContext.transactionPool()::logStats)
                   .log();
-              blockSelectionContext.transactionPool().selectTransactions(this::evaluateTransaction);
+              blockSelectionContext
+                  .transactionPool()
+                  .selectTransactions(
+                      new PendingTransactions.TransactionSelector() {
+                        @Override
+                        public TransactionSelectionResult evaluateTransaction(
+                            final PendingTransaction pendingTransaction) {
+                          return BlockTransactionSelector.this.evaluateTransaction(
+                              pendingTransaction);
+                        }
+
+                        @Override
+                        public void preEvaluateTransactions(
+                            final List<PendingTransaction> candidatePendingTransactions) {
+                          BlockTransactionSelector.this.preEvaluateTransactions(
+                              candidatePendingTransactions);
+                        }
+                      });
             },
             null);
     ethScheduler.scheduleBlockCreationTask(txSelectionTask);
@@ -285,6 +315,21 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     return transactionSelectionResults;
   }
 
+  /**
+   * Takes the decisions that only depend on the transaction and on the block being built for all
+   * the candidate transactions at once, in parallel, before they are evaluated one by one.
+   *
+   * @param candidatePendingTransactions The transactions about to be evaluated.
+   */
+  private void preEvaluateTransactions(
+      final List<PendingTransaction> candidatePendingTransactions) {
+    candidatePendingTransactions.parallelStream()
+        .forEach(
+            pendingTransaction ->
+                preEvaluatedTransactionSelector.preEvaluate(
+                    createTransactionEvaluationContext(pendingTransaction)));
+  }
+
   private TransactionSelectionResult evaluateTransaction(
       final PendingTransaction pendingTransaction) {
     final var evaluationResult = evaluatePendingTransaction(pendingTransaction);
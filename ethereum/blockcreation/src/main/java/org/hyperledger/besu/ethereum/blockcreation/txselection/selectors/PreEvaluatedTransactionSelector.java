@@ -0,0 +1,117 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection.selectors;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockSelectionContext;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionEvaluationContext;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Groups selectors whose decision only depends on the transaction and on the block being built, and
+ * not on the transactions selected before it, like the ones checking fees against the base fee and
+ * the blob gas price.
+ *
+ * <p>Their decision can then be taken for all the candidate transactions at once, concurrently,
+ * before the selection starts, so that the selection only has to look it up. Transactions that were
+ * not pre-evaluated go through the selectors as usual.
+ */
+public class PreEvaluatedTransactionSelector extends AbstractTransactionSelector {
+  private final List<AbstractTransactionSelector> selectors;
+  private final Map<Hash, TransactionSelectionResult> preEvaluationResults =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates a selector grouping other selectors.
+   *
+   * @param context The context of block selection.
+   * @param selectors The selectors to group, that must not depend on the selection state.
+   */
+  public PreEvaluatedTransactionSelector(
+      final BlockSelectionContext context, final List<AbstractTransactionSelector> selectors) {
+    super(context);
+    this.selectors = selectors;
+  }
+
+  /**
+   * Evaluates a transaction ahead of the selection. Can be called concurrently for different
+   * transactions.
+   *
+   * @param evaluationContext The selection session data of the transaction.
+   */
+  public void preEvaluate(final TransactionEvaluationContext evaluationContext) {
+    // the size is computed by encoding the transaction, and then cached for the selection
+    evaluationContext.getTransaction().getSizeForBlockInclusion();
+    preEvaluationResults.put(
+        evaluationContext.getTransaction().getHash(), evaluateSelectors(evaluationContext));
+  }
+
+  @Override
+  public TransactionSelectionResult evaluateTransactionPreProcessing(
+      final TransactionEvaluationContext evaluationContext) {
+    final TransactionSelectionResult preEvaluationResult =
+        preEvaluationResults.remove(evaluationContext.getTransaction().getHash());
+    return preEvaluationResult != null ? preEvaluationResult : evaluateSelectors(evaluationContext);
+  }
+
+  @Override
+  public TransactionSelectionResult evaluateTransactionPostProcessing(
+      final TransactionEvaluationContext evaluationContext,
+      final TransactionProcessingResult processingResult) {
+    for (final AbstractTransactionSelector selector : selectors) {
+      final TransactionSelectionResult result =
+          selector.evaluateTransactionPostProcessing(evaluationContext, processingResult);
+      if (!result.equals(TransactionSelectionResult.SELECTED)) {
+        return result;
+      }
+    }
+    return TransactionSelectionResult.SELECTED;
+  }
+
+  @Override
+  public void onTransactionSelected(
+      final TransactionEvaluationContext evaluationContext,
+      final TransactionProcessingResult processingResult) {
+    for (final AbstractTransactionSelector selector : selectors) {
+      selector.onTransactionSelected(evaluationContext, processingResult);
+    }
+  }
+
+  @Override
+  public void onTransactionNotSelected(
+      final TransactionEvaluationContext evaluationContext,
+      final TransactionSelectionResult transactionSelectionResult) {
+    for (final AbstractTransactionSelector selector : selectors) {
+      selector.onTransactionNotSelected(evaluationContext, transactionSelectionResult);
+    }
+  }
+
+  private TransactionSelectionResult evaluateSelectors(
+      final TransactionEvaluationContext evaluationContext) {
+    for (final AbstractTransactionSelector selector : selectors) {
+      final TransactionSelectionResult result =
+          selector.evaluateTransactionPreProcessing(evaluationContext);
+      if (!result.equals(TransactionSelectionResult.SELECTED)) {
+        return result;
+      }
+    }
+    return TransactionSelectionResult.SELECTED;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection.selectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockSelectionContext;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionEvaluationContext;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+
+import java.util.List;
+
+import com.google.common.base.Stopwatch;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PreEvaluatedTransactionSelectorTest {
+  @Mock private ProcessableBlockHeader pendingBlockHeader;
+  @Mock private AbstractTransactionSelector firstSelector;
+  @Mock private AbstractTransactionSelector secondSelector;
+
+  private PreEvaluatedTransactionSelector transactionSelector;
+
+  @BeforeEach
+  public void initialize() {
+    final BlockSelectionContext context =
+        new BlockSelectionContext(
+            MiningConfiguration.newDefault(), pendingBlockHeader, null, null, null, null);
+    transactionSelector =
+        new PreEvaluatedTransactionSelector(context, List.of(firstSelector, secondSelector));
+  }
+
+  @Test
+  public void shouldServePreEvaluatedResultWithoutEvaluatingAgain() {
+    final var evaluationContext = transactionEvaluationContext();
+    when(firstSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .thenReturn(TransactionSelectionResult.SELECTED);
+    when(secondSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .thenReturn(TransactionSelectionResult.CURRENT_TX_PRICE_BELOW_MIN);
+
+    transactionSelector.preEvaluate(evaluationContext);
+
+    assertThat(transactionSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .isEqualTo(TransactionSelectionResult.CURRENT_TX_PRICE_BELOW_MIN);
+    verify(firstSelector, times(1)).evaluateTransactionPreProcessing(evaluationContext);
+    verify(secondSelector, times(1)).evaluateTransactionPreProcessing(evaluationContext);
+  }
+
+  @Test
+  public void shouldEvaluateTransactionsThatWereNotPreEvaluated() {
+    final var evaluationContext = transactionEvaluationContext();
+    when(firstSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .thenReturn(TransactionSelectionResult.SELECTED);
+    when(secondSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .thenReturn(TransactionSelectionResult.SELECTED);
+
+    assertThat(transactionSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .isEqualTo(TransactionSelectionResult.SELECTED);
+    verify(firstSelector).evaluateTransactionPreProcessing(evaluationContext);
+    verify(secondSelector).evaluateTransactionPreProcessing(evaluationContext);
+  }
+
+  @Test
+  public void shouldStopAtTheFirstSelectorNotSelectingTheTransaction() {
+    final var evaluationContext = transactionEvaluationContext();
+    when(firstSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .thenReturn(TransactionSelectionResult.BLOB_PRICE_BELOW_CURRENT_MIN);
+
+    transactionSelector.preEvaluate(evaluationContext);
+
+    assertThat(transactionSelector.evaluateTransactionPreProcessing(evaluationContext))
+        .isEqualTo(TransactionSelectionResult.BLOB_PRICE_BELOW_CURRENT_MIN);
+    verify(secondSelector, never()).evaluateTransactionPreProcessing(evaluationContext);
+  }
+
+  private TransactionEvaluationContext transactionEvaluationContext() {
+    final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
+    final Transaction transaction = mock(Transaction.class);
+    when(pendingTransaction.getTransaction()).thenReturn(transaction);
+    when(transaction.getHash()).thenReturn(Hash.hash(Bytes.of(1)));
+    return new TransactionEvaluationContext(
+        pendingBlockHeader, pendingTransaction, Stopwatch.createStarted(), Wei.ONE, Wei.ONE);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.fluent.SimpleBlockValues;
+import org.hyperledger.besu.evm.fluent.SimpleWorld;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the default {@code Bytes} operand stack against the limb operand stack, with and without
+ * decoded code, by running whole contracts through {@link EVM#runToHalt}.
+ *
+ * <p>{@code code} is either one of the built-in programs or a path to a file holding hex encoded
+ * runtime bytecode, e.g. the output of {@code eth_getCode} for a mainnet contract, with {@code
+ * input} as the hex encoded calldata to run it with:
+ *
+ * <pre>
+ *   -p code=/tmp/uniswap-v2-router.hex -p input=0x...
+ * </pre>
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OperandStackBenchmark {
+
+  // 10k iterations of MUL, ADD, NOT, XOR, SHL, SUB, DUP, SWAP, JUMPI on full width words
+  private static final String ARITHMETIC_LOOP =
+      "0x612710"
+          + "5b"
+          + "7f"
+          + "f0e1d2c3b4a5968778695a4b3c2d1e0ff0e1d2c3b4a5968778695a4b3c2d1e0f"
+          + "7f"
+          + "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef"
+          + "02600701801918"
+          + "60031b50"
+          + "60019003"
+          + "8060035700";
+
+  // 10k iterations of comparisons, BYTE and DIV/MOD on words that fit in 64 bits
+  private static final String COMPARE_LOOP =
+      "0x612710"
+          + "5b"
+          + "8067ffffffffffffffff10"
+          + "81600a04"
+          + "82600706"
+          + "141650"
+          + "806000601f1a1150"
+          + "60019003"
+          + "8060035700";
+
+  @Param({"ARITHMETIC_LOOP", "COMPARE_LOOP"})
+  public String code;
+
+  @Param({"0x"})
+  public String input;
+
+  private EVM bytesEvm;
+  private EVM limbEvm;
+  private EVM decodedEvm;
+  private Code contract;
+  private Bytes inputData;
+
+  @Setup
+  public void prepare() throws Exception {
+    bytesEvm = MainnetEVMs.cancun(EvmConfiguration.DEFAULT);
+    limbEvm =
+        MainnetEVMs.cancun(
+            new EvmConfiguration(32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true));
+    decodedEvm =
+        MainnetEVMs.cancun(
+            new EvmConfiguration(32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true, true));
+    final String hex =
+        switch (code) {
+          case "ARITHMETIC_LOOP" -> ARITHMETIC_LOOP;
+          case "COMPARE_LOOP" -> COMPARE_LOOP;
+          default -> Files.readString(Path.of(code)).trim();
+        };
+    contract = bytesEvm.getCodeUncached(Bytes.fromHexString(hex));
+    inputData = Bytes.fromHexString(input);
+  }
+
+  @Benchmark
+  public long bytesStack() {
+    return execute(bytesEvm);
+  }
+
+  @Benchmark
+  public long limbStack() {
+    return execute(limbEvm);
+  }
+
+  @Benchmark
+  public long decodedCode() {
+    return execute(decodedEvm);
+  }
+
+  private long execute(final EVM evm) {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .worldUpdater(new SimpleWorld())
+            .initialGas(100_000_000L)
+            .address(Address.ZERO)
+            .originator(Address.ZERO)
+            .gasPrice(Wei.ZERO)
+            .blobGasPrice(Wei.ZERO)
+            .inputData(inputData)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .contract(Address.ZERO)
+            .code(contract)
+            .blockValues(new SimpleBlockValues())
+            .completer(__ -> {})
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.ZERO)
+            .limbOperandStack(evm.isLimbOperandStackEnabled())
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame.getRemainingGas();
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum;
 
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.mainnet.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
@@ -32,28 +33,32 @@ public class ProtocolContext {
   private final ConsensusContext consensusContext;
   private final BadBlockManager badBlockManager;
   private final ServiceManager serviceManager;
+  private final Optional<TransactionSenderRecovery> transactionSenderRecovery;
 
   /**
    * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
-   * context, and bad block manager.
+   * context, bad block manager and transaction sender recovery.
    *
    * @param blockchain the blockchain of the protocol context
    * @param worldStateArchive the world state archive of the protocol context
    * @param consensusContext the consensus context
    * @param badBlockManager the bad block manager of the protocol context
    * @param serviceManager plugin service manager
+   * @param transactionSenderRecovery the workers recovering transaction senders, if any
    */
   protected ProtocolContext(
       final MutableBlockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final ConsensusContext consensusContext,
       final BadBlockManager badBlockManager,
-      final ServiceManager serviceManager) {
+      final ServiceManager serviceManager,
+      final Optional<TransactionSenderRecovery> transactionSenderRecovery) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.consensusContext = consensusContext;
     this.badBlockManager = badBlockManager;
     this.serviceManager = serviceManager;
+    this.transactionSenderRecovery = transactionSenderRecovery;
   }
 
   /**
@@ -92,6 +97,16 @@ public class ProtocolContext {
     return serviceManager;
   }
 
+  /**
+   * Gets the workers recovering transaction senders ahead of their use, if the node has them.
+   * Without them, senders are recovered when first needed.
+   *
+   * @return the transaction sender recovery
+   */
+  public Optional<TransactionSenderRecovery> getTransactionSenderRecovery() {
+    return transactionSenderRecovery;
+  }
+
   /**
    * Gets the consensus context of the protocol context.
    *
@@ -152,6 +167,7 @@ public class ProtocolContext {
     private ConsensusContext consensusContext;
     private BadBlockManager badBlockManager = new BadBlockManager();
     private ServiceManager serviceManager = new ServiceManager.SimpleServiceManager();
+    private Optional<TransactionSenderRecovery> transactionSenderRecovery = Optional.empty();
 
     /** Default constructor. linter requires javadoc. */
     public Builder() {}
@@ -211,6 +227,19 @@ public class ProtocolContext {
       return this;
     }
 
+    /**
+     * Sets the {@link TransactionSenderRecovery} for the {@link ProtocolContext}.
+     *
+     * @param transactionSenderRecovery the transaction sender recovery to be used in the protocol
+     *     context.
+     * @return the builder instance for chaining.
+     */
+    public Builder withTransactionSenderRecovery(
+        final TransactionSenderRecovery transactionSenderRecovery) {
+      this.transactionSenderRecovery = Optional.of(transactionSenderRecovery);
+      return this;
+    }
+
     /**
      * Constructs a new {@link ProtocolContext} using the currently configured properties.
      *
@@ -218,7 +247,12 @@ public class ProtocolContext {
      */
     public ProtocolContext build() {
       return new ProtocolContext(
-          blockchain, worldStateArchive, consensusContext, badBlockManager, serviceManager);
+          blockchain,
+          worldStateArchive,
+          consensusContext,
+          badBlockManager,
+          serviceManager,
+          transactionSenderRecovery);
     }
   }
 }
@@ -16,8 +16,11 @@ package org.hyperledger.besu.ethereum.mainnet;
 
 import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
 
+import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.CodeDelegation;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
@@ -37,6 +40,7 @@ import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockProcessingContext;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.common.StateRootMismatchException;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiBlockStatePrefetcher;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
@@ -47,9 +51,14 @@ import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.apache.tuweni.units.bigints.UInt256;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -162,6 +171,10 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     LOG.trace("traceStartBlock for {}", blockHeader.getNumber());
     blockTracer.traceStartBlock(blockHeader, miningBeneficiary);
 
+    // start loading the state the transactions are known to touch while the block is set up
+    final Optional<BonsaiBlockStatePrefetcher.Prefetch> statePrefetch =
+        prefetchBlockState(worldState, transactions, miningBeneficiary);
+
     final BlockProcessingContext blockProcessingContext =
         new BlockProcessingContext(
             blockHeader, worldState, protocolSpec, blockHashLookup, blockTracer);
@@ -191,59 +204,63 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
     boolean parallelizedTxFound = false;
     int nbParallelTx = 0;
-    for (int i = 0; i < transactions.size(); i++) {
-      final Transaction transaction = transactions.get(i);
-      if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
-        return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
-      }
-      final WorldUpdater blockUpdater = worldState.updater();
-
-      TransactionProcessingResult transactionProcessingResult =
-          getTransactionProcessingResult(
-              preProcessingContext,
-              blockProcessingContext,
-              blockUpdater,
-              blobGasPrice,
-              miningBeneficiary,
-              transaction,
-              i,
-              blockHashLookup);
-      if (transactionProcessingResult.isInvalid()) {
-        String errorMessage =
-            MessageFormat.format(
-                "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
-                transactionProcessingResult.getValidationResult().getErrorMessage(),
-                blockHeader.getHash().toHexString(),
-                transaction.getHash().toHexString());
-        LOG.info(errorMessage);
-        if (worldState instanceof BonsaiWorldState) {
-          ((BonsaiWorldStateUpdateAccumulator) blockUpdater).reset();
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
+          return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
+        }
+        final WorldUpdater blockUpdater = worldState.updater();
+
+        TransactionProcessingResult transactionProcessingResult =
+            getTransactionProcessingResult(
+                preProcessingContext,
+                blockProcessingContext,
+                blockUpdater,
+                blobGasPrice,
+                miningBeneficiary,
+                transaction,
+                i,
+                blockHashLookup);
+        if (transactionProcessingResult.isInvalid()) {
+          String errorMessage =
+              MessageFormat.format(
+                  "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
+                  transactionProcessingResult.getValidationResult().getErrorMessage(),
+                  blockHeader.getHash().toHexString(),
+                  transaction.getHash().toHexString());
+          LOG.info(errorMessage);
+          if (worldState instanceof BonsaiWorldState) {
+            ((BonsaiWorldStateUpdateAccumulator) blockUpdater).reset();
+          }
+          return new BlockProcessingResult(Optional.empty(), errorMessage);
         }
-        return new BlockProcessingResult(Optional.empty(), errorMessage);
-      }
 
-      blockUpdater.commit();
-      blockUpdater.markTransactionBoundary();
+        blockUpdater.commit();
+        blockUpdater.markTransactionBoundary();
 
-      currentGasUsed += transaction.getGasLimit() - transactionProcessingResult.getGasRemaining();
-      final var optionalVersionedHashes = transaction.getVersionedHashes();
-      if (optionalVersionedHashes.isPresent()) {
-        final var versionedHashes = optionalVersionedHashes.get();
-        currentBlobGasUsed +=
-            (versionedHashes.size() * protocolSpec.getGasCalculator().getBlobGasPerBlob());
-      }
+        currentGasUsed += transaction.getGasLimit() - transactionProcessingResult.getGasRemaining();
+        final var optionalVersionedHashes = transaction.getVersionedHashes();
+        if (optionalVersionedHashes.isPresent()) {
+          final var versionedHashes = optionalVersionedHashes.get();
+          currentBlobGasUsed +=
+              (versionedHashes.size() * protocolSpec.getGasCalculator().getBlobGasPerBlob());
+        }
 
-      final TransactionReceipt transactionReceipt =
-          transactionReceiptFactory.create(
-              transaction.getType(), transactionProcessingResult, worldState, currentGasUsed);
-      receipts.add(transactionReceipt);
-      if (!parallelizedTxFound
-          && transactionProcessingResult.getIsProcessedInParallel().isPresent()) {
-        parallelizedTxFound = true;
-        nbParallelTx = 1;
-      } else if (transactionProcessingResult.getIsProcessedInParallel().isPresent()) {
-        nbParallelTx++;
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(
+                transaction.getType(), transactionProcessingResult, worldState, currentGasUsed);
+        receipts.add(transactionReceipt);
+        if (!parallelizedTxFound
+            && transactionProcessingResult.getIsProcessedInParallel().isPresent()) {
+          parallelizedTxFound = true;
+          nbParallelTx = 1;
+        } else if (transactionProcessingResult.getIsProcessedInParallel().isPresent()) {
+          nbParallelTx++;
+        }
       }
+    } finally {
+      statePrefetch.ifPresent(BonsaiBlockStatePrefetcher.Prefetch::close);
     }
     final var optionalHeaderBlobGasUsed = blockHeader.getBlobGasUsed();
     if (optionalHeaderBlobGasUsed.isPresent()) {
@@ -338,6 +355,45 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
         parallelizedTxFound ? Optional.of(nbParallelTx) : Optional.empty());
   }
 
+  /**
+   * Starts prefetching the accounts and storage slots the block is known to touch: the senders and
+   * recipients of its transactions, their access lists and their code delegation authorities.
+   *
+   * @param worldState the world state the block is executed on
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the beneficiary of the block
+   * @return the running prefetch, or empty if the world state does not support prefetching
+   */
+  private Optional<BonsaiBlockStatePrefetcher.Prefetch> prefetchBlockState(
+      final MutableWorldState worldState,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary) {
+    if (!(worldState instanceof BonsaiWorldState bonsaiWorldState) || transactions.isEmpty()) {
+      return Optional.empty();
+    }
+    final Map<Address, Set<StorageSlotKey>> keys = new LinkedHashMap<>();
+    keys.put(miningBeneficiary, new HashSet<>());
+    for (final Transaction transaction : transactions) {
+      keys.computeIfAbsent(transaction.getSender(), __ -> new HashSet<>());
+      transaction.getTo().ifPresent(to -> keys.computeIfAbsent(to, __ -> new HashSet<>()));
+      for (final AccessListEntry entry : transaction.getAccessList().orElse(List.of())) {
+        final Set<StorageSlotKey> slotKeys =
+            keys.computeIfAbsent(entry.address(), __ -> new HashSet<>());
+        entry
+            .storageKeys()
+            .forEach(storageKey -> slotKeys.add(new StorageSlotKey(UInt256.fromBytes(storageKey))));
+      }
+      for (final CodeDelegation codeDelegation :
+          transaction.getCodeDelegationList().orElse(List.of())) {
+        codeDelegation
+            .authorizer()
+            .ifPresent(authority -> keys.computeIfAbsent(authority, __ -> new HashSet<>()));
+        keys.computeIfAbsent(codeDelegation.address(), __ -> new HashSet<>());
+      }
+    }
+    return Optional.of(bonsaiWorldState.prefetchState(keys));
+  }
+
   @SuppressWarnings("unused") // preProcessingContext and location are used by subclasses
   protected TransactionProcessingResult getTransactionProcessingResult(
       final Optional<PreprocessingContext> preProcessingContext,
@@ -42,6 +42,14 @@ public class MainnetBlockImporter implements BlockImporter {
       return new BlockImportResult(BlockImportStatus.ALREADY_IMPORTED);
     }
 
+    context
+        .getTransactionSenderRecovery()
+        .ifPresent(
+            recovery ->
+                recovery.recoverSenders(
+                    block.getBody().getTransactions(),
+                    TransactionSenderRecovery.Priority.BLOCK_IMPORT));
+
     final var result =
         blockValidator.validateAndProcessBlock(
             context, block, headerValidationMode, ommerValidationMode, false);
@@ -0,0 +1,240 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCK_PROCESSING;
+
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the senders of transactions on a pool of workers shared by block import, the engine API
+ * and transaction gossip, instead of on whichever thread first asks a transaction for its sender.
+ *
+ * <p>Transactions are recovered in batches, split across the workers, and the sender is cached in
+ * the transaction as if {@link Transaction#getSender()} had been called. A transaction whose sender
+ * cannot be recovered is left as is, so that the error is reported when it is validated.
+ *
+ * <p>Batches of blocks being imported are taken before batches of gossiped transactions, so that a
+ * burst of gossip does not delay block import. The pool is owned by the node and must be closed
+ * with it.
+ */
+public final class TransactionSenderRecovery implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionSenderRecovery.class);
+
+  private static final int DEFAULT_THREAD_COUNT =
+      Math.clamp(Runtime.getRuntime().availableProcessors() / 2, 2, 8);
+  private static final int QUEUE_CAPACITY = 1024;
+  private static final int MIN_BATCH_SIZE = 8;
+
+  /** What the senders are recovered for, in decreasing order of priority. */
+  public enum Priority {
+    /** Transactions of a block being imported. */
+    BLOCK_IMPORT,
+    /** Transactions received from peers for the transaction pool. */
+    TRANSACTION_POOL
+  }
+
+  private final ThreadPoolExecutor executor;
+  private final OperationTimer recoveryTimer;
+  private final AtomicLong batchSequence = new AtomicLong();
+
+  /**
+   * Creates the sender recovery with its own pool of workers.
+   *
+   * @param metricsSystem the metrics system
+   */
+  public TransactionSenderRecovery(final MetricsSystem metricsSystem) {
+    this(createExecutor(DEFAULT_THREAD_COUNT), metricsSystem);
+  }
+
+  @VisibleForTesting
+  TransactionSenderRecovery(final ThreadPoolExecutor executor, final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    metricsSystem.createIntegerGauge(
+        BLOCK_PROCESSING,
+        "sender_recovery_queue_size",
+        "Number of batches of transactions waiting for their senders to be recovered",
+        () -> executor.getQueue().size());
+    this.recoveryTimer =
+        metricsSystem.createTimer(
+            BLOCK_PROCESSING,
+            "sender_recovery_duration",
+            "Time taken to recover the senders of a batch of transactions, including queuing");
+  }
+
+  /**
+   * Recovers the senders of transactions, returning once they are all recovered. The calling thread
+   * recovers a batch too, and then the batches no worker has started yet.
+   *
+   * @param transactions the transactions
+   * @param priority what the senders are recovered for
+   */
+  public void recoverSenders(final List<Transaction> transactions, final Priority priority) {
+    final List<List<Transaction>> batches = split(transactions);
+    if (batches.isEmpty()) {
+      return;
+    }
+    try (final OperationTimer.TimingContext ignored = recoveryTimer.startTimer()) {
+      final List<Batch> submitted = new ArrayList<>(batches.size() - 1);
+      for (final List<Transaction> transactionsOfBatch : batches.subList(1, batches.size())) {
+        final Batch batch = new Batch(transactionsOfBatch, priority);
+        submitted.add(batch);
+        offer(batch);
+      }
+      recover(batches.getFirst());
+      submitted.forEach(Batch::run);
+      submitted.forEach(batch -> batch.recovered.join());
+    }
+  }
+
+  /**
+   * Starts recovering the senders of transactions without waiting for them. Batches the workers
+   * cannot take are skipped, their senders being recovered when first needed.
+   *
+   * @param transactions the transactions
+   * @param priority what the senders are recovered for
+   */
+  public void recoverSendersInBackground(
+      final List<Transaction> transactions, final Priority priority) {
+    for (final List<Transaction> transactionsOfBatch : split(transactions)) {
+      final OperationTimer.TimingContext timingContext = recoveryTimer.startTimer();
+      final Batch batch = new Batch(transactionsOfBatch, priority);
+      if (offer(batch)) {
+        batch.recovered.thenRun(timingContext::stopTimer);
+      } else {
+        timingContext.close();
+        LOG.trace(
+            "Sender recovery queue is full, skipping {} transactions", transactionsOfBatch.size());
+      }
+    }
+  }
+
+  /** Stops the workers, the batches they have not started are left to their callers. */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  // The queue is unbounded so that it can order the batches, its capacity is checked here instead.
+  private boolean offer(final Batch batch) {
+    if (executor.getQueue().size() >= QUEUE_CAPACITY) {
+      return false;
+    }
+    try {
+      executor.execute(batch);
+      return true;
+    } catch (final RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  private List<List<Transaction>> split(final List<Transaction> transactions) {
+    if (transactions.isEmpty()) {
+      return List.of();
+    }
+    final int batchSize =
+        Math.max(
+            MIN_BATCH_SIZE, Math.ceilDiv(transactions.size(), executor.getMaximumPoolSize() + 1));
+    final List<List<Transaction>> batches = new ArrayList<>();
+    for (int from = 0; from < transactions.size(); from += batchSize) {
+      batches.add(transactions.subList(from, Math.min(from + batchSize, transactions.size())));
+    }
+    return batches;
+  }
+
+  private static void recover(final List<Transaction> batch) {
+    for (final Transaction transaction : batch) {
+      try {
+        transaction.getSender();
+      } catch (final RuntimeException e) {
+        LOG.atTrace()
+            .setMessage("Could not recover the sender of transaction {}")
+            .addArgument(transaction::getHash)
+            .setCause(e)
+            .log();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static ThreadPoolExecutor createExecutor(final int threadCount) {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threadCount,
+            threadCount,
+            60,
+            TimeUnit.SECONDS,
+            new PriorityBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("TransactionSenderRecovery-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * A batch of transactions, run once by whichever of a worker or the caller claims it first.
+   * Batches are ordered by priority, then in the order they were created.
+   */
+  private final class Batch implements Runnable, Comparable<Batch> {
+    private final List<Transaction> transactions;
+    private final Priority priority;
+    private final long sequence = batchSequence.getAndIncrement();
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+    private final CompletableFuture<Void> recovered = new CompletableFuture<>();
+
+    private Batch(final List<Transaction> transactions, final Priority priority) {
+      this.transactions = transactions;
+      this.priority = priority;
+    }
+
+    @Override
+    public void run() {
+      if (claimed.compareAndSet(false, true)) {
+        try {
+          recover(transactions);
+        } finally {
+          recovered.complete(null);
+        }
+      }
+    }
+
+    @Override
+    public int compareTo(final Batch other) {
+      final int byPriority = priority.compareTo(other.priority);
+      return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+    }
+  }
+}
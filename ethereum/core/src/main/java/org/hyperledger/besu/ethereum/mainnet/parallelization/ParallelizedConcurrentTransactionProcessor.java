@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
@@ -32,6 +33,7 @@ import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -46,6 +48,12 @@ import com.google.common.annotations.VisibleForTesting;
  * Transactions are executed optimistically in a non-blocking manner. After execution, the class
  * checks for potential conflicts among transactions to ensure data integrity before applying the
  * results to the world state.
+ *
+ * <p>Once every transaction has been executed on the parent state, the transactions that read
+ * state changed by a transaction preceding them in the block are executed a second time in the
+ * background, on top of the changes of all the transactions preceding them. When the estimate of
+ * these changes turns out to be right, the second result passes the conflict check and the
+ * transaction does not have to be executed sequentially.
  */
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class ParallelizedConcurrentTransactionProcessor {
@@ -59,6 +67,9 @@ public class ParallelizedConcurrentTransactionProcessor {
 
   private CompletableFuture<Void>[] completableFuturesForBackgroundTransactions;
 
+  private final Map<Integer, CompletableFuture<Void>> rerunFuturesByLocation =
+      new ConcurrentHashMap<>();
+
   /**
    * Constructs a PreloadConcurrentTransactionProcessor with a specified transaction processor. This
    * processor is responsible for the individual processing of transactions.
@@ -110,17 +121,102 @@ public class ParallelizedConcurrentTransactionProcessor {
       /*
        * All transactions are executed in the background by copying the world state of the block on which the transactions need to be executed, ensuring that each one has its own accumulator.
        */
-      CompletableFuture.runAsync(
-          () ->
-              runTransaction(
-                  protocolContext,
-                  blockHeader,
-                  transactionLocation,
-                  transaction,
-                  miningBeneficiary,
-                  blockHashLookup,
-                  blobGasPrice),
-          executor);
+      completableFuturesForBackgroundTransactions[i] =
+          CompletableFuture.runAsync(
+              () ->
+                  runTransaction(
+                      protocolContext,
+                      blockHeader,
+                      transactionLocation,
+                      transaction,
+                      miningBeneficiary,
+                      blockHashLookup,
+                      blobGasPrice),
+              executor);
+    }
+    /*
+     * If one of the transactions has been cancelled, the block processor has already caught up with the background execution and there is no point in executing transactions again.
+     */
+    CompletableFuture.allOf(completableFuturesForBackgroundTransactions)
+        .thenRunAsync(
+            () ->
+                rerunStaleTransactions(
+                    protocolContext,
+                    blockHeader,
+                    transactions,
+                    miningBeneficiary,
+                    blockHashLookup,
+                    blobGasPrice,
+                    executor),
+            executor);
+  }
+
+  /**
+   * Executes again the transactions that read an account or a storage slot changed by a
+   * transaction preceding them in the block, this time on top of the changes of all the
+   * transactions preceding them. The new result replaces the previous one only if the block
+   * processor has not consumed it yet, and it goes through the same conflict check. The re-runs
+   * are tracked apart from the first executions, and cancelled once the block processor reaches
+   * their transaction.
+   *
+   * <p>The scan stops at the first transaction whose result is not available anymore, as the
+   * changes made by the block up to that point are then unknown.
+   *
+   * @param protocolContext the current context of the protocol
+   * @param blockHeader Header of the current block containing the transactions.
+   * @param transactions List of transactions to be processed.
+   * @param miningBeneficiary Address of the beneficiary to receive mining rewards.
+   * @param blockHashLookup Function for block hash lookup.
+   * @param blobGasPrice Gas price for blob transactions.
+   * @param executor The executor to use for asynchronous execution.
+   */
+  private void rerunStaleTransactions(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Executor executor) {
+    final TransactionCollisionDetector.WriteSet precedingWrites =
+        new TransactionCollisionDetector.WriteSet();
+    final List<ParallelizedTransactionContext> precedingContexts = new ArrayList<>();
+    for (int i = 0; i < transactions.size(); i++) {
+      final ParallelizedTransactionContext parallelizedTransactionContext =
+          parallelizedTransactionContextByLocation.get(i);
+      if (parallelizedTransactionContext == null) {
+        return;
+      }
+      final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator =
+          parallelizedTransactionContext.transactionAccumulator();
+      if (!parallelizedTransactionContext.isMiningBeneficiaryTouchedPreRewardByTransaction()
+          && precedingWrites.isReadBy(transactionAccumulator)) {
+        final Transaction transaction = transactions.get(i);
+        final int transactionLocation = i;
+        final List<ParallelizedTransactionContext> baseContexts = List.copyOf(precedingContexts);
+        final CompletableFuture<Void> rerunFuture =
+            CompletableFuture.runAsync(
+                () ->
+                    runTransaction(
+                        protocolContext,
+                        blockHeader,
+                        transactionLocation,
+                        transaction,
+                        miningBeneficiary,
+                        blockHashLookup,
+                        blobGasPrice,
+                        baseContexts),
+                executor);
+        rerunFuturesByLocation.put(transactionLocation, rerunFuture);
+        if (!parallelizedTransactionContextByLocation.containsKey(transactionLocation)) {
+          // the block processor has reached the transaction in the meantime
+          rerunFuture.cancel(true);
+        }
+      }
+      if (!parallelizedTransactionContext.transactionProcessingResult().isInvalid()) {
+        precedingContexts.add(parallelizedTransactionContext);
+        precedingWrites.add(transactionAccumulator);
+      }
     }
   }
 
@@ -133,6 +229,39 @@ public class ParallelizedConcurrentTransactionProcessor {
       final Address miningBeneficiary,
       final BlockHashLookup blockHashLookup,
       final Wei blobGasPrice) {
+    runTransaction(
+        protocolContext,
+        blockHeader,
+        transactionLocation,
+        transaction,
+        miningBeneficiary,
+        blockHashLookup,
+        blobGasPrice,
+        List.of());
+  }
+
+  /**
+   * Executes a transaction in the background on its own copy of the parent world state.
+   *
+   * @param protocolContext the current context of the protocol
+   * @param blockHeader Header of the current block containing the transaction.
+   * @param transactionLocation Index of the transaction within the block.
+   * @param transaction The transaction to execute.
+   * @param miningBeneficiary Address of the beneficiary to receive mining rewards.
+   * @param blockHashLookup Function for block hash lookup.
+   * @param blobGasPrice Gas price for blob transactions.
+   * @param baseContexts the contexts of the preceding transactions of the block whose changes are
+   *     applied before executing the transaction, empty to execute it on the parent state
+   */
+  private void runTransaction(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final int transactionLocation,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final List<ParallelizedTransactionContext> baseContexts) {
     final BlockHeader chainHeadHeader = protocolContext.getBlockchain().getChainHeadHeader();
     if (chainHeadHeader.getHash().equals(blockHeader.getParentHash())) {
       try (BonsaiWorldState ws =
@@ -146,8 +275,29 @@ public class ParallelizedConcurrentTransactionProcessor {
           ws.disableCacheMerkleTrieLoader();
           final ParallelizedTransactionContext.Builder contextBuilder =
               new ParallelizedTransactionContext.Builder();
-          final PathBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater =
-              (PathBasedWorldStateUpdateAccumulator<?>) ws.updater();
+          final Optional<PathBasedWorldStateUpdateAccumulator<?>> maybeBaseAccumulator;
+          final PathBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater;
+          if (baseContexts.isEmpty()) {
+            maybeBaseAccumulator = Optional.empty();
+            roundWorldStateUpdater = (PathBasedWorldStateUpdateAccumulator<?>) ws.updater();
+          } else {
+            /*
+             * The changes of the preceding transactions are imported in the accumulator of the world state, and the transaction is executed
+             * in an accumulator on top of it, so that its prior values are the ones it observed and not the ones of the parent state.
+             */
+            final PathBasedWorldStateUpdateAccumulator baseAccumulator = ws.getAccumulator();
+            baseContexts.forEach(
+                context ->
+                    baseAccumulator.importStateChangesOnTopOfCurrentState(
+                        context.transactionAccumulator()));
+            maybeBaseAccumulator = Optional.of(baseAccumulator);
+            roundWorldStateUpdater =
+                new BonsaiWorldStateUpdateAccumulator(
+                    baseAccumulator,
+                    (__, ___) -> {},
+                    (__, ___) -> {},
+                    baseAccumulator.getEvmConfiguration());
+          }
           final TransactionProcessingResult result =
               transactionProcessor.processTransaction(
                   roundWorldStateUpdater,
@@ -180,11 +330,12 @@ public class ParallelizedConcurrentTransactionProcessor {
                   blobGasPrice);
 
           // commit the accumulator in order to apply all the modifications
-          ws.getAccumulator().commit();
+          roundWorldStateUpdater.commit();
 
           contextBuilder
-              .transactionAccumulator(ws.getAccumulator())
-              .transactionProcessingResult(result);
+              .transactionAccumulator(roundWorldStateUpdater)
+              .transactionProcessingResult(result)
+              .baseAccumulator(maybeBaseAccumulator);
 
           final ParallelizedTransactionContext parallelizedTransactionContext =
               contextBuilder.build();
@@ -196,8 +347,14 @@ public class ParallelizedConcurrentTransactionProcessor {
              */
             roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
           }
-          parallelizedTransactionContextByLocation.put(
-              transactionLocation, parallelizedTransactionContext);
+          if (baseContexts.isEmpty()) {
+            parallelizedTransactionContextByLocation.put(
+                transactionLocation, parallelizedTransactionContext);
+          } else {
+            // the previous result may have been consumed by the block processor in the meantime
+            parallelizedTransactionContextByLocation.computeIfPresent(
+                transactionLocation, (__, previousContext) -> parallelizedTransactionContext);
+          }
         }
       } catch (Exception ex) {
         // no op as failing to get worldstate
@@ -240,6 +397,11 @@ public class ParallelizedConcurrentTransactionProcessor {
         (PathBasedWorldStateUpdateAccumulator) pathBasedWorldState.updater();
     final ParallelizedTransactionContext parallelizedTransactionContext =
         parallelizedTransactionContextByLocation.remove(transactionLocation);
+    // a re-run still in progress cannot be used anymore once the block processor reaches it
+    final CompletableFuture<Void> rerunFuture = rerunFuturesByLocation.remove(transactionLocation);
+    if (rerunFuture != null) {
+      rerunFuture.cancel(true);
+    }
     /*
      * If `parallelizedTransactionContext` is not null, it means that the transaction had time to complete in the background.
      */
@@ -257,7 +419,12 @@ public class ParallelizedConcurrentTransactionProcessor {
           blockAccumulator.getOrCreate(miningBeneficiary).incrementBalance(reward);
         }
 
-        blockAccumulator.importStateChangesFromSource(transactionAccumulator);
+        if (parallelizedTransactionContext.baseAccumulator().isPresent()) {
+          // the priors of a re-run transaction are values written by the preceding transactions
+          blockAccumulator.importStateChangesOnTopOfCurrentState(transactionAccumulator);
+        } else {
+          blockAccumulator.importStateChangesFromSource(transactionAccumulator);
+        }
 
         if (confirmedParallelizedTransactionCounter.isPresent()) {
           confirmedParallelizedTransactionCounter.get().inc();
@@ -266,7 +433,11 @@ public class ParallelizedConcurrentTransactionProcessor {
         }
         return Optional.of(transactionProcessingResult);
       } else {
-        blockAccumulator.importPriorStateFromSource(transactionAccumulator);
+        // the priors of a transaction re-run on top of earlier transactions are speculative
+        // values of those transactions rather than parent state, so they are not imported
+        if (parallelizedTransactionContext.baseAccumulator().isEmpty()) {
+          blockAccumulator.importPriorStateFromSource(transactionAccumulator);
+        }
         if (conflictingButCachedTransactionCounter.isPresent())
           conflictingButCachedTransactionCounter.get().inc();
         // If there is a conflict, we return an empty result to signal the block processor to
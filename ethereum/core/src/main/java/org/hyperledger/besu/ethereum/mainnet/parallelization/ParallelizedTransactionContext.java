@@ -19,23 +19,51 @@ import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
 
 import java.util.Objects;
+import java.util.Optional;
 
 public final class ParallelizedTransactionContext {
   private final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator;
   private final TransactionProcessingResult transactionProcessingResult;
   private final boolean isMiningBeneficiaryTouchedPreRewardByTransaction;
   private final Wei miningBeneficiaryReward;
+  private final Optional<PathBasedWorldStateUpdateAccumulator<?>> baseAccumulator;
 
   public ParallelizedTransactionContext(
       final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator,
       final TransactionProcessingResult transactionProcessingResult,
       final boolean isMiningBeneficiaryTouchedPreRewardByTransaction,
       final Wei miningBeneficiaryReward) {
+    this(
+        transactionAccumulator,
+        transactionProcessingResult,
+        isMiningBeneficiaryTouchedPreRewardByTransaction,
+        miningBeneficiaryReward,
+        Optional.empty());
+  }
+
+  /**
+   * Creates the context of a transaction.
+   *
+   * @param transactionAccumulator the state changes of the transaction
+   * @param transactionProcessingResult the result of the transaction
+   * @param isMiningBeneficiaryTouchedPreRewardByTransaction whether the transaction touched the
+   *     mining beneficiary before the reward
+   * @param miningBeneficiaryReward the reward of the mining beneficiary for the transaction
+   * @param baseAccumulator the state changes of the earlier transactions of the block the
+   *     transaction was executed on top of, empty if it was executed on the parent state
+   */
+  public ParallelizedTransactionContext(
+      final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator,
+      final TransactionProcessingResult transactionProcessingResult,
+      final boolean isMiningBeneficiaryTouchedPreRewardByTransaction,
+      final Wei miningBeneficiaryReward,
+      final Optional<PathBasedWorldStateUpdateAccumulator<?>> baseAccumulator) {
     this.transactionAccumulator = transactionAccumulator;
     this.transactionProcessingResult = transactionProcessingResult;
     this.isMiningBeneficiaryTouchedPreRewardByTransaction =
         isMiningBeneficiaryTouchedPreRewardByTransaction;
     this.miningBeneficiaryReward = miningBeneficiaryReward;
+    this.baseAccumulator = baseAccumulator;
   }
 
   public PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator() {
@@ -54,6 +82,10 @@ public final class ParallelizedTransactionContext {
     return miningBeneficiaryReward;
   }
 
+  public Optional<PathBasedWorldStateUpdateAccumulator<?>> baseAccumulator() {
+    return baseAccumulator;
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (obj == this) return true;
@@ -63,7 +95,8 @@ public final class ParallelizedTransactionContext {
         && Objects.equals(this.transactionProcessingResult, that.transactionProcessingResult)
         && this.isMiningBeneficiaryTouchedPreRewardByTransaction
             == that.isMiningBeneficiaryTouchedPreRewardByTransaction
-        && Objects.equals(this.miningBeneficiaryReward, that.miningBeneficiaryReward);
+        && Objects.equals(this.miningBeneficiaryReward, that.miningBeneficiaryReward)
+        && Objects.equals(this.baseAccumulator, that.baseAccumulator);
   }
 
   @Override
@@ -72,7 +105,8 @@ public final class ParallelizedTransactionContext {
         transactionAccumulator,
         transactionProcessingResult,
         isMiningBeneficiaryTouchedPreRewardByTransaction,
-        miningBeneficiaryReward);
+        miningBeneficiaryReward,
+        baseAccumulator);
   }
 
   @Override
@@ -89,6 +123,9 @@ public final class ParallelizedTransactionContext {
         + ", "
         + "miningBeneficiaryReward="
         + miningBeneficiaryReward
+        + ", "
+        + "baseAccumulator="
+        + baseAccumulator
         + ']';
   }
 
@@ -97,6 +134,7 @@ public final class ParallelizedTransactionContext {
     private TransactionProcessingResult transactionProcessingResult;
     private boolean isMiningBeneficiaryTouchedPreRewardByTransaction;
     private Wei miningBeneficiaryReward = Wei.ZERO;
+    private Optional<PathBasedWorldStateUpdateAccumulator<?>> baseAccumulator = Optional.empty();
 
     public Builder transactionAccumulator(
         final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator) {
@@ -122,12 +160,19 @@ public final class ParallelizedTransactionContext {
       return this;
     }
 
+    public Builder baseAccumulator(
+        final Optional<PathBasedWorldStateUpdateAccumulator<?>> baseAccumulator) {
+      this.baseAccumulator = baseAccumulator;
+      return this;
+    }
+
     public ParallelizedTransactionContext build() {
       return new ParallelizedTransactionContext(
           transactionAccumulator,
           transactionProcessingResult,
           isMiningBeneficiaryTouchedPreRewardByTransaction,
-          miningBeneficiaryReward);
+          miningBeneficiaryReward,
+          baseAccumulator);
     }
   }
 }
@@ -22,7 +22,9 @@ import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.preload.StorageConsumingMap;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -34,17 +36,24 @@ public class TransactionCollisionDetector {
   /**
    * Checks if there is a conflict between the current block's state and the given transaction.
    *
-   * <p>This method detects conflicts between the transaction and the block's state by checking if
-   * the transaction modifies the same addresses and storage slots that are already modified by the
-   * block. A conflict occurs in two cases: 1. If the transaction touches an address that is also
-   * modified in the block, and the account details (excluding storage) are identical. In this case,
-   * it checks if there is an overlap in the storage slots affected by both the transaction and the
-   * block. 2. If the account details differ between the transaction and the block (excluding
-   * storage), it immediately detects a conflict.
+   * <p>The accumulator of the transaction holds every account and storage slot it read or wrote,
+   * with as prior value the value it observed when it first accessed it. The transaction is valid
+   * if all these observed values are still the current values of the block, in which case it would
+   * have executed the same way sequentially. A conflict is therefore detected when:
    *
-   * <p>The method returns `true` if any such conflict is found, otherwise `false`.
+   * <ul>
+   *   <li>the transaction touched the mining beneficiary before its reward,
+   *   <li>the nonce, balance or code hash of an account observed by the transaction differs from
+   *       the one of the block,
+   *   <li>a storage slot value observed by the transaction differs from the one of the block, or
+   *       the storage of an account it accessed was cleared by the block.
+   * </ul>
+   *
+   * <p>Contrary to a comparison of the keys touched on both sides, a value written by the block
+   * that is equal to the value the transaction observed is not a conflict.
    *
    * @param transaction The transaction to check for conflicts with the block's state.
+   * @param miningBeneficiary The address of the mining beneficiary of the block.
    * @param parallelizedTransactionContext The context for the parallelized execution of the
    *     transaction.
    * @param blockAccumulator The accumulator containing the state updates of the current block.
@@ -56,31 +65,108 @@ public class TransactionCollisionDetector {
       final Address miningBeneficiary,
       final ParallelizedTransactionContext parallelizedTransactionContext,
       final PathBasedWorldStateUpdateAccumulator<? extends PathBasedAccount> blockAccumulator) {
+    final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator =
+        parallelizedTransactionContext.transactionAccumulator();
+    final Optional<PathBasedWorldStateUpdateAccumulator<?>> maybeBaseAccumulator =
+        parallelizedTransactionContext.baseAccumulator();
     final Set<Address> addressesTouchedByTransaction =
-        getAddressesTouchedByTransaction(
-            transaction, Optional.of(parallelizedTransactionContext.transactionAccumulator()));
+        getAddressesTouchedByTransaction(transaction, Optional.of(transactionAccumulator));
     if (addressesTouchedByTransaction.contains(miningBeneficiary)) {
       return true;
     }
     for (final Address next : addressesTouchedByTransaction) {
-      final Optional<AccountUpdateContext> maybeAddressTouchedByBlock =
-          getAddressTouchedByBlock(next, Optional.of(blockAccumulator));
-      if (maybeAddressTouchedByBlock.isPresent()) {
-        if (maybeAddressTouchedByBlock.get().areAccountDetailsEqualExcludingStorage()) {
-          final Set<StorageSlotKey> slotsTouchedByBlockAndByAddress =
-              getSlotsTouchedByBlockAndByAddress(Optional.of(blockAccumulator), next);
-          final Set<StorageSlotKey> slotsTouchedByTransactionAndByAddress =
-              getSlotsTouchedByTransactionAndByAddress(
-                  Optional.of(parallelizedTransactionContext.transactionAccumulator()), next);
-          for (final StorageSlotKey touchedByTransactionAndByAddress :
-              slotsTouchedByTransactionAndByAddress) {
-            if (slotsTouchedByBlockAndByAddress.contains(touchedByTransactionAndByAddress)) {
-              return true;
-            }
-          }
-        } else {
-          return true;
-        }
+      if (hasAccountCollision(next, transactionAccumulator, maybeBaseAccumulator, blockAccumulator)
+          || hasStorageCollision(
+              next, transactionAccumulator, maybeBaseAccumulator, blockAccumulator)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if the account observed by the transaction differs from the current account of the
+   * block, excluding storage.
+   *
+   * <p>When the block has not touched the account, its current value is the one of the parent
+   * state. The transaction observed that same value unless it was executed on top of a base
+   * accumulator that already held a different one.
+   *
+   * @param address The address of the account to check.
+   * @param transactionAccumulator The accumulator of the transaction.
+   * @param maybeBaseAccumulator The accumulator the transaction was executed on top of, if any.
+   * @param blockAccumulator The accumulator containing the state updates of the current block.
+   * @return true if the account observed by the transaction is stale, otherwise false.
+   */
+  private boolean hasAccountCollision(
+      final Address address,
+      final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator,
+      final Optional<PathBasedWorldStateUpdateAccumulator<?>> maybeBaseAccumulator,
+      final PathBasedWorldStateUpdateAccumulator<? extends PathBasedAccount> blockAccumulator) {
+    final PathBasedValue<? extends PathBasedAccount> blockValue =
+        blockAccumulator.getAccountsToUpdate().get(address);
+    final PathBasedValue<? extends PathBasedAccount> baseValue =
+        maybeBaseAccumulator
+            .<PathBasedValue<? extends PathBasedAccount>>map(
+                baseAccumulator -> baseAccumulator.getAccountsToUpdate().get(address))
+            .orElse(null);
+    if (blockValue == null && baseValue == null) {
+      // both the block and the transaction see the account of the parent state
+      return false;
+    }
+    final PathBasedAccount parentAccount =
+        blockValue != null ? blockValue.getPrior() : baseValue.getPrior();
+    final PathBasedValue<? extends PathBasedAccount> transactionValue =
+        transactionAccumulator.getAccountsToUpdate().get(address);
+    final PathBasedAccount observedAccount =
+        transactionValue != null ? transactionValue.getPrior() : parentAccount;
+    final PathBasedAccount currentAccount =
+        blockValue != null ? blockValue.getUpdated() : parentAccount;
+    return !areAccountDetailsEqualExcludingStorage(observedAccount, currentAccount);
+  }
+
+  /**
+   * Checks if any storage slot observed by the transaction for the given address differs from the
+   * current value of the slot in the block.
+   *
+   * @param address The address whose storage is checked.
+   * @param transactionAccumulator The accumulator of the transaction.
+   * @param maybeBaseAccumulator The accumulator the transaction was executed on top of, if any.
+   * @param blockAccumulator The accumulator containing the state updates of the current block.
+   * @return true if a storage slot observed by the transaction is stale, otherwise false.
+   */
+  private boolean hasStorageCollision(
+      final Address address,
+      final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator,
+      final Optional<PathBasedWorldStateUpdateAccumulator<?>> maybeBaseAccumulator,
+      final PathBasedWorldStateUpdateAccumulator<? extends PathBasedAccount> blockAccumulator) {
+    final StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> transactionSlots =
+        transactionAccumulator.getStorageToUpdate().get(address);
+    if (transactionSlots == null || transactionSlots.isEmpty()) {
+      return false;
+    }
+    if (blockAccumulator.getStorageToClear().contains(address)) {
+      return true;
+    }
+    final StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> blockSlots =
+        blockAccumulator.getStorageToUpdate().get(address);
+    final StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> baseSlots =
+        maybeBaseAccumulator
+            .map(baseAccumulator -> baseAccumulator.getStorageToUpdate().get(address))
+            .orElse(null);
+    for (final Map.Entry<StorageSlotKey, PathBasedValue<UInt256>> transactionSlot :
+        transactionSlots.entrySet()) {
+      final PathBasedValue<UInt256> blockValue =
+          blockSlots != null ? blockSlots.get(transactionSlot.getKey()) : null;
+      final PathBasedValue<UInt256> baseValue =
+          baseSlots != null ? baseSlots.get(transactionSlot.getKey()) : null;
+      if (blockValue == null && baseValue == null) {
+        continue;
+      }
+      final UInt256 parentValue = blockValue != null ? blockValue.getPrior() : baseValue.getPrior();
+      final UInt256 currentValue = blockValue != null ? blockValue.getUpdated() : parentValue;
+      if (!isStorageValueEqual(transactionSlot.getValue().getPrior(), currentValue)) {
+        return true;
       }
     }
     return false;
@@ -117,110 +203,6 @@ public class TransactionCollisionDetector {
     return addresses;
   }
 
-  /**
-   * Retrieves the set of storage slot keys that have been touched by the given transaction for the
-   * specified address, based on the provided world state update accumulator.
-   *
-   * <p>This method checks if the accumulator contains storage updates for the specified address. If
-   * such updates are found, it adds the touched storage slot keys to the returned set. The method
-   * does not distinguish between changes or unchanged slots; it simply collects all the storage
-   * slot keys that have been touched by the transaction for the given address.
-   *
-   * @param accumulator An {@link Optional} containing the world state update accumulator, which
-   *     holds the updates for storage slots.
-   * @param address The address for which the touched storage slots are being retrieved.
-   * @return A set of storage slot keys that have been touched by the transaction for the given
-   *     address. If no updates are found, or the address has no associated updates, an empty set is
-   *     returned.
-   */
-  private Set<StorageSlotKey> getSlotsTouchedByTransactionAndByAddress(
-      final Optional<PathBasedWorldStateUpdateAccumulator<?>> accumulator, final Address address) {
-    HashSet<StorageSlotKey> slots = new HashSet<>();
-    accumulator.ifPresent(
-        pathBasedWorldStateUpdateAccumulator -> {
-          final StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> map =
-              pathBasedWorldStateUpdateAccumulator.getStorageToUpdate().get(address);
-          if (map != null) {
-            map.forEach(
-                (storageSlotKey, slot) -> {
-                  slots.add(storageSlotKey);
-                });
-          }
-        });
-    return slots;
-  }
-
-  /**
-   * Retrieves the update context for the given address from the block's world state update
-   * accumulator.
-   *
-   * <p>This method checks if the provided accumulator contains updates for the given address. If an
-   * update is found, it compares the prior and updated states of the account to determine if the
-   * key account details (excluding storage) are considered equal. It then returns an {@link
-   * AccountUpdateContext} containing the address and the result of that comparison.
-   *
-   * <p>If no update is found for the address or the accumulator is absent, the method returns an
-   * empty {@link Optional}.
-   *
-   * @param addressToFind The address for which the update context is being queried.
-   * @param maybeBlockAccumulator An {@link Optional} containing the block's world state update
-   *     accumulator, which holds the updates for the accounts in the block.
-   * @return An {@link Optional} containing the {@link AccountUpdateContext} if the address is found
-   *     in the block's updates, otherwise an empty {@link Optional}.
-   */
-  private Optional<AccountUpdateContext> getAddressTouchedByBlock(
-      final Address addressToFind,
-      final Optional<PathBasedWorldStateUpdateAccumulator<? extends PathBasedAccount>>
-          maybeBlockAccumulator) {
-    if (maybeBlockAccumulator.isPresent()) {
-      final PathBasedWorldStateUpdateAccumulator<? extends PathBasedAccount> blockAccumulator =
-          maybeBlockAccumulator.get();
-      final PathBasedValue<? extends PathBasedAccount> pathBasedValue =
-          blockAccumulator.getAccountsToUpdate().get(addressToFind);
-      if (pathBasedValue != null) {
-        return Optional.of(
-            new AccountUpdateContext(
-                addressToFind,
-                areAccountDetailsEqualExcludingStorage(
-                    pathBasedValue.getPrior(), pathBasedValue.getUpdated())));
-      }
-    }
-    return Optional.empty();
-  }
-
-  /**
-   * Retrieves the set of storage slot keys that have been updated in the block accumulator for the
-   * specified address.
-   *
-   * <p>This method checks if the accumulator contains a storage map for the provided address. If
-   * the address has associated storage updates, it iterates over the storage slots and add it to
-   * the list only if the corresponding storage value has been modified (i.e., is not unchanged).
-   *
-   * @param accumulator An Optional containing the world state block update accumulator, which holds
-   *     the storage updates.
-   * @param address The address for which the storage slots are being queried.
-   * @return A set of storage slot keys that have been updated for the given address. If no updates
-   *     are found, or the address has no associated updates, an empty set is returned.
-   */
-  private Set<StorageSlotKey> getSlotsTouchedByBlockAndByAddress(
-      final Optional<PathBasedWorldStateUpdateAccumulator<?>> accumulator, final Address address) {
-    HashSet<StorageSlotKey> slots = new HashSet<>();
-    accumulator.ifPresent(
-        pathBasedWorldStateUpdateAccumulator -> {
-          final StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> map =
-              pathBasedWorldStateUpdateAccumulator.getStorageToUpdate().get(address);
-          if (map != null) {
-            map.forEach(
-                (storageSlotKey, slot) -> {
-                  if (!slot.isUnchanged()) {
-                    slots.add(storageSlotKey);
-                  }
-                });
-          }
-        });
-    return slots;
-  }
-
   /**
    * Compares the state of two accounts to check if their key properties are identical, excluding
    * any differences in their storage.
@@ -234,7 +216,7 @@ public class TransactionCollisionDetector {
    * @param next The second account to compare (could be null).
    * @return true if the account state properties are equal excluding storage, false otherwise.
    */
-  private boolean areAccountDetailsEqualExcludingStorage(
+  private static boolean areAccountDetailsEqualExcludingStorage(
       final PathBasedAccount prior, final PathBasedAccount next) {
     return (prior == null && next == null)
         || (prior != null
@@ -245,41 +227,75 @@ public class TransactionCollisionDetector {
   }
 
   /**
-   * Represents the context of an account update, including the account's address and whether the
-   * key details of the account (excluding storage) are considered equal.
-   *
-   * <p>This record holds two main pieces of information: - `address`: The address of the account
-   * being updated. - `areAccountDetailsEqualExcludingStorage`: A boolean value indicating whether
-   * the account details, excluding the storage (nonce, balance, and code hash), are considered
-   * equal when compared to a previous state.
+   * Compares two storage values, a missing value being equal to zero.
    *
-   * <p>This record is used to track changes to account states and determine if key properties are
-   * unchanged, which helps in detecting whether further action is needed for the account update.
+   * @param prior The first value to compare (could be null).
+   * @param next The second value to compare (could be null).
+   * @return true if the storage values are equal, false otherwise.
    */
-  private record AccountUpdateContext(
-      Address address, boolean areAccountDetailsEqualExcludingStorage) {
+  private static boolean isStorageValueEqual(final UInt256 prior, final UInt256 next) {
+    return Objects.equals(prior == null ? UInt256.ZERO : prior, next == null ? UInt256.ZERO : next);
+  }
 
-    @Override
-    public boolean equals(final Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      AccountUpdateContext that = (AccountUpdateContext) o;
-      return address.equals(that.address);
-    }
+  /**
+   * The accounts and storage slots changed by a sequence of transactions of a block. It is used to
+   * find, before the block processor reaches them, the transactions that read state changed by a
+   * transaction preceding them in the block and that are therefore worth executing again.
+   */
+  public static class WriteSet {
+    private final Set<Address> accounts = new HashSet<>();
+    private final Map<Address, Set<StorageSlotKey>> slots = new HashMap<>();
 
-    @Override
-    public int hashCode() {
-      return Objects.hashCode(address);
+    /**
+     * Adds the accounts and storage slots changed by a transaction.
+     *
+     * @param transactionAccumulator The accumulator of the transaction.
+     */
+    public void add(final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator) {
+      transactionAccumulator
+          .getAccountsToUpdate()
+          .forEach(
+              (address, pathBasedValue) -> {
+                if (!areAccountDetailsEqualExcludingStorage(
+                    pathBasedValue.getPrior(), pathBasedValue.getUpdated())) {
+                  accounts.add(address);
+                }
+              });
+      accounts.addAll(transactionAccumulator.getStorageToClear());
+      transactionAccumulator
+          .getStorageToUpdate()
+          .forEach(
+              (address, storage) ->
+                  storage.forEach(
+                      (storageSlotKey, slot) -> {
+                        if (!isStorageValueEqual(slot.getPrior(), slot.getUpdated())) {
+                          slots.computeIfAbsent(address, __ -> new HashSet<>()).add(storageSlotKey);
+                        }
+                      }));
     }
 
-    @Override
-    public String toString() {
-      return "AccountUpdateContext{"
-          + "address="
-          + address
-          + ", areAccountDetailsEqualExcludingStorage="
-          + areAccountDetailsEqualExcludingStorage
-          + '}';
+    /**
+     * Checks if a transaction read an account or a storage slot of this write set.
+     *
+     * @param transactionAccumulator The accumulator of the transaction.
+     * @return true if the transaction read state changed by this write set, otherwise false.
+     */
+    public boolean isReadBy(final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator) {
+      for (final Address address : transactionAccumulator.getAccountsToUpdate().keySet()) {
+        if (accounts.contains(address)) {
+          return true;
+        }
+      }
+      for (final Map.Entry<Address, StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>>>
+          storage : transactionAccumulator.getStorageToUpdate().entrySet()) {
+        final Set<StorageSlotKey> writtenSlots = slots.get(storage.getKey());
+        if (accounts.contains(storage.getKey())
+            || (writtenSlots != null
+                && storage.getValue().keySet().stream().anyMatch(writtenSlots::contains))) {
+          return true;
+        }
+      }
+      return false;
     }
   }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the blocks that can no longer be reorged out to the freezer, as new canonical heads are
+ * added. These are the blocks up to the finalized block, or, on chains without finality, the
+ * blocks more than {@link #IMMUTABILITY_THRESHOLD} blocks behind the head.
+ */
+public class ChainDataFreezer implements BlockAddedObserver {
+  private static final Logger LOG = LoggerFactory.getLogger(ChainDataFreezer.class);
+
+  public static final long IMMUTABILITY_THRESHOLD = 90_000;
+  public static final int MAX_FREEZING_THREAD_QUEUE_SIZE = 1;
+  private static final long FREEZE_BATCH_SIZE = 2_048;
+
+  private final Blockchain blockchain;
+  private final FreezerBlockchainStorage freezerStorage;
+  private final ExecutorService freezingExecutor;
+  private final AtomicBoolean freezing = new AtomicBoolean(false);
+
+  public ChainDataFreezer(
+      final Blockchain blockchain,
+      final FreezerBlockchainStorage freezerStorage,
+      final ExecutorService freezingExecutor) {
+    this.blockchain = blockchain;
+    this.freezerStorage = freezerStorage;
+    this.freezingExecutor = freezingExecutor;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final long freezeTo = immutableBlockNumber(event.getBlock().getHeader());
+    if (freezeTo - freezerStorage.getNextBlockToFreeze() + 1 < FREEZE_BATCH_SIZE
+        || !freezing.compareAndSet(false, true)) {
+      return;
+    }
+    freezingExecutor.submit(
+        () -> {
+          try {
+            // skipping the incomplete blocks before the freezer starts is progress too
+            long nextBlockToFreeze;
+            do {
+              nextBlockToFreeze = freezerStorage.getNextBlockToFreeze();
+              final long frozen = freezerStorage.freeze(freezeTo, FREEZE_BATCH_SIZE);
+              LOG.debug(
+                  "Moved {} blocks to the freezer, which now holds {} blocks",
+                  frozen,
+                  freezerStorage.getFrozenBlocks());
+            } while (freezerStorage.getNextBlockToFreeze() > nextBlockToFreeze
+                && freezerStorage.getNextBlockToFreeze() <= freezeTo);
+          } catch (final Exception e) {
+            LOG.error("Failed to move blocks to the freezer", e);
+          } finally {
+            freezing.set(false);
+          }
+        });
+  }
+
+  private long immutableBlockNumber(final BlockHeader chainHead) {
+    return blockchain
+        .getFinalized()
+        .flatMap(blockchain::getBlockHeader)
+        .map(BlockHeader::getNumber)
+        .orElse(chainHead.getNumber() - IMMUTABILITY_THRESHOLD);
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A blockchain storage keeping the headers, bodies and receipts of old canonical blocks in an
+ * append-only freezer, made of flat files indexed by block number, instead of in the key value
+ * store where compaction keeps rewriting them.
+ *
+ * <p>Reads go to the key value store first, and then to the freezer, found through the number of
+ * the block recorded when it was frozen. Everything else, including writes, goes to the key value
+ * store. The number of frozen blocks is committed to the key value store once the freezer files
+ * are synced, and the freezer is truncated to it on start, so that blocks appended by a freeze that
+ * did not complete are dropped.
+ *
+ * <p>The freezer starts at the first block that is complete in the key value store, and its number
+ * is recorded with the number of frozen blocks. A node synced from a checkpoint, or whose history
+ * has expired, has the genesis block but no bodies or receipts up to some block. Those blocks are
+ * skipped, and the genesis block is left in the key value store, rather than stopping the freezer
+ * at the first missing block.
+ */
+public class FreezerBlockchainStorage implements BlockchainStorage, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(FreezerBlockchainStorage.class);
+
+  /** The directory of the freezer files, in the data directory. */
+  public static final String FREEZER_DIRECTORY = "ancient";
+
+  private static final byte[] FROZEN_BLOCKS_KEY = {0};
+  private static final byte[] FIRST_FROZEN_BLOCK_KEY = {1};
+
+  private final BlockchainStorage hotStorage;
+  private final KeyValueStorage frozenBlockNumbers;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private final boolean receiptCompaction;
+  private final FreezerTable headers;
+  private final FreezerTable bodies;
+  private final FreezerTable receipts;
+  private volatile long firstFrozenBlock;
+
+  public FreezerBlockchainStorage(
+      final BlockchainStorage hotStorage,
+      final KeyValueStorage frozenBlockNumbers,
+      final Path freezerDirectory,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final boolean receiptCompaction)
+      throws IOException {
+    this.hotStorage = hotStorage;
+    this.frozenBlockNumbers = frozenBlockNumbers;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+    this.receiptCompaction = receiptCompaction;
+    this.headers = new FreezerTable(freezerDirectory, "headers");
+    this.bodies = new FreezerTable(freezerDirectory, "bodies");
+    this.receipts = new FreezerTable(freezerDirectory, "receipts");
+    this.firstFrozenBlock = readLong(FIRST_FROZEN_BLOCK_KEY);
+    final long frozenBlocks = getFrozenBlocks();
+    for (final FreezerTable table : List.of(headers, bodies, receipts)) {
+      if (table.size() < frozenBlocks) {
+        throw new IllegalStateException(
+            "Freezer in " + freezerDirectory + " is missing blocks, " + frozenBlocks + " expected");
+      }
+    }
+    truncateUncommittedBlocks(frozenBlocks);
+  }
+
+  /**
+   * Checks if a freezer was opened in a data directory. Its directory is created before any block
+   * is frozen, so once it exists blocks may have been removed from the key value store and the
+   * freezer has to be opened whatever the configuration.
+   *
+   * @param dataDirectory the data directory
+   * @return true if the freezer directory exists in the data directory
+   */
+  public static boolean isInUse(final Path dataDirectory) {
+    return Files.isDirectory(dataDirectory.resolve(FREEZER_DIRECTORY));
+  }
+
+  /**
+   * Gets the number of blocks in the freezer, which holds every canonical block from the first
+   * frozen block to the next block to freeze.
+   *
+   * @return the number of frozen blocks
+   */
+  public long getFrozenBlocks() {
+    return readLong(FROZEN_BLOCKS_KEY);
+  }
+
+  /**
+   * Gets the number of the first block of the freezer. The blocks before it, but the genesis block,
+   * were not complete in the key value store when freezing started, and are never frozen.
+   *
+   * @return the number of the first frozen block
+   */
+  public long getFirstFrozenBlock() {
+    return firstFrozenBlock;
+  }
+
+  /**
+   * Gets the number of the first block not frozen yet.
+   *
+   * @return the number of the next block to freeze
+   */
+  public long getNextBlockToFreeze() {
+    return firstFrozenBlock + getFrozenBlocks();
+  }
+
+  /**
+   * Moves canonical blocks from the key value store to the freezer, in order from the first block
+   * not frozen yet. While the freezer is empty, skips the blocks whose header, body or receipts are
+   * missing, after the genesis block too. Once it holds blocks, stops at the first such block.
+   *
+   * @param toBlockNumber the last block to freeze, inclusive
+   * @param maxBlocks the maximum number of blocks to move
+   * @return the number of blocks moved
+   * @throws IOException if the freezer cannot be written
+   */
+  public synchronized long freeze(final long toBlockNumber, final long maxBlocks)
+      throws IOException {
+    final long frozenBlocks = getFrozenBlocks();
+    truncateUncommittedBlocks(frozenBlocks);
+    long startBlockNumber = firstFrozenBlock;
+    final long firstBlockNumber = startBlockNumber + frozenBlocks;
+    final long lastBlockNumber = Math.min(toBlockNumber, firstBlockNumber + maxBlocks - 1);
+    final List<Hash> frozenHashes = new ArrayList<>();
+    for (long blockNumber = firstBlockNumber; blockNumber <= lastBlockNumber; blockNumber++) {
+      final Optional<Hash> blockHash = hotStorage.getBlockHash(blockNumber);
+      final Optional<BlockHeader> header = blockHash.flatMap(hotStorage::getBlockHeader);
+      final Optional<BlockBody> body = blockHash.flatMap(hotStorage::getBlockBody);
+      final Optional<List<TransactionReceipt>> blockReceipts =
+          blockHash.flatMap(hotStorage::getTransactionReceipts);
+      if (header.isEmpty() || body.isEmpty() || blockReceipts.isEmpty()) {
+        if (frozenBlocks == 0 && (frozenHashes.isEmpty() || blockNumber == 1)) {
+          // a genesis block followed by a gap is left in the key value store
+          truncateUncommittedBlocks(0);
+          frozenHashes.clear();
+          startBlockNumber = blockNumber + 1;
+          continue;
+        }
+        LOG.debug("Block {} is not complete in storage, stopping freezing", blockNumber);
+        break;
+      }
+      headers.append(RLP.encode(header.get()::writeTo));
+      bodies.append(RLP.encode(body.get()::writeWrappedBodyTo));
+      receipts.append(rlpEncode(blockReceipts.get()));
+      frozenHashes.add(blockHash.get());
+    }
+    if (frozenHashes.isEmpty()) {
+      if (startBlockNumber != firstFrozenBlock) {
+        LOG.debug("Blocks up to {} are not complete in storage, skipped", startBlockNumber - 1);
+        recordFirstFrozenBlock(startBlockNumber);
+      }
+      return 0;
+    }
+    if (frozenBlocks == 0 && startBlockNumber > 0) {
+      LOG.info(
+          "Block freezer starts at block {}, the blocks before it are not complete in storage",
+          startBlockNumber);
+    }
+    headers.sync();
+    bodies.sync();
+    receipts.sync();
+
+    final long firstFrozenBlockNumber = startBlockNumber + frozenBlocks;
+    final KeyValueStorageTransaction transaction = frozenBlockNumbers.startTransaction();
+    for (int i = 0; i < frozenHashes.size(); i++) {
+      transaction.put(
+          frozenHashes.get(i).toArrayUnsafe(),
+          Bytes.ofUnsignedLong(firstFrozenBlockNumber + i).toArrayUnsafe());
+    }
+    transaction.put(FIRST_FROZEN_BLOCK_KEY, Bytes.ofUnsignedLong(startBlockNumber).toArrayUnsafe());
+    transaction.put(
+        FROZEN_BLOCKS_KEY,
+        Bytes.ofUnsignedLong(frozenBlocks + frozenHashes.size()).toArrayUnsafe());
+    transaction.commit();
+    firstFrozenBlock = startBlockNumber;
+
+    final BlockchainStorage.Updater updater = hotStorage.updater();
+    for (final Hash blockHash : frozenHashes) {
+      updater.removeBlockHeader(blockHash);
+      updater.removeBlockBody(blockHash);
+      updater.removeTransactionReceipts(blockHash);
+    }
+    updater.commit();
+    return frozenHashes.size();
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return hotStorage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return hotStorage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return hotStorage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return hotStorage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return hotStorage
+        .getBlockHeader(blockHash)
+        .or(
+            () ->
+                frozen(headers, blockHash)
+                    .map(bytes -> BlockHeader.readFrom(RLP.input(bytes), blockHeaderFunctions)));
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return hotStorage
+        .getBlockBody(blockHash)
+        .or(
+            () ->
+                frozen(bodies, blockHash)
+                    .map(
+                        bytes ->
+                            BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions)));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return hotStorage
+        .getTransactionReceipts(blockHash)
+        .or(
+            () ->
+                frozen(receipts, blockHash)
+                    .map(
+                        bytes ->
+                            RLP.input(bytes)
+                                .readList(in -> TransactionReceiptDecoder.readFrom(in, true))));
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return hotStorage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return hotStorage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return hotStorage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return hotStorage.updater();
+  }
+
+  @Override
+  public void close() throws IOException {
+    headers.close();
+    bodies.close();
+    receipts.close();
+  }
+
+  private long readLong(final byte[] key) {
+    return frozenBlockNumbers.get(key).map(bytes -> Bytes.wrap(bytes).toLong()).orElse(0L);
+  }
+
+  private void recordFirstFrozenBlock(final long blockNumber) {
+    final KeyValueStorageTransaction transaction = frozenBlockNumbers.startTransaction();
+    transaction.put(FIRST_FROZEN_BLOCK_KEY, Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    transaction.commit();
+    firstFrozenBlock = blockNumber;
+  }
+
+  private void truncateUncommittedBlocks(final long frozenBlocks) throws IOException {
+    headers.truncate(frozenBlocks);
+    bodies.truncate(frozenBlocks);
+    receipts.truncate(frozenBlocks);
+  }
+
+  private Optional<Bytes> frozen(final FreezerTable table, final Hash blockHash) {
+    return frozenBlockNumbers
+        .get(blockHash.toArrayUnsafe())
+        .flatMap(blockNumber -> table.get(Bytes.wrap(blockNumber).toLong() - firstFrozenBlock));
+  }
+
+  private Bytes rlpEncode(final List<TransactionReceipt> transactionReceipts) {
+    final TransactionReceiptEncodingConfiguration options =
+        receiptCompaction
+            ? TransactionReceiptEncodingConfiguration.STORAGE_WITH_COMPACTION
+            : TransactionReceiptEncodingConfiguration.STORAGE_WITHOUT_COMPACTION;
+    return RLP.encode(
+        out ->
+            out.writeList(
+                transactionReceipts,
+                (receipt, rlpOutput) ->
+                    TransactionReceiptEncoder.writeTo(receipt, rlpOutput, options)));
+  }
+}
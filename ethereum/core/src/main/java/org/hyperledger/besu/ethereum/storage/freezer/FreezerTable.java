@@ -0,0 +1,238 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An append-only table of items numbered from zero, stored in flat files.
+ *
+ * <p>Items are appended to data files, a new file being started once the current one would grow
+ * beyond {@link #MAX_DATA_FILE_SIZE}, and an index file holds the file number, offset and length
+ * of every item, so that an item is found with a single index read. Data files that are no longer
+ * appended to are memory mapped when read.
+ *
+ * <p>Appends must come from a single thread, while items already appended can be read from any
+ * thread.
+ */
+class FreezerTable implements Closeable {
+
+  static final int MAX_DATA_FILE_SIZE = 1 << 30;
+  private static final int INDEX_ENTRY_SIZE = 3 * Integer.BYTES;
+
+  private final Path directory;
+  private final String name;
+  private final int maxDataFileSize;
+  private final FileChannel index;
+  private final List<FileChannel> dataFiles = new CopyOnWriteArrayList<>();
+  private final Map<Integer, MappedByteBuffer> mappedDataFiles = new ConcurrentHashMap<>();
+  private volatile long size;
+  private int firstUnsyncedDataFile;
+
+  FreezerTable(final Path directory, final String name) throws IOException {
+    this(directory, name, MAX_DATA_FILE_SIZE);
+  }
+
+  FreezerTable(final Path directory, final String name, final int maxDataFileSize)
+      throws IOException {
+    this.directory = directory;
+    this.name = name;
+    this.maxDataFileSize = maxDataFileSize;
+    Files.createDirectories(directory);
+    this.index = openChannel(directory.resolve(name + ".idx"));
+    // an index entry partially written before a crash is dropped
+    this.size = index.size() / INDEX_ENTRY_SIZE;
+    index.truncate(size * INDEX_ENTRY_SIZE);
+    final int lastDataFile = size == 0 ? 0 : readIndexEntry(size - 1).getInt(0);
+    for (int i = 0; i <= lastDataFile; i++) {
+      dataFiles.add(openChannel(dataFile(i)));
+    }
+  }
+
+  /**
+   * Gets the number of items of the table.
+   *
+   * @return the number of items
+   */
+  long size() {
+    return size;
+  }
+
+  /**
+   * Appends an item to the table.
+   *
+   * @param item the item to append
+   * @throws IOException if the item cannot be written
+   */
+  synchronized void append(final Bytes item) throws IOException {
+    if (item.size() > maxDataFileSize) {
+      throw new IOException("Item of " + item.size() + " bytes is too large for table " + name);
+    }
+    int fileNumber = dataFiles.size() - 1;
+    FileChannel dataFile = dataFiles.get(fileNumber);
+    long offset = size == 0 ? 0 : endOf(readIndexEntry(size - 1));
+    if (offset + item.size() > maxDataFileSize) {
+      fileNumber++;
+      dataFile = openChannel(dataFile(fileNumber));
+      dataFiles.add(dataFile);
+      offset = 0;
+    }
+    writeFully(dataFile, ByteBuffer.wrap(item.toArrayUnsafe()), offset);
+    final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+    entry.putInt(fileNumber).putInt((int) offset).putInt(item.size()).flip();
+    writeFully(index, entry, size * INDEX_ENTRY_SIZE);
+    size++;
+  }
+
+  /**
+   * Reads an item of the table.
+   *
+   * @param itemNumber the number of the item
+   * @return the item, empty if the table does not hold it
+   */
+  Optional<Bytes> get(final long itemNumber) {
+    if (itemNumber < 0 || itemNumber >= size) {
+      return Optional.empty();
+    }
+    try {
+      final ByteBuffer entry = readIndexEntry(itemNumber);
+      final int fileNumber = entry.getInt(0);
+      final int offset = entry.getInt(Integer.BYTES);
+      final byte[] item = new byte[entry.getInt(2 * Integer.BYTES)];
+      if (fileNumber < dataFiles.size() - 1) {
+        mappedDataFile(fileNumber).get(offset, item);
+      } else {
+        readFully(dataFiles.get(fileNumber), ByteBuffer.wrap(item), offset);
+      }
+      return Optional.of(Bytes.wrap(item));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Removes the items from a given number, when a previous append was not committed.
+   *
+   * @param newSize the number of items to keep
+   * @throws IOException if the table cannot be truncated
+   */
+  synchronized void truncate(final long newSize) throws IOException {
+    if (newSize >= size) {
+      return;
+    }
+    final int lastDataFile = newSize == 0 ? 0 : readIndexEntry(newSize - 1).getInt(0);
+    final long end = newSize == 0 ? 0 : endOf(readIndexEntry(newSize - 1));
+    size = newSize;
+    index.truncate(newSize * INDEX_ENTRY_SIZE);
+    while (dataFiles.size() - 1 > lastDataFile) {
+      final int fileNumber = dataFiles.size() - 1;
+      dataFiles.remove(fileNumber).close();
+      mappedDataFiles.remove(fileNumber);
+      Files.deleteIfExists(dataFile(fileNumber));
+    }
+    mappedDataFiles.remove(lastDataFile);
+    dataFiles.get(lastDataFile).truncate(end);
+    firstUnsyncedDataFile = Math.min(firstUnsyncedDataFile, lastDataFile);
+  }
+
+  /**
+   * Forces the appended items to the disk.
+   *
+   * @throws IOException if the files cannot be synced
+   */
+  synchronized void sync() throws IOException {
+    for (int i = firstUnsyncedDataFile; i < dataFiles.size(); i++) {
+      dataFiles.get(i).force(false);
+    }
+    firstUnsyncedDataFile = dataFiles.size() - 1;
+    index.force(false);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    mappedDataFiles.clear();
+    for (final FileChannel dataFile : dataFiles) {
+      dataFile.close();
+    }
+    index.close();
+  }
+
+  private MappedByteBuffer mappedDataFile(final int fileNumber) {
+    return mappedDataFiles.computeIfAbsent(
+        fileNumber,
+        __ -> {
+          try {
+            final FileChannel dataFile = dataFiles.get(fileNumber);
+            return dataFile.map(FileChannel.MapMode.READ_ONLY, 0, dataFile.size());
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private ByteBuffer readIndexEntry(final long itemNumber) throws IOException {
+    final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+    readFully(index, entry, itemNumber * INDEX_ENTRY_SIZE);
+    return entry;
+  }
+
+  private static long endOf(final ByteBuffer entry) {
+    return (long) entry.getInt(Integer.BYTES) + entry.getInt(2 * Integer.BYTES);
+  }
+
+  private Path dataFile(final int fileNumber) {
+    return directory.resolve(String.format("%s.%04d.dat", name, fileNumber));
+  }
+
+  private static FileChannel openChannel(final Path file) throws IOException {
+    return FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private static void writeFully(
+      final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      current += channel.write(buffer, current);
+    }
+  }
+
+  private static void readFully(
+      final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, current);
+      if (read < 0) {
+        throw new IOException("Unexpected end of freezer file at position " + current);
+      }
+      current += read;
+    }
+  }
+}
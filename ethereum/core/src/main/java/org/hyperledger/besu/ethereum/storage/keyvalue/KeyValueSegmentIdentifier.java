@@ -62,7 +62,9 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   BACKWARD_SYNC_CHAIN(new byte[] {15}),
   SNAPSYNC_MISSING_ACCOUNT_RANGE(new byte[] {16}),
   SNAPSYNC_ACCOUNT_TO_FIX(new byte[] {17}),
-  CHAIN_PRUNER_STATE(new byte[] {18});
+  CHAIN_PRUNER_STATE(new byte[] {18}),
+  LOG_INDEX(new byte[] {19}),
+  BLOCK_FREEZER(new byte[] {20});
 
   private final byte[] id;
   private final EnumSet<DataStorageFormat> formats;
@@ -21,12 +21,14 @@ import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.World
 import org.hyperledger.besu.crypto.SECPSignature;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.BlobGas;
 import org.hyperledger.besu.datatypes.CallParameter;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StateOverride;
 import org.hyperledger.besu.datatypes.StateOverrideMap;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -40,6 +42,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiSimulationStateCache;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -50,8 +53,13 @@ import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -94,6 +102,7 @@ public class TransactionSimulator {
   private final MiningConfiguration miningConfiguration;
   private final SimulationTransactionProcessorFactory simulationTransactionProcessorFactory;
   private final long rpcGasCap;
+  private final BonsaiSimulationStateCache simulationStateCache;
 
   public TransactionSimulator(
       final Blockchain blockchain,
@@ -101,6 +110,33 @@ public class TransactionSimulator {
       final ProtocolSchedule protocolSchedule,
       final MiningConfiguration miningConfiguration,
       final long rpcGasCap) {
+    this(
+        blockchain,
+        worldStateArchive,
+        protocolSchedule,
+        miningConfiguration,
+        rpcGasCap,
+        new BonsaiSimulationStateCache());
+  }
+
+  /**
+   * Creates a simulator sharing a cache of the state read by simulations. The cache is not dropped
+   * when new heads are imported unless its owner registers it as an observer of the blockchain.
+   *
+   * @param blockchain the blockchain
+   * @param worldStateArchive the world state archive
+   * @param protocolSchedule the protocol schedule
+   * @param miningConfiguration the mining configuration
+   * @param rpcGasCap the gas cap of the simulations
+   * @param simulationStateCache the cache of the state read by simulations
+   */
+  public TransactionSimulator(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ProtocolSchedule protocolSchedule,
+      final MiningConfiguration miningConfiguration,
+      final long rpcGasCap,
+      final BonsaiSimulationStateCache simulationStateCache) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.protocolSchedule = protocolSchedule;
@@ -108,6 +144,7 @@ public class TransactionSimulator {
     this.rpcGasCap = rpcGasCap;
     this.simulationTransactionProcessorFactory =
         new SimulationTransactionProcessorFactory(protocolSchedule);
+    this.simulationStateCache = simulationStateCache;
   }
 
   public Optional<TransactionSimulatorResult> process(
@@ -291,8 +328,15 @@ public class TransactionSimulator {
     try (final MutableWorldState ws = getWorldState(header)) {
 
       WorldUpdater updater = getEffectiveWorldStateUpdater(ws);
+      final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
       if (ws instanceof BonsaiWorldState bonsaiWorldState) {
         bonsaiWorldState.disableCacheMerkleTrieLoader();
+        bonsaiWorldState.useSimulationStateCache(
+            simulationStateCache.forBlock(header.getHash(), protocolSpec.getEvm()));
+        callParams
+            .getAccessList()
+            .ifPresent(
+                accessList -> bonsaiWorldState.prefetchArchiveState(accessListKeys(accessList)));
       }
       // in order to trace the state diff we need to make sure that
       // the world updater always has a parent
@@ -301,10 +345,7 @@ public class TransactionSimulator {
       }
 
       final var miningBeneficiary =
-          protocolSchedule
-              .getByBlockHeader(header)
-              .getMiningBeneficiaryCalculator()
-              .calculateBeneficiary(header);
+          protocolSpec.getMiningBeneficiaryCalculator().calculateBeneficiary(header);
 
       return preWorldStateCloseGuard.apply(
           ws,
@@ -351,6 +392,17 @@ public class TransactionSimulator {
                     "Public world state not available for block " + header.toLogString()));
   }
 
+  private static Map<Address, Set<StorageSlotKey>> accessListKeys(
+      final List<AccessListEntry> accessList) {
+    final Map<Address, Set<StorageSlotKey>> keys = new HashMap<>();
+    for (final AccessListEntry entry : accessList) {
+      final Set<StorageSlotKey> slots =
+          keys.computeIfAbsent(entry.address(), __ -> new HashSet<>());
+      entry.storageKeys().forEach(key -> slots.add(new StorageSlotKey(UInt256.fromBytes(key))));
+    }
+    return keys;
+  }
+
   @NotNull
   public Optional<TransactionSimulatorResult> processWithWorldUpdater(
       final CallParameter callParams,
@@ -0,0 +1,189 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCK_PROCESSING;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the state a block is known to touch before its transactions are executed.
+ *
+ * <p>The accounts and storage slots are read from the flat database with batched lookups and
+ * their trie paths are walked through the {@link BonsaiCachedMerkleTrieLoader}, so that both the
+ * storage block cache and the trie node caches are warm by the time execution reaches them. The
+ * work runs on a small pool with a bounded queue, owned by the prefetcher and stopped when it is
+ * closed; work that cannot be queued, or that has not started when the block is done executing, is
+ * dropped.
+ */
+public class BonsaiBlockStatePrefetcher implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BonsaiBlockStatePrefetcher.class);
+
+  private static final int THREAD_COUNT =
+      Math.clamp(Runtime.getRuntime().availableProcessors() / 2, 2, 8);
+  private static final int QUEUE_CAPACITY = 4096;
+
+  private final ThreadPoolExecutor executor = createExecutor();
+  private final BonsaiCachedMerkleTrieLoader cachedMerkleTrieLoader;
+  private final Counter prefetchHitCounter;
+  private final Counter prefetchMissCounter;
+  private final Counter prefetchLoadTimeCounter;
+
+  public BonsaiBlockStatePrefetcher(
+      final BonsaiCachedMerkleTrieLoader cachedMerkleTrieLoader,
+      final MetricsSystem metricsSystem) {
+    this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.prefetchHitCounter =
+        metricsSystem.createCounter(
+            BLOCK_PROCESSING,
+            "state_prefetch_hits",
+            "Number of accounts and storage slots prefetched before block execution was done");
+    this.prefetchMissCounter =
+        metricsSystem.createCounter(
+            BLOCK_PROCESSING,
+            "state_prefetch_misses",
+            "Number of accounts and storage slots not prefetched before block execution was done");
+    this.prefetchLoadTimeCounter =
+        metricsSystem.createCounter(
+            BLOCK_PROCESSING,
+            "state_prefetch_load_time_milliseconds",
+            "Time the prefetcher spent loading state ready before block execution was done");
+  }
+
+  /**
+   * Starts prefetching the given accounts and storage slots.
+   *
+   * @param worldStateKeyValueStorage the storage of the world state the block is executed on
+   * @param worldStateRootHash the root hash of the world state before the block
+   * @param keys the storage slots to prefetch, by account
+   * @return the running prefetch, to be closed once the block has been executed
+   */
+  public Prefetch prefetch(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Map<Address, Set<StorageSlotKey>> keys) {
+    final Prefetch prefetch = new Prefetch();
+    if (keys.isEmpty()) {
+      return prefetch;
+    }
+
+    final List<Hash> accountHashes = keys.keySet().stream().map(Address::addressHash).toList();
+    prefetch.submit(0, () -> worldStateKeyValueStorage.getAccounts(accountHashes));
+    keys.forEach(
+        (address, slotKeys) ->
+            prefetch.submit(
+                1 + slotKeys.size(),
+                () -> {
+                  cachedMerkleTrieLoader.cacheAccountNodes(
+                      worldStateKeyValueStorage, worldStateRootHash, address);
+                  if (!slotKeys.isEmpty()) {
+                    worldStateKeyValueStorage.getStorageValuesByStorageSlotKeys(
+                        address.addressHash(), new ArrayList<>(slotKeys));
+                    slotKeys.forEach(
+                        slotKey ->
+                            cachedMerkleTrieLoader.cacheStorageNodes(
+                                worldStateKeyValueStorage, address, slotKey));
+                  }
+                }));
+    return prefetch;
+  }
+
+  /** Stops the workers, the prefetches that have not started are dropped. */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private static ThreadPoolExecutor createExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            THREAD_COUNT,
+            THREAD_COUNT,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            new ThreadFactoryBuilder()
+                .setNameFormat("BlockStatePrefetch-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** A prefetch in progress for one block. */
+  public class Prefetch implements AutoCloseable {
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LongAdder loadingTimeNanos = new LongAdder();
+
+    private Prefetch() {}
+
+    private void submit(final int keyCount, final Runnable task) {
+      try {
+        executor.execute(
+            () -> {
+              if (closed.get()) {
+                prefetchMissCounter.inc(keyCount);
+                return;
+              }
+              final long start = System.nanoTime();
+              try {
+                task.run();
+              } catch (final RuntimeException e) {
+                LOG.trace("State prefetch failed", e);
+              }
+              if (closed.get()) {
+                prefetchMissCounter.inc(keyCount);
+              } else {
+                prefetchHitCounter.inc(keyCount);
+                loadingTimeNanos.add(System.nanoTime() - start);
+              }
+            });
+      } catch (final RejectedExecutionException e) {
+        prefetchMissCounter.inc(keyCount);
+      }
+    }
+
+    /** Marks the block as executed, the work that has not started yet is skipped. */
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        prefetchLoadTimeCounter.inc(TimeUnit.NANOSECONDS.toMillis(loadingTimeNanos.sum()));
+      }
+    }
+  }
+}
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
 
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
 import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
 
 import org.hyperledger.besu.datatypes.Address;
@@ -26,28 +27,84 @@ import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
+import java.io.Closeable;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
-public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
+public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber, Closeable {
 
-  private static final int ACCOUNT_CACHE_SIZE = 100_000;
-  private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  private final OffHeapTrieNodeCache trieNodes;
+  private final BonsaiBlockStatePrefetcher blockStatePrefetcher;
 
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "accountsNodes", accountNodes);
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "storageNodes", storageNodes);
+    this(metricsSystem, DEFAULT_TRIE_NODE_CACHE_SIZE_MB * 1024 * 1024);
+  }
+
+  /**
+   * Creates a loader whose account and storage trie nodes are cached outside of the heap.
+   *
+   * @param metricsSystem the metrics system
+   * @param trieNodeCacheSizeInBytes the number of bytes of direct memory the trie node cache can
+   *     use
+   */
+  public BonsaiCachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem, final long trieNodeCacheSizeInBytes) {
+    this.trieNodes = new OffHeapTrieNodeCache(trieNodeCacheSizeInBytes);
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        "trie_node_cache_hits",
+        "Number of trie nodes found in the trie node cache",
+        trieNodes::getHitCount);
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        "trie_node_cache_misses",
+        "Number of trie nodes not found in the trie node cache",
+        trieNodes::getMissCount);
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        "trie_node_cache_evictions",
+        "Number of trie nodes evicted from the trie node cache",
+        trieNodes::getEvictionCount);
+    metricsSystem.createLongGauge(
+        BLOCKCHAIN,
+        "trie_node_cache_used_bytes",
+        "Number of bytes used by the nodes of the trie node cache",
+        trieNodes::getUsedBytes);
+    metricsSystem.createLongGauge(
+        BLOCKCHAIN,
+        "trie_node_cache_allocated_bytes",
+        "Number of bytes of direct memory allocated by the trie node cache",
+        trieNodes::getAllocatedBytes);
+    this.blockStatePrefetcher = new BonsaiBlockStatePrefetcher(this, metricsSystem);
+  }
+
+  /**
+   * Starts loading the flat database entries and trie paths of the given accounts and storage
+   * slots ahead of the execution of a block.
+   *
+   * @param worldStateKeyValueStorage the storage of the world state the block is executed on
+   * @param worldStateRootHash the root hash of the world state before the block
+   * @param keys the storage slots to prefetch, by account
+   * @return the running prefetch, to be closed once the block has been executed
+   */
+  public BonsaiBlockStatePrefetcher.Prefetch prefetchBlockState(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Map<Address, Set<StorageSlotKey>> keys) {
+    return blockStatePrefetcher.prefetch(worldStateKeyValueStorage, worldStateRootHash, keys);
+  }
+
+  /** Stops the workers prefetching block state. */
+  @Override
+  public void close() {
+    blockStatePrefetcher.close();
   }
 
   public void preLoadAccount(
@@ -70,7 +127,7 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
               (location, hash) -> {
                 Optional<Bytes> node =
                     getAccountStateTrieNode(worldStateKeyValueStorage, location, hash);
-                node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes), bytes));
+                node.ifPresent(bytes -> trieNodes.put(Hash.hash(bytes), bytes));
                 return node;
               },
               worldStateRootHash,
@@ -111,7 +168,7 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
                             Optional<Bytes> node =
                                 getAccountStorageTrieNode(
                                     worldStateKeyValueStorage, accountHash, location, hash);
-                            node.ifPresent(bytes -> storageNodes.put(Hash.hash(bytes), bytes));
+                            node.ifPresent(bytes -> trieNodes.put(Hash.hash(bytes), bytes));
                             return node;
                           },
                           Hash.hash(storageRoot),
@@ -134,7 +191,8 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(accountNodes.getIfPresent(nodeHash))
+      return trieNodes
+          .get(nodeHash)
           .or(() -> worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash));
     }
   }
@@ -147,7 +205,8 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(storageNodes.getIfPresent(nodeHash))
+      return trieNodes
+          .get(nodeHash)
           .or(
               () ->
                   worldStateKeyValueStorage.getAccountStorageTrieNode(
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
 
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
@@ -25,7 +26,13 @@ public class BonsaiCachedMerkleTrieLoaderModule {
 
   @Provides
   BonsaiCachedMerkleTrieLoader provideCachedMerkleTrieLoaderModule(
-      final MetricsSystem metricsSystem) {
-    return new BonsaiCachedMerkleTrieLoader((ObservableMetricsSystem) metricsSystem);
+      final MetricsSystem metricsSystem, final DataStorageConfiguration dataStorageConfiguration) {
+    final long trieNodeCacheSizeMb =
+        dataStorageConfiguration
+            .getPathBasedExtraStorageConfiguration()
+            .getUnstable()
+            .getTrieNodeCacheSizeMb();
+    return new BonsaiCachedMerkleTrieLoader(
+        (ObservableMetricsSystem) metricsSystem, trieNodeCacheSizeMb * 1024 * 1024);
   }
 }
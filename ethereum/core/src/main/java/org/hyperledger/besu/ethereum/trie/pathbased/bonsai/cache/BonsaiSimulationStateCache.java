@@ -0,0 +1,178 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_SIMULATION_STATE_CACHE_BLOCKS;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_SIMULATION_STATE_CACHE_SIZE_MB;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A cache of the accounts, storage slots and code read by the simulations of transactions, shared
+ * by all the simulations on the same block.
+ *
+ * <p>The state of a block never changes once it is imported, so what a simulation reads from
+ * storage can be served as is to every other simulation on the same block hash. Only the reads of
+ * the world state itself are cached, never what a simulation writes or overrides. Code is first
+ * looked up in the code cache of the EVM, which already holds the analysed code of the contracts
+ * called recently.
+ *
+ * <p>The caches of a few blocks are kept at once, each bounded by the number of bytes it holds.
+ * Observing the blockchain drops them all whenever a new head is imported.
+ */
+public class BonsaiSimulationStateCache implements BlockAddedObserver {
+
+  // a rough size of a cache entry besides its key and value bytes
+  private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+  private final long maxWeightBytesPerBlock;
+  private final Cache<Hash, BlockStateCache> blockStateCaches;
+
+  /** Creates a cache of the default size. */
+  public BonsaiSimulationStateCache() {
+    this(
+        DEFAULT_SIMULATION_STATE_CACHE_BLOCKS,
+        DEFAULT_SIMULATION_STATE_CACHE_SIZE_MB * 1024 * 1024);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxCachedBlocks the number of blocks to keep the state of at most, 0 to cache nothing
+   * @param maxWeightBytesPerBlock the number of bytes of state to keep at most for each block
+   */
+  public BonsaiSimulationStateCache(final int maxCachedBlocks, final long maxWeightBytesPerBlock) {
+    this.maxWeightBytesPerBlock = maxWeightBytesPerBlock;
+    this.blockStateCaches = Caffeine.newBuilder().maximumSize(maxCachedBlocks).build();
+  }
+
+  /**
+   * Returns the cache of the state of a block, creating it if needed.
+   *
+   * @param blockHash the hash of the block
+   * @param evm the EVM the transactions of the block are simulated with
+   * @return the cache of the state of the block
+   */
+  public BlockStateCache forBlock(final Hash blockHash, final EVM evm) {
+    return blockStateCaches.get(blockHash, __ -> new BlockStateCache(evm));
+  }
+
+  /** Drops the cached state of all the blocks, to be called when a new head is imported. */
+  public void invalidateAll() {
+    blockStateCaches.invalidateAll();
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (event.isNewCanonicalHead()) {
+      invalidateAll();
+    }
+  }
+
+  private enum EntryType {
+    ACCOUNT,
+    STORAGE,
+    CODE
+  }
+
+  private record EntryKey(EntryType type, Bytes key) {}
+
+  /** The cached state of one block. */
+  public class BlockStateCache {
+
+    private final EVM evm;
+    private final Cache<EntryKey, Optional<Bytes>> entries =
+        Caffeine.newBuilder()
+            .maximumWeight(maxWeightBytesPerBlock)
+            .<EntryKey, Optional<Bytes>>weigher(
+                (key, value) ->
+                    ENTRY_OVERHEAD_BYTES + key.key().size() + value.map(Bytes::size).orElse(0))
+            .build();
+
+    private BlockStateCache(final EVM evm) {
+      this.evm = evm;
+    }
+
+    /**
+     * Gets the RLP of an account, reading it from storage on a miss.
+     *
+     * @param accountHash the hash of the address of the account
+     * @param loader reads the account from storage
+     * @return the RLP of the account, empty if there is no such account
+     */
+    public Optional<Bytes> getAccount(
+        final Hash accountHash, final Supplier<Optional<Bytes>> loader) {
+      return get(new EntryKey(EntryType.ACCOUNT, accountHash), loader);
+    }
+
+    /**
+     * Gets the value of a storage slot, reading it from storage on a miss.
+     *
+     * @param accountHash the hash of the address of the account
+     * @param storageSlotKey the slot
+     * @param loader reads the slot from storage
+     * @return the value of the slot, empty if it is not set
+     */
+    public Optional<Bytes> getStorageValue(
+        final Hash accountHash,
+        final StorageSlotKey storageSlotKey,
+        final Supplier<Optional<Bytes>> loader) {
+      return get(
+          new EntryKey(
+              EntryType.STORAGE, Bytes.concatenate(accountHash, storageSlotKey.getSlotHash())),
+          loader);
+    }
+
+    /**
+     * Gets some code, from the code cache of the EVM or from this cache, reading it from storage
+     * when it is in neither.
+     *
+     * @param codeHash the hash of the code
+     * @param loader reads the code from storage
+     * @return the code, empty if it is not found
+     */
+    public Optional<Bytes> getCode(final Hash codeHash, final Supplier<Optional<Bytes>> loader) {
+      final Optional<Code> analysedCode = evm.getCachedCode(codeHash);
+      if (analysedCode.isPresent()) {
+        return Optional.of(analysedCode.get().getBytes());
+      }
+      return get(new EntryKey(EntryType.CODE, codeHash), loader);
+    }
+
+    // Storage is read outside of the cache, so that slow reads do not block the other simulations.
+    // Two simulations missing the same entry at once both read it, with the same result.
+    private Optional<Bytes> get(final EntryKey key, final Supplier<Optional<Bytes>> loader) {
+      final Optional<Bytes> cached = entries.getIfPresent(key);
+      if (cached != null) {
+        return cached;
+      }
+      final Optional<Bytes> value = loader.get();
+      entries.put(key, value);
+      return value;
+    }
+  }
+}
@@ -20,10 +20,13 @@ import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.util.Map;
+import java.util.Set;
+
 public class NoopBonsaiCachedMerkleTrieLoader extends BonsaiCachedMerkleTrieLoader {
 
   public NoopBonsaiCachedMerkleTrieLoader() {
-    super(new NoOpMetricsSystem());
+    super(new NoOpMetricsSystem(), 0);
   }
 
   @Override
@@ -41,4 +44,12 @@ public class NoopBonsaiCachedMerkleTrieLoader extends BonsaiCachedMerkleTrieLoad
       final StorageSlotKey slotKey) {
     // noop
   }
+
+  @Override
+  public BonsaiBlockStatePrefetcher.Prefetch prefetchBlockState(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Map<Address, Set<StorageSlotKey>> keys) {
+    return super.prefetchBlockState(worldStateKeyValueStorage, worldStateRootHash, Map.of());
+  }
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of trie nodes keyed by node hash, whose content is kept outside of the Java heap.
+ *
+ * <p>The cache is split in shards, each made of a circular log held in a direct buffer and of an
+ * index from node hash to position in the log. Nodes are appended at the head of the log and, once
+ * the log is full, the oldest nodes are evicted to make room for the new ones, so that the memory
+ * used is bounded by a number of bytes whatever the size of the nodes. The buffer of a shard only
+ * grows up to its share of the capacity as nodes are added.
+ *
+ * <p>Only the index lives on the heap, with two longs per slot.
+ */
+public class OffHeapTrieNodeCache {
+  private static final Logger LOG = LoggerFactory.getLogger(OffHeapTrieNodeCache.class);
+
+  private static final int SHARD_COUNT = 64;
+  private static final int MAX_SHARD_CAPACITY = 1 << 30;
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+  private static final int INITIAL_INDEX_SIZE = 1024;
+  private static final int ENTRY_HEADER_SIZE = Integer.BYTES + Bytes32.SIZE;
+  private static final int WRAP_MARKER = -1;
+  private static final long EMPTY = -1;
+
+  /** The maximum number of bytes that can be configured for a cache. */
+  public static final long MAX_CAPACITY = (long) SHARD_COUNT * MAX_SHARD_CAPACITY;
+
+  private final Shard[] shards = new Shard[SHARD_COUNT];
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Creates a cache.
+   *
+   * @param capacityInBytes the number of bytes of direct memory the cache can use, 0 to disable it
+   */
+  public OffHeapTrieNodeCache(final long capacityInBytes) {
+    checkArgument(
+        capacityInBytes >= 0 && capacityInBytes <= MAX_CAPACITY,
+        "trie node cache capacity must be between 0 and %s bytes",
+        MAX_CAPACITY);
+    final long maxDirectMemory = maxDirectMemory();
+    if (capacityInBytes > maxDirectMemory) {
+      LOG.warn(
+          "Trie node cache of {} bytes exceeds the {} bytes of direct memory the JVM allows, raise"
+              + " -XX:MaxDirectMemorySize or lower --Xbonsai-trie-node-cache-size-mb",
+          capacityInBytes,
+          maxDirectMemory);
+    }
+    for (int i = 0; i < SHARD_COUNT; i++) {
+      shards[i] = new Shard((int) (capacityInBytes / SHARD_COUNT));
+    }
+  }
+
+  /**
+   * Gets a node from the cache.
+   *
+   * @param nodeHash the hash of the node
+   * @return the node if it is in the cache, otherwise empty
+   */
+  public Optional<Bytes> get(final Bytes32 nodeHash) {
+    final Optional<Bytes> node = shardFor(nodeHash).get(nodeHash);
+    if (node.isPresent()) {
+      hitCount.increment();
+    } else {
+      missCount.increment();
+    }
+    return node;
+  }
+
+  /**
+   * Adds a node to the cache, evicting the oldest nodes of its shard if needed.
+   *
+   * @param nodeHash the hash of the node
+   * @param node the node
+   */
+  public void put(final Bytes32 nodeHash, final Bytes node) {
+    shardFor(nodeHash).put(nodeHash, node);
+  }
+
+  // Direct memory is limited by -XX:MaxDirectMemorySize, or by the maximum heap size when unset.
+  private static long maxDirectMemory() {
+    final HotSpotDiagnosticMXBean diagnostics =
+        ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+    if (diagnostics != null) {
+      try {
+        final long maxDirectMemorySize =
+            Long.parseLong(diagnostics.getVMOption("MaxDirectMemorySize").getValue());
+        if (maxDirectMemorySize > 0) {
+          return maxDirectMemorySize;
+        }
+      } catch (final IllegalArgumentException e) {
+        // not a HotSpot option on this JVM
+      }
+    }
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * Gets the number of bytes currently used by the nodes of the cache.
+   *
+   * @return the number of bytes used
+   */
+  public long getUsedBytes() {
+    long usedBytes = 0;
+    for (final Shard shard : shards) {
+      usedBytes += shard.getUsedBytes();
+    }
+    return usedBytes;
+  }
+
+  /**
+   * Gets the number of bytes of direct memory currently allocated by the cache.
+   *
+   * @return the number of bytes allocated
+   */
+  public long getAllocatedBytes() {
+    long allocatedBytes = 0;
+    for (final Shard shard : shards) {
+      allocatedBytes += shard.getAllocatedBytes();
+    }
+    return allocatedBytes;
+  }
+
+  private Shard shardFor(final Bytes32 nodeHash) {
+    return shards[(int) nodeHash.getLong(Long.BYTES) & (SHARD_COUNT - 1)];
+  }
+
+  /**
+   * A circular log of entries made of the length of the node, the hash of the node and the node.
+   * Positions are absolute offsets in the log that only increase, the physical offset of an entry
+   * being its position modulo the capacity. An entry never straddles the end of the buffer, the
+   * remaining space is skipped instead and marked as such when it can hold the marker.
+   */
+  private final class Shard {
+    private final int capacity;
+    private ByteBuffer buffer;
+    private long head;
+    private long tail;
+    private int entryCount;
+    private long[] keys;
+    private long[] positions;
+    private int usedSlots;
+
+    private Shard(final int capacity) {
+      this.capacity = capacity;
+    }
+
+    private synchronized Optional<Bytes> get(final Bytes32 nodeHash) {
+      if (buffer == null) {
+        return Optional.empty();
+      }
+      final int slot = findSlot(nodeHash);
+      if (slot < 0) {
+        return Optional.empty();
+      }
+      final int offset = offsetOf(positions[slot]);
+      final byte[] node = new byte[buffer.getInt(offset)];
+      buffer.get(offset + ENTRY_HEADER_SIZE, node);
+      return Optional.of(Bytes.wrap(node));
+    }
+
+    private synchronized void put(final Bytes32 nodeHash, final Bytes node) {
+      final int entrySize = ENTRY_HEADER_SIZE + node.size();
+      if (entrySize > capacity / 4) {
+        return;
+      }
+      if (buffer == null) {
+        buffer = ByteBuffer.allocateDirect(Math.min(capacity, INITIAL_BUFFER_SIZE));
+        keys = new long[INITIAL_INDEX_SIZE];
+        positions = new long[INITIAL_INDEX_SIZE];
+        Arrays.fill(positions, EMPTY);
+      } else if (findSlot(nodeHash) >= 0) {
+        return;
+      }
+      final long position = append(nodeHash, node, entrySize);
+      addToIndex(nodeHash.getLong(0), position);
+    }
+
+    private long append(final Bytes32 nodeHash, final Bytes node, final int entrySize) {
+      final int remaining = capacity - offsetOf(head);
+      final int skipped = entrySize > remaining ? remaining : 0;
+      // the skipped space may still hold the oldest entries, so they are evicted before the marker
+      // is written over them
+      while (head + skipped + entrySize - tail > capacity) {
+        evictOldest();
+      }
+      if (skipped > 0) {
+        if (buffer.capacity() < capacity) {
+          grow(capacity);
+        }
+        if (skipped >= Integer.BYTES) {
+          buffer.putInt(offsetOf(head), WRAP_MARKER);
+        }
+        head += skipped;
+      }
+      final int offset = offsetOf(head);
+      if (offset + entrySize > buffer.capacity()) {
+        grow(offset + entrySize);
+      }
+      buffer.putInt(offset, node.size());
+      buffer.put(offset + Integer.BYTES, nodeHash.toArrayUnsafe());
+      buffer.put(offset + ENTRY_HEADER_SIZE, node.toArrayUnsafe());
+      final long position = head;
+      head += entrySize;
+      entryCount++;
+      return position;
+    }
+
+    private void evictOldest() {
+      final int offset = offsetOf(tail);
+      final int remaining = capacity - offset;
+      if (remaining < Integer.BYTES || buffer.getInt(offset) == WRAP_MARKER) {
+        tail += remaining;
+      } else {
+        tail += ENTRY_HEADER_SIZE + buffer.getInt(offset);
+        entryCount--;
+        evictionCount.increment();
+      }
+    }
+
+    /** Physical offsets do not depend on the size of the buffer, so its content is copied as is. */
+    private void grow(final int minimumSize) {
+      int newSize = buffer.capacity();
+      while (newSize < minimumSize) {
+        newSize = (int) Math.min(capacity, 2L * newSize);
+      }
+      final ByteBuffer newBuffer = ByteBuffer.allocateDirect(newSize);
+      newBuffer.put(0, buffer, 0, buffer.capacity());
+      buffer = newBuffer;
+    }
+
+    private int findSlot(final Bytes32 nodeHash) {
+      final long key = nodeHash.getLong(0);
+      final int mask = keys.length - 1;
+      for (int slot = (int) key & mask, probes = 0;
+          probes < keys.length;
+          slot = (slot + 1) & mask, probes++) {
+        final long position = positions[slot];
+        if (position == EMPTY) {
+          return -1;
+        }
+        if (keys[slot] == key && position >= tail && matches(position, nodeHash)) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+
+    private boolean matches(final long position, final Bytes32 nodeHash) {
+      final int offset = offsetOf(position) + Integer.BYTES;
+      for (int i = 0; i < Bytes32.SIZE; i += Long.BYTES) {
+        if (buffer.getLong(offset + i) != nodeHash.getLong(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Adds a position to the index, reusing the first slot that is either empty or points to an
+     * evicted entry. Slots are only emptied when the index is rebuilt, which keeps the probe
+     * sequences intact.
+     */
+    private void addToIndex(final long key, final long position) {
+      if ((usedSlots + 1) * 4L > keys.length * 3L) {
+        rebuildIndex();
+      }
+      final int mask = keys.length - 1;
+      for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+        if (positions[slot] == EMPTY || positions[slot] < tail) {
+          if (positions[slot] == EMPTY) {
+            usedSlots++;
+          }
+          keys[slot] = key;
+          positions[slot] = position;
+          return;
+        }
+      }
+    }
+
+    private void rebuildIndex() {
+      int newSize = INITIAL_INDEX_SIZE;
+      while (newSize < (entryCount + 1) * 2L) {
+        newSize <<= 1;
+      }
+      final long[] oldKeys = keys;
+      final long[] oldPositions = positions;
+      keys = new long[newSize];
+      positions = new long[newSize];
+      Arrays.fill(positions, EMPTY);
+      usedSlots = 0;
+      for (int i = 0; i < oldPositions.length; i++) {
+        if (oldPositions[i] != EMPTY && oldPositions[i] >= tail) {
+          addToIndex(oldKeys[i], oldPositions[i]);
+        }
+      }
+    }
+
+    private int offsetOf(final long position) {
+      return (int) (position % capacity);
+    }
+
+    private synchronized long getUsedBytes() {
+      return head - tail;
+    }
+
+    private synchronized long getAllocatedBytes() {
+      return buffer == null ? 0 : buffer.capacity();
+    }
+  }
+}
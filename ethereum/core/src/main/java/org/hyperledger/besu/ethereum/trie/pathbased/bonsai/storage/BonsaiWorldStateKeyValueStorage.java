@@ -101,6 +101,15 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
             composedWorldStateStorage);
   }
 
+  public List<Optional<Bytes>> getAccounts(final List<Hash> accountHashes) {
+    return getFlatDbStrategy()
+        .getFlatAccounts(
+            this::getWorldStateRootHash,
+            this::getAccountStateTrieNode,
+            accountHashes,
+            composedWorldStateStorage);
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(final Bytes location, final Bytes32 nodeHash) {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
@@ -156,6 +165,24 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
             composedWorldStateStorage);
   }
 
+  public List<Optional<Bytes>> getStorageValuesByStorageSlotKeys(
+      final Hash accountHash, final List<StorageSlotKey> storageSlotKeys) {
+    return getFlatDbStrategy()
+        .getFlatStorageValuesByStorageSlotKeys(
+            this::getWorldStateRootHash,
+            () ->
+                getAccount(accountHash)
+                    .map(
+                        b ->
+                            PmtStateTrieAccountValue.readFrom(
+                                    org.hyperledger.besu.ethereum.rlp.RLP.input(b))
+                                .getStorageRoot()),
+            (location, hash) -> getAccountStorageTrieNode(accountHash, location, hash),
+            accountHash,
+            storageSlotKeys,
+            composedWorldStateStorage);
+  }
+
   public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
       final Hash addressHash, final Bytes32 startKeyHash, final int limit) {
     throw new RuntimeException("Bonsai Tries does not currently support enumerating storage");
@@ -212,6 +239,19 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
       // it (i.e. Bonsai archive)
     }
 
+    /**
+     * Creates an updater sharing this updater's flat database strategy and storage, but writing its
+     * world state changes to the given transaction instead.
+     *
+     * @param worldStateTransaction the transaction to write world state changes to
+     * @return the new updater
+     */
+    public Updater withWorldStateTransaction(
+        final SegmentedKeyValueStorageTransaction worldStateTransaction) {
+      return new Updater(
+          worldStateTransaction, trieLogStorageTransaction, flatDbStrategy, worldStorage);
+    }
+
     public Updater removeCode(final Hash accountHash, final Hash codeHash) {
       flatDbStrategy.removeFlatCode(
           worldStorage, composedWorldStateTransaction, accountHash, codeHash);
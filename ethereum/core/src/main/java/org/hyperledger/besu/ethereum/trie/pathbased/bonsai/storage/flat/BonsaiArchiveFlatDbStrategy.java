@@ -29,15 +29,23 @@ import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.flat.CodeStor
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import kotlin.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -45,11 +53,36 @@ import org.bouncycastle.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A flat database strategy keeping every version of the accounts and storage slots, suffixed with
+ * the number of the block they were written at, and answering reads with a nearest key search.
+ *
+ * <p>Reads at blocks more than {@link #IMMUTABLE_BLOCK_DISTANCE} blocks behind the latest written
+ * state can no longer change, so they are cached by block and key, and the historical calls
+ * executed at the same block share their reads instead of each seeking the database again.
+ */
 public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
   private static final Logger LOG = LoggerFactory.getLogger(BonsaiArchiveFlatDbStrategy.class);
 
+  /** The distance behind the latest written state beyond which the archived state is immutable. */
+  public static final long IMMUTABLE_BLOCK_DISTANCE = 512;
+
+  private static final int ARCHIVE_READ_CACHE_SIZE = 100_000;
+
   protected final Counter getAccountFromArchiveCounter;
   protected final Counter getStorageFromArchiveCounter;
+  private final Counter archiveReadCacheHitCounter;
+  private final OperationTimer archiveSeekTimer;
+
+  private final Cache<ArchiveReadKey, Optional<Bytes>> archiveReadCache =
+      Caffeine.newBuilder().maximumSize(ARCHIVE_READ_CACHE_SIZE).build();
+  private final AtomicLong highestWrittenBlock = new AtomicLong(0);
+  // storages holding uncommitted historical writes, such as the layers of simulated blocks, whose
+  // reads must not be cached
+  private final Set<SegmentedKeyValueStorage> storagesWithHistoricalWrites =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  private record ArchiveReadKey(long blockNumber, Bytes naturalKey) {}
 
   public BonsaiArchiveFlatDbStrategy(
       final MetricsSystem metricsSystem, final CodeStorageStrategy codeStorageStrategy) {
@@ -66,6 +99,18 @@ public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
             BesuMetricCategory.BLOCKCHAIN,
             "get_storage_from_archive_counter",
             "Total number of calls to get storage that were from archived state");
+
+    archiveReadCacheHitCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "archive_read_cache_hit_counter",
+            "Total number of historical account and storage reads served by the archive cache");
+
+    archiveSeekTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "archive_seek_duration",
+            "Time taken by the nearest key searches of historical account and storage reads");
   }
 
   static final byte[] MAX_BLOCK_SUFFIX = Bytes.ofUnsignedLong(Long.MAX_VALUE).toArrayUnsafe();
@@ -81,10 +126,11 @@ public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
     Optional<byte[]> archiveContext = storage.get(TRIE_BRANCH_STORAGE, WORLD_BLOCK_NUMBER_KEY);
     if (archiveContext.isPresent()) {
       try {
-        return Optional.of(
-            // The context for flat-DB PUTs is the block number recorded in the specified world
-            // state, + 1
-            new BonsaiContext(Bytes.wrap(archiveContext.get()).toLong() + 1));
+        // The context for flat-DB PUTs is the block number recorded in the specified world
+        // state, + 1
+        final long blockNumber = Bytes.wrap(archiveContext.get()).toLong() + 1;
+        onArchiveWrite(storage, blockNumber);
+        return Optional.of(new BonsaiContext(blockNumber));
       } catch (NumberFormatException e) {
         throw new IllegalStateException(
             "World state archive context invalid format: "
@@ -123,12 +169,19 @@ public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
       final SegmentedKeyValueStorage storage) {
 
     getAccountCounter.inc();
+    final Optional<BonsaiContext> context = getStateArchiveContextForRead(storage);
+    return readThroughCache(
+        storage, context, accountHash, () -> seekFlatAccount(context, accountHash, storage));
+  }
+
+  private Optional<Bytes> seekFlatAccount(
+      final Optional<BonsaiContext> context,
+      final Hash accountHash,
+      final SegmentedKeyValueStorage storage) {
     Optional<SegmentedKeyValueStorage.NearestKeyValue> accountFound;
 
     // keyNearest, use MAX_BLOCK_SUFFIX in the absence of a block context:
-    Bytes keyNearest =
-        calculateArchiveKeyWithMaxSuffix(
-            getStateArchiveContextForRead(storage), accountHash.toArrayUnsafe());
+    Bytes keyNearest = calculateArchiveKeyWithMaxSuffix(context, accountHash.toArrayUnsafe());
 
     // Find the nearest account state for this address and block context
     Optional<SegmentedKeyValueStorage.NearestKeyValue> nearestAccount =
@@ -298,6 +351,98 @@ public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
     transaction.put(ACCOUNT_INFO_STATE, keySuffixed, DELETED_ACCOUNT_VALUE);
   }
 
+  /*
+   * Archive entries are suffixed with the block number and found by a nearest key search, so they
+   * cannot be looked up with a batched exact key read. They are read one by one, through the
+   * archive cache, so that prefetching a batch of historical keys fills the cache.
+   */
+  @Override
+  public List<Optional<Bytes>> getFlatAccounts(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final NodeLoader nodeLoader,
+      final List<Hash> accountHashes,
+      final SegmentedKeyValueStorage storage) {
+    return getFlatAccountsOneByOne(worldStateRootHashSupplier, nodeLoader, accountHashes, storage);
+  }
+
+  @Override
+  public List<Optional<Bytes>> getFlatStorageValuesByStorageSlotKeys(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final NodeLoader nodeLoader,
+      final Hash accountHash,
+      final List<StorageSlotKey> storageSlotKeys,
+      final SegmentedKeyValueStorage storage) {
+    return getFlatStorageValuesOneByOne(
+        worldStateRootHashSupplier,
+        storageRootSupplier,
+        nodeLoader,
+        accountHash,
+        storageSlotKeys,
+        storage);
+  }
+
+  /*
+   * Serves an account or storage read from the archive cache when its block is old enough for the
+   * archived state to be immutable, and seeks the database otherwise.
+   */
+  private Optional<Bytes> readThroughCache(
+      final SegmentedKeyValueStorage storage,
+      final Optional<BonsaiContext> context,
+      final Bytes naturalKey,
+      final Supplier<Optional<Bytes>> seek) {
+    final Optional<Long> blockNumber = context.flatMap(BonsaiContext::getBlockNumber);
+    if (blockNumber.isEmpty() || !isCacheable(storage, blockNumber.get())) {
+      return timedSeek(seek);
+    }
+    final ArchiveReadKey key = new ArchiveReadKey(blockNumber.get(), naturalKey);
+    final Optional<Bytes> cached = archiveReadCache.getIfPresent(key);
+    if (cached != null) {
+      archiveReadCacheHitCounter.inc();
+      return cached;
+    }
+    final Optional<Bytes> value = timedSeek(seek);
+    archiveReadCache.put(key, value);
+    return value;
+  }
+
+  /**
+   * Returns whether the account and storage reads of the world state held by the given storage are
+   * served from the archive cache, so that reading them ahead of time spares the seeks of the reads
+   * that follow rather than repeating them.
+   *
+   * @param storage the storage of the world state
+   * @return whether the reads at the block of the world state are cached
+   */
+  public boolean cachesReadsOf(final SegmentedKeyValueStorage storage) {
+    return getStateArchiveContextForRead(storage)
+        .flatMap(BonsaiContext::getBlockNumber)
+        .filter(blockNumber -> isCacheable(storage, blockNumber))
+        .isPresent();
+  }
+
+  private boolean isCacheable(final SegmentedKeyValueStorage storage, final long blockNumber) {
+    return blockNumber <= highestWrittenBlock.get() - IMMUTABLE_BLOCK_DISTANCE
+        && !storagesWithHistoricalWrites.contains(storage);
+  }
+
+  private Optional<Bytes> timedSeek(final Supplier<Optional<Bytes>> seek) {
+    try (final OperationTimer.TimingContext ignored = archiveSeekTimer.startTimer()) {
+      return seek.get();
+    }
+  }
+
+  private void onArchiveWrite(final SegmentedKeyValueStorage storage, final long blockNumber) {
+    final long highestWritten = highestWrittenBlock.accumulateAndGet(blockNumber, Math::max);
+    if (blockNumber <= highestWritten - IMMUTABLE_BLOCK_DISTANCE) {
+      // the state considered immutable is written again, by a deep reorg or a simulated block on
+      // top of a historical state
+      storagesWithHistoricalWrites.add(storage);
+      // only the reads at or after the written block can see the new entries
+      archiveReadCache.asMap().keySet().removeIf(key -> key.blockNumber() >= blockNumber);
+    }
+  }
+
   private byte[] trimSuffix(final byte[] suffixedAddress) {
     return Arrays.copyOfRange(suffixedAddress, 0, suffixedAddress.length - 8);
   }
@@ -314,14 +459,25 @@ public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
       final StorageSlotKey storageSlotKey,
       final SegmentedKeyValueStorage storage) {
 
-    Optional<SegmentedKeyValueStorage.NearestKeyValue> storageFound;
     getStorageValueCounter.inc();
-
     // get natural key from account hash and slot key
-    byte[] naturalKey = calculateNaturalSlotKey(accountHash, storageSlotKey.getSlotHash());
+    final byte[] naturalKey = calculateNaturalSlotKey(accountHash, storageSlotKey.getSlotHash());
+    final Optional<BonsaiContext> context = getStateArchiveContextForRead(storage);
+    return readThroughCache(
+        storage,
+        context,
+        Bytes.wrap(naturalKey),
+        () -> seekFlatStorageValue(context, naturalKey, storage));
+  }
+
+  private Optional<Bytes> seekFlatStorageValue(
+      final Optional<BonsaiContext> context,
+      final byte[] naturalKey,
+      final SegmentedKeyValueStorage storage) {
+    Optional<SegmentedKeyValueStorage.NearestKeyValue> storageFound;
+
     // keyNearest, use MAX_BLOCK_SUFFIX in the absence of a block context:
-    Bytes keyNearest =
-        calculateArchiveKeyWithMaxSuffix(getStateArchiveContextForRead(storage), naturalKey);
+    Bytes keyNearest = calculateArchiveKeyWithMaxSuffix(context, naturalKey);
 
     // Find the nearest storage for this address, slot key hash, and block context
     Optional<SegmentedKeyValueStorage.NearestKeyValue> nearestStorage =
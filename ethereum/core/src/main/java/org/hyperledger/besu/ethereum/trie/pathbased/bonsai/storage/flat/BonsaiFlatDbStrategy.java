@@ -27,6 +27,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -69,6 +70,71 @@ public abstract class BonsaiFlatDbStrategy extends FlatDbStrategy {
       StorageSlotKey storageSlotKey,
       SegmentedKeyValueStorage storageStorage);
 
+  /*
+   * Retrieves the account data for a batch of account hashes, in the order of the given hashes.
+   * Strategies able to batch the lookups against the underlying storage should override it.
+   */
+  public List<Optional<Bytes>> getFlatAccounts(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final NodeLoader nodeLoader,
+      final List<Hash> accountHashes,
+      final SegmentedKeyValueStorage storage) {
+    return getFlatAccountsOneByOne(worldStateRootHashSupplier, nodeLoader, accountHashes, storage);
+  }
+
+  /*
+   * Retrieves the storage values of an account for a batch of storage slot keys, in the order of
+   * the given keys. Strategies able to batch the lookups against the underlying storage should
+   * override it.
+   */
+  public List<Optional<Bytes>> getFlatStorageValuesByStorageSlotKeys(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final NodeLoader nodeLoader,
+      final Hash accountHash,
+      final List<StorageSlotKey> storageSlotKeys,
+      final SegmentedKeyValueStorage storageStorage) {
+    return getFlatStorageValuesOneByOne(
+        worldStateRootHashSupplier,
+        storageRootSupplier,
+        nodeLoader,
+        accountHash,
+        storageSlotKeys,
+        storageStorage);
+  }
+
+  protected List<Optional<Bytes>> getFlatAccountsOneByOne(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final NodeLoader nodeLoader,
+      final List<Hash> accountHashes,
+      final SegmentedKeyValueStorage storage) {
+    return accountHashes.stream()
+        .map(
+            accountHash ->
+                getFlatAccount(worldStateRootHashSupplier, nodeLoader, accountHash, storage))
+        .toList();
+  }
+
+  protected List<Optional<Bytes>> getFlatStorageValuesOneByOne(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final NodeLoader nodeLoader,
+      final Hash accountHash,
+      final List<StorageSlotKey> storageSlotKeys,
+      final SegmentedKeyValueStorage storageStorage) {
+    return storageSlotKeys.stream()
+        .map(
+            storageSlotKey ->
+                getFlatStorageValueByStorageSlotKey(
+                    worldStateRootHashSupplier,
+                    storageRootSupplier,
+                    nodeLoader,
+                    accountHash,
+                    storageSlotKey,
+                    storageStorage))
+        .toList();
+  }
+
   @Override
   public void putFlatAccount(
       final SegmentedKeyValueStorage storage,
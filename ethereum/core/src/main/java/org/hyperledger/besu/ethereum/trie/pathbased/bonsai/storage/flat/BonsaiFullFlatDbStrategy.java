@@ -26,6 +26,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -95,6 +96,60 @@ public class BonsaiFullFlatDbStrategy extends BonsaiFlatDbStrategy {
     return storageFound;
   }
 
+  @Override
+  public List<Optional<Bytes>> getFlatAccounts(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final NodeLoader nodeLoader,
+      final List<Hash> accountHashes,
+      final SegmentedKeyValueStorage storage) {
+    getAccountCounter.inc(accountHashes.size());
+    final List<Optional<Bytes>> accountsFound =
+        storage
+            .multiGet(
+                ACCOUNT_INFO_STATE, accountHashes.stream().map(Hash::toArrayUnsafe).toList())
+            .stream()
+            .map(value -> value.map(Bytes::wrap))
+            .toList();
+    countFound(accountsFound, getAccountFoundInFlatDatabaseCounter);
+    countNotFound(accountsFound, getAccountNotFoundInFlatDatabaseCounter);
+    return accountsFound;
+  }
+
+  @Override
+  public List<Optional<Bytes>> getFlatStorageValuesByStorageSlotKeys(
+      final Supplier<Optional<Bytes>> worldStateRootHashSupplier,
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final NodeLoader nodeLoader,
+      final Hash accountHash,
+      final List<StorageSlotKey> storageSlotKeys,
+      final SegmentedKeyValueStorage storage) {
+    getStorageValueCounter.inc(storageSlotKeys.size());
+    final List<Optional<Bytes>> storageFound =
+        storage
+            .multiGet(
+                ACCOUNT_STORAGE_STORAGE,
+                storageSlotKeys.stream()
+                    .map(
+                        storageSlotKey ->
+                            Bytes.concatenate(accountHash, storageSlotKey.getSlotHash())
+                                .toArrayUnsafe())
+                    .toList())
+            .stream()
+            .map(value -> value.map(Bytes::wrap))
+            .toList();
+    countFound(storageFound, getStorageValueFlatDatabaseCounter);
+    countNotFound(storageFound, getStorageValueNotFoundInFlatDatabaseCounter);
+    return storageFound;
+  }
+
+  private static void countFound(final List<Optional<Bytes>> values, final Counter counter) {
+    counter.inc(values.stream().filter(Optional::isPresent).count());
+  }
+
+  private static void countNotFound(final List<Optional<Bytes>> values, final Counter counter) {
+    counter.inc(values.stream().filter(Optional::isEmpty).count());
+  }
+
   @Override
   public void resetOnResync(final SegmentedKeyValueStorage storage) {
     // NOOP
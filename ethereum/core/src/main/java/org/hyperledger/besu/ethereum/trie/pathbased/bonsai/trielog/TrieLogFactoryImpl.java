@@ -18,8 +18,10 @@ import org.hyperledger.besu.datatypes.AccountValue;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
@@ -39,10 +41,53 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 
+/**
+ * Creates, serializes and deserializes the trie logs of Bonsai.
+ *
+ * <p>Trie logs are serialized either in the original RLP format, a list starting with the block
+ * hash, or in the compact format, a list starting with its version. Both formats are always read.
+ * The compact format writes an account as the fields that differ from the empty account, or from
+ * the prior account for the updated one, writes the value of a storage slot only once when it is
+ * unchanged, and does not write the empty storage root and code hash.
+ */
 public class TrieLogFactoryImpl implements TrieLogFactory {
 
+  private static final int COMPACT_FORMAT_VERSION = 1;
+
+  // flags of a change in the compact format
+  private static final int HAS_PRIOR = 1;
+  private static final int HAS_UPDATED = 1 << 1;
+  private static final int IS_CLEARED = 1 << 2;
+  private static final int IS_UNCHANGED = 1 << 3;
+
+  // fields of an account written in the compact format
+  private static final int NONCE = 1;
+  private static final int BALANCE = 1 << 1;
+  private static final int STORAGE_ROOT = 1 << 2;
+  private static final int CODE_HASH = 1 << 3;
+
+  private static final AccountValue EMPTY_ACCOUNT =
+      new PmtStateTrieAccountValue(0, Wei.ZERO, Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+
+  private final boolean compactFormatEnabled;
+
+  public TrieLogFactoryImpl() {
+    this(false);
+  }
+
+  /**
+   * Creates a trie log factory.
+   *
+   * @param compactFormatEnabled whether trie logs are serialized in the compact format rather than
+   *     in the original RLP format
+   */
+  public TrieLogFactoryImpl(final boolean compactFormatEnabled) {
+    this.compactFormatEnabled = compactFormatEnabled;
+  }
+
   @Override
   public TrieLogLayer create(final TrieLogAccumulator accumulator, final BlockHeader blockHeader) {
     TrieLogLayer layer = new TrieLogLayer();
@@ -86,7 +131,11 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
   @Override
   public byte[] serialize(final TrieLog layer) {
     final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
-    writeTo(layer, rlpLog);
+    if (compactFormatEnabled) {
+      writeCompactTo(layer, rlpLog);
+    } else {
+      writeTo(layer, rlpLog);
+    }
     return rlpLog.encoded().toArrayUnsafe();
   }
 
@@ -141,6 +190,122 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     output.endList(); // container
   }
 
+  public static void writeCompactTo(final TrieLog layer, final RLPOutput output) {
+    layer.freeze();
+
+    final Set<Address> addresses = new TreeSet<>();
+    addresses.addAll(layer.getAccountChanges().keySet());
+    addresses.addAll(layer.getCodeChanges().keySet());
+    addresses.addAll(layer.getStorageChanges().keySet());
+
+    output.startList(); // container
+    output.writeIntScalar(COMPACT_FORMAT_VERSION);
+    output.writeBytes(layer.getBlockHash());
+
+    for (final Address address : addresses) {
+      output.startList(); // this change
+      output.writeBytes(address);
+
+      final TrieLog.LogTuple<AccountValue> accountChange = layer.getAccountChanges().get(address);
+      if (accountChange == null || accountChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        final AccountValue prior = accountChange.getPrior();
+        final AccountValue updated = accountChange.getUpdated();
+        output.startList();
+        output.writeIntScalar(changeFlags(accountChange));
+        if (prior != null) {
+          writeAccountFields(EMPTY_ACCOUNT, prior, output);
+        }
+        if (updated != null) {
+          writeAccountFields(prior == null ? EMPTY_ACCOUNT : prior, updated, output);
+        }
+        output.endList();
+      }
+
+      final TrieLog.LogTuple<Bytes> codeChange = layer.getCodeChanges().get(address);
+      if (codeChange == null || codeChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        writeRlp(codeChange, output, RLPOutput::writeBytes);
+      }
+
+      final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
+          layer.getStorageChanges().get(address);
+      if (storageChanges == null) {
+        output.writeNull();
+      } else {
+        output.startList();
+        for (final Map.Entry<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChangeEntry :
+            storageChanges.entrySet()) {
+          final TrieLog.LogTuple<UInt256> storageChange = storageChangeEntry.getValue();
+          final int flags = changeFlags(storageChange);
+          output.startList();
+          output.writeBytes(storageChangeEntry.getKey().getSlotHash());
+          output.writeIntScalar(flags);
+          if ((flags & HAS_PRIOR) != 0) {
+            output.writeUInt256Scalar(storageChange.getPrior());
+          }
+          if ((flags & HAS_UPDATED) != 0 && (flags & IS_UNCHANGED) == 0) {
+            output.writeUInt256Scalar(storageChange.getUpdated());
+          }
+          output.endList();
+        }
+        output.endList();
+      }
+
+      output.endList(); // this change
+    }
+    output.endList(); // container
+  }
+
+  private static int changeFlags(final TrieLog.LogTuple<?> change) {
+    int flags = 0;
+    if (change.getPrior() != null) {
+      flags |= HAS_PRIOR;
+    }
+    if (change.getUpdated() != null) {
+      flags |= HAS_UPDATED;
+      if (change.getUpdated().equals(change.getPrior())) {
+        flags |= IS_UNCHANGED;
+      }
+    }
+    if (change.isLastStepCleared()) {
+      flags |= IS_CLEARED;
+    }
+    return flags;
+  }
+
+  private static void writeAccountFields(
+      final AccountValue base, final AccountValue account, final RLPOutput output) {
+    int fields = 0;
+    if (account.getNonce() != base.getNonce()) {
+      fields |= NONCE;
+    }
+    if (!account.getBalance().equals(base.getBalance())) {
+      fields |= BALANCE;
+    }
+    if (!account.getStorageRoot().equals(base.getStorageRoot())) {
+      fields |= STORAGE_ROOT;
+    }
+    if (!account.getCodeHash().equals(base.getCodeHash())) {
+      fields |= CODE_HASH;
+    }
+    output.writeIntScalar(fields);
+    if ((fields & NONCE) != 0) {
+      output.writeLongScalar(account.getNonce());
+    }
+    if ((fields & BALANCE) != 0) {
+      output.writeUInt256Scalar(account.getBalance());
+    }
+    if ((fields & STORAGE_ROOT) != 0) {
+      output.writeBytes(account.getStorageRoot());
+    }
+    if ((fields & CODE_HASH) != 0) {
+      output.writeBytes(account.getCodeHash());
+    }
+  }
+
   @Override
   public TrieLogLayer deserialize(final byte[] bytes) {
     return readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
@@ -150,6 +315,10 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     final TrieLogLayer newLayer = new TrieLogLayer();
 
     input.enterList();
+    if (input.nextSize() != Bytes32.SIZE) {
+      // the list starts with a version rather than a block hash
+      return readCompactFrom(input, newLayer);
+    }
     newLayer.setBlockHash(Hash.wrap(input.readBytes32()));
 
     while (!input.isEndOfCurrentList()) {
@@ -212,6 +381,93 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     return newLayer;
   }
 
+  private static TrieLogLayer readCompactFrom(final RLPInput input, final TrieLogLayer newLayer) {
+    final int version = input.readIntScalar();
+    if (version != COMPACT_FORMAT_VERSION) {
+      throw new RLPException("Unsupported trie log format version " + version);
+    }
+    newLayer.setBlockHash(Hash.wrap(input.readBytes32()));
+
+    while (!input.isEndOfCurrentList()) {
+      input.enterList();
+      final Address address = Address.readFrom(input);
+
+      if (input.nextIsNull()) {
+        input.skipNext();
+      } else {
+        input.enterList();
+        final int flags = input.readIntScalar();
+        final PmtStateTrieAccountValue oldValue =
+            (flags & HAS_PRIOR) != 0 ? readAccountFields(EMPTY_ACCOUNT, input) : null;
+        final PmtStateTrieAccountValue newValue =
+            (flags & HAS_UPDATED) != 0
+                ? readAccountFields(oldValue == null ? EMPTY_ACCOUNT : oldValue, input)
+                : null;
+        input.leaveList();
+        newLayer
+            .getAccountChanges()
+            .put(address, new PathBasedValue<>(oldValue, newValue, (flags & IS_CLEARED) != 0));
+      }
+
+      if (input.nextIsNull()) {
+        input.skipNext();
+      } else {
+        input.enterList();
+        final Bytes oldCode = nullOrValue(input, RLPInput::readBytes);
+        final Bytes newCode = nullOrValue(input, RLPInput::readBytes);
+        final boolean isCleared = getOptionalIsCleared(input);
+        input.leaveList();
+        newLayer.getCodeChanges().put(address, new PathBasedValue<>(oldCode, newCode, isCleared));
+      }
+
+      if (input.nextIsNull()) {
+        input.skipNext();
+      } else {
+        final Map<StorageSlotKey, PathBasedValue<UInt256>> storageChanges = new TreeMap<>();
+        input.enterList();
+        while (!input.isEndOfCurrentList()) {
+          input.enterList();
+          final Hash slotHash = Hash.wrap(input.readBytes32());
+          final StorageSlotKey storageSlotKey = new StorageSlotKey(slotHash, Optional.empty());
+          final int flags = input.readIntScalar();
+          final UInt256 oldValue = (flags & HAS_PRIOR) != 0 ? input.readUInt256Scalar() : null;
+          final UInt256 newValue;
+          if ((flags & IS_UNCHANGED) != 0) {
+            newValue = oldValue;
+          } else {
+            newValue = (flags & HAS_UPDATED) != 0 ? input.readUInt256Scalar() : null;
+          }
+          storageChanges.put(
+              storageSlotKey,
+              new PathBasedValue<>(oldValue, newValue, (flags & IS_CLEARED) != 0));
+          input.leaveList();
+        }
+        input.leaveList();
+        newLayer.getStorageChanges().put(address, storageChanges);
+      }
+
+      // lenient leave list for forward compatible additions.
+      input.leaveListLenient();
+    }
+    input.leaveListLenient();
+    newLayer.freeze();
+
+    return newLayer;
+  }
+
+  private static PmtStateTrieAccountValue readAccountFields(
+      final AccountValue base, final RLPInput input) {
+    final int fields = input.readIntScalar();
+    final long nonce = (fields & NONCE) != 0 ? input.readLongScalar() : base.getNonce();
+    final Wei balance =
+        (fields & BALANCE) != 0 ? Wei.of(input.readUInt256Scalar()) : base.getBalance();
+    final Hash storageRoot =
+        (fields & STORAGE_ROOT) != 0 ? Hash.wrap(input.readBytes32()) : base.getStorageRoot();
+    final Hash codeHash =
+        (fields & CODE_HASH) != 0 ? Hash.wrap(input.readBytes32()) : base.getCodeHash();
+    return new PmtStateTrieAccountValue(nonce, balance, storageRoot, codeHash);
+  }
+
   protected static <T> T nullOrValue(final RLPInput input, final Function<RLPInput, T> reader) {
     if (input.nextIsNull()) {
       input.skipNext();
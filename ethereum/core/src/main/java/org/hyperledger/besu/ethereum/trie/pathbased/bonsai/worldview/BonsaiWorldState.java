@@ -27,10 +27,13 @@ import org.hyperledger.besu.ethereum.trie.NoOpMerkleTrie;
 import org.hyperledger.besu.ethereum.trie.NodeLoader;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiBlockStatePrefetcher;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiSimulationStateCache;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.NoopBonsaiCachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateLayerStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat.BonsaiArchiveFlatDbStrategy;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.cache.PathBasedCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
@@ -39,15 +42,19 @@ import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWo
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.WorldStateConfig;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.preload.StorageConsumingMap;
+import org.hyperledger.besu.ethereum.trie.patricia.ParallelStoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.BufferedSegmentedKeyValueStorageTransaction;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -63,6 +70,7 @@ import org.apache.tuweni.units.bigints.UInt256;
 public class BonsaiWorldState extends PathBasedWorldState {
 
   protected BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader;
+  private BonsaiSimulationStateCache.BlockStateCache simulationStateCache;
 
   public BonsaiWorldState(
       final BonsaiWorldStateProvider archive,
@@ -102,6 +110,10 @@ public class BonsaiWorldState extends PathBasedWorldState {
 
   @Override
   public Optional<Bytes> getCode(@NotNull final Address address, final Hash codeHash) {
+    if (simulationStateCache != null) {
+      return simulationStateCache.getCode(
+          codeHash, () -> getWorldStateStorage().getCode(codeHash, address.addressHash()));
+    }
     return getWorldStateStorage().getCode(codeHash, address.addressHash());
   }
 
@@ -127,23 +139,27 @@ public class BonsaiWorldState extends PathBasedWorldState {
 
     // This must be done before updating the accounts so
     // that we can get the storage state hash
-    Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>>>>
-        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
-    if (maybeStateUpdater.isEmpty()) {
-      storageStream =
-          storageStream
-              .parallel(); // if we are not updating the state updater we can use parallel stream
+    if (maybeStateUpdater.isPresent() && worldStateConfig.isParallelStateRootComputationEnabled()) {
+      updateAccountStorageStatesInParallel(maybeStateUpdater.get(), worldStateUpdater);
+    } else {
+      Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>>>>
+          storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
+      if (maybeStateUpdater.isEmpty()) {
+        storageStream =
+            storageStream
+                .parallel(); // if we are not updating the state updater we can use parallel stream
+      }
+      storageStream.forEach(
+          addressMapEntry ->
+              updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
     }
-    storageStream.forEach(
-        addressMapEntry ->
-            updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
 
     // Third update the code.  This has the side effect of ensuring a code hash is calculated.
     updateCode(maybeStateUpdater, worldStateUpdater);
 
     // next walk the account trie
     final MerkleTrie<Bytes, Bytes> accountTrie =
-        createTrie(
+        createAccountTrie(
             (location, hash) ->
                 bonsaiCachedMerkleTrieLoader.getAccountStateTrieNode(
                     getWorldStateStorage(), location, hash),
@@ -231,6 +247,31 @@ public class BonsaiWorldState extends PathBasedWorldState {
     return value == null || value.isEmpty();
   }
 
+  /**
+   * Updates the storage tries of all the accounts concurrently. The flat storage and trie node
+   * writes of each account are buffered, and then merged into the state updater from the calling
+   * thread once all the storage roots are computed, as the updater is not thread safe.
+   */
+  private void updateAccountStorageStatesInParallel(
+      final BonsaiWorldStateKeyValueStorage.Updater stateUpdater,
+      final BonsaiWorldStateUpdateAccumulator worldStateUpdater) {
+    final List<BufferedSegmentedKeyValueStorageTransaction> bufferedWrites =
+        worldStateUpdater.getStorageToUpdate().entrySet().parallelStream()
+            .map(
+                addressMapEntry -> {
+                  final BufferedSegmentedKeyValueStorageTransaction buffer =
+                      new BufferedSegmentedKeyValueStorageTransaction(
+                          stateUpdater.getWorldStateTransaction());
+                  updateAccountStorageState(
+                      Optional.of(stateUpdater.withWorldStateTransaction(buffer)),
+                      worldStateUpdater,
+                      addressMapEntry);
+                  return buffer;
+                })
+            .toList();
+    bufferedWrites.forEach(BufferedSegmentedKeyValueStorageTransaction::commit);
+  }
+
   private void updateAccountStorageState(
       final Optional<BonsaiWorldStateKeyValueStorage.Updater> maybeStateUpdater,
       final BonsaiWorldStateUpdateAccumulator worldStateUpdater,
@@ -378,8 +419,13 @@ public class BonsaiWorldState extends PathBasedWorldState {
 
   @Override
   public Account get(final Address address) {
-    return getWorldStateStorage()
-        .getAccount(address.addressHash())
+    final Hash accountHash = address.addressHash();
+    final Optional<Bytes> accountRlp =
+        simulationStateCache == null
+            ? getWorldStateStorage().getAccount(accountHash)
+            : simulationStateCache.getAccount(
+                accountHash, () -> getWorldStateStorage().getAccount(accountHash));
+    return accountRlp
         .map(bytes -> BonsaiAccount.fromRLP(accumulator, address, bytes, true))
         .orElse(null);
   }
@@ -419,8 +465,12 @@ public class BonsaiWorldState extends PathBasedWorldState {
   @Override
   public Optional<UInt256> getStorageValueByStorageSlotKey(
       final Address address, final StorageSlotKey storageSlotKey) {
-    return getWorldStateStorage()
-        .getStorageValueByStorageSlotKey(address.addressHash(), storageSlotKey)
+    return getStorageValue(
+            address,
+            storageSlotKey,
+            () ->
+                getWorldStateStorage()
+                    .getStorageValueByStorageSlotKey(address.addressHash(), storageSlotKey))
         .map(UInt256::fromBytes);
   }
 
@@ -428,11 +478,26 @@ public class BonsaiWorldState extends PathBasedWorldState {
       final Supplier<Optional<Hash>> storageRootSupplier,
       final Address address,
       final StorageSlotKey storageSlotKey) {
-    return getWorldStateStorage()
-        .getStorageValueByStorageSlotKey(storageRootSupplier, address.addressHash(), storageSlotKey)
+    return getStorageValue(
+            address,
+            storageSlotKey,
+            () ->
+                getWorldStateStorage()
+                    .getStorageValueByStorageSlotKey(
+                        storageRootSupplier, address.addressHash(), storageSlotKey))
         .map(UInt256::fromBytes);
   }
 
+  private Optional<Bytes> getStorageValue(
+      final Address address,
+      final StorageSlotKey storageSlotKey,
+      final Supplier<Optional<Bytes>> loader) {
+    if (simulationStateCache == null) {
+      return loader.get();
+    }
+    return simulationStateCache.getStorageValue(address.addressHash(), storageSlotKey, loader);
+  }
+
   @Override
   public UInt256 getPriorStorageValue(final Address address, final UInt256 storageKey) {
     return getStorageValue(address, storageKey);
@@ -453,6 +518,50 @@ public class BonsaiWorldState extends PathBasedWorldState {
     return this;
   }
 
+  /**
+   * Starts loading the given accounts and storage slots of this world state in the background.
+   *
+   * @param keys the storage slots to prefetch, by account
+   * @return the running prefetch, to be closed once the state is no longer expected to be read
+   */
+  public BonsaiBlockStatePrefetcher.Prefetch prefetchState(
+      final Map<Address, Set<StorageSlotKey>> keys) {
+    return bonsaiCachedMerkleTrieLoader.prefetchBlockState(
+        getWorldStateStorage(), worldStateRootHash, keys);
+  }
+
+  /**
+   * Reads the given accounts and storage slots of an archive world state from the flat database in
+   * batches, so that the historical reads that follow are served from the archive read cache. Does
+   * nothing for the other flat database modes, nor for the recent blocks whose reads are not
+   * cached, as the values would then be read from the database again by the execution.
+   *
+   * @param keys the storage slots to read, by account
+   */
+  public void prefetchArchiveState(final Map<Address, Set<StorageSlotKey>> keys) {
+    final BonsaiWorldStateKeyValueStorage storage = getWorldStateStorage();
+    if (!(storage.getFlatDbStrategy() instanceof BonsaiArchiveFlatDbStrategy archiveStrategy)
+        || !archiveStrategy.cachesReadsOf(storage.getComposedWorldStateStorage())) {
+      return;
+    }
+    storage.getAccounts(keys.keySet().stream().map(Address::addressHash).toList());
+    keys.forEach(
+        (address, slots) ->
+            storage.getStorageValuesByStorageSlotKeys(address.addressHash(), List.copyOf(slots)));
+  }
+
+  /**
+   * Serves the reads of this world state from a cache shared with the other simulations on the same
+   * block, filling it with what is read from storage. The world state must only be used to simulate
+   * transactions from then on, and never be persisted.
+   *
+   * @param simulationStateCache the cached state of the block of this world state
+   */
+  public void useSimulationStateCache(
+      final BonsaiSimulationStateCache.BlockStateCache simulationStateCache) {
+    this.simulationStateCache = simulationStateCache;
+  }
+
   public void disableCacheMerkleTrieLoader() {
     this.bonsaiCachedMerkleTrieLoader = new NoopBonsaiCachedMerkleTrieLoader();
   }
@@ -466,6 +575,17 @@ public class BonsaiWorldState extends PathBasedWorldState {
     }
   }
 
+  private MerkleTrie<Bytes, Bytes> createAccountTrie(
+      final NodeLoader nodeLoader, final Bytes32 rootHash) {
+    if (worldStateConfig.isParallelStateRootComputationEnabled()
+        && !worldStateConfig.isTrieDisabled()) {
+      return new ParallelStoredMerklePatriciaTrie<>(
+          nodeLoader, rootHash, Function.identity(), Function.identity());
+    } else {
+      return createTrie(nodeLoader, rootHash);
+    }
+  }
+
   protected Hash hashAndSavePreImage(final Bytes value) {
     // by default do not save has preImages
     return Hash.hash(value);
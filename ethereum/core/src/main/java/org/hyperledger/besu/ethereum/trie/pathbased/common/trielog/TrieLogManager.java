@@ -47,7 +47,7 @@ public class TrieLogManager {
   protected final long maxLayersToLoad;
   protected final Subscribers<TrieLogEvent.TrieLogObserver> trieLogObservers = Subscribers.create();
 
-  protected final TrieLogFactory trieLogFactory;
+  protected TrieLogFactory trieLogFactory;
 
   public TrieLogManager(
       final Blockchain blockchain,
@@ -117,6 +117,16 @@ public class TrieLogManager {
         .put(blockHeader.getHash().toArrayUnsafe(), trieLogFactory.serialize(trieLog));
   }
 
+  /**
+   * Serializes the new trie logs in the compact format, unless the trie log factory is provided by
+   * a plugin. Trie logs already serialized in the original format can still be read.
+   */
+  public void enableCompactTrieLogFormat() {
+    if (trieLogFactory.getClass().equals(TrieLogFactoryImpl.class)) {
+      trieLogFactory = new TrieLogFactoryImpl(true);
+    }
+  }
+
   public long getMaxLayersToLoad() {
     return maxLayersToLoad;
   }
@@ -0,0 +1,119 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.common.trielog;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Squashes consecutive trie logs into a single trie log holding their net changes.
+ *
+ * <p>The trie logs are added in the order in which they would be rolled, either forward or back.
+ * For each account, code and storage slot the squashed trie log keeps the prior value of the first
+ * change and the updated value of the last one, so rolling forward the squashed trie log gives the
+ * same world state as rolling each trie log in turn, while reading and updating each account, code
+ * and storage slot only once.
+ */
+public class TrieLogSquasher {
+
+  private final TrieLogLayer squashed = new TrieLogLayer();
+  private int squashedCount = 0;
+
+  /**
+   * Adds the changes of a trie log that is rolled forward.
+   *
+   * @param trieLog the trie log
+   * @return this squasher
+   */
+  public TrieLogSquasher addRollForward(final TrieLog trieLog) {
+    return add(trieLog, false);
+  }
+
+  /**
+   * Adds the changes of a trie log that is rolled back, so with its prior and updated values
+   * swapped.
+   *
+   * @param trieLog the trie log
+   * @return this squasher
+   */
+  public TrieLogSquasher addRollBack(final TrieLog trieLog) {
+    return add(trieLog, true);
+  }
+
+  private TrieLogSquasher add(final TrieLog trieLog, final boolean rollBack) {
+    checkState(!squashed.frozen, "Trie logs are already squashed");
+    trieLog
+        .getAccountChanges()
+        .forEach(
+            (address, change) -> squashChange(squashed.getAccounts(), address, change, rollBack));
+    trieLog
+        .getCodeChanges()
+        .forEach((address, change) -> squashChange(squashed.getCode(), address, change, rollBack));
+    trieLog
+        .getStorageChanges()
+        .forEach(
+            (address, storage) -> {
+              final var squashedStorage =
+                  squashed.getStorage().computeIfAbsent(address, __ -> new TreeMap<>());
+              storage.forEach(
+                  (storageSlotKey, change) ->
+                      squashChange(squashedStorage, storageSlotKey, change, rollBack));
+            });
+    squashedCount++;
+    return this;
+  }
+
+  private static <K, T> void squashChange(
+      final Map<K, PathBasedValue<T>> squashedChanges,
+      final K key,
+      final TrieLog.LogTuple<T> change,
+      final boolean rollBack) {
+    final T prior = rollBack ? change.getUpdated() : change.getPrior();
+    final T updated = rollBack ? change.getPrior() : change.getUpdated();
+    final PathBasedValue<T> squashedChange = squashedChanges.get(key);
+    if (squashedChange == null) {
+      squashedChanges.put(key, new PathBasedValue<>(prior, updated, updated == null));
+    } else {
+      squashedChange.setUpdated(updated);
+    }
+  }
+
+  /**
+   * Gets the number of trie logs squashed so far.
+   *
+   * @return the number of added trie logs
+   */
+  public int getSquashedCount() {
+    return squashedCount;
+  }
+
+  /**
+   * Freezes the squashed trie log, after which no more trie logs can be added.
+   *
+   * @param blockHash the hash of the block the world state is at after rolling forward the squashed
+   *     trie log
+   * @return the squashed trie log
+   */
+  public TrieLog squash(final Hash blockHash) {
+    squashed.setBlockHash(blockHash).freeze();
+    return squashed;
+  }
+}
@@ -27,9 +27,16 @@ public class WorldStateConfig {
   /** Indicates whether the mode is stateful. Default is true. */
   private boolean isStateful;
 
+  /**
+   * Indicates whether the storage tries and the subtries of the account trie are updated, hashed
+   * and committed concurrently when computing the state root. Default is false.
+   */
+  private boolean isParallelStateRootComputationEnabled;
+
   private WorldStateConfig(final Builder builder) {
     this.isTrieDisabled = builder.isTrieDisabled;
     this.isStateful = builder.isStateful;
+    this.isParallelStateRootComputationEnabled = builder.isParallelStateRootComputationEnabled;
   }
 
   public boolean isTrieDisabled() {
@@ -40,6 +47,10 @@ public class WorldStateConfig {
     return isStateful;
   }
 
+  public boolean isParallelStateRootComputationEnabled() {
+    return isParallelStateRootComputationEnabled;
+  }
+
   public void setTrieDisabled(final boolean trieDisabled) {
     isTrieDisabled = trieDisabled;
   }
@@ -48,6 +59,11 @@ public class WorldStateConfig {
     isStateful = stateful;
   }
 
+  public void setParallelStateRootComputationEnabled(
+      final boolean parallelStateRootComputationEnabled) {
+    isParallelStateRootComputationEnabled = parallelStateRootComputationEnabled;
+  }
+
   /**
    * Merges this WorldStateConfig with another WorldStateConfig and returns a new instance.
    *
@@ -55,7 +71,11 @@ public class WorldStateConfig {
    * @return a new WorldStateConfig instance with merged values
    */
   public WorldStateConfig apply(final WorldStateConfig other) {
-    return new Builder(this).trieDisabled(other.isTrieDisabled).stateful(other.isStateful).build();
+    return new Builder(this)
+        .trieDisabled(other.isTrieDisabled)
+        .stateful(other.isStateful)
+        .parallelStateRootComputationEnabled(other.isParallelStateRootComputationEnabled)
+        .build();
   }
 
   public static Builder newBuilder() {
@@ -73,12 +93,14 @@ public class WorldStateConfig {
   public static class Builder {
     private boolean isStateful = true;
     private boolean isTrieDisabled = false;
+    private boolean isParallelStateRootComputationEnabled = false;
 
     public Builder() {}
 
     public Builder(final WorldStateConfig spec) {
       this.isTrieDisabled = spec.isTrieDisabled();
       this.isStateful = spec.isStateful();
+      this.isParallelStateRootComputationEnabled = spec.isParallelStateRootComputationEnabled();
     }
 
     public Builder trieDisabled(final boolean trieDisabled) {
@@ -91,6 +113,12 @@ public class WorldStateConfig {
       return this;
     }
 
+    public Builder parallelStateRootComputationEnabled(
+        final boolean parallelStateRootComputationEnabled) {
+      this.isParallelStateRootComputationEnabled = parallelStateRootComputationEnabled;
+      return this;
+    }
+
     public WorldStateConfig build() {
       return new WorldStateConfig(this);
     }
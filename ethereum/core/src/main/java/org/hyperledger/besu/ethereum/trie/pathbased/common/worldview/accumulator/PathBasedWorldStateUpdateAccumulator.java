@@ -112,14 +112,37 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
    */
   public void importStateChangesFromSource(
       final PathBasedWorldStateUpdateAccumulator<ACCOUNT> source) {
+    importStateChanges(source, false);
+  }
+
+  /**
+   * Integrates the state changes of a source that was executed on top of the changes of the current
+   * state, such as a transaction executed again on top of the preceding transactions of a block.
+   * The prior values of such a source are values written by the current state rather than values of
+   * the parent state, so the updated values of the source are taken while the prior values already
+   * held by the current state are kept.
+   *
+   * @param source The source accumulator, executed on top of the changes of the current state
+   */
+  public void importStateChangesOnTopOfCurrentState(
+      final PathBasedWorldStateUpdateAccumulator<ACCOUNT> source) {
+    importStateChanges(source, true);
+  }
+
+  private void importStateChanges(
+      final PathBasedWorldStateUpdateAccumulator<ACCOUNT> source, final boolean keepPriors) {
     source
         .getAccountsToUpdate()
         .forEach(
             (address, pathBasedValue) -> {
+              final PathBasedValue<ACCOUNT> existingValue =
+                  keepPriors ? accountsToUpdate.get(address) : null;
               ACCOUNT copyPrior =
-                  pathBasedValue.getPrior() != null
-                      ? copyAccount(pathBasedValue.getPrior(), this, false)
-                      : null;
+                  existingValue != null
+                      ? existingValue.getPrior()
+                      : pathBasedValue.getPrior() != null
+                          ? copyAccount(pathBasedValue.getPrior(), this, false)
+                          : null;
               ACCOUNT copyUpdated =
                   pathBasedValue.getUpdated() != null
                       ? copyAccount(pathBasedValue.getUpdated(), this, true)
@@ -132,10 +155,12 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
         .getCodeToUpdate()
         .forEach(
             (address, pathBasedValue) -> {
+              final PathBasedValue<Bytes> existingValue =
+                  keepPriors ? codeToUpdate.get(address) : null;
               codeToUpdate.put(
                   address,
                   new PathBasedValue<>(
-                      pathBasedValue.getPrior(),
+                      existingValue != null ? existingValue.getPrior() : pathBasedValue.getPrior(),
                       pathBasedValue.getUpdated(),
                       pathBasedValue.isLastStepCleared()));
             });
@@ -151,10 +176,14 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
                               address, new ConcurrentHashMap<>(), storagePreloader));
               slots.forEach(
                   (storageSlotKey, uInt256PathBasedValue) -> {
+                    final PathBasedValue<UInt256> existingValue =
+                        keepPriors ? storageConsumingMap.get(storageSlotKey) : null;
                     storageConsumingMap.put(
                         storageSlotKey,
                         new PathBasedValue<>(
-                            uInt256PathBasedValue.getPrior(),
+                            existingValue != null
+                                ? existingValue.getPrior()
+                                : uInt256PathBasedValue.getPrior(),
                             uInt256PathBasedValue.getUpdated(),
                             uInt256PathBasedValue.isLastStepCleared()));
                   });
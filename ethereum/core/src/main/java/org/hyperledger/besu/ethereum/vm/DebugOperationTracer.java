@@ -33,12 +33,19 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
 
 public class DebugOperationTracer implements OperationTracer {
 
+  /**
+   * The number of most recent frames kept when frames are streamed, as they can still be updated
+   * by the operations that follow them.
+   */
+  private static final int RETAINED_FRAMES = 16;
+
   private final TraceOptions options;
 
   /**
@@ -48,9 +55,17 @@ public class DebugOperationTracer implements OperationTracer {
    */
   private final boolean recordChildCallGas;
 
+  private final Optional<Consumer<TraceFrame>> frameConsumer;
+
   private List<TraceFrame> traceFrames = new ArrayList<>();
   private TraceFrame lastFrame;
 
+  /**
+   * The most recent frame of an operation other than RETURN, which a failed account creation
+   * reports its halt reason on, so it is not streamed out before a later one is traced.
+   */
+  private TraceFrame lastNonReturnFrame;
+
   private Optional<Bytes[]> preExecutionStack;
   private long gasRemaining;
   private Bytes inputData;
@@ -65,8 +80,33 @@ public class DebugOperationTracer implements OperationTracer {
    *     (false) gas amounts for call operations
    */
   public DebugOperationTracer(final TraceOptions options, final boolean recordChildCallGas) {
+    this(options, recordChildCallGas, Optional.empty());
+  }
+
+  /**
+   * Creates an operation tracer streaming its frames. Frames are handed to the consumer in order
+   * as soon as they can no longer change, so that only the most recent ones are held in {@link
+   * #getTraceFrames()}, until {@link #flushTraceFrames()} is called at the end of the transaction.
+   *
+   * @param options The options, as passed in through the RPC
+   * @param recordChildCallGas A flag on whether to produce geth style (true) or parity style
+   *     (false) gas amounts for call operations
+   * @param frameConsumer The consumer of the frames
+   */
+  public DebugOperationTracer(
+      final TraceOptions options,
+      final boolean recordChildCallGas,
+      final Consumer<TraceFrame> frameConsumer) {
+    this(options, recordChildCallGas, Optional.of(frameConsumer));
+  }
+
+  private DebugOperationTracer(
+      final TraceOptions options,
+      final boolean recordChildCallGas,
+      final Optional<Consumer<TraceFrame>> frameConsumer) {
     this.options = options;
     this.recordChildCallGas = recordChildCallGas;
+    this.frameConsumer = frameConsumer;
   }
 
   @Override
@@ -128,6 +168,10 @@ public class DebugOperationTracer implements OperationTracer {
             frame.getMaybeUpdatedMemory(),
             frame.getMaybeUpdatedStorage());
     traceFrames.add(lastFrame);
+    if (!"RETURN".equals(opcode)) {
+      lastNonReturnFrame = lastFrame;
+    }
+    frameConsumer.ifPresent(this::emitRetiredFrames);
     frame.reset();
   }
 
@@ -179,8 +223,10 @@ public class DebugOperationTracer implements OperationTracer {
                 foundTraceFrame = traceFrames.get(frameIndex);
               }
               frameIndex--;
-            } while (foundTraceFrame == null);
-            foundTraceFrame.setExceptionalHaltReason(exceptionalHaltReason);
+            } while (foundTraceFrame == null && frameIndex >= 0);
+            if (foundTraceFrame != null) {
+              foundTraceFrame.setExceptionalHaltReason(exceptionalHaltReason);
+            }
           } else {
             final TraceFrame traceFrame =
                 new TraceFrame(
@@ -253,6 +299,25 @@ public class DebugOperationTracer implements OperationTracer {
     return Optional.of(stackContents);
   }
 
+  private void emitRetiredFrames(final Consumer<TraceFrame> consumer) {
+    while (traceFrames.size() > RETAINED_FRAMES && traceFrames.getFirst() != lastNonReturnFrame) {
+      consumer.accept(traceFrames.removeFirst());
+    }
+  }
+
+  /**
+   * Hands the frames still held to the consumer when frames are streamed, once the transaction is
+   * complete.
+   */
+  public void flushTraceFrames() {
+    frameConsumer.ifPresent(
+        consumer -> {
+          traceFrames.forEach(consumer);
+          traceFrames.clear();
+          lastNonReturnFrame = null;
+        });
+  }
+
   public List<TraceFrame> getTraceFrames() {
     return traceFrames;
   }
@@ -260,6 +325,7 @@ public class DebugOperationTracer implements OperationTracer {
   public void reset() {
     traceFrames = new ArrayList<>();
     lastFrame = null;
+    lastNonReturnFrame = null;
   }
 
   public List<TraceFrame> copyTraceFrames() {
@@ -80,6 +80,13 @@ public interface PathBasedExtraStorageConfiguration {
 
     boolean DEFAULT_FULL_FLAT_DB_ENABLED = true;
     boolean DEFAULT_CODE_USING_CODE_HASH_ENABLED = true;
+    boolean DEFAULT_PARALLEL_STATE_ROOT_COMPUTATION_ENABLED = false;
+    // about the 300,000 nodes the account and storage trie node caches held before being moved
+    // off-heap, at some 200 bytes per node and entry header
+    long DEFAULT_TRIE_NODE_CACHE_SIZE_MB = 64;
+    boolean DEFAULT_COMPACT_TRIE_LOG_FORMAT_ENABLED = false;
+    int DEFAULT_SIMULATION_STATE_CACHE_BLOCKS = 4;
+    long DEFAULT_SIMULATION_STATE_CACHE_SIZE_MB = 32;
 
     @Value.Default
     default boolean getFullFlatDbEnabled() {
@@ -90,5 +97,30 @@ public interface PathBasedExtraStorageConfiguration {
     default boolean getCodeStoredByCodeHashEnabled() {
       return DEFAULT_CODE_USING_CODE_HASH_ENABLED;
     }
+
+    @Value.Default
+    default boolean getParallelStateRootComputationEnabled() {
+      return DEFAULT_PARALLEL_STATE_ROOT_COMPUTATION_ENABLED;
+    }
+
+    @Value.Default
+    default long getTrieNodeCacheSizeMb() {
+      return DEFAULT_TRIE_NODE_CACHE_SIZE_MB;
+    }
+
+    @Value.Default
+    default boolean getCompactTrieLogFormatEnabled() {
+      return DEFAULT_COMPACT_TRIE_LOG_FORMAT_ENABLED;
+    }
+
+    @Value.Default
+    default int getSimulationStateCacheBlocks() {
+      return DEFAULT_SIMULATION_STATE_CACHE_BLOCKS;
+    }
+
+    @Value.Default
+    default long getSimulationStateCacheSizeMb() {
+      return DEFAULT_SIMULATION_STATE_CACHE_SIZE_MB;
+    }
   }
 }
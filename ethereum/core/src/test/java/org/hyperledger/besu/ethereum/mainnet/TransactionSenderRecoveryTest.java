@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Util;
+import org.hyperledger.besu.ethereum.mainnet.TransactionSenderRecovery.Priority;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionSenderRecoveryTest {
+
+  private final ThreadPoolExecutor executor = TransactionSenderRecovery.createExecutor(1);
+  private final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+  private final OperationTimer timer = mock(OperationTimer.class);
+  private final OperationTimer.TimingContext timingContext =
+      mock(OperationTimer.TimingContext.class);
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void recoversTheSendersOfAllTransactions() {
+    final List<KeyPair> keys = new ArrayList<>();
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+      keys.add(keyPair);
+      transactions.add(new TransactionTestFixture().nonce(i).createTransaction(keyPair));
+    }
+
+    try (final TransactionSenderRecovery recovery =
+        new TransactionSenderRecovery(new NoOpMetricsSystem())) {
+      recovery.recoverSenders(transactions, Priority.BLOCK_IMPORT);
+    }
+
+    for (int i = 0; i < transactions.size(); i++) {
+      assertThat(transactions.get(i).getSender())
+          .isEqualTo(Util.publicKeyToAddress(keys.get(i).getPublicKey()));
+    }
+  }
+
+  @Test
+  public void recoversTheSendersInBackgroundAndStopsTheTimer() {
+    final TransactionSenderRecovery recovery = createRecovery();
+    final List<Transaction> transactions =
+        List.of(mock(Transaction.class), mock(Transaction.class));
+
+    recovery.recoverSendersInBackground(transactions, Priority.BLOCK_IMPORT);
+
+    transactions.forEach(transaction -> verify(transaction, timeout(5000)).getSender());
+    verify(timingContext, timeout(5000)).stopTimer();
+  }
+
+  @Test
+  public void takesBlockImportBatchesBeforeTransactionPoolBatches() throws InterruptedException {
+    final TransactionSenderRecovery recovery = createRecovery();
+    final CountDownLatch workerBusy = new CountDownLatch(1);
+    final CountDownLatch releaseWorker = new CountDownLatch(1);
+    final Transaction blocking = mock(Transaction.class);
+    when(blocking.getSender())
+        .thenAnswer(
+            __ -> {
+              workerBusy.countDown();
+              releaseWorker.await();
+              return Address.ZERO;
+            });
+    final List<String> recovered = new CopyOnWriteArrayList<>();
+    final Transaction gossiped = recordingTransaction("gossiped", recovered);
+    final Transaction imported = recordingTransaction("imported", recovered);
+
+    recovery.recoverSendersInBackground(List.of(blocking), Priority.TRANSACTION_POOL);
+    assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+    recovery.recoverSendersInBackground(List.of(gossiped), Priority.TRANSACTION_POOL);
+    recovery.recoverSendersInBackground(List.of(imported), Priority.BLOCK_IMPORT);
+    releaseWorker.countDown();
+
+    verify(gossiped, timeout(5000)).getSender();
+    assertThat(recovered).containsExactly("imported", "gossiped");
+  }
+
+  @Test
+  public void closesTheTimingContextOfSkippedBatches() {
+    final TransactionSenderRecovery recovery = createRecovery();
+    recovery.close();
+    final Transaction transaction = mock(Transaction.class);
+
+    recovery.recoverSendersInBackground(List.of(transaction), Priority.BLOCK_IMPORT);
+
+    verify(timingContext).close();
+    verify(transaction, never()).getSender();
+  }
+
+  @Test
+  public void recoversOnTheCallingThreadOnceClosed() {
+    final TransactionSenderRecovery recovery = createRecovery();
+    recovery.close();
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      transactions.add(mock(Transaction.class));
+    }
+
+    recovery.recoverSenders(transactions, Priority.BLOCK_IMPORT);
+
+    transactions.forEach(transaction -> verify(transaction, times(1)).getSender());
+  }
+
+  private TransactionSenderRecovery createRecovery() {
+    when(metricsSystem.createTimer(any(), any(), any())).thenReturn(timer);
+    when(timer.startTimer()).thenReturn(timingContext);
+    return new TransactionSenderRecovery(executor, metricsSystem);
+  }
+
+  private static Transaction recordingTransaction(final String name, final List<String> recovered) {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getSender())
+        .thenAnswer(
+            __ -> {
+              recovered.add(name);
+              return Address.ZERO;
+            });
+    return transaction;
+  }
+}
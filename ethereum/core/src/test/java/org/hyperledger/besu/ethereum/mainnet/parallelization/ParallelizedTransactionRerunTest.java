@@ -0,0 +1,179 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.WorldStateConfig.createStatefulConfigWithTrie;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.NoOpBonsaiCachedWorldStorageManager;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.NoopBonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.NoOpTrieLogManager;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelizedTransactionRerunTest {
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0x1");
+  private static final Address COUNTER = Address.fromHexString("0x20");
+
+  @Mock private MainnetTransactionProcessor transactionProcessor;
+  @Mock private ProtocolContext protocolContext;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private WorldStateArchive worldStateArchive;
+  @Mock private BlockHeader chainHeadBlockHeader;
+  @Mock private BlockHeader blockHeader;
+
+  private BonsaiWorldStateKeyValueStorage worldStateStorage;
+
+  @BeforeEach
+  void setUp() {
+    worldStateStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    final BonsaiWorldState parentState = createWorldState();
+    final WorldUpdater parentUpdater = parentState.updater();
+    parentUpdater.createAccount(COUNTER).setBalance(Wei.of(100));
+    parentUpdater.commit();
+    parentState.persist(null);
+
+    when(chainHeadBlockHeader.getHash()).thenReturn(Hash.ZERO);
+    when(chainHeadBlockHeader.getStateRoot()).thenReturn(parentState.rootHash());
+    when(blockHeader.getParentHash()).thenReturn(Hash.ZERO);
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(blockchain.getChainHeadHeader()).thenReturn(chainHeadBlockHeader);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    // every background execution gets its own copy of the parent state
+    when(worldStateArchive.getWorldState(any()))
+        .thenAnswer(__ -> Optional.of(createWorldState()));
+    when(transactionProcessor.getClearEmptyAccounts()).thenReturn(true);
+    // each transaction adds its value to the balance of the counter account
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(0);
+              final Transaction transaction = invocation.getArgument(2);
+              updater.getAccount(COUNTER).incrementBalance(transaction.getValue());
+              return TransactionProcessingResult.successful(
+                  List.of(), 0, 0, Bytes.EMPTY, ValidationResult.valid());
+            });
+  }
+
+  @Test
+  void conflictingTransactionIsRerunOnTopOfPrecedingTransaction() {
+    final Transaction transaction0 = createTransaction(Address.fromHexString("0x10"), 10);
+    final Transaction transaction1 = createTransaction(Address.fromHexString("0x11"), 5);
+    final ParallelizedConcurrentTransactionProcessor processor =
+        new ParallelizedConcurrentTransactionProcessor(transactionProcessor);
+
+    processor.runAsyncBlock(
+        protocolContext,
+        blockHeader,
+        List.of(transaction0, transaction1),
+        MINING_BENEFICIARY,
+        (__, ___) -> Hash.EMPTY,
+        Wei.ZERO,
+        Runnable::run);
+
+    final BonsaiWorldState blockState = createWorldState();
+    assertThat(
+            processor.applyParallelizedTransactionResult(
+                blockState,
+                MINING_BENEFICIARY,
+                transaction0,
+                0,
+                Optional.empty(),
+                Optional.empty()))
+        .isPresent();
+    // the second transaction read the counter written by the first one, its re-run is kept
+    assertThat(
+            processor.applyParallelizedTransactionResult(
+                blockState,
+                MINING_BENEFICIARY,
+                transaction1,
+                1,
+                Optional.empty(),
+                Optional.empty()))
+        .isPresent();
+
+    final PathBasedValue<? extends PathBasedAccount> counter =
+        blockState.getAccumulator().getAccountsToUpdate().get(COUNTER);
+    assertThat(counter.getPrior().getBalance()).isEqualTo(Wei.of(100));
+    assertThat(counter.getUpdated().getBalance()).isEqualTo(Wei.of(115));
+
+    final BonsaiWorldState sequentialState = createWorldState();
+    final WorldUpdater sequentialUpdater = sequentialState.updater();
+    sequentialUpdater.getAccount(COUNTER).incrementBalance(Wei.of(10));
+    sequentialUpdater.getAccount(COUNTER).incrementBalance(Wei.of(5));
+    sequentialUpdater.commit();
+    assertThat(blockState.frontierRootHash()).isEqualTo(sequentialState.frontierRootHash());
+  }
+
+  private BonsaiWorldState createWorldState() {
+    return new BonsaiWorldState(
+        worldStateStorage,
+        new NoopBonsaiCachedMerkleTrieLoader(),
+        new NoOpBonsaiCachedWorldStorageManager(worldStateStorage),
+        new NoOpTrieLogManager(),
+        EvmConfiguration.DEFAULT,
+        createStatefulConfigWithTrie());
+  }
+
+  private static Transaction createTransaction(final Address sender, final long value) {
+    return new Transaction.Builder()
+        .nonce(0)
+        .gasPrice(Wei.of(1))
+        .gasLimit(21000)
+        .to(COUNTER)
+        .value(Wei.of(value))
+        .payload(Bytes.EMPTY)
+        .chainId(BigInteger.ONE)
+        .sender(sender)
+        .build();
+  }
+}
@@ -30,6 +30,7 @@ import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 
 import java.math.BigInteger;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -345,4 +346,82 @@ class TransactionCollisionDetectorTest {
 
     assertFalse(hasCollision, "Expected no collision with the read address");
   }
+
+  @Test
+  void testNoCollisionWhenExecutedOnTopOfBlockChanges() {
+    final Address address = Address.fromHexString("0x1");
+    final BonsaiAccount priorAccountValue = createAccount(address);
+    final BonsaiAccount nextAccountValue = new BonsaiAccount(priorAccountValue, worldState, true);
+    nextAccountValue.setBalance(Wei.MAX_WEI);
+
+    // Simulate that the address was already modified in the block
+    bonsaiUpdater
+        .getAccountsToUpdate()
+        .put(address, new PathBasedValue<>(priorAccountValue, nextAccountValue));
+
+    // Simulate that the transaction was executed on top of the same modification
+    final BonsaiWorldStateUpdateAccumulator baseUpdater =
+        new BonsaiWorldStateUpdateAccumulator(
+            worldState, (__, ___) -> {}, (__, ___) -> {}, EvmConfiguration.DEFAULT);
+    baseUpdater
+        .getAccountsToUpdate()
+        .put(address, new PathBasedValue<>(priorAccountValue, nextAccountValue));
+
+    final Transaction transaction = createTransaction(address, address);
+
+    // Simulate that the modified address is read in the next transaction
+    trxUpdater
+        .getAccountsToUpdate()
+        .put(address, new PathBasedValue<>(nextAccountValue, nextAccountValue));
+
+    boolean hasCollision =
+        collisionDetector.hasCollision(
+            transaction,
+            Address.ZERO,
+            new ParallelizedTransactionContext(
+                trxUpdater, null, false, Wei.ZERO, Optional.of(baseUpdater)),
+            bonsaiUpdater);
+
+    assertFalse(hasCollision, "Expected no collision with the value observed by the transaction");
+  }
+
+  @Test
+  void testCollisionWhenExecutedOnTopOfChangesNotMadeByBlock() {
+    final Address address = Address.fromHexString("0x1");
+    final BonsaiAccount accountValue = createAccount(address);
+    final StorageSlotKey updateStorageSlotKey = new StorageSlotKey(UInt256.ONE);
+
+    // Simulate that the transaction was executed on top of a slot modification
+    final BonsaiWorldStateUpdateAccumulator baseUpdater =
+        new BonsaiWorldStateUpdateAccumulator(
+            worldState, (__, ___) -> {}, (__, ___) -> {}, EvmConfiguration.DEFAULT);
+    baseUpdater
+        .getStorageToUpdate()
+        .computeIfAbsent(
+            address,
+            __ -> new StorageConsumingMap<>(address, new ConcurrentHashMap<>(), (___, ____) -> {}))
+        .put(updateStorageSlotKey, new PathBasedValue<>(UInt256.ONE, UInt256.MAX_VALUE));
+
+    final Transaction transaction = createTransaction(address, address);
+
+    // Simulate that the modified slot is read in the next transaction
+    trxUpdater.getAccountsToUpdate().put(address, new PathBasedValue<>(accountValue, accountValue));
+    trxUpdater
+        .getStorageToUpdate()
+        .computeIfAbsent(
+            address,
+            __ -> new StorageConsumingMap<>(address, new ConcurrentHashMap<>(), (___, ____) -> {}))
+        .put(updateStorageSlotKey, new PathBasedValue<>(UInt256.MAX_VALUE, UInt256.MAX_VALUE));
+
+    // the block has not modified the slot
+    boolean hasCollision =
+        collisionDetector.hasCollision(
+            transaction,
+            Address.ZERO,
+            new ParallelizedTransactionContext(
+                trxUpdater, null, false, Wei.ZERO, Optional.of(baseUpdater)),
+            bonsaiUpdater);
+
+    assertTrue(hasCollision, "Expected a collision with the slot not modified by the block");
+  }
 }
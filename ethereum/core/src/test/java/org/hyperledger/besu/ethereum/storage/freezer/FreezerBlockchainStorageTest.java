@@ -0,0 +1,216 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.freezer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.VariablesKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FreezerBlockchainStorageTest {
+
+  @TempDir private Path freezerDirectory;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final KeyValueStorage frozenBlockNumbers = new InMemoryKeyValueStorage();
+  private final BlockchainStorage hotStorage =
+      new KeyValueStoragePrefixedKeyBlockchainStorage(
+          new InMemoryKeyValueStorage(),
+          new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+          new MainnetBlockHeaderFunctions(),
+          false);
+  private List<Block> blocks;
+
+  @BeforeEach
+  public void setUp() {
+    blocks = gen.blockSequence(10);
+    final BlockchainStorage.Updater updater = hotStorage.updater();
+    for (final Block block : blocks) {
+      updater.putBlockHash(block.getHeader().getNumber(), block.getHash());
+      updater.putBlockHeader(block.getHash(), block.getHeader());
+      updater.putBlockBody(block.getHash(), block.getBody());
+      updater.putTransactionReceipts(block.getHash(), gen.receipts(block));
+    }
+    updater.commit();
+  }
+
+  @Test
+  public void frozenBlocksAreMovedOutOfTheKeyValueStore() throws Exception {
+    try (final FreezerBlockchainStorage storage = createStorage()) {
+      assertThat(storage.freeze(5, 100)).isEqualTo(6);
+      assertThat(storage.getFrozenBlocks()).isEqualTo(6);
+
+      for (final Block block : blocks) {
+        if (block.getHeader().getNumber() <= 5) {
+          assertThat(hotStorage.getBlockHeader(block.getHash())).isEmpty();
+          assertThat(hotStorage.getBlockBody(block.getHash())).isEmpty();
+          assertThat(hotStorage.getTransactionReceipts(block.getHash())).isEmpty();
+        } else {
+          assertThat(hotStorage.getBlockHeader(block.getHash())).contains(block.getHeader());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void frozenBlocksCanStillBeRead() throws Exception {
+    final List<List<TransactionReceipt>> receipts =
+        blocks.stream()
+            .map(block -> hotStorage.getTransactionReceipts(block.getHash()).orElseThrow())
+            .toList();
+    try (final FreezerBlockchainStorage storage = createStorage()) {
+      storage.freeze(blocks.size(), 4);
+      storage.freeze(blocks.size(), 4);
+      assertThat(storage.getFrozenBlocks()).isEqualTo(8);
+      assertBlocksAreReadable(storage, receipts);
+    }
+    try (final FreezerBlockchainStorage reopened = createStorage()) {
+      assertThat(reopened.getFrozenBlocks()).isEqualTo(8);
+      assertBlocksAreReadable(reopened, receipts);
+    }
+  }
+
+  @Test
+  public void freezingStopsAtTheFirstMissingBlock() throws Exception {
+    final BlockchainStorage.Updater updater = hotStorage.updater();
+    updater.removeBlockBody(blocks.get(3).getHash());
+    updater.commit();
+    try (final FreezerBlockchainStorage storage = createStorage()) {
+      assertThat(storage.freeze(blocks.size(), 100)).isEqualTo(3);
+      assertThat(storage.getFrozenBlocks()).isEqualTo(3);
+      assertThat(storage.freeze(blocks.size(), 100)).isZero();
+    }
+  }
+
+  @Test
+  public void freezingStartsAtTheFirstCompleteBlockAfterTheGenesisBlock() throws Exception {
+    final List<List<TransactionReceipt>> receipts =
+        blocks.stream()
+            .map(block -> hotStorage.getTransactionReceipts(block.getHash()).orElseThrow())
+            .toList();
+    final BlockchainStorage.Updater updater = hotStorage.updater();
+    for (final Block block : blocks.subList(1, 4)) {
+      updater.removeBlockBody(block.getHash());
+      updater.removeTransactionReceipts(block.getHash());
+    }
+    updater.removeBlockBody(blocks.get(8).getHash());
+    updater.commit();
+    try (final FreezerBlockchainStorage storage = createStorage()) {
+      assertThat(storage.freeze(blocks.size(), 100)).isEqualTo(4);
+      assertThat(storage.getFirstFrozenBlock()).isEqualTo(4);
+      assertThat(storage.getNextBlockToFreeze()).isEqualTo(8);
+      assertThat(storage.freeze(blocks.size(), 100)).isZero();
+      assertThat(hotStorage.getBlockHeader(blocks.get(0).getHash()))
+          .contains(blocks.get(0).getHeader());
+    }
+    try (final FreezerBlockchainStorage reopened = createStorage()) {
+      assertThat(reopened.getFirstFrozenBlock()).isEqualTo(4);
+      assertThat(reopened.getFrozenBlocks()).isEqualTo(4);
+      for (int i = 4; i < 8; i++) {
+        final Block block = blocks.get(i);
+        assertThat(reopened.getBlockHeader(block.getHash())).contains(block.getHeader());
+        assertThat(reopened.getBlockBody(block.getHash())).contains(block.getBody());
+        assertThat(reopened.getTransactionReceipts(block.getHash())).contains(receipts.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void skippedBlocksAreRecordedWhenNoneIsComplete() throws Exception {
+    final BlockchainStorage.Updater updater = hotStorage.updater();
+    for (final Block block : blocks.subList(1, 6)) {
+      updater.removeBlockBody(block.getHash());
+    }
+    updater.commit();
+    try (final FreezerBlockchainStorage storage = createStorage()) {
+      assertThat(storage.freeze(blocks.size(), 4)).isZero();
+      assertThat(storage.getNextBlockToFreeze()).isEqualTo(4);
+      assertThat(storage.freeze(blocks.size(), 4)).isEqualTo(2);
+      assertThat(storage.getFirstFrozenBlock()).isEqualTo(6);
+      assertThat(storage.getNextBlockToFreeze()).isEqualTo(8);
+    }
+  }
+
+  @Test
+  public void tableRollsOverToNewDataFilesAndTruncates() throws Exception {
+    try (final FreezerTable table = new FreezerTable(freezerDirectory, "items", 10)) {
+      for (int i = 0; i < 5; i++) {
+        table.append(Bytes.of(i, i, i, i));
+      }
+      table.sync();
+      assertThat(table.size()).isEqualTo(5);
+      for (int i = 0; i < 5; i++) {
+        assertThat(table.get(i)).contains(Bytes.of(i, i, i, i));
+      }
+      assertThat(table.get(5)).isEmpty();
+
+      table.truncate(2);
+      assertThat(table.size()).isEqualTo(2);
+      assertThat(table.get(2)).isEmpty();
+      table.append(Bytes.of(9));
+      assertThat(table.get(2)).contains(Bytes.of(9));
+    }
+    try (final FreezerTable reopened = new FreezerTable(freezerDirectory, "items", 10)) {
+      assertThat(reopened.size()).isEqualTo(3);
+      assertThat(reopened.get(1)).contains(Bytes.of(1, 1, 1, 1));
+      assertThat(reopened.get(2)).contains(Bytes.of(9));
+    }
+  }
+
+  @Test
+  public void freezerIsInUseOnceOpened(@TempDir final Path dataDirectory) throws Exception {
+    assertThat(FreezerBlockchainStorage.isInUse(dataDirectory)).isFalse();
+
+    new FreezerBlockchainStorage(
+            hotStorage,
+            frozenBlockNumbers,
+            dataDirectory.resolve(FreezerBlockchainStorage.FREEZER_DIRECTORY),
+            new MainnetBlockHeaderFunctions(),
+            false)
+        .close();
+
+    assertThat(FreezerBlockchainStorage.isInUse(dataDirectory)).isTrue();
+  }
+
+  private FreezerBlockchainStorage createStorage() throws Exception {
+    return new FreezerBlockchainStorage(
+        hotStorage, frozenBlockNumbers, freezerDirectory, new MainnetBlockHeaderFunctions(), false);
+  }
+
+  private void assertBlocksAreReadable(
+      final BlockchainStorage storage, final List<List<TransactionReceipt>> receipts) {
+    for (int i = 0; i < blocks.size(); i++) {
+      final Block block = blocks.get(i);
+      assertThat(storage.getBlockHeader(block.getHash())).contains(block.getHeader());
+      assertThat(storage.getBlockBody(block.getHash())).contains(block.getBody());
+      assertThat(storage.getTransactionReceipts(block.getHash())).contains(receipts.get(i));
+    }
+  }
+}
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.trie.pathbased.bonsai;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
@@ -35,7 +36,10 @@ import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -93,6 +97,51 @@ class BonsaiCachedMerkleTrieLoaderTest {
     assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
   }
 
+  @Test
+  void shouldAddAccountNodesInCacheWhenPrefetchingBlockState() {
+    final Hash hashAccountZero = accounts.get(0).addressHash();
+    try (var prefetch =
+        merkleTrieLoader.prefetchBlockState(
+            inMemoryWorldState,
+            Hash.wrap(trie.getRootHash()),
+            Map.of(accounts.get(0), Set.of()))) {
+      Mockito.verify(inMemoryWorldState, Mockito.timeout(5_000))
+          .getAccounts(List.of(hashAccountZero));
+
+      final BonsaiWorldStateKeyValueStorage emptyStorage =
+          new BonsaiWorldStateKeyValueStorage(
+              new InMemoryKeyValueStorageProvider(),
+              new NoOpMetricsSystem(),
+              DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+      final StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+          new StoredMerklePatriciaTrie<>(
+              (location, hash) ->
+                  merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+              trie.getRootHash(),
+              Function.identity(),
+              Function.identity());
+      await()
+          .atMost(5, TimeUnit.SECONDS)
+          .untilAsserted(
+              () ->
+                  assertThat(cachedTrie.get(hashAccountZero))
+                      .isEqualTo(trie.get(hashAccountZero)));
+    }
+  }
+
+  @Test
+  void shouldNotPrefetchBlockStateOnceClosed() {
+    merkleTrieLoader.close();
+
+    try (var prefetch =
+        merkleTrieLoader.prefetchBlockState(
+            inMemoryWorldState,
+            Hash.wrap(trie.getRootHash()),
+            Map.of(accounts.get(0), Set.of()))) {
+      Mockito.verify(inMemoryWorldState, Mockito.after(500).never()).getAccounts(Mockito.any());
+    }
+  }
+
   @Test
   void shouldAddStorageNodesInCacheDuringPreload() {
     final Hash hashAccountZero = accounts.get(0).addressHash();
@@ -33,6 +33,7 @@ import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.trielog.TrieLogFactor
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogSquasher;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
@@ -265,6 +266,100 @@ class LogRollingTests {
     assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
   }
 
+  @Test
+  void rollForwardTwiceSquashed() {
+    final BonsaiWorldState worldState =
+        new BonsaiWorldState(
+            archive,
+            new BonsaiWorldStateKeyValueStorage(
+                provider, new NoOpMetricsSystem(), DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie());
+
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount mutableAccount = updater.createAccount(addressOne, 1, Wei.of(1L));
+    mutableAccount.setCode(Bytes.of(0, 1, 2));
+    mutableAccount.setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.commit();
+
+    worldState.persist(headerOne);
+
+    final WorldUpdater updater2 = worldState.updater();
+    final MutableAccount mutableAccount2 = updater2.getAccount(addressOne);
+    mutableAccount2.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+    updater2.commit();
+
+    worldState.persist(headerTwo);
+
+    final BonsaiWorldState secondWorldState =
+        new BonsaiWorldState(
+            secondArchive,
+            new BonsaiWorldStateKeyValueStorage(
+                secondProvider,
+                new NoOpMetricsSystem(),
+                DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie());
+    final BonsaiWorldStateUpdateAccumulator secondUpdater =
+        (BonsaiWorldStateUpdateAccumulator) secondWorldState.updater();
+
+    final TrieLogSquasher squasher =
+        new TrieLogSquasher()
+            .addRollForward(getTrieLogLayer(trieLogStorage, headerOne.getHash()))
+            .addRollForward(getTrieLogLayer(trieLogStorage, headerTwo.getHash()));
+    secondUpdater.rollForward(squasher.squash(headerTwo.getHash()));
+    secondUpdater.commit();
+    secondWorldState.persist(null);
+
+    assertKeyValueStorageEqual(accountStorage, secondAccountStorage);
+    assertKeyValueStorageEqual(codeStorage, secondCodeStorage);
+    assertKeyValueStorageEqual(storageStorage, secondStorageStorage);
+    final KeyValueStorageTransaction tx = trieBranchStorage.startTransaction();
+    tx.remove(BonsaiWorldStateKeyValueStorage.WORLD_BLOCK_HASH_KEY);
+    tx.commit();
+    assertKeyValueStorageEqual(trieBranchStorage, secondTrieBranchStorage);
+    assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
+  }
+
+  @Test
+  void rollBackTwiceSquashed() {
+    final BonsaiWorldState worldState =
+        new BonsaiWorldState(
+            archive,
+            new BonsaiWorldStateKeyValueStorage(
+                provider, new NoOpMetricsSystem(), DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie());
+
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount mutableAccount = updater.createAccount(addressOne, 1, Wei.of(1L));
+    mutableAccount.setCode(Bytes.of(0, 1, 2));
+    mutableAccount.setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.commit();
+
+    worldState.persist(headerOne);
+
+    final WorldUpdater updater2 = worldState.updater();
+    final MutableAccount mutableAccount2 = updater2.getAccount(addressOne);
+    mutableAccount2.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+    updater2.commit();
+
+    worldState.persist(headerTwo);
+
+    final BonsaiWorldStateUpdateAccumulator rollbackUpdater =
+        (BonsaiWorldStateUpdateAccumulator) worldState.updater();
+    final TrieLogSquasher squasher =
+        new TrieLogSquasher()
+            .addRollBack(getTrieLogLayer(trieLogStorage, headerTwo.getHash()))
+            .addRollBack(getTrieLogLayer(trieLogStorage, headerOne.getHash()));
+    rollbackUpdater.rollForward(squasher.squash(headerOne.getParentHash()));
+    rollbackUpdater.commit();
+    worldState.persist(null);
+
+    assertThat(worldState.get(addressOne)).isNull();
+    assertThat(worldState.rootHash()).isEqualByComparingTo(Hash.EMPTY_TRIE_HASH);
+  }
+
   @Test
   void rollBackOnce() {
     final BonsaiWorldState worldState =
@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class BonsaiSimulationStateCacheTest {
+  private static final Hash BLOCK_HASH = Hash.hash(Bytes.of(1));
+  private static final Hash OTHER_BLOCK_HASH = Hash.hash(Bytes.of(2));
+  private static final Hash ACCOUNT_HASH = Hash.hash(Bytes.of(3));
+  private static final Hash CODE_HASH = Hash.hash(Bytes.of(4));
+
+  private final EVM evm = mock(EVM.class);
+  private final BonsaiSimulationStateCache cache = new BonsaiSimulationStateCache();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void sharesReadsBetweenSimulationsOnTheSameBlock() {
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(5))))
+        .contains(Bytes.of(5));
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(6))))
+        .contains(Bytes.of(5));
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void cachesMissingEntries() {
+    final StorageSlotKey slot = new StorageSlotKey(UInt256.ONE);
+    final Supplier<Optional<Bytes>> loader =
+        () -> {
+          loads.incrementAndGet();
+          return Optional.empty();
+        };
+
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getStorageValue(ACCOUNT_HASH, slot, loader))
+        .isEmpty();
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getStorageValue(ACCOUNT_HASH, slot, loader))
+        .isEmpty();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void keepsTheStateOfEachBlockApart() {
+    cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(5)));
+
+    assertThat(cache.forBlock(OTHER_BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(6))))
+        .contains(Bytes.of(6));
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void readsAgainOnceInvalidated() {
+    cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(5)));
+    cache.invalidateAll();
+
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(6))))
+        .contains(Bytes.of(6));
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void readsAgainOnceANewHeadIsAdded() {
+    final BlockAddedEvent event = mock(BlockAddedEvent.class);
+    when(event.isNewCanonicalHead()).thenReturn(true);
+    cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(5)));
+    cache.onBlockAdded(event);
+
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getAccount(ACCOUNT_HASH, load(Bytes.of(6))))
+        .contains(Bytes.of(6));
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void servesCodeFromTheCodeCacheOfTheEvm() {
+    final Code code = mock(Code.class);
+    when(code.getBytes()).thenReturn(Bytes.of(7));
+    when(evm.getCachedCode(CODE_HASH)).thenReturn(Optional.of(code));
+
+    assertThat(cache.forBlock(BLOCK_HASH, evm).getCode(CODE_HASH, load(Bytes.of(8))))
+        .contains(Bytes.of(7));
+    assertThat(loads).hasValue(0);
+  }
+
+  private Supplier<Optional<Bytes>> load(final Bytes value) {
+    return () -> {
+      loads.incrementAndGet();
+      return Optional.of(value);
+    };
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OffHeapTrieNodeCacheTest {
+
+  @Test
+  void shouldReturnCachedNodes() {
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(1024 * 1024);
+    final Bytes node = Bytes.random(532);
+
+    assertThat(cache.get(Hash.hash(node))).isEmpty();
+    cache.put(Hash.hash(node), node);
+
+    assertThat(cache.get(Hash.hash(node))).contains(node);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictOldestNodesWhenFull() {
+    final long capacity = 64 * 64 * 1024;
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(capacity);
+    final List<Bytes> nodes = new ArrayList<>();
+    for (int i = 0; i < 50_000; i++) {
+      final Bytes node = Bytes.random(100 + (i % 400));
+      nodes.add(node);
+      cache.put(Hash.hash(node), node);
+    }
+
+    assertThat(cache.getEvictionCount()).isPositive();
+    assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(capacity);
+    assertThat(cache.getAllocatedBytes()).isLessThanOrEqualTo(capacity);
+    assertThat(cache.get(Hash.hash(nodes.get(0)))).isEmpty();
+    final Bytes lastNode = nodes.get(nodes.size() - 1);
+    assertThat(cache.get(Hash.hash(lastNode))).contains(lastNode);
+  }
+
+  /**
+   * Fills the shard of 1024 bytes up to its end, then laps it so that only {@code gap} free bytes
+   * are left before the oldest entry when an entry has to wrap around.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3})
+  void shouldWrapAroundWhenFewBytesAreLeftBeforeOldestEntry(final int gap) {
+    final long shardCapacity = 1024;
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(64 * shardCapacity);
+    final List<Bytes32> hashes = new ArrayList<>();
+    final List<Bytes> nodes = new ArrayList<>();
+    // entries take 36 bytes of header, these fill the shard exactly
+    for (final int nodeSize : new int[] {195, 195, 195, 195, 64, 195, 195, 195, 195 - gap, 164}) {
+      final Bytes32 hash = sameShardHash(hashes.size());
+      final Bytes node = Bytes.random(nodeSize);
+      hashes.add(hash);
+      nodes.add(node);
+      cache.put(hash, node);
+    }
+
+    // the 164 bytes node skips the last 100 + gap bytes, which evicts the 64 bytes node and the
+    // first node of the second lap
+    for (int i = 0; i < 6; i++) {
+      assertThat(cache.get(hashes.get(i))).isEmpty();
+    }
+    for (int i = 6; i < nodes.size(); i++) {
+      assertThat(cache.get(hashes.get(i))).contains(nodes.get(i));
+    }
+    assertThat(cache.getEvictionCount()).isEqualTo(6);
+    // the three last entries of the second lap, the skipped bytes and the wrapped entry
+    assertThat(cache.getUsedBytes()).isEqualTo((3 * 231 - gap) + (100 + gap) + 200);
+  }
+
+  private static Bytes32 sameShardHash(final int index) {
+    // the shard is picked from the second long of the hash
+    return Bytes32.wrap(
+        Bytes.concatenate(Bytes.ofUnsignedLong(index + 1), Bytes.wrap(new byte[24])));
+  }
+
+  @Test
+  void shouldNotCacheNodesWhenDisabled() {
+    final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(0);
+    final Bytes node = Bytes.random(32);
+
+    cache.put(Hash.hash(node), node);
+
+    assertThat(cache.get(Hash.hash(node))).isEmpty();
+    assertThat(cache.getAllocatedBytes()).isZero();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE_ARCHIVE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE;
+import static org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat.BonsaiArchiveFlatDbStrategy.calculateArchiveKeyWithMinSuffix;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage.WORLD_BLOCK_NUMBER_KEY;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.BonsaiContext;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.flat.CodeHashCodeStorageStrategy;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.SegmentedInMemoryKeyValueStorage;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BonsaiArchiveFlatDbStrategyTest {
+  private static final Hash ACCOUNT_HASH = Hash.hash(Bytes.of(1));
+
+  private final BonsaiArchiveFlatDbStrategy strategy =
+      new BonsaiArchiveFlatDbStrategy(new NoOpMetricsSystem(), new CodeHashCodeStorageStrategy());
+  private final SegmentedKeyValueStorage storage =
+      new SegmentedInMemoryKeyValueStorage(
+          List.of(TRIE_BRANCH_STORAGE, ACCOUNT_INFO_STATE, ACCOUNT_INFO_STATE_ARCHIVE));
+
+  @BeforeEach
+  void setUp() {
+    // the account is written at block 1 and updated at block 1000
+    putAccountAfterBlock(0, Bytes.of(1));
+    putAccountAfterBlock(999, Bytes.of(2));
+  }
+
+  @Test
+  void cachesReadsOfImmutableHistoricalBlocks() {
+    setWorldBlockNumber(10);
+    assertThat(getAccount()).contains(Bytes.of(1));
+
+    overwriteAccountEntry(1, Bytes.of(3));
+    assertThat(getAccount()).contains(Bytes.of(1));
+  }
+
+  @Test
+  void doesNotCacheReadsOfRecentBlocks() {
+    setWorldBlockNumber(999);
+    assertThat(getAccount()).contains(Bytes.of(1));
+
+    overwriteAccountEntry(1, Bytes.of(3));
+    assertThat(getAccount()).contains(Bytes.of(3));
+  }
+
+  @Test
+  void doesNotServeCachedReadsOnceHistoricalStateIsWritten() {
+    setWorldBlockNumber(10);
+    assertThat(getAccount()).contains(Bytes.of(1));
+
+    putAccountAfterBlock(9, Bytes.of(4));
+    setWorldBlockNumber(10);
+    assertThat(getAccount()).contains(Bytes.of(4));
+  }
+
+  @Test
+  void keepsCachedReadsBeforeHistoricalWrittenBlock() {
+    setWorldBlockNumber(10);
+    assertThat(getAccount()).contains(Bytes.of(1));
+    setWorldBlockNumber(400);
+    assertThat(getAccount()).contains(Bytes.of(1));
+
+    // a simulated block on top of block 300, in a layer of its own
+    final SegmentedKeyValueStorage layer =
+        new SegmentedInMemoryKeyValueStorage(
+            List.of(TRIE_BRANCH_STORAGE, ACCOUNT_INFO_STATE, ACCOUNT_INFO_STATE_ARCHIVE));
+    putAccountAfterBlock(layer, 300, Bytes.of(4));
+
+    overwriteAccountEntry(1, Bytes.of(3));
+    setWorldBlockNumber(10);
+    assertThat(getAccount()).contains(Bytes.of(1));
+    setWorldBlockNumber(400);
+    assertThat(getAccount()).contains(Bytes.of(3));
+  }
+
+  @Test
+  void cachesReadsOfImmutableBlocksOnly() {
+    setWorldBlockNumber(10);
+    assertThat(strategy.cachesReadsOf(storage)).isTrue();
+    setWorldBlockNumber(999);
+    assertThat(strategy.cachesReadsOf(storage)).isFalse();
+
+    putAccountAfterBlock(9, Bytes.of(4));
+    setWorldBlockNumber(10);
+    assertThat(strategy.cachesReadsOf(storage)).isFalse();
+  }
+
+  private Optional<Bytes> getAccount() {
+    return strategy.getFlatAccount(
+        Optional::empty, (location, hash) -> Optional.empty(), ACCOUNT_HASH, storage);
+  }
+
+  private void putAccountAfterBlock(final long worldBlockNumber, final Bytes value) {
+    putAccountAfterBlock(storage, worldBlockNumber, value);
+  }
+
+  private void putAccountAfterBlock(
+      final SegmentedKeyValueStorage storage, final long worldBlockNumber, final Bytes value) {
+    setWorldBlockNumber(storage, worldBlockNumber);
+    final SegmentedKeyValueStorageTransaction transaction = storage.startTransaction();
+    strategy.putFlatAccount(storage, transaction, ACCOUNT_HASH, value);
+    transaction.commit();
+  }
+
+  private void overwriteAccountEntry(final long blockNumber, final Bytes value) {
+    final SegmentedKeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(
+        ACCOUNT_INFO_STATE,
+        calculateArchiveKeyWithMinSuffix(
+            new BonsaiContext(blockNumber), ACCOUNT_HASH.toArrayUnsafe()),
+        value.toArrayUnsafe());
+    transaction.commit();
+  }
+
+  private void setWorldBlockNumber(final long blockNumber) {
+    setWorldBlockNumber(storage, blockNumber);
+  }
+
+  private static void setWorldBlockNumber(
+      final SegmentedKeyValueStorage storage, final long blockNumber) {
+    final SegmentedKeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(
+        TRIE_BRANCH_STORAGE,
+        WORLD_BLOCK_NUMBER_KEY,
+        Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    transaction.commit();
+  }
+}
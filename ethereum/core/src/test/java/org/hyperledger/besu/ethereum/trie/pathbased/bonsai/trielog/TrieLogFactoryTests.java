@@ -71,4 +71,45 @@ public class TrieLogFactoryTests {
     TrieLog layer = factory.deserialize(rlp);
     assertThat(layer).isEqualTo(trieLogFixture);
   }
+
+  @Test
+  public void testCompactSerializeDeserializeAreEqual() {
+    final TrieLogLayer trieLog =
+        new TrieLogLayer()
+            .setBlockHash(headerFixture.getBlockHash())
+            .addAccountChange(
+                accountFixture,
+                new PmtStateTrieAccountValue(1, Wei.fromEth(2), Hash.EMPTY_TRIE_HASH, Hash.EMPTY),
+                new PmtStateTrieAccountValue(2, Wei.fromEth(1), Hash.EMPTY_TRIE_HASH, Hash.EMPTY))
+            .addAccountChange(
+                Address.ZERO,
+                null,
+                new PmtStateTrieAccountValue(
+                    0, Wei.ZERO, Hash.hash(Bytes.of(1)), Hash.hash(Bytes.of(2))))
+            .addCodeChange(
+                Address.ZERO,
+                null,
+                Bytes.fromHexString("0xfeeddeadbeef"),
+                headerFixture.getBlockHash())
+            .addStorageChange(Address.ZERO, new StorageSlotKey(UInt256.ZERO), null, UInt256.ONE)
+            .addStorageChange(
+                Address.ZERO, new StorageSlotKey(UInt256.ONE), UInt256.ONE, UInt256.ONE)
+            .addStorageChange(
+                Address.ZERO, new StorageSlotKey(UInt256.MAX_VALUE), UInt256.ONE, null);
+
+    final TrieLogFactory factory = new TrieLogFactoryImpl(true);
+    final byte[] compact = factory.serialize(trieLog);
+
+    assertThat(factory.deserialize(compact)).isEqualTo(trieLog);
+    assertThat(compact.length).isLessThan(new TrieLogFactoryImpl().serialize(trieLog).length);
+  }
+
+  @Test
+  public void testBothFormatsAreDeserialized() {
+    final byte[] rlp = new TrieLogFactoryImpl().serialize(trieLogFixture);
+    final byte[] compact = new TrieLogFactoryImpl(true).serialize(trieLogFixture);
+
+    assertThat(new TrieLogFactoryImpl(true).deserialize(rlp)).isEqualTo(trieLogFixture);
+    assertThat(new TrieLogFactoryImpl().deserialize(compact)).isEqualTo(trieLogFixture);
+  }
 }
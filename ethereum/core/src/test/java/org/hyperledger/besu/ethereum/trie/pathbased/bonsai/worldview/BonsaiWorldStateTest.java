@@ -14,25 +14,41 @@
  */
 package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview;
 
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE_ARCHIVE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage.WORLD_BLOCK_NUMBER_KEY;
 import static org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.WorldStateConfig.createStatefulConfigWithTrie;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat.BonsaiArchiveFlatDbStrategy;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.flat.CodeHashCodeStorageStrategy;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.SegmentedInMemoryKeyValueStorage;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,6 +70,8 @@ class BonsaiWorldStateTest {
   private static final Hash ACCOUNT_HASH = Hash.hash(Address.ZERO);
   private static final Address ACCOUNT = Address.ZERO;
 
+  private final BonsaiArchiveFlatDbStrategy archiveStrategy =
+      new BonsaiArchiveFlatDbStrategy(new NoOpMetricsSystem(), new CodeHashCodeStorageStrategy());
   private BonsaiWorldState worldState;
 
   @BeforeEach
@@ -126,6 +144,59 @@ class BonsaiWorldStateTest {
     verify(bonsaiUpdater).putCode(Address.fromHexString("0x3").addressHash(), CODE_HASH, CODE);
   }
 
+  @Test
+  void doesNotPrefetchArchiveStateOfRecentBlock() {
+    final SegmentedKeyValueStorage archiveStorage = archiveStorageAtBlock(999);
+    when(bonsaiWorldStateKeyValueStorage.getFlatDbStrategy()).thenReturn(archiveStrategy);
+    when(bonsaiWorldStateKeyValueStorage.getComposedWorldStateStorage())
+        .thenReturn(archiveStorage);
+
+    worldState.prefetchArchiveState(Map.of(ACCOUNT, Set.of(new StorageSlotKey(UInt256.ONE))));
+
+    // the reads at a recent block are not cached, the execution would read the state again
+    verify(bonsaiWorldStateKeyValueStorage, never()).getAccounts(any());
+    verify(bonsaiWorldStateKeyValueStorage, never())
+        .getStorageValuesByStorageSlotKeys(any(), any());
+  }
+
+  @Test
+  void prefetchesArchiveStateOfImmutableBlock() {
+    final SegmentedKeyValueStorage archiveStorage = archiveStorageAtBlock(10);
+    when(bonsaiWorldStateKeyValueStorage.getFlatDbStrategy()).thenReturn(archiveStrategy);
+    when(bonsaiWorldStateKeyValueStorage.getComposedWorldStateStorage())
+        .thenReturn(archiveStorage);
+    final StorageSlotKey slot = new StorageSlotKey(UInt256.ONE);
+
+    worldState.prefetchArchiveState(Map.of(ACCOUNT, Set.of(slot)));
+
+    verify(bonsaiWorldStateKeyValueStorage).getAccounts(List.of(ACCOUNT_HASH));
+    verify(bonsaiWorldStateKeyValueStorage)
+        .getStorageValuesByStorageSlotKeys(ACCOUNT_HASH, List.of(slot));
+  }
+
+  private SegmentedKeyValueStorage archiveStorageAtBlock(final long worldBlockNumber) {
+    final SegmentedKeyValueStorage archiveStorage =
+        new SegmentedInMemoryKeyValueStorage(
+            List.of(TRIE_BRANCH_STORAGE, ACCOUNT_INFO_STATE, ACCOUNT_INFO_STATE_ARCHIVE));
+    // the latest state written is the one of block 1000
+    setWorldBlockNumber(archiveStorage, 999);
+    final SegmentedKeyValueStorageTransaction transaction = archiveStorage.startTransaction();
+    archiveStrategy.putFlatAccount(archiveStorage, transaction, ACCOUNT_HASH, Bytes.of(1));
+    transaction.commit();
+    setWorldBlockNumber(archiveStorage, worldBlockNumber);
+    return archiveStorage;
+  }
+
+  private static void setWorldBlockNumber(
+      final SegmentedKeyValueStorage archiveStorage, final long blockNumber) {
+    final SegmentedKeyValueStorageTransaction transaction = archiveStorage.startTransaction();
+    transaction.put(
+        TRIE_BRANCH_STORAGE,
+        WORLD_BLOCK_NUMBER_KEY,
+        Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    transaction.commit();
+  }
+
   private static Stream<Bytes> emptyAndNullBytes() {
     return Stream.of(Bytes.EMPTY, null);
   }
@@ -37,7 +37,10 @@ import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
 
@@ -67,6 +70,14 @@ class DebugOperationTracerTest {
         }
       };
 
+  private final Operation returnOperation =
+      new AbstractOperation(0xF3, "RETURN", 2, 0, null) {
+        @Override
+        public OperationResult execute(final MessageFrame frame, final EVM evm) {
+          return new OperationResult(0L, null);
+        }
+      };
+
   private final CallOperation callOperation = new CallOperation(new CancunGasCalculator());
 
   @Test
@@ -203,6 +214,56 @@ class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  void shouldStreamFramesInOrderOnceTheyCanNoLongerChange() {
+    final List<TraceFrame> streamedFrames = new ArrayList<>();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false), false, streamedFrames::add);
+    final MessageFrame frame = validMessageFrame();
+    for (int pc = 0; pc < 20; pc++) {
+      frame.setPC(pc);
+      tracer.tracePreExecution(frame);
+      tracer.tracePostExecution(frame, anOperation.execute(frame, null));
+    }
+
+    assertThat(streamedFrames).extracting(TraceFrame::getPc).containsExactly(0, 1, 2, 3);
+    assertThat(tracer.getTraceFrames()).hasSize(16);
+    assertThat(streamedFrames.getLast().getGasRemainingPostExecution()).isEqualTo(INITIAL_GAS);
+
+    tracer.flushTraceFrames();
+
+    assertThat(streamedFrames).extracting(TraceFrame::getPc).hasSize(20).isSorted();
+    assertThat(tracer.getTraceFrames()).isEmpty();
+  }
+
+  @Test
+  void shouldReportCreationHaltOnLastNonReturnFrameWhenMoreFramesThanRetained() {
+    final List<TraceFrame> streamedFrames = new ArrayList<>();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false), false, streamedFrames::add);
+    final MessageFrame frame = validMessageFrame();
+    tracer.tracePreExecution(frame);
+    tracer.tracePostExecution(frame, anOperation.execute(frame, null));
+    frame.setCurrentOperation(returnOperation);
+    for (int pc = 11; pc < 31; pc++) {
+      frame.setPC(pc);
+      tracer.tracePreExecution(frame);
+      tracer.tracePostExecution(frame, returnOperation.execute(frame, null));
+    }
+
+    assertThat(streamedFrames).isEmpty();
+
+    tracer.traceAccountCreationResult(frame, Optional.of(ExceptionalHaltReason.CODE_TOO_LARGE));
+    tracer.flushTraceFrames();
+
+    assertThat(streamedFrames).hasSize(21);
+    assertThat(streamedFrames.getFirst().getOpcode()).isEqualTo("MUL");
+    assertThat(streamedFrames.getFirst().getExceptionalHaltReason())
+        .contains(ExceptionalHaltReason.CODE_TOO_LARGE);
+    assertThat(streamedFrames.subList(1, 21))
+        .allSatisfy(traceFrame -> assertThat(traceFrame.getExceptionalHaltReason()).isEmpty());
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame) {
     return traceFrame(frame, new TraceOptions(false, false, false), false);
   }
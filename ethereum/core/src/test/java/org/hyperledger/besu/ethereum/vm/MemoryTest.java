@@ -18,6 +18,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.evm.frame.Memory;
 
+import java.util.Random;
+
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
@@ -240,4 +242,89 @@ public class MemoryTest {
     assertThat(memory.getWord(32)).isEqualTo(Bytes32.ZERO);
     assertThat(memory.getWord(64)).isEqualTo(Bytes32.ZERO);
   }
+
+  @Test
+  public void shouldSetAndGetBytesAcrossPages() {
+    final Bytes value = randomBytes(3 * Memory.PAGE_SIZE);
+    memory.setBytes(Memory.PAGE_SIZE - 100, value.size(), value);
+
+    assertThat(memory.getBytes(Memory.PAGE_SIZE - 100, value.size())).isEqualTo(value);
+    assertThat(memory.getWord(Memory.PAGE_SIZE - 16)).isEqualTo(Bytes32.wrap(value, 84));
+    assertThat(memory.getActiveWords()).isEqualTo((4 * Memory.PAGE_SIZE - 100 + 31) / 32);
+  }
+
+  @Test
+  public void shouldSetAndGetWordLimbsAcrossPages() {
+    final Bytes32 value = Bytes32.wrap(randomBytes(32));
+    final long[] limbs = new long[6];
+    for (int i = 0; i < 4; i++) {
+      limbs[i + 1] = value.getLong(i * 8);
+    }
+    // every offset of the word relative to the page boundary, including inside a limb
+    for (int location = Memory.PAGE_SIZE - 40; location <= Memory.PAGE_SIZE + 8; location++) {
+      memory.setWord(location, limbs, 1);
+      assertThat(memory.getWord(location)).isEqualTo(value);
+
+      final long[] read = new long[6];
+      memory.getWord(location, read, 2);
+      assertThat(read).containsExactly(0, 0, limbs[1], limbs[2], limbs[3], limbs[4]);
+    }
+  }
+
+  @Test
+  public void shouldKeepContentWhenGrowingPastFirstPage() {
+    memory.setWord(0, WORD1);
+    memory.setWord(64, WORD2);
+    memory.setWord(2L * Memory.PAGE_SIZE, WORD3);
+
+    assertThat(memory.getWord(0)).isEqualTo(WORD1);
+    assertThat(memory.getWord(64)).isEqualTo(WORD2);
+    assertThat(memory.getBytes(96, 2L * Memory.PAGE_SIZE - 96))
+        .isEqualTo(Bytes.wrap(new byte[2 * Memory.PAGE_SIZE - 96]));
+    assertThat(memory.getWord(2L * Memory.PAGE_SIZE)).isEqualTo(WORD3);
+  }
+
+  @Test
+  public void shouldCopyOverlappingRangesAcrossPages() {
+    final Bytes value = randomBytes(2 * Memory.PAGE_SIZE);
+    memory.setBytes(0, value.size(), value);
+
+    memory.copy(1000, 0, value.size() - 1000);
+    assertThat(memory.getBytes(1000, value.size() - 1000))
+        .isEqualTo(value.slice(0, value.size() - 1000));
+
+    memory.setBytes(0, value.size(), value);
+    memory.copy(0, 1000, value.size() - 1000);
+    assertThat(memory.getBytes(0, value.size() - 1000)).isEqualTo(value.slice(1000));
+  }
+
+  @Test
+  public void shouldReadZerosPastActiveMemoryWithoutGrowth() {
+    memory.setWord(Memory.PAGE_SIZE - 32, WORD1);
+
+    assertThat(memory.getBytesWithoutGrowth(Memory.PAGE_SIZE - 32, 64))
+        .isEqualTo(Bytes.concatenate(WORD1, Bytes32.ZERO));
+    assertThat(memory.getActiveWords()).isEqualTo(Memory.PAGE_SIZE / 32);
+  }
+
+  @Test
+  public void shouldCompareActiveMemoryRegardlessOfGrowthHistory() {
+    final Memory other = new Memory();
+    // the first page of this memory grows to 128 bytes, and the other one to 96 bytes
+    memory.setWord(0, WORD1);
+    memory.setWord(32, WORD2);
+    memory.setWord(64, WORD3);
+    other.setWord(64, WORD3);
+    other.setWord(0, WORD1);
+    other.setWord(32, WORD2);
+
+    assertThat(memory).isEqualTo(other);
+    assertThat(memory.hashCode()).isEqualTo(other.hashCode());
+  }
+
+  private static Bytes randomBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return Bytes.wrap(bytes);
+  }
 }
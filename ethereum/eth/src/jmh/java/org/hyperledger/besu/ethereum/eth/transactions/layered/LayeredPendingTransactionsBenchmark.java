@@ -0,0 +1,164 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_FULL;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
+import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Stresses the layered pending transactions with transactions added from gossip, lookups by hash
+ * from RPC and block creation selecting transactions, all at the same time, to measure how much
+ * they contend on the pool.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class LayeredPendingTransactionsBenchmark {
+  private static final int SENDERS = 1_000;
+  private static final int TRANSACTIONS_BY_SENDER = 50;
+  private static final int BLOCK_TRANSACTIONS = 1_000;
+
+  private final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+  private final List<Transaction> transactions = new ArrayList<>();
+  private final AtomicInteger nextToAdd = new AtomicInteger();
+  private final AtomicInteger nextToLookup = new AtomicInteger();
+  private EthScheduler ethScheduler;
+  private LayeredPendingTransactions pendingTransactions;
+
+  @Setup(Level.Trial)
+  public void createTransactions() {
+    final TransactionTestFixture transactionTestFixture =
+        new TransactionTestFixture().gasPrice(Wei.of(1_000_000_000L));
+    for (int i = 0; i < SENDERS; i++) {
+      final KeyPair keys = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+      for (int nonce = 0; nonce < TRANSACTIONS_BY_SENDER; nonce++) {
+        transactions.add(transactionTestFixture.nonce(nonce).createTransaction(keys));
+      }
+    }
+    ethScheduler = new EthScheduler(1, 1, 1, metricsSystem);
+  }
+
+  @Setup(Level.Iteration)
+  public void createPendingTransactions() {
+    final TransactionPoolConfiguration poolConfig =
+        ImmutableTransactionPoolConfiguration.builder()
+            .maxFutureBySender(TRANSACTIONS_BY_SENDER)
+            .build();
+    final TransactionPoolMetrics txPoolMetrics = new TransactionPoolMetrics(metricsSystem);
+    final SparseTransactions sparseTransactions =
+        new SparseTransactions(
+            poolConfig,
+            ethScheduler,
+            new EndLayer(txPoolMetrics),
+            txPoolMetrics,
+            (existing, replacement) -> false,
+            new BlobCache());
+    final ReadyTransactions readyTransactions =
+        new ReadyTransactions(
+            poolConfig,
+            ethScheduler,
+            sparseTransactions,
+            txPoolMetrics,
+            (existing, replacement) -> false,
+            new BlobCache());
+    final GasPricePrioritizedTransactions prioritizedTransactions =
+        new GasPricePrioritizedTransactions(
+            poolConfig,
+            ethScheduler,
+            readyTransactions,
+            txPoolMetrics,
+            (existing, replacement) -> false,
+            new BlobCache(),
+            MiningConfiguration.newDefault());
+    pendingTransactions =
+        new LayeredPendingTransactions(poolConfig, prioritizedTransactions, ethScheduler);
+    nextToAdd.set(0);
+    nextToLookup.set(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void stopScheduler() {
+    ethScheduler.stop();
+  }
+
+  @Benchmark
+  @Group("pool")
+  @GroupThreads(4)
+  public TransactionAddedResult addTransaction() {
+    final Transaction transaction = next(nextToAdd);
+    return pendingTransactions.addTransaction(
+        new PendingTransaction.Remote(transaction), Optional.empty());
+  }
+
+  @Benchmark
+  @Group("pool")
+  @GroupThreads(2)
+  public Optional<Transaction> getTransactionByHash() {
+    return pendingTransactions.getTransactionByHash(next(nextToLookup).getHash());
+  }
+
+  @Benchmark
+  @Group("pool")
+  @GroupThreads(1)
+  public int selectTransactions() {
+    final int[] selected = new int[1];
+    pendingTransactions.selectTransactions(
+        __ -> ++selected[0] < BLOCK_TRANSACTIONS ? SELECTED : BLOCK_FULL);
+    return selected[0];
+  }
+
+  private Transaction next(final AtomicInteger counter) {
+    return transactions.get(Math.floorMod(counter.getAndIncrement(), transactions.size()));
+  }
+}
@@ -99,6 +99,7 @@ public class EthPeer implements Comparable<EthPeer> {
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final SnapPeerThroughput snapThroughput = new SnapPeerThroughput();
   private final Map<PeerValidator, Boolean> validationStatus = new ConcurrentHashMap<>();
   private final Bytes id;
   private boolean isServingSnap = false;
@@ -208,9 +209,23 @@ public class EthPeer implements Comparable<EthPeer> {
         .addArgument(this::getLoggableId)
         .log();
     LOG.trace("Timed out while waiting for response from peer {}", this);
+    if (SnapProtocol.NAME.equals(protocolName)) {
+      snapThroughput.recordTimeout(System.nanoTime());
+    }
     reputation.recordRequestTimeout(protocolName, requestCode, this).ifPresent(this::disconnect);
   }
 
+  void recordResponse(final String protocolName, final int responseBytes) {
+    if (SnapProtocol.NAME.equals(protocolName)) {
+      snapThroughput.recordResponse(responseBytes, System.nanoTime());
+    }
+  }
+
+  @VisibleForTesting
+  SnapPeerThroughput getSnapThroughput() {
+    return snapThroughput;
+  }
+
   public void recordUselessResponse(final String requestType) {
     LOG.atTrace()
         .setMessage("Received useless response for request type {} from peer {}")
@@ -355,7 +370,8 @@ public class EthPeer implements Comparable<EthPeer> {
       final Hash stateRoot, final Bytes32 startKeyHash, final Bytes32 endKeyHash)
       throws PeerNotConnected {
     final GetAccountRangeMessage getAccountRangeMessage =
-        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash);
+        GetAccountRangeMessage.create(
+            stateRoot, startKeyHash, endKeyHash, snapThroughput.getResponseBytes());
     getAccountRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_ACCOUNT_RANGE),
@@ -369,7 +385,8 @@ public class EthPeer implements Comparable<EthPeer> {
       final Bytes32 endKeyHash)
       throws PeerNotConnected {
     final GetStorageRangeMessage getStorageRangeMessage =
-        GetStorageRangeMessage.create(stateRoot, accountHashes, startKeyHash, endKeyHash);
+        GetStorageRangeMessage.create(
+            stateRoot, accountHashes, startKeyHash, endKeyHash, snapThroughput.getResponseBytes());
     getStorageRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_STORAGE_RANGE),
@@ -378,7 +395,8 @@ public class EthPeer implements Comparable<EthPeer> {
 
   public RequestManager.ResponseStream getSnapBytecode(
       final Hash stateRoot, final List<Bytes32> codeHashes) throws PeerNotConnected {
-    final GetByteCodesMessage getByteCodes = GetByteCodesMessage.create(codeHashes);
+    final GetByteCodesMessage getByteCodes =
+        GetByteCodesMessage.create(codeHashes, snapThroughput.getResponseBytes());
     getByteCodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_BYTECODES), getByteCodes);
@@ -386,7 +404,8 @@ public class EthPeer implements Comparable<EthPeer> {
 
   public RequestManager.ResponseStream getSnapTrieNode(
       final Hash stateRoot, final List<List<Bytes>> paths) throws PeerNotConnected {
-    final GetTrieNodesMessage getTrieNodes = GetTrieNodesMessage.create(stateRoot, paths);
+    final GetTrieNodesMessage getTrieNodes =
+        GetTrieNodesMessage.create(stateRoot, paths, snapThroughput.getResponseBytes());
     getTrieNodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_TRIE_NODES), getTrieNodes);
@@ -403,9 +422,14 @@ public class EthPeer implements Comparable<EthPeer> {
   private RequestManager.ResponseStream sendRequest(
       final RequestManager requestManager, final MessageData messageData) throws PeerNotConnected {
     lastRequestTimestamp = clock.millis();
-    return requestManager.dispatchRequest(
-        msgData -> connection.sendForProtocol(requestManager.getProtocolName(), msgData),
-        messageData);
+    final RequestManager.ResponseStream responseStream =
+        requestManager.dispatchRequest(
+            msgData -> connection.sendForProtocol(requestManager.getProtocolName(), msgData),
+            messageData);
+    if (SnapProtocol.NAME.equals(requestManager.getProtocolName())) {
+      snapThroughput.recordRequest(System.nanoTime());
+    }
+    return responseStream;
   }
 
   /**
@@ -610,6 +634,16 @@ public class EthPeer implements Comparable<EthPeer> {
     return lastRequestTimestamp;
   }
 
+  /**
+   * Gets the throughput of the peer for snap requests per request it will have to respond to, so
+   * that a fast peer keeps being sent requests while it has few outstanding ones.
+   *
+   * @return the bytes per millisecond of the peer divided by its outstanding requests plus one
+   */
+  public double getAvailableSnapThroughput() {
+    return snapThroughput.getBytesPerMilli() / (outstandingRequests() + 1);
+  }
+
   public boolean hasAvailableRequestCapacity() {
     return outstandingRequests() < MAX_OUTSTANDING_REQUESTS;
   }
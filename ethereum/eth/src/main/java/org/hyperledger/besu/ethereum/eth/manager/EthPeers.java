@@ -86,6 +86,10 @@ public class EthPeers implements PeerSelector {
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
+  public static final Comparator<EthPeer> FASTEST_TO_SLOWEST_SNAP =
+      Comparator.comparingDouble(EthPeer::getAvailableSnapThroughput)
+          .reversed()
+          .thenComparing(LEAST_TO_MOST_BUSY);
   public static final int NODE_ID_LENGTH = 64;
   public static final int USEFULL_PEER_SCORE_THRESHOLD = 102;
 
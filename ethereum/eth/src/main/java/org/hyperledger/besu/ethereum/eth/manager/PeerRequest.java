@@ -17,10 +17,22 @@ package org.hyperledger.besu.ethereum.eth.manager;
 import org.hyperledger.besu.ethereum.eth.manager.RequestManager.ResponseStream;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 
+import java.util.Comparator;
+
 public interface PeerRequest {
   ResponseStream sendRequest(EthPeer peer) throws PeerNotConnected;
 
   default boolean isEthPeerSuitable(final EthPeer ethPeer) {
     return true;
   }
+
+  /**
+   * Gets the order in which the suitable peers are considered for the request, the first one being
+   * sent the request if it has capacity.
+   *
+   * @return the comparator of the peers
+   */
+  default Comparator<EthPeer> getPeerComparator() {
+    return EthPeers.LEAST_TO_MOST_BUSY;
+  }
 }
@@ -19,6 +19,7 @@ import org.hyperledger.besu.ethereum.eth.manager.exceptions.NoAvailablePeersExce
 import org.hyperledger.besu.ethereum.eth.manager.exceptions.PeerDisconnectedException;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -81,13 +82,19 @@ public class PendingPeerRequest {
 
   private Optional<EthPeer> getPeerToUse() {
     // return the assigned peer if still valid, otherwise switch to another peer
-    return peer.filter(p -> !p.isDisconnected()).isPresent()
-        ? peer
-        : ethPeers
+    if (peer.filter(p -> !p.isDisconnected()).isPresent()) {
+      return peer;
+    }
+    final List<EthPeer> suitablePeers =
+        ethPeers
             .streamAvailablePeers()
             .filter(peer -> peer.chainState().getEstimatedHeight() >= minimumBlockNumber)
             .filter(request::isEthPeerSuitable)
-            .min(EthPeers.LEAST_TO_MOST_BUSY);
+            .toList();
+    // the request does not have to rank the peers when none of them is suitable
+    return suitablePeers.isEmpty()
+        ? Optional.empty()
+        : suitablePeers.stream().min(request.getPeerComparator());
   }
 
   /**
@@ -74,7 +74,10 @@ public class RequestManager {
           ethMessage.getData().unwrapMessageData();
       Optional.ofNullable(responseStreams.get(requestIdAndEthMessage.getKey()))
           .ifPresentOrElse(
-              responseStream -> responseStream.processMessage(requestIdAndEthMessage.getValue()),
+              responseStream -> {
+                peer.recordResponse(protocolName, ethMessage.getData().getSize());
+                responseStream.processMessage(requestIdAndEthMessage.getValue());
+              },
               // Consider incorrect requestIds to be a useless response; too
               // many of these and we will disconnect.
               () -> peer.recordUselessResponse("Request ID incorrect"));
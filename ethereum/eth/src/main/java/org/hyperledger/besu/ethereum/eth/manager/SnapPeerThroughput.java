@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
+
+import java.math.BigInteger;
+import java.time.Duration;
+
+/**
+ * Tracks how fast a peer responds to snap requests, to size the requests sent to it.
+ *
+ * <p>The throughput of the peer is measured over windows of the time it has snap requests
+ * outstanding, as the bytes of all the responses received in a window over the busy time of the
+ * window. Concurrent requests are thus not each charged the time they wait behind one another, and
+ * the time the peer is idle does not count. A window closes once it has lasted the measurement
+ * window, or when no request is left outstanding, and the throughput is an exponential moving
+ * average of the windows. A timed out request ends without adding any bytes.
+ *
+ * <p>The requests are sized so that the peer can respond to them in the target response time, which
+ * bounds the time a slow peer holds a range while letting a fast peer respond with more data per
+ * round trip. Until a window closes the requests have the default size of the snap protocol.
+ */
+public class SnapPeerThroughput {
+
+  static final Duration TARGET_RESPONSE_TIME = Duration.ofSeconds(2);
+  static final Duration MEASUREMENT_WINDOW = Duration.ofSeconds(1);
+  static final long MIN_RESPONSE_BYTES = 64 * 1024;
+  static final long MAX_RESPONSE_BYTES = 2 * 1024 * 1024;
+  private static final double MEASUREMENT_IMPACT = 0.1;
+
+  private double bytesPerMilli = Double.NaN;
+  private int outstandingRequests = 0;
+  private long lastEventNanos;
+  private long windowBusyNanos = 0;
+  private long windowBytes = 0;
+
+  /**
+   * Records a request sent to the peer.
+   *
+   * @param nowNanos the current time, from {@link System#nanoTime()}
+   */
+  public synchronized void recordRequest(final long nowNanos) {
+    accrueBusyTime(nowNanos);
+    outstandingRequests++;
+  }
+
+  /**
+   * Records a response of the peer.
+   *
+   * @param responseBytes the size of the response
+   * @param nowNanos the current time, from {@link System#nanoTime()}
+   */
+  public synchronized void recordResponse(final int responseBytes, final long nowNanos) {
+    accrueBusyTime(nowNanos);
+    windowBytes += responseBytes;
+    requestEnded();
+  }
+
+  /**
+   * Records a request the peer did not respond to in time.
+   *
+   * @param nowNanos the current time, from {@link System#nanoTime()}
+   */
+  public synchronized void recordTimeout(final long nowNanos) {
+    accrueBusyTime(nowNanos);
+    requestEnded();
+  }
+
+  private void accrueBusyTime(final long nowNanos) {
+    if (outstandingRequests > 0) {
+      windowBusyNanos += Math.max(0, nowNanos - lastEventNanos);
+    }
+    lastEventNanos = nowNanos;
+  }
+
+  // a response arriving after its request timed out ends no request
+  private void requestEnded() {
+    outstandingRequests = Math.max(0, outstandingRequests - 1);
+    if (windowBusyNanos > 0
+        && (outstandingRequests == 0 || windowBusyNanos >= MEASUREMENT_WINDOW.toNanos())) {
+      record(windowBytes / Math.max(1.0, windowBusyNanos / 1_000_000.0));
+      windowBusyNanos = 0;
+      windowBytes = 0;
+    }
+  }
+
+  private void record(final double measuredBytesPerMilli) {
+    bytesPerMilli =
+        isMeasured()
+            ? (1 - MEASUREMENT_IMPACT) * bytesPerMilli + MEASUREMENT_IMPACT * measuredBytesPerMilli
+            : measuredBytesPerMilli;
+  }
+
+  /**
+   * Checks if a window of the requests of the peer has been measured.
+   *
+   * @return true if the throughput of the peer is measured
+   */
+  public synchronized boolean isMeasured() {
+    return !Double.isNaN(bytesPerMilli);
+  }
+  /**
+   * Gets the throughput of the peer.
+   *
+   * @return the measured bytes per millisecond, or positive infinity if not measured yet so that
+   *     unmeasured peers are tried first
+   */
+  public synchronized double getBytesPerMilli() {
+    return isMeasured() ? bytesPerMilli : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Gets the size to request from the peer so that it can respond in the target response time.
+   *
+   * @return the number of bytes to request
+   */
+  public synchronized BigInteger getResponseBytes() {
+    if (!isMeasured()) {
+      return AbstractSnapMessageData.SIZE_REQUEST;
+    }
+    final long targetBytes = (long) (bytesPerMilli * TARGET_RESPONSE_TIME.toMillis());
+    return BigInteger.valueOf(
+        Math.min(MAX_RESPONSE_BYTES, Math.max(MIN_RESPONSE_BYTES, targetBytes)));
+  }
+}
@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.eth.manager.PeerRequest;
 import org.hyperledger.besu.ethereum.eth.manager.PendingPeerRequest;
 import org.hyperledger.besu.ethereum.eth.manager.RequestManager;
@@ -28,6 +29,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
+import java.util.Comparator;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes32;
@@ -96,6 +98,11 @@ public class GetAccountRangeFromPeerTask
           public boolean isEthPeerSuitable(final EthPeer ethPeer) {
             return ethPeer.isServingSnap();
           }
+
+          @Override
+          public Comparator<EthPeer> getPeerComparator() {
+            return EthPeers.FASTEST_TO_SLOWEST_SNAP;
+          }
         },
         blockHeader.getNumber());
   }
@@ -67,6 +67,8 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return EthProtocolMessages.BLOCK_BODIES;
   }
 
+  // Decoded eagerly, unlike TransactionsMessage#lazyTransactions: every transaction of a body is
+  // needed to import its block.
   public List<BlockBody> bodies(final ProtocolSchedule protocolSchedule) {
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
@@ -75,6 +75,8 @@ public final class PooledTransactionsMessage extends AbstractMessageData {
     return new PooledTransactionsMessage(message.getData());
   }
 
+  // Decoded eagerly, unlike TransactionsMessage#lazyTransactions: only transactions that were not
+  // known are requested, so none of them can be skipped.
   public List<Transaction> transactions() {
     if (pooledTransactions == null) {
       final BytesValueRLPInput in = new BytesValueRLPInput(getData(), false);
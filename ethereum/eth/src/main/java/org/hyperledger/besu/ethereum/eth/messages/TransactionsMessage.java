@@ -14,11 +14,13 @@
  */
 package org.hyperledger.besu.ethereum.eth.messages;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 
 import java.util.List;
 
@@ -60,4 +62,48 @@ public class TransactionsMessage extends AbstractMessageData {
   public List<Transaction> transactions() {
     return new BytesValueRLPInput(data, false).readList(Transaction::readFrom);
   }
+
+  /**
+   * Reads the transactions of the message without decoding them: each transaction is only sliced
+   * out of the message and hashed, and is decoded once {@link LazyTransaction#decode()} is called,
+   * so that transactions already known can be skipped without the cost of decoding them.
+   *
+   * <p>Only gossiped transactions are read this way. {@link PooledTransactionsMessage} answers a
+   * request for transactions that were not known, and {@link BlockBodiesMessage} carries
+   * transactions that all have to be imported, so every transaction of those is decoded anyway.
+   * Pooled blob transactions are also hashed without their sidecar, which is not the hash of their
+   * encoding in the message.
+   *
+   * @return the transactions of the message, in order
+   */
+  public List<LazyTransaction> lazyTransactions() {
+    return new BytesValueRLPInput(data, false).readList(LazyTransaction::new);
+  }
+
+  /** A transaction of a message, hashed but only decoded on demand. */
+  public static final class LazyTransaction {
+    private final Bytes encoded;
+    private final Hash hash;
+
+    private LazyTransaction(final RLPInput in) {
+      final RLPInput transactionRlp = in.readAsRlp();
+      this.encoded = transactionRlp.raw();
+      // the hash of a legacy transaction is the one of its RLP list, while the hash of a typed
+      // transaction is the one of the type and payload wrapped in an RLP string
+      this.hash = Hash.hash(transactionRlp.nextIsList() ? encoded : transactionRlp.readBytes());
+    }
+
+    public Hash getHash() {
+      return hash;
+    }
+
+    /**
+     * Decodes the transaction.
+     *
+     * @return the decoded transaction
+     */
+    public Transaction decode() {
+      return Transaction.readFrom(new BytesValueRLPInput(encoded, false));
+    }
+  }
 }
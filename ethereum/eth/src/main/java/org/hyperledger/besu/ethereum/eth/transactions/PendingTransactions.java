@@ -77,5 +77,15 @@ public interface PendingTransactions {
   @FunctionalInterface
   interface TransactionSelector {
     TransactionSelectionResult evaluateTransaction(PendingTransaction pendingTransaction);
+
+    /**
+     * Called once with all the candidate transactions, in evaluation order, before they are
+     * evaluated one by one, so that the checks that do not depend on the transactions selected
+     * before can be done at once.
+     *
+     * @param candidatePendingTransactions the candidate transactions
+     */
+    default void preEvaluateTransactions(
+        final List<PendingTransaction> candidatePendingTransactions) {}
   }
 }
@@ -17,16 +17,19 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 import static java.time.Instant.now;
 import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
+import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage.LazyTransaction;
+import org.hyperledger.besu.ethereum.mainnet.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -39,14 +42,17 @@ class TransactionsMessageProcessor {
   private final TransactionPool transactionPool;
 
   private final TransactionPoolMetrics metrics;
+  private final Optional<TransactionSenderRecovery> transactionSenderRecovery;
 
   public TransactionsMessageProcessor(
       final PeerTransactionTracker transactionTracker,
       final TransactionPool transactionPool,
-      final TransactionPoolMetrics metrics) {
+      final TransactionPoolMetrics metrics,
+      final Optional<TransactionSenderRecovery> transactionSenderRecovery) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
     this.metrics = metrics;
+    this.transactionSenderRecovery = transactionSenderRecovery;
     metrics.initExpiredMessagesCounter(METRIC_LABEL);
   }
 
@@ -66,10 +72,13 @@ class TransactionsMessageProcessor {
   private void processTransactionsMessage(
       final EthPeer peer, final TransactionsMessage transactionsMessage) {
     try {
-      final List<Transaction> incomingTransactions = transactionsMessage.transactions();
-      final Collection<Transaction> freshTransactions = skipSeenTransactions(incomingTransactions);
+      final List<LazyTransaction> incomingTransactions = transactionsMessage.lazyTransactions();
+      final List<Hash> incomingHashes =
+          incomingTransactions.stream().map(LazyTransaction::getHash).toList();
+      // only the transactions not seen yet are decoded
+      final List<Transaction> freshTransactions = decodeUnseenTransactions(incomingTransactions);
 
-      transactionTracker.markTransactionsAsSeen(peer, incomingTransactions);
+      transactionTracker.markTransactionHashesAsSeen(peer, incomingHashes);
 
       metrics.incrementAlreadySeenTransactions(
           METRIC_LABEL, incomingTransactions.size() - freshTransactions.size());
@@ -79,11 +88,15 @@ class TransactionsMessageProcessor {
                   + ", fresh transactions {}, fresh list {}")
           .addArgument(peer)
           .addArgument(incomingTransactions::size)
-          .addArgument(() -> toHashList(incomingTransactions))
+          .addArgument(incomingHashes)
           .addArgument(freshTransactions::size)
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
+      transactionSenderRecovery.ifPresent(
+          recovery ->
+              recovery.recoverSenders(
+                  freshTransactions, TransactionSenderRecovery.Priority.TRANSACTION_POOL));
       transactionPool.addRemoteTransactions(freshTransactions);
 
     } catch (final RLPException ex) {
@@ -97,9 +110,10 @@ class TransactionsMessageProcessor {
     }
   }
 
-  private Collection<Transaction> skipSeenTransactions(final List<Transaction> inTransactions) {
+  private List<Transaction> decodeUnseenTransactions(final List<LazyTransaction> inTransactions) {
     return inTransactions.stream()
         .filter(tx -> !transactionTracker.hasSeenTransaction(tx.getHash()))
+        .map(LazyTransaction::decode)
         .collect(Collectors.toUnmodifiableList());
   }
 }
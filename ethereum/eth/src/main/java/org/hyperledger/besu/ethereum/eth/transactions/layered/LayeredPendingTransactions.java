@@ -46,6 +46,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -55,6 +58,14 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * The pending transactions of the layered transaction pool.
+ *
+ * <p>Access to the layers is guarded by a read write lock instead of a single monitor: lookups from
+ * RPC and gossip, and the snapshot of the candidate transactions taken for block creation, only
+ * read the layers and so can run at the same time, while adding and removing transactions and
+ * processing added blocks take the exclusive lock.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Logger LOG_FOR_REPLAY = LoggerFactory.getLogger("LOG_FOR_REPLAY");
@@ -62,6 +73,7 @@ public class LayeredPendingTransactions implements PendingTransactions {
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
   private final EthScheduler ethScheduler;
+  private final ReentrantReadWriteLock layersLock = new ReentrantReadWriteLock();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -73,12 +85,17 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized void reset() {
-    prioritizedTransactions.reset();
+  public void reset() {
+    withWriteLock(prioritizedTransactions::reset);
   }
 
   @Override
-  public synchronized TransactionAddedResult addTransaction(
+  public TransactionAddedResult addTransaction(
+      final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
+    return withWriteLock(() -> internalAddTransaction(pendingTransaction, maybeSenderAccount));
+  }
+
+  private TransactionAddedResult internalAddTransaction(
       final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
 
     final long stateSenderNonce = maybeSenderAccount.map(AccountState::getNonce).orElse(0L);
@@ -302,24 +319,28 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return withReadLock(prioritizedTransactions::getAllLocal);
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return withReadLock(prioritizedTransactions::getAllPriority);
   }
 
   @Override
   public void selectTransactions(final PendingTransactions.TransactionSelector selector) {
-    final Map<Byte, List<SenderPendingTransactions>> candidateTxsByScore;
-    synchronized (this) {
-      // since selecting transactions for block creation is a potential long operation
-      // we want to avoid to keep the lock for all the process, but we just lock to get
-      // the candidate transactions
-      candidateTxsByScore = prioritizedTransactions.getByScore();
-    }
+    // since selecting transactions for block creation is a potential long operation
+    // we want to avoid to keep the lock for all the process, but we just lock to get
+    // the candidate transactions, and only for reading so lookups are not blocked
+    final Map<Byte, List<SenderPendingTransactions>> candidateTxsByScore =
+        withReadLock(prioritizedTransactions::getByScore);
+
+    selector.preEvaluateTransactions(
+        candidateTxsByScore.values().stream()
+            .flatMap(List::stream)
+            .flatMap(senderTxs -> senderTxs.pendingTransactions().stream())
+            .toList());
 
     selection:
     for (final var entry : candidateTxsByScore.entrySet()) {
@@ -339,19 +360,13 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
           if (selectionResult.discard()) {
             ethScheduler.scheduleTxWorkerTask(
-                () -> {
-                  synchronized (this) {
-                    prioritizedTransactions.remove(candidatePendingTx, INVALIDATED);
-                  }
-                });
+                () ->
+                    withWriteLock(
+                        () -> prioritizedTransactions.remove(candidatePendingTx, INVALIDATED)));
             logDiscardedTransaction(candidatePendingTx, selectionResult);
           } else if (selectionResult.penalize()) {
             ethScheduler.scheduleTxWorkerTask(
-                () -> {
-                  synchronized (this) {
-                    prioritizedTransactions.penalize(candidatePendingTx);
-                  }
-                });
+                () -> withWriteLock(() -> prioritizedTransactions.penalize(candidatePendingTx)));
             LOG.atTrace()
                 .setMessage("Transaction {} penalized")
                 .addArgument(candidatePendingTx::toTraceLog)
@@ -373,23 +388,23 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return withReadLock(prioritizedTransactions::count);
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return withReadLock(() -> prioritizedTransactions.contains(transaction));
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions.getByHash(transactionHash);
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return withReadLock(() -> prioritizedTransactions.getByHash(transactionHash));
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return withReadLock(prioritizedTransactions::getAll);
   }
 
   @Override
@@ -432,21 +447,23 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
     final var reorgNonceRangeBySender = nonceRangeBySender(reorgTransactions);
 
-    synchronized (this) {
-      try {
-        prioritizedTransactions.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
-      } catch (final Throwable throwable) {
-        LOG.warn(
-            "Unexpected error {} when managing added block {}, maxNonceBySender {}, reorgNonceRangeBySender {}",
-            throwable,
-            blockHeader.toLogString(),
-            maxConfirmedNonceBySender,
-            reorgTransactions);
-        LOG.warn("Stack trace", throwable);
-      }
+    withWriteLock(
+        () -> {
+          try {
+            prioritizedTransactions.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
+          } catch (final Throwable throwable) {
+            LOG.warn(
+                "Unexpected error {} when managing added block {}, maxNonceBySender {}, reorgNonceRangeBySender {}",
+                throwable,
+                blockHeader.toLogString(),
+                maxConfirmedNonceBySender,
+                reorgTransactions);
+            LOG.warn("Stack trace", throwable);
+          }
 
-      logBlockHeaderForReplay(blockHeader, maxConfirmedNonceBySender, reorgNonceRangeBySender);
-    }
+          logBlockHeaderForReplay(
+              blockHeader, maxConfirmedNonceBySender, reorgNonceRangeBySender);
+        });
   }
 
   private void logBlockHeaderForReplay(
@@ -547,17 +564,42 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized String toTraceLog() {
+  public String toTraceLog() {
     return "";
   }
 
   @Override
-  public synchronized String logStats() {
-    return prioritizedTransactions.logStats();
+  public String logStats() {
+    return withReadLock(prioritizedTransactions::logStats);
   }
 
   @Override
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return prioritizedTransactions.getBlobCache().restoreBlob(transaction);
   }
+
+  private <T> T withReadLock(final Supplier<T> action) {
+    return withLock(layersLock.readLock(), action);
+  }
+
+  private <T> T withWriteLock(final Supplier<T> action) {
+    return withLock(layersLock.writeLock(), action);
+  }
+
+  private void withWriteLock(final Runnable action) {
+    withWriteLock(
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  private static <T> T withLock(final Lock lock, final Supplier<T> action) {
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
 }
@@ -60,6 +60,7 @@ public class EthPeersTest {
   @BeforeEach
   public void setup() throws Exception {
     when(peerRequest.sendRequest(any())).thenReturn(responseStream);
+    when(peerRequest.getPeerComparator()).thenReturn(EthPeers.LEAST_TO_MOST_BUSY);
     ethProtocolManager = EthProtocolManagerTestBuilder.builder().build();
     ethPeers = ethProtocolManager.ethContext().getEthPeers();
     final ChainHeadTracker mock = mock(ChainHeadTracker.class);
@@ -172,6 +173,65 @@ public class EthPeersTest {
     assertRequestSuccessful(pendingRequest);
   }
 
+  @Test
+  public void shouldUseFastestPeerForSnapRequest() throws Exception {
+    final RespondingEthPeer slowPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer fastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    recordSnapThroughput(slowPeer.getEthPeer(), 10);
+    recordSnapThroughput(fastPeer.getEthPeer(), 100);
+
+    when(peerRequest.isEthPeerSuitable(any())).thenReturn(true);
+    when(peerRequest.getPeerComparator()).thenReturn(EthPeers.FASTEST_TO_SLOWEST_SNAP);
+
+    final PendingPeerRequest pendingRequest =
+        ethPeers.executePeerRequest(peerRequest, 10, Optional.empty());
+
+    verify(peerRequest).sendRequest(fastPeer.getEthPeer());
+    assertRequestSuccessful(pendingRequest);
+  }
+
+  @Test
+  public void shouldTryUnmeasuredPeerFirstForSnapRequest() throws Exception {
+    final RespondingEthPeer measuredPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer unmeasuredPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    recordSnapThroughput(measuredPeer.getEthPeer(), 100);
+
+    when(peerRequest.isEthPeerSuitable(any())).thenReturn(true);
+    when(peerRequest.getPeerComparator()).thenReturn(EthPeers.FASTEST_TO_SLOWEST_SNAP);
+
+    final PendingPeerRequest pendingRequest =
+        ethPeers.executePeerRequest(peerRequest, 10, Optional.empty());
+
+    verify(peerRequest).sendRequest(unmeasuredPeer.getEthPeer());
+    assertRequestSuccessful(pendingRequest);
+  }
+
+  @Test
+  public void shouldUseSlowerPeerForSnapRequestWhenFastPeerIsBusy() throws Exception {
+    final RespondingEthPeer slowerPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer busyFastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    recordSnapThroughput(slowerPeer.getEthPeer(), 50);
+    recordSnapThroughput(busyFastPeer.getEthPeer(), 100);
+    // the throughput of the fast peer is shared by its 2 outstanding requests and the new one
+    useRequestSlot(busyFastPeer.getEthPeer());
+    useRequestSlot(busyFastPeer.getEthPeer());
+
+    when(peerRequest.isEthPeerSuitable(any())).thenReturn(true);
+    when(peerRequest.getPeerComparator()).thenReturn(EthPeers.FASTEST_TO_SLOWEST_SNAP);
+
+    final PendingPeerRequest pendingRequest =
+        ethPeers.executePeerRequest(peerRequest, 10, Optional.empty());
+
+    verify(peerRequest).sendRequest(slowerPeer.getEthPeer());
+    assertRequestSuccessful(pendingRequest);
+  }
+
   @Test
   public void shouldFailWithNoAvailablePeersWhenNoPeersConnected() {
     final PendingPeerRequest pendingRequest =
@@ -448,6 +508,11 @@ public class EthPeersTest {
     peer.getNodeData(singletonList(Hash.ZERO));
   }
 
+  private void recordSnapThroughput(final EthPeer peer, final int bytesPerMilli) {
+    peer.getSnapThroughput().recordRequest(0);
+    peer.getSnapThroughput().recordResponse(bytesPerMilli * 1_000, 1_000_000_000L);
+  }
+
   @SuppressWarnings("unchecked")
   private void assertRequestSuccessful(final PendingPeerRequest pendingRequest) {
     final Consumer<RequestManager.ResponseStream> onSuccess = mock(Consumer.class);
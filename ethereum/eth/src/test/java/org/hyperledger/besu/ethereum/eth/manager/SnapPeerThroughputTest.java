@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SnapPeerThroughputTest {
+
+  private static final long MILLIS = 1_000_000;
+
+  private final SnapPeerThroughput throughput = new SnapPeerThroughput();
+
+  @Test
+  public void shouldRequestDefaultSizeUntilMeasured() {
+    assertThat(throughput.isMeasured()).isFalse();
+    assertThat(throughput.getBytesPerMilli()).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(throughput.getResponseBytes()).isEqualTo(AbstractSnapMessageData.SIZE_REQUEST);
+  }
+
+  @Test
+  public void shouldSizeRequestsToTargetResponseTime() {
+    throughput.recordRequest(0);
+    throughput.recordResponse(100_000, 1_000 * MILLIS);
+
+    assertThat(throughput.getBytesPerMilli()).isEqualTo(100.0);
+    assertThat(throughput.getResponseBytes())
+        .isEqualTo(BigInteger.valueOf(100 * SnapPeerThroughput.TARGET_RESPONSE_TIME.toMillis()));
+  }
+
+  @Test
+  public void shouldClampRequestSize() {
+    throughput.recordRequest(0);
+    throughput.recordResponse(1_000_000, MILLIS);
+    assertThat(throughput.getResponseBytes())
+        .isEqualTo(BigInteger.valueOf(SnapPeerThroughput.MAX_RESPONSE_BYTES));
+
+    final SnapPeerThroughput slowThroughput = new SnapPeerThroughput();
+    slowThroughput.recordRequest(0);
+    slowThroughput.recordResponse(1, 5_000 * MILLIS);
+    assertThat(slowThroughput.getResponseBytes())
+        .isEqualTo(BigInteger.valueOf(SnapPeerThroughput.MIN_RESPONSE_BYTES));
+  }
+
+  @Test
+  public void shouldLowerThroughputOnTimeout() {
+    throughput.recordRequest(0);
+    throughput.recordResponse(100_000, 1_000 * MILLIS);
+    throughput.recordRequest(1_000 * MILLIS);
+    throughput.recordTimeout(2_000 * MILLIS);
+
+    assertThat(throughput.getBytesPerMilli()).isCloseTo(90.0, within(1e-9));
+  }
+
+  @Test
+  public void shouldNotChargeConcurrentRequestsTheTimeTheyWaitForEachOther() {
+    // four requests sent at once, served one after the other at 100 bytes per millisecond
+    for (int i = 0; i < 4; i++) {
+      throughput.recordRequest(0);
+    }
+    throughput.recordResponse(25_000, 250 * MILLIS);
+    throughput.recordResponse(25_000, 500 * MILLIS);
+    throughput.recordResponse(25_000, 750 * MILLIS);
+    assertThat(throughput.isMeasured()).isFalse();
+    throughput.recordResponse(25_000, 1_000 * MILLIS);
+
+    assertThat(throughput.getBytesPerMilli()).isEqualTo(100.0);
+  }
+
+  @Test
+  public void shouldCloseWindowsWhileRequestsAreKeptOutstanding() {
+    throughput.recordRequest(0);
+    throughput.recordRequest(0);
+    throughput.recordResponse(50_000, 500 * MILLIS);
+    throughput.recordRequest(500 * MILLIS);
+    throughput.recordResponse(50_000, 1_000 * MILLIS);
+
+    assertThat(throughput.getBytesPerMilli()).isEqualTo(100.0);
+  }
+
+  @Test
+  public void shouldNotCountTheTimeThePeerIsIdle() {
+    throughput.recordRequest(0);
+    throughput.recordResponse(100_000, 1_000 * MILLIS);
+    throughput.recordRequest(60_000 * MILLIS);
+    throughput.recordResponse(100_000, 61_000 * MILLIS);
+
+    assertThat(throughput.getBytesPerMilli()).isEqualTo(100.0);
+  }
+}
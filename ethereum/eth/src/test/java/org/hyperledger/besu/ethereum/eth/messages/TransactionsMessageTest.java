@@ -49,4 +49,25 @@ public class TransactionsMessageTest {
     // Check that transactions match original inputs after transformations
     assertThat(message.transactions()).isEqualTo(transactions);
   }
+
+  @Test
+  public void lazyTransactionsAreHashedAndDecodedLikeTransactions() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      transactions.add(gen.transaction());
+    }
+
+    final TransactionsMessage message =
+        TransactionsMessage.readFrom(
+            new RawMessage(
+                EthProtocolMessages.TRANSACTIONS,
+                TransactionsMessage.create(transactions).getData()));
+
+    final List<TransactionsMessage.LazyTransaction> lazyTransactions = message.lazyTransactions();
+    assertThat(lazyTransactions.stream().map(TransactionsMessage.LazyTransaction::getHash))
+        .containsExactlyElementsOf(transactions.stream().map(Transaction::getHash).toList());
+    assertThat(lazyTransactions.stream().map(TransactionsMessage.LazyTransaction::decode))
+        .containsExactlyElementsOf(transactions);
+  }
 }
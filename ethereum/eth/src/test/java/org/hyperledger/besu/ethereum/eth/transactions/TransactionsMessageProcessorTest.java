@@ -19,8 +19,10 @@ import static java.time.Duration.ofMinutes;
 import static java.time.Instant.now;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -28,6 +30,8 @@ import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.metrics.StubMetricsSystem;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -55,7 +59,10 @@ public class TransactionsMessageProcessorTest {
 
     messageHandler =
         new TransactionsMessageProcessor(
-            transactionTracker, transactionPool, new TransactionPoolMetrics(metricsSystem));
+            transactionTracker,
+            transactionPool,
+            new TransactionPoolMetrics(metricsSystem),
+            Optional.empty());
   }
 
   @Test
@@ -67,7 +74,8 @@ public class TransactionsMessageProcessorTest {
         ofMinutes(1));
 
     verify(transactionTracker)
-        .markTransactionsAsSeen(peer1, asList(transaction1, transaction2, transaction3));
+        .markTransactionHashesAsSeen(
+            peer1, asList(transaction1.getHash(), transaction2.getHash(), transaction3.getHash()));
   }
 
   @Test
@@ -80,6 +88,18 @@ public class TransactionsMessageProcessorTest {
     verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction2, transaction3));
   }
 
+  @Test
+  public void shouldNotAddAlreadySeenTransactionsToTransactionPool() {
+    when(transactionTracker.hasSeenTransaction(any()))
+        .thenAnswer(invocation -> transaction2.getHash().equals(invocation.getArgument(0)));
+    messageHandler.processTransactionsMessage(
+        peer1,
+        TransactionsMessage.create(asList(transaction1, transaction2, transaction3)),
+        now(),
+        ofMinutes(1));
+    verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction3));
+  }
+
   @Test
   public void shouldNotMarkReceivedExpiredTransactionsAsSeen() {
     messageHandler.processTransactionsMessage(
@@ -48,6 +48,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolCo
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionAddedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionDroppedListener;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.RemovalReason;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
@@ -63,7 +64,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -547,6 +556,91 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
         .containsExactly(transaction0);
   }
 
+  @Test
+  public void readTransactionsWhileAddingRemovingAndSelecting() throws Exception {
+    final int txCount = 40;
+    final List<Transaction> txs =
+        IntStream.range(0, txCount)
+            .mapToObj(__ -> createTransaction(0, SIGNATURE_ALGORITHM.get().generateKeyPair()))
+            .toList();
+    // the selection invalidates every other transaction, which removes it from the pool
+    final Set<Transaction> invalidTxs =
+        IntStream.range(0, txCount)
+            .filter(i -> i % 2 == 0)
+            .mapToObj(txs::get)
+            .collect(Collectors.toSet());
+    final PendingTransactions.TransactionSelector selector =
+        pendingTx ->
+            invalidTxs.contains(pendingTx.getTransaction())
+                ? TransactionSelectionResult.invalid(UPFRONT_COST_EXCEEDS_BALANCE.name())
+                : SELECTED;
+
+    final AtomicBoolean adding = new AtomicBoolean(true);
+    final Runnable writer =
+        () -> {
+          try {
+            txs.forEach(
+                tx ->
+                    assertThat(
+                            pendingTransactions.addTransaction(
+                                createRemotePendingTransaction(tx), Optional.empty()))
+                        .isEqualTo(ADDED));
+          } finally {
+            adding.set(false);
+          }
+        };
+    final Runnable selection =
+        () -> {
+          while (adding.get()) {
+            pendingTransactions.selectTransactions(selector);
+          }
+        };
+    final Runnable reader =
+        () -> {
+          while (adding.get()) {
+            for (final Transaction tx : txs) {
+              pendingTransactions
+                  .getTransactionByHash(tx.getHash())
+                  .ifPresent(found -> assertThat(found).isEqualTo(tx));
+            }
+            final List<Transaction> pendingTxs =
+                pendingTransactions.getPendingTransactions().stream()
+                    .map(PendingTransaction::getTransaction)
+                    .toList();
+            assertThat(pendingTxs).doesNotHaveDuplicates().isSubsetOf(txs);
+            assertThat(pendingTransactions.size()).isBetween(0, txCount);
+          }
+        };
+
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CompletableFuture.allOf(
+              CompletableFuture.runAsync(writer, executor),
+              CompletableFuture.runAsync(selection, executor),
+              CompletableFuture.runAsync(reader, executor),
+              CompletableFuture.runAsync(reader, executor))
+          .get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    final List<Transaction> invalidatedTxs = new ArrayList<>();
+    pendingTransactions.selectTransactions(
+        pendingTx -> {
+          final var selectionResult = selector.evaluateTransaction(pendingTx);
+          if (selectionResult.discard()) {
+            invalidatedTxs.add(pendingTx.getTransaction());
+          }
+          return selectionResult;
+        });
+
+    assertThat(invalidatedTxs).isNotEmpty();
+    invalidatedTxs.forEach(tx -> assertThat(pendingTransactions.containsTransaction(tx)).isFalse());
+    txs.stream()
+        .filter(tx -> !invalidTxs.contains(tx))
+        .forEach(tx -> assertTransactionPending(pendingTransactions, tx));
+  }
+
   @Test
   public void returnEmptyOptionalAsMaximumNonceWhenNoTransactionsPresent() {
     assertThat(pendingTransactions.getNextNonceForSender(SENDER1)).isEmpty();
@@ -284,14 +284,18 @@ public class Framer {
     // Write message data to ByteBuf, decompressing as necessary
     final Bytes data;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      // decompress straight from the decrypted frame, without copying the compressed data out
+      final int compressedLength = frameData.length - pad - LENGTH_MESSAGE_ID;
+      final int uncompressedLength =
+          compressor.uncompressedLength(frameData, LENGTH_MESSAGE_ID, compressedLength);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
       Bytes _data;
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+        final byte[] decompressedMessageData = new byte[uncompressedLength];
+        compressor.decompress(
+            frameData, LENGTH_MESSAGE_ID, compressedLength, decompressedMessageData);
         _data = Bytes.wrap(decompressedMessageData);
         compressionSuccessful = true;
       } catch (final FramingException fe) {
@@ -45,6 +45,26 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Decompresses a range of an array into another array, which must be large enough to hold the
+   * uncompressed data.
+   *
+   * @param compressed the array holding the compressed data
+   * @param offset the offset of the compressed data in the array
+   * @param length the length of the compressed data
+   * @param output the array to write the uncompressed data to
+   * @return the length of the uncompressed data
+   */
+  public int decompress(
+      final byte[] compressed, final int offset, final int length, final byte[] output) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompress(compressed, offset, length, output, 0);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -53,4 +73,13 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompressedLength(compressed, offset, length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
 }
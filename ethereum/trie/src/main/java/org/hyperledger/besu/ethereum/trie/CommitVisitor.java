@@ -48,6 +48,7 @@ public class CommitVisitor<V> implements LocationNodeVisitor<V> {
       return;
     }
 
+    branchNode.hashLeafChildren();
     for (int i = 0; i < branchNode.maxChild(); ++i) {
       Bytes index = Bytes.of(i);
       final Node<V> child = branchNode.child((byte) i);
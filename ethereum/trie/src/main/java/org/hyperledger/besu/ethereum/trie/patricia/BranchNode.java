@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
+import static org.hyperledger.besu.crypto.Hash.keccak256Batch;
 
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
@@ -127,6 +128,7 @@ public class BranchNode<V> implements Node<V> {
         return encoded;
       }
     }
+    hashLeafChildren();
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     out.startList();
     for (int i = 0; i < maxChild(); ++i) {
@@ -165,6 +167,30 @@ public class BranchNode<V> implements Node<V> {
     return hashed;
   }
 
+  /**
+   * Hashes the leaf children of this branch that are referenced by hash and not hashed yet in a
+   * single batch, rather than one at a time as the branch is encoded or committed.
+   */
+  public void hashLeafChildren() {
+    List<LeafNode<V>> unhashedLeaves = null;
+    for (final Node<V> child : children) {
+      if (child instanceof LeafNode<V> leaf && !leaf.isHashed() && leaf.isReferencedByHash()) {
+        if (unhashedLeaves == null) {
+          unhashedLeaves = new ArrayList<>();
+        }
+        unhashedLeaves.add(leaf);
+      }
+    }
+    if (unhashedLeaves == null || unhashedLeaves.size() < 2) {
+      return;
+    }
+    final List<Bytes32> hashes =
+        keccak256Batch(unhashedLeaves.stream().map(LeafNode::getEncodedBytes).toList());
+    for (int i = 0; i < unhashedLeaves.size(); i++) {
+      unhashedLeaves.get(i).setHash(hashes.get(i));
+    }
+  }
+
   @Override
   public Node<V> replacePath(final Bytes newPath) {
     return nodeFactory.createExtension(newPath, this);
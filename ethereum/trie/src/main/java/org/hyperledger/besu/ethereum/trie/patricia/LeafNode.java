@@ -146,6 +146,15 @@ public class LeafNode<V> implements Node<V> {
     return hashed;
   }
 
+  boolean isHashed() {
+    final SoftReference<Bytes32> hashed = hash;
+    return hashed != null && hashed.get() != null;
+  }
+
+  void setHash(final Bytes32 hashed) {
+    hash = new SoftReference<>(hashed);
+  }
+
   @Override
   public Node<V> replacePath(final Bytes path) {
     return nodeFactory.createLeaf(path, value);
@@ -0,0 +1,330 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hyperledger.besu.ethereum.trie.CompactEncoding.bytesToPath;
+
+import org.hyperledger.besu.ethereum.trie.CommitVisitor;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.ethereum.trie.Node;
+import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.NodeUpdater;
+import org.hyperledger.besu.ethereum.trie.NullNode;
+import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
+import org.hyperledger.besu.ethereum.trie.Proof;
+import org.hyperledger.besu.ethereum.trie.StoredNode;
+import org.hyperledger.besu.ethereum.trie.TrieIterator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A {@link StoredMerklePatriciaTrie} that splits its work across the 16 subtries hanging off the
+ * root branch.
+ *
+ * <p>Calls to {@link #put(Bytes, Object)} and {@link #remove(Bytes)} are queued and only applied
+ * when the trie is next read or committed. If the root is a branch node, the queued updates are
+ * grouped by the first nibble of their path and each group is applied to its subtrie, and hashed,
+ * concurrently. The resulting trie is identical to the one built by applying the same updates in
+ * order, since the shape of a Patricia trie only depends on the entries it holds.
+ *
+ * <p>{@link #commit(NodeUpdater)} similarly walks the dirty subtries concurrently, buffering the
+ * node writes of each subtrie and handing them to the {@link NodeUpdater} from the calling thread,
+ * so the updater does not need to be thread safe.
+ *
+ * @param <V> The type of values stored by this trie.
+ */
+public class ParallelStoredMerklePatriciaTrie<K extends Bytes, V>
+    extends StoredMerklePatriciaTrie<K, V> {
+
+  /** Below this number of queued updates the parallel split is not worth its overhead. */
+  private static final int MIN_UPDATES_FOR_PARALLEL_PROCESSING = 16;
+
+  private static final int SUBTRIE_COUNT = 16;
+
+  private final Map<Bytes, Optional<V>> pendingUpdates = new LinkedHashMap<>();
+
+  public ParallelStoredMerklePatriciaTrie(
+      final NodeLoader nodeLoader,
+      final Function<V, Bytes> valueSerializer,
+      final Function<Bytes, V> valueDeserializer) {
+    super(nodeLoader, valueSerializer, valueDeserializer);
+  }
+
+  public ParallelStoredMerklePatriciaTrie(
+      final NodeLoader nodeLoader,
+      final Bytes32 rootHash,
+      final Function<V, Bytes> valueSerializer,
+      final Function<Bytes, V> valueDeserializer) {
+    super(nodeLoader, rootHash, valueSerializer, valueDeserializer);
+  }
+
+  @Override
+  public void put(final K key, final V value) {
+    checkNotNull(key);
+    checkNotNull(value);
+    pendingUpdates.put(bytesToPath(key), Optional.of(value));
+  }
+
+  @Override
+  public void putPath(final K path, final V value) {
+    checkNotNull(path);
+    checkNotNull(value);
+    pendingUpdates.put(path, Optional.of(value));
+  }
+
+  @Override
+  public void remove(final K key) {
+    checkNotNull(key);
+    pendingUpdates.put(bytesToPath(key), Optional.empty());
+  }
+
+  @Override
+  public void put(final K key, final PathNodeVisitor<V> putVisitor) {
+    processPendingUpdates();
+    super.put(key, putVisitor);
+  }
+
+  @Override
+  public void removePath(final K path, final PathNodeVisitor<V> removeVisitor) {
+    processPendingUpdates();
+    super.removePath(path, removeVisitor);
+  }
+
+  @Override
+  public Optional<V> get(final K key) {
+    processPendingUpdates();
+    return super.get(key);
+  }
+
+  @Override
+  public Optional<V> getPath(final K path) {
+    processPendingUpdates();
+    return super.getPath(path);
+  }
+
+  @Override
+  public Proof<V> getValueWithProof(final K key) {
+    processPendingUpdates();
+    return super.getValueWithProof(key);
+  }
+
+  @Override
+  public Map<Bytes32, V> entriesFrom(final Bytes32 startKeyHash, final int limit) {
+    processPendingUpdates();
+    return super.entriesFrom(startKeyHash, limit);
+  }
+
+  @Override
+  public Map<Bytes32, V> entriesFrom(final Function<Node<V>, Map<Bytes32, V>> handler) {
+    processPendingUpdates();
+    return super.entriesFrom(handler);
+  }
+
+  @Override
+  public void visitAll(final Consumer<Node<V>> nodeConsumer) {
+    processPendingUpdates();
+    super.visitAll(nodeConsumer);
+  }
+
+  @Override
+  public CompletableFuture<Void> visitAll(
+      final Consumer<Node<V>> nodeConsumer, final ExecutorService executorService) {
+    processPendingUpdates();
+    return super.visitAll(nodeConsumer, executorService);
+  }
+
+  @Override
+  public void visitLeafs(final TrieIterator.LeafHandler<V> handler) {
+    processPendingUpdates();
+    super.visitLeafs(handler);
+  }
+
+  @Override
+  public Bytes32 getRootHash() {
+    processPendingUpdates();
+    return super.getRootHash();
+  }
+
+  @Override
+  public void commit(final NodeUpdater nodeUpdater, final CommitVisitor<V> commitVisitor) {
+    processPendingUpdates();
+    super.commit(nodeUpdater, commitVisitor);
+  }
+
+  @Override
+  public void commit(final NodeUpdater nodeUpdater) {
+    processPendingUpdates();
+    if (!(root instanceof BranchNode<V> branchNode) || !branchNode.isDirty()) {
+      super.commit(nodeUpdater);
+      return;
+    }
+
+    final List<List<NodeWrite>> subtrieWrites =
+        IntStream.range(0, SUBTRIE_COUNT)
+            .parallel()
+            .mapToObj(index -> commitSubtrie(index, branchNode.child((byte) index)))
+            .toList();
+    subtrieWrites.forEach(
+        writes ->
+            writes.forEach(write -> nodeUpdater.store(write.location, write.hash, write.value)));
+    new CommitVisitor<V>(nodeUpdater).maybeStoreNode(Bytes.EMPTY, branchNode);
+
+    // Make sure root node was stored
+    if (branchNode.getEncodedBytesRef().size() < 32) {
+      nodeUpdater.store(Bytes.EMPTY, branchNode.getHash(), branchNode.getEncodedBytesRef());
+    }
+    // Reset root so dirty nodes can be garbage collected
+    final Bytes32 rootHash = branchNode.getHash();
+    this.root =
+        rootHash.equals(EMPTY_TRIE_NODE_HASH)
+            ? NullNode.instance()
+            : new StoredNode<>(nodeFactory, Bytes.EMPTY, rootHash);
+  }
+
+  private List<NodeWrite> commitSubtrie(final int index, final Node<V> child) {
+    if (!child.isDirty()) {
+      return List.of();
+    }
+    final List<NodeWrite> writes = new ArrayList<>();
+    child.accept(
+        Bytes.of(index),
+        new CommitVisitor<>(
+            (location, hash, value) -> writes.add(new NodeWrite(location, hash, value))));
+    return writes;
+  }
+
+  private void processPendingUpdates() {
+    if (pendingUpdates.isEmpty()) {
+      return;
+    }
+    final Map<Bytes, Optional<V>> updates = new LinkedHashMap<>(pendingUpdates);
+    pendingUpdates.clear();
+
+    if (updates.size() < MIN_UPDATES_FOR_PARALLEL_PROCESSING
+        || !processUpdatesInParallel(updates)) {
+      updates.forEach(this::applyUpdate);
+    }
+  }
+
+  /**
+   * Applies the updates to the subtries of the root branch concurrently.
+   *
+   * @param updates the updates to apply, keyed by path
+   * @return false if the updates could not be split by subtrie, in which case the trie is left
+   *     untouched
+   */
+  private boolean processUpdatesInParallel(final Map<Bytes, Optional<V>> updates) {
+    final Node<V> resolvedRoot = root.accept(new NodeResolver<>(), Bytes.EMPTY);
+    if (!(resolvedRoot instanceof BranchNode<V> branchNode)) {
+      return false;
+    }
+
+    final List<List<Map.Entry<Bytes, Optional<V>>>> updatesBySubtrie =
+        new ArrayList<>(SUBTRIE_COUNT);
+    for (int i = 0; i < SUBTRIE_COUNT; i++) {
+      updatesBySubtrie.add(new ArrayList<>());
+    }
+    for (final Map.Entry<Bytes, Optional<V>> update : updates.entrySet()) {
+      final byte nibble = update.getKey().get(0);
+      if (nibble == CompactEncoding.LEAF_TERMINATOR) {
+        // the update targets the value of the root branch itself
+        return false;
+      }
+      updatesBySubtrie.get(nibble).add(update);
+    }
+
+    final List<Node<V>> children =
+        IntStream.range(0, SUBTRIE_COUNT)
+            .parallel()
+            .mapToObj(
+                index ->
+                    updateSubtrie(branchNode.child((byte) index), updatesBySubtrie.get(index)))
+            .toList();
+
+    final long remainingChildren = children.stream().filter(child -> !isNull(child)).count();
+    if (remainingChildren < 2) {
+      // the root branch has to be collapsed, leave that to the sequential path
+      return false;
+    }
+    this.root = nodeFactory.createBranch(new ArrayList<>(children), branchNode.getValue());
+    return true;
+  }
+
+  private Node<V> updateSubtrie(
+      final Node<V> subtrie, final List<Map.Entry<Bytes, Optional<V>>> updates) {
+    if (updates.isEmpty()) {
+      return subtrie;
+    }
+    Node<V> updated = subtrie;
+    for (final Map.Entry<Bytes, Optional<V>> update : updates) {
+      final Bytes subtriePath = update.getKey().slice(1);
+      updated = updated.accept(visitorFor(update.getValue()), subtriePath);
+    }
+    // hash the subtrie on this thread so the root hash only has to combine the children
+    updated.getHash();
+    return updated;
+  }
+
+  private void applyUpdate(final Bytes path, final Optional<V> value) {
+    this.root = root.accept(visitorFor(value), path);
+  }
+
+  private PathNodeVisitor<V> visitorFor(final Optional<V> value) {
+    return value.map(this::getPutVisitor).orElseGet(this::getRemoveVisitor);
+  }
+
+  private boolean isNull(final Node<V> node) {
+    return node instanceof NullNode;
+  }
+
+  private record NodeWrite(Bytes location, Bytes32 hash, Bytes value) {}
+
+  /** Returns the visited node as is, loading it first if it is a stored node. */
+  private static class NodeResolver<V> implements PathNodeVisitor<V> {
+
+    @Override
+    public Node<V> visit(final ExtensionNode<V> extensionNode, final Bytes path) {
+      return extensionNode;
+    }
+
+    @Override
+    public Node<V> visit(final BranchNode<V> branchNode, final Bytes path) {
+      return branchNode;
+    }
+
+    @Override
+    public Node<V> visit(final LeafNode<V> leafNode, final Bytes path) {
+      return leafNode;
+    }
+
+    @Override
+    public Node<V> visit(final NullNode<V> nullNode, final Bytes path) {
+      return nullNode;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.trie.KeyValueMerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class ParallelStoredMerklePatriciaTrieTest extends AbstractMerklePatriciaTrieTest {
+  private final Function<String, Bytes> valueSerializer =
+      value -> (value != null) ? Bytes.wrap(value.getBytes(StandardCharsets.UTF_8)) : null;
+  private final Function<Bytes, String> valueDeserializer =
+      bytes -> new String(bytes.toArrayUnsafe(), StandardCharsets.UTF_8);
+
+  @Override
+  protected MerkleTrie<Bytes, String> createTrie() {
+    final MerkleStorage merkleStorage = new KeyValueMerkleStorage(new InMemoryKeyValueStorage());
+    return new ParallelStoredMerklePatriciaTrie<>(
+        merkleStorage::get, valueSerializer, valueDeserializer);
+  }
+
+  @Test
+  public void matchesSequentialTrieAcrossCommits() {
+    final Map<Bytes, Bytes> parallelNodes = new HashMap<>();
+    final Map<Bytes, Bytes> sequentialNodes = new HashMap<>();
+    final MerkleTrie<Bytes32, String> parallelTrie =
+        new ParallelStoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.ofNullable(parallelNodes.get(location)),
+            valueSerializer,
+            valueDeserializer);
+    final MerkleTrie<Bytes32, String> sequentialTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.ofNullable(sequentialNodes.get(location)),
+            valueSerializer,
+            valueDeserializer);
+
+    final Random random = new Random(1);
+    final List<Bytes32> keys = new ArrayList<>();
+    for (int block = 0; block < 10; block++) {
+      for (int i = 0; i < 200; i++) {
+        if (!keys.isEmpty() && random.nextInt(4) == 0) {
+          final Bytes32 key = keys.remove(random.nextInt(keys.size()));
+          parallelTrie.remove(key);
+          sequentialTrie.remove(key);
+        } else {
+          final Bytes32 key =
+              !keys.isEmpty() && random.nextBoolean()
+                  ? keys.get(random.nextInt(keys.size()))
+                  : Bytes32.random(random);
+          final String value = "value" + random.nextInt();
+          keys.add(key);
+          parallelTrie.put(key, value);
+          sequentialTrie.put(key, value);
+        }
+      }
+      parallelTrie.commit((location, hash, value) -> parallelNodes.put(location, value));
+      sequentialTrie.commit((location, hash, value) -> sequentialNodes.put(location, value));
+
+      assertThat(parallelTrie.getRootHash()).isEqualTo(sequentialTrie.getRootHash());
+      assertThat(parallelNodes).isEqualTo(sequentialNodes);
+    }
+
+    // removing almost everything forces the root branch to collapse
+    final Bytes32 remaining = keys.get(0);
+    keys.stream()
+        .filter(key -> !key.equals(remaining))
+        .forEach(
+            key -> {
+              parallelTrie.remove(key);
+              sequentialTrie.remove(key);
+            });
+    assertThat(parallelTrie.getRootHash()).isEqualTo(sequentialTrie.getRootHash());
+    assertThat(parallelTrie.get(remaining)).isEqualTo(sequentialTrie.get(remaining));
+  }
+}
@@ -20,6 +20,8 @@ import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeV0;
+import org.hyperledger.besu.evm.code.DecodedCode;
 import org.hyperledger.besu.evm.code.EOFLayout;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -27,6 +29,7 @@ import org.hyperledger.besu.evm.frame.MessageFrame.State;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.CodeCache;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 import org.hyperledger.besu.evm.internal.OverflowException;
 import org.hyperledger.besu.evm.internal.UnderflowException;
 import org.hyperledger.besu.evm.operation.AddModOperation;
@@ -36,6 +39,7 @@ import org.hyperledger.besu.evm.operation.ByteOperation;
 import org.hyperledger.besu.evm.operation.ChainIdOperation;
 import org.hyperledger.besu.evm.operation.DivOperation;
 import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.EqOperation;
 import org.hyperledger.besu.evm.operation.ExpOperation;
 import org.hyperledger.besu.evm.operation.GtOperation;
 import org.hyperledger.besu.evm.operation.InvalidOperation;
@@ -44,6 +48,8 @@ import org.hyperledger.besu.evm.operation.JumpDestOperation;
 import org.hyperledger.besu.evm.operation.JumpOperation;
 import org.hyperledger.besu.evm.operation.JumpiOperation;
 import org.hyperledger.besu.evm.operation.LtOperation;
+import org.hyperledger.besu.evm.operation.MLoadOperation;
+import org.hyperledger.besu.evm.operation.MStoreOperation;
 import org.hyperledger.besu.evm.operation.ModOperation;
 import org.hyperledger.besu.evm.operation.MulModOperation;
 import org.hyperledger.besu.evm.operation.MulOperation;
@@ -59,6 +65,9 @@ import org.hyperledger.besu.evm.operation.SDivOperation;
 import org.hyperledger.besu.evm.operation.SGtOperation;
 import org.hyperledger.besu.evm.operation.SLtOperation;
 import org.hyperledger.besu.evm.operation.SModOperation;
+import org.hyperledger.besu.evm.operation.SarOperation;
+import org.hyperledger.besu.evm.operation.ShlOperation;
+import org.hyperledger.besu.evm.operation.ShrOperation;
 import org.hyperledger.besu.evm.operation.SignExtendOperation;
 import org.hyperledger.besu.evm.operation.StopOperation;
 import org.hyperledger.besu.evm.operation.SubOperation;
@@ -94,6 +103,7 @@ public class EVM {
   private final EvmSpecVersion evmSpecVersion;
 
   // Optimized operation flags
+  private final boolean enableConstantinople;
   private final boolean enableShanghai;
 
   /**
@@ -121,6 +131,7 @@ public class EVM {
             evmSpecVersion.maxEofVersion,
             evmConfiguration.maxInitcodeSizeOverride().orElse(evmSpecVersion.maxInitcodeSize));
 
+    enableConstantinople = EvmSpecVersion.CONSTANTINOPLE.ordinal() <= evmSpecVersion.ordinal();
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
   }
 
@@ -169,6 +180,15 @@ public class EVM {
     return evmConfiguration;
   }
 
+  /**
+   * Whether message frames executed by this EVM should be built with a {@link LimbOperandStack}.
+   *
+   * @return true if the limb operand stack is enabled
+   */
+  public boolean isLimbOperandStackEnabled() {
+    return evmConfiguration.limbOperandStack();
+  }
+
   /**
    * Returns the configured EVM spec version for this EVM
    *
@@ -207,6 +227,28 @@ public class EVM {
     evmSpecVersion.maybeWarnVersion();
 
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
+    if (frame.getOperandStack() instanceof LimbOperandStack limbStack) {
+      if (operationTracer == null
+          && evmConfiguration.decodedCode()
+          && frame.getCode() instanceof CodeV0 codeV0) {
+        runToHaltOnDecodedCode(
+            frame, limbStack, codeV0.getDecodedCode(evmSpecVersion, gasCalculator));
+      } else {
+        runToHaltOnStack(frame, operationTracer, limbStack);
+      }
+    } else {
+      runToHaltOnStack(frame, operationTracer, null);
+    }
+  }
+
+  // The interpreter loop, dispatching the stack and memory word operations to their limb
+  // implementations when the frame has a limb stack, and to their Bytes implementations otherwise.
+  // The limb stack is null for a Bytes stack, so the choice is a branch that never changes within
+  // a frame.
+  private void runToHaltOnStack(
+      final MessageFrame frame,
+      final OperationTracer operationTracer,
+      final LimbOperandStack limbStack) {
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
@@ -230,36 +272,127 @@ public class EVM {
         result =
             switch (opcode) {
               case 0x00 -> StopOperation.staticOperation(frame);
-              case 0x01 -> AddOperation.staticOperation(frame);
-              case 0x02 -> MulOperation.staticOperation(frame);
-              case 0x03 -> SubOperation.staticOperation(frame);
-              case 0x04 -> DivOperation.staticOperation(frame);
+              case 0x01 ->
+                  limbStack != null
+                      ? AddOperation.limbOperation(limbStack)
+                      : AddOperation.staticOperation(frame);
+              case 0x02 ->
+                  limbStack != null
+                      ? MulOperation.limbOperation(limbStack)
+                      : MulOperation.staticOperation(frame);
+              case 0x03 ->
+                  limbStack != null
+                      ? SubOperation.limbOperation(limbStack)
+                      : SubOperation.staticOperation(frame);
+              case 0x04 ->
+                  limbStack != null
+                      ? DivOperation.limbOperation(frame, limbStack)
+                      : DivOperation.staticOperation(frame);
               case 0x05 -> SDivOperation.staticOperation(frame);
-              case 0x06 -> ModOperation.staticOperation(frame);
+              case 0x06 ->
+                  limbStack != null
+                      ? ModOperation.limbOperation(frame, limbStack)
+                      : ModOperation.staticOperation(frame);
               case 0x07 -> SModOperation.staticOperation(frame);
               case 0x08 -> AddModOperation.staticOperation(frame);
               case 0x09 -> MulModOperation.staticOperation(frame);
               case 0x0a -> ExpOperation.staticOperation(frame, gasCalculator);
-              case 0x0b -> SignExtendOperation.staticOperation(frame);
+              case 0x0b ->
+                  limbStack != null
+                      ? SignExtendOperation.limbOperation(limbStack)
+                      : SignExtendOperation.staticOperation(frame);
               case 0x0c, 0x0d, 0x0e, 0x0f -> InvalidOperation.invalidOperationResult(opcode);
-              case 0x10 -> LtOperation.staticOperation(frame);
-              case 0x11 -> GtOperation.staticOperation(frame);
-              case 0x12 -> SLtOperation.staticOperation(frame);
-              case 0x13 -> SGtOperation.staticOperation(frame);
-              case 0x15 -> IsZeroOperation.staticOperation(frame);
-              case 0x16 -> AndOperation.staticOperation(frame);
-              case 0x17 -> OrOperation.staticOperation(frame);
-              case 0x18 -> XorOperation.staticOperation(frame);
-              case 0x19 -> NotOperation.staticOperation(frame);
-              case 0x1a -> ByteOperation.staticOperation(frame);
-              case 0x50 -> PopOperation.staticOperation(frame);
-              case 0x56 -> JumpOperation.staticOperation(frame);
-              case 0x57 -> JumpiOperation.staticOperation(frame);
+              case 0x10 ->
+                  limbStack != null
+                      ? LtOperation.limbOperation(limbStack)
+                      : LtOperation.staticOperation(frame);
+              case 0x11 ->
+                  limbStack != null
+                      ? GtOperation.limbOperation(limbStack)
+                      : GtOperation.staticOperation(frame);
+              case 0x12 ->
+                  limbStack != null
+                      ? SLtOperation.limbOperation(limbStack)
+                      : SLtOperation.staticOperation(frame);
+              case 0x13 ->
+                  limbStack != null
+                      ? SGtOperation.limbOperation(limbStack)
+                      : SGtOperation.staticOperation(frame);
+              case 0x14 ->
+                  limbStack != null
+                      ? EqOperation.limbOperation(limbStack)
+                      : currentOperation.execute(frame, this);
+              case 0x15 ->
+                  limbStack != null
+                      ? IsZeroOperation.limbOperation(limbStack)
+                      : IsZeroOperation.staticOperation(frame);
+              case 0x16 ->
+                  limbStack != null
+                      ? AndOperation.limbOperation(limbStack)
+                      : AndOperation.staticOperation(frame);
+              case 0x17 ->
+                  limbStack != null
+                      ? OrOperation.limbOperation(limbStack)
+                      : OrOperation.staticOperation(frame);
+              case 0x18 ->
+                  limbStack != null
+                      ? XorOperation.limbOperation(limbStack)
+                      : XorOperation.staticOperation(frame);
+              case 0x19 ->
+                  limbStack != null
+                      ? NotOperation.limbOperation(limbStack)
+                      : NotOperation.staticOperation(frame);
+              case 0x1a ->
+                  limbStack != null
+                      ? ByteOperation.limbOperation(limbStack)
+                      : ByteOperation.staticOperation(frame);
+              case 0x1b ->
+                  limbStack == null
+                      ? currentOperation.execute(frame, this)
+                      : enableConstantinople
+                          ? ShlOperation.limbOperation(limbStack)
+                          : InvalidOperation.invalidOperationResult(opcode);
+              case 0x1c ->
+                  limbStack == null
+                      ? currentOperation.execute(frame, this)
+                      : enableConstantinople
+                          ? ShrOperation.limbOperation(limbStack)
+                          : InvalidOperation.invalidOperationResult(opcode);
+              case 0x1d ->
+                  limbStack == null
+                      ? currentOperation.execute(frame, this)
+                      : enableConstantinople
+                          ? SarOperation.limbOperation(limbStack)
+                          : InvalidOperation.invalidOperationResult(opcode);
+              case 0x50 ->
+                  limbStack != null
+                      ? PopOperation.limbOperation(limbStack)
+                      : PopOperation.staticOperation(frame);
+              case 0x51 ->
+                  limbStack != null
+                      ? MLoadOperation.limbOperation(
+                          frame, limbStack, gasCalculator, operationTracer != null)
+                      : currentOperation.execute(frame, this);
+              case 0x52 ->
+                  limbStack != null
+                      ? MStoreOperation.limbOperation(
+                          frame, limbStack, gasCalculator, operationTracer != null)
+                      : currentOperation.execute(frame, this);
+              case 0x56 ->
+                  limbStack != null
+                      ? JumpOperation.limbOperation(frame, limbStack)
+                      : JumpOperation.staticOperation(frame);
+              case 0x57 ->
+                  limbStack != null
+                      ? JumpiOperation.limbOperation(frame, limbStack)
+                      : JumpiOperation.staticOperation(frame);
               case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
               case 0x5f ->
-                  enableShanghai
-                      ? Push0Operation.staticOperation(frame)
-                      : InvalidOperation.invalidOperationResult(opcode);
+                  !enableShanghai
+                      ? InvalidOperation.invalidOperationResult(opcode)
+                      : limbStack != null
+                          ? Push0Operation.limbOperation(limbStack)
+                          : Push0Operation.staticOperation(frame);
               case 0x60, // PUSH1-32
                   0x61,
                   0x62,
@@ -292,7 +425,9 @@ public class EVM {
                   0x7d,
                   0x7e,
                   0x7f ->
-                  PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+                  limbStack != null
+                      ? PushOperation.limbOperation(frame, limbStack, code, pc, opcode - PUSH_BASE)
+                      : PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
               case 0x80, // DUP1-16
                   0x81,
                   0x82,
@@ -309,7 +444,9 @@ public class EVM {
                   0x8d,
                   0x8e,
                   0x8f ->
-                  DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+                  limbStack != null
+                      ? DupOperation.limbOperation(limbStack, opcode - DupOperation.DUP_BASE)
+                      : DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
               case 0x90, // SWAP1-16
                   0x91,
                   0x92,
@@ -326,8 +463,10 @@ public class EVM {
                   0x9d,
                   0x9e,
                   0x9f ->
-                  SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
-              default -> { // unoptimized operations
+                  limbStack != null
+                      ? SwapOperation.limbOperation(limbStack, opcode - SWAP_BASE)
+                      : SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+              default -> { // unoptimized operations, using the Bytes view of the stack
                 frame.setCurrentOperation(currentOperation);
                 yield currentOperation.execute(frame, this);
               }
@@ -357,6 +496,206 @@ public class EVM {
     }
   }
 
+
+  // Runs legacy code from its decoded form: PUSH immediates are already limbs, PUSH+JUMP and
+  // PUSH+JUMPI destinations are already resolved and the static gas of a basic block is charged
+  // when entering it. Only used without a tracer, as it does not stop between the operations of a
+  // block. Falls back to runToHaltOnStack when a block costs more than the remaining gas or needs
+  // more stack items than there are, so that the frame halts on the same operation and for the same
+  // reason, such as a stack underflow rather than a lack of gas.
+  private void runToHaltOnDecodedCode(
+      final MessageFrame frame, final LimbOperandStack stack, final DecodedCode decodedCode) {
+    final int[] ops = decodedCode.getOps();
+    final int[] pcs = decodedCode.getPcs();
+    final int[] args = decodedCode.getArgs();
+    final int[] blockGas = decodedCode.getBlockGas();
+    final int[] blockStackItems = decodedCode.getBlockStackItems();
+    final long[] pushLimbs = decodedCode.getPushLimbs();
+    final Operation[] operationArray = operations.getOperations();
+    int i = decodedCode.instructionIndex(frame.getPC());
+    if (i < 0) {
+      runToHaltOnStack(frame, null, stack);
+      return;
+    }
+    while (true) {
+      final int gas = blockGas[i];
+      if (gas != 0) {
+        if (frame.getRemainingGas() < gas || stack.size() < blockStackItems[i]) {
+          frame.setPC(pcs[i]);
+          runToHaltOnStack(frame, null, stack);
+          return;
+        }
+        frame.decrementRemainingGas(gas);
+      }
+      int next = i + 1;
+      final int op = ops[i];
+      try {
+        switch (op) {
+          case 0x01 -> stack.add();
+          case 0x02 -> stack.mul();
+          case 0x03 -> stack.sub();
+          case 0x04 -> DivOperation.limbOperation(frame, stack);
+          case 0x06 -> ModOperation.limbOperation(frame, stack);
+          case 0x0b -> stack.signExtend();
+          case 0x10 -> stack.lt();
+          case 0x11 -> stack.gt();
+          case 0x12 -> stack.slt();
+          case 0x13 -> stack.sgt();
+          case 0x14 -> stack.eq();
+          case 0x15 -> stack.isZero();
+          case 0x16 -> stack.and();
+          case 0x17 -> stack.or();
+          case 0x18 -> stack.xor();
+          case 0x19 -> stack.not();
+          case 0x1a -> stack.byteOp();
+          case 0x1b -> stack.shl();
+          case 0x1c -> stack.shr();
+          case 0x1d -> stack.sar();
+          case 0x50 -> stack.bulkPop(1);
+          case 0x56 -> next = decodedCode.jumpDestinationIndex(stack.popAsInt());
+          case 0x57 -> {
+            final int jumpDestination = stack.popAsInt();
+            if (!stack.popIsZero()) {
+              next = decodedCode.jumpDestinationIndex(jumpDestination);
+            }
+          }
+          case 0x5b -> {} // JUMPDEST, charged with its block
+          case 0x5f -> stack.pushLong(0L);
+          case 0x60, // PUSH1-32
+              0x61,
+              0x62,
+              0x63,
+              0x64,
+              0x65,
+              0x66,
+              0x67,
+              0x68,
+              0x69,
+              0x6a,
+              0x6b,
+              0x6c,
+              0x6d,
+              0x6e,
+              0x6f,
+              0x70,
+              0x71,
+              0x72,
+              0x73,
+              0x74,
+              0x75,
+              0x76,
+              0x77,
+              0x78,
+              0x79,
+              0x7a,
+              0x7b,
+              0x7c,
+              0x7d,
+              0x7e,
+              0x7f -> {
+            final int limb = args[i];
+            stack.push(
+                pushLimbs[limb], pushLimbs[limb + 1], pushLimbs[limb + 2], pushLimbs[limb + 3]);
+          }
+          case 0x80, // DUP1-16
+              0x81,
+              0x82,
+              0x83,
+              0x84,
+              0x85,
+              0x86,
+              0x87,
+              0x88,
+              0x89,
+              0x8a,
+              0x8b,
+              0x8c,
+              0x8d,
+              0x8e,
+              0x8f ->
+              stack.dup(args[i]);
+          case 0x90, // SWAP1-16
+              0x91,
+              0x92,
+              0x93,
+              0x94,
+              0x95,
+              0x96,
+              0x97,
+              0x98,
+              0x99,
+              0x9a,
+              0x9b,
+              0x9c,
+              0x9d,
+              0x9e,
+              0x9f ->
+              stack.swap(args[i]);
+          case DecodedCode.PUSH_JUMP -> {
+            if (stack.isFull()) {
+              throw new OverflowException();
+            }
+            next = args[i];
+          }
+          case DecodedCode.PUSH_JUMPI -> {
+            if (stack.isFull()) {
+              throw new OverflowException();
+            }
+            if (!stack.popIsZero()) {
+              next = args[i];
+            }
+          }
+          default -> { // operations run through the registry, charging their own gas
+            final Operation operation = operationArray[op & 0xff];
+            frame.setPC(pcs[i]);
+            frame.setCurrentOperation(operation);
+            final OperationResult result = operation.execute(frame, this);
+            final ExceptionalHaltReason haltReason = result.getHaltReason();
+            if (haltReason != null) {
+              exceptionalHalt(frame, haltReason);
+              return;
+            }
+            if (frame.decrementRemainingGas(result.getGasCost()) < 0) {
+              exceptionalHalt(frame, ExceptionalHaltReason.INSUFFICIENT_GAS);
+              return;
+            }
+            if (frame.getState() != State.CODE_EXECUTING) {
+              return;
+            }
+            final int pc = frame.getPC() + result.getPcIncrement();
+            frame.setPC(pc);
+            next = pcs[next] == pc ? next : decodedCode.instructionIndex(pc);
+            if (next < 0) {
+              runToHaltOnStack(frame, null, stack);
+              return;
+            }
+          }
+        }
+      } catch (final OverflowException oe) {
+        frame.setPC(pcs[i]);
+        exceptionalHalt(frame, ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
+        return;
+      } catch (final UnderflowException ue) {
+        frame.setPC(pcs[i]);
+        exceptionalHalt(frame, ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
+        return;
+      }
+      if (next < 0) {
+        frame.setPC(pcs[i]);
+        exceptionalHalt(frame, ExceptionalHaltReason.INVALID_JUMP_DESTINATION);
+        return;
+      }
+      i = next;
+    }
+  }
+
+  private static void exceptionalHalt(
+      final MessageFrame frame, final ExceptionalHaltReason haltReason) {
+    LOG.trace("MessageFrame evaluation halted because of {}", haltReason);
+    frame.setExceptionalHaltReason(Optional.of(haltReason));
+    frame.setState(State.EXCEPTIONAL_HALT);
+  }
+
   /**
    * Get Operations (unsafe)
    *
@@ -383,6 +722,16 @@ public class EVM {
     return result;
   }
 
+  /**
+   * Gets code from the code cache, without analysing it when it is not there.
+   *
+   * @param codeHash the code hash
+   * @return the code, if it is in the code cache
+   */
+  public Optional<Code> getCachedCode(final Hash codeHash) {
+    return Optional.ofNullable(codeCache.getIfPresent(codeHash));
+  }
+
   /**
    * Gets code skipping the code cache.
    *
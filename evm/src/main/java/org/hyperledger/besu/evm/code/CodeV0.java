@@ -17,6 +17,8 @@ package org.hyperledger.besu.evm.code;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.EvmSpecVersion;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.Words;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 
@@ -45,6 +47,9 @@ public class CodeV0 implements Code {
   /** Used to cache valid jump destinations. */
   private long[] validJumpDestinations;
 
+  /** Used to cache the decoded form of the code. */
+  private DecodedCode decodedCode;
+
   /** Code section info for the legacy code */
   private final CodeSection codeSectionZero;
 
@@ -128,6 +133,23 @@ public class CodeV0 implements Code {
     return (targetLong & targetBit) == 0L;
   }
 
+  /**
+   * Gets the decoded form of the code, decoding it on first use.
+   *
+   * @param specVersion the spec version of the EVM the code is run on
+   * @param gasCalculator the gas calculator of the EVM the code is run on
+   * @return the decoded code
+   */
+  public DecodedCode getDecodedCode(
+      final EvmSpecVersion specVersion, final GasCalculator gasCalculator) {
+    DecodedCode decoded = decodedCode;
+    if (decoded == null || !decoded.isFor(specVersion, gasCalculator)) {
+      decoded = DecodedCode.decode(bytes.toArrayUnsafe(), specVersion, gasCalculator);
+      decodedCode = decoded;
+    }
+    return decoded;
+  }
+
   @Override
   public boolean isValid() {
     return true;
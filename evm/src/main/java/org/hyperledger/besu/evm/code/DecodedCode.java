@@ -0,0 +1,398 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
+
+import org.hyperledger.besu.evm.EvmSpecVersion;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+
+import java.util.Arrays;
+
+/**
+ * Legacy code translated once into an array of instructions, for the decoded interpreter loop of
+ * the EVM.
+ *
+ * <p>Each instruction has its opcode, the program counter it was read from and an argument: the
+ * offset of its immediate in the PUSH limbs, the depth of a DUP or SWAP, or the instruction a
+ * PUSH+JUMP or PUSH+JUMPI jumps to. Instructions that only touch the stack and have a fixed cost
+ * are grouped in basic blocks whose static gas, taken from the gas calculator of the fork, and the
+ * number of stack items they need are held by their first instruction. Any other
+ * operation is flagged as {@link #GENERIC}: it is run through the operation registry, charges its
+ * own gas, and ends the current block. This keeps the operations that observe the remaining gas,
+ * such as GAS, CALL and SSTORE, seeing the same value as with per operation charging.
+ *
+ * <p>The translation depends on the operations enabled in the fork and on their costs, so it is
+ * tied to the spec version and gas calculator it was built for.
+ */
+public final class DecodedCode {
+
+  /** A PUSH followed by a JUMP, whose destination is resolved when decoding. */
+  public static final int PUSH_JUMP = 0x100;
+
+  /** A PUSH followed by a JUMPI, whose destination is resolved when decoding. */
+  public static final int PUSH_JUMPI = 0x101;
+
+  /** Flag of the operations run through the operation registry, or'ed with their opcode. */
+  public static final int GENERIC = 0x200;
+
+  private static final int JUMP = 0x56;
+  private static final int JUMPI = 0x57;
+  private static final int LIMBS = 4;
+
+  private final EvmSpecVersion specVersion;
+  private final GasCalculator gasCalculator;
+  private final int[] ops;
+  private final int[] pcs;
+  private final int[] args;
+  private final int[] blockGas;
+  private final int[] blockStackItems;
+  private final long[] pushLimbs;
+  private final int[] jumpDestIndex;
+
+  private DecodedCode(
+      final EvmSpecVersion specVersion,
+      final GasCalculator gasCalculator,
+      final int[] ops,
+      final int[] pcs,
+      final int[] args,
+      final int[] blockGas,
+      final int[] blockStackItems,
+      final long[] pushLimbs,
+      final int[] jumpDestIndex) {
+    this.specVersion = specVersion;
+    this.gasCalculator = gasCalculator;
+    this.ops = ops;
+    this.pcs = pcs;
+    this.args = args;
+    this.blockGas = blockGas;
+    this.blockStackItems = blockStackItems;
+    this.pushLimbs = pushLimbs;
+    this.jumpDestIndex = jumpDestIndex;
+  }
+
+  /**
+   * Decodes legacy code. The last instruction is a STOP at the end of the code, so that running
+   * off the end of the code halts like the interpreter does.
+   *
+   * @param code the bytes of the code
+   * @param specVersion the spec version of the EVM the code is run on
+   * @param gasCalculator the gas calculator of the EVM the code is run on
+   * @return the decoded code
+   */
+  public static DecodedCode decode(
+      final byte[] code, final EvmSpecVersion specVersion, final GasCalculator gasCalculator) {
+    final boolean enableConstantinople =
+        EvmSpecVersion.CONSTANTINOPLE.ordinal() <= specVersion.ordinal();
+    final boolean enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= specVersion.ordinal();
+    final int length = code.length;
+
+    int maxInstructions = 1;
+    int pushCount = 0;
+    for (int pc = 0; pc < length; pc += pcAdvance(code[pc] & 0xff)) {
+      maxInstructions++;
+      if (isPush(code[pc] & 0xff)) {
+        pushCount++;
+      }
+    }
+
+    int[] ops = new int[maxInstructions];
+    int[] pcs = new int[maxInstructions];
+    int[] args = new int[maxInstructions];
+    long[] pushLimbs = new long[pushCount * LIMBS];
+    final int[] jumpDestIndex = new int[length];
+    Arrays.fill(jumpDestIndex, -1);
+
+    int count = 0;
+    int limbOffset = 0;
+    int pc = 0;
+    while (pc < length) {
+      final int opcode = code[pc] & 0xff;
+      pcs[count] = pc;
+      if (isPush(opcode)) {
+        final int pushSize = opcode - PUSH_BASE;
+        final int next = pc + 1 + pushSize;
+        final int nextOpcode = next < length ? code[next] & 0xff : -1;
+        if (nextOpcode == JUMP || nextOpcode == JUMPI) {
+          ops[count] = nextOpcode == JUMP ? PUSH_JUMP : PUSH_JUMPI;
+          args[count] = readJumpDestination(code, pc + 1, pushSize);
+          pc = next + 1;
+        } else {
+          ops[count] = opcode;
+          args[count] = limbOffset;
+          readLimbs(code, pc + 1, pushSize, pushLimbs, limbOffset);
+          limbOffset += LIMBS;
+          pc = next;
+        }
+      } else {
+        final boolean blockOperation =
+            isBlockOperation(opcode, enableConstantinople, enableShanghai);
+        ops[count] = blockOperation ? opcode : GENERIC | opcode;
+        if (opcode == JumpDestOperation.OPCODE) {
+          jumpDestIndex[pc] = count;
+        } else if (opcode >= 0x80 && opcode <= 0x8f) {
+          args[count] = opcode - 0x7f;
+        } else if (opcode >= 0x90 && opcode <= 0x9f) {
+          args[count] = opcode - 0x8f;
+        }
+        pc++;
+      }
+      count++;
+    }
+    ops[count] = GENERIC;
+    pcs[count] = length;
+    count++;
+
+    if (count < maxInstructions) {
+      ops = Arrays.copyOf(ops, count);
+      pcs = Arrays.copyOf(pcs, count);
+      args = Arrays.copyOf(args, count);
+    }
+    if (limbOffset < pushLimbs.length) {
+      pushLimbs = Arrays.copyOf(pushLimbs, limbOffset);
+    }
+    for (int i = 0; i < count; i++) {
+      if (ops[i] == PUSH_JUMP || ops[i] == PUSH_JUMPI) {
+        final int destination = args[i];
+        args[i] = destination >= 0 && destination < length ? jumpDestIndex[destination] : -1;
+      }
+    }
+
+    final int[] staticGas = staticGasTable(gasCalculator);
+    final int[] blockGas = new int[count];
+    final int[] blockStackItems = new int[count];
+    int blockStart = -1;
+    // the stack height reached in the current block, relative to its height when entering it
+    int height = 0;
+    for (int i = 0; i < count; i++) {
+      final int op = ops[i];
+      if ((op & GENERIC) != 0) {
+        blockStart = -1;
+        continue;
+      }
+      if (blockStart < 0 || op == JumpDestOperation.OPCODE) {
+        blockStart = i;
+        height = 0;
+      }
+      blockGas[blockStart] += staticGas[op];
+      final int itemsIn = stackItemsIn(op);
+      blockStackItems[blockStart] = Math.max(blockStackItems[blockStart], itemsIn - height);
+      height += stackItemsOut(op) - itemsIn;
+      if (op == JUMP || op == JUMPI || op == PUSH_JUMP || op == PUSH_JUMPI) {
+        blockStart = -1;
+      }
+    }
+
+    return new DecodedCode(
+        specVersion,
+        gasCalculator,
+        ops,
+        pcs,
+        args,
+        blockGas,
+        blockStackItems,
+        pushLimbs,
+        jumpDestIndex);
+  }
+
+  /**
+   * Whether this decoded code was built for the given spec version and gas calculator.
+   *
+   * @param specVersion the spec version of the EVM the code is run on
+   * @param gasCalculator the gas calculator of the EVM the code is run on
+   * @return true if it can be run on that spec version with that gas calculator
+   */
+  public boolean isFor(final EvmSpecVersion specVersion, final GasCalculator gasCalculator) {
+    return this.specVersion == specVersion && this.gasCalculator == gasCalculator;
+  }
+
+  /**
+   * Gets the opcodes of the instructions, {@link #PUSH_JUMP}, {@link #PUSH_JUMPI} or opcodes
+   * flagged with {@link #GENERIC}.
+   *
+   * @return the opcodes, not to be modified
+   */
+  public int[] getOps() {
+    return ops;
+  }
+
+  /**
+   * Gets the program counters the instructions were read from.
+   *
+   * @return the program counters, not to be modified
+   */
+  public int[] getPcs() {
+    return pcs;
+  }
+
+  /**
+   * Gets the arguments of the instructions.
+   *
+   * @return the arguments, not to be modified
+   */
+  public int[] getArgs() {
+    return args;
+  }
+
+  /**
+   * Gets the static gas of the basic block starting at each instruction, 0 for the instructions
+   * that do not start a block.
+   *
+   * @return the gas of the blocks, not to be modified
+   */
+  public int[] getBlockGas() {
+    return blockGas;
+  }
+
+  /**
+   * Gets the number of stack items the basic block starting at each instruction needs so that none
+   * of its operations underflows, 0 for the instructions that do not start a block.
+   *
+   * @return the stack items needed by the blocks, not to be modified
+   */
+  public int[] getBlockStackItems() {
+    return blockStackItems;
+  }
+
+  /**
+   * Gets the immediates of the PUSH instructions, as four limbs each, most significant first.
+   *
+   * @return the limbs, not to be modified
+   */
+  public long[] getPushLimbs() {
+    return pushLimbs;
+  }
+
+  /**
+   * Gets the instruction of a jump destination.
+   *
+   * @param destination the program counter to jump to
+   * @return the index of the JUMPDEST instruction, or -1 if the destination is not valid
+   */
+  public int jumpDestinationIndex(final int destination) {
+    return destination >= 0 && destination < jumpDestIndex.length
+        ? jumpDestIndex[destination]
+        : -1;
+  }
+
+  /**
+   * Gets the instruction starting at a program counter.
+   *
+   * @param pc the program counter
+   * @return the index of the instruction, or -1 if no instruction starts there
+   */
+  public int instructionIndex(final int pc) {
+    final int index = Arrays.binarySearch(pcs, pc);
+    return index < 0 ? -1 : index;
+  }
+
+  private static boolean isPush(final int opcode) {
+    return opcode >= 0x60 && opcode <= 0x7f;
+  }
+
+  private static int pcAdvance(final int opcode) {
+    return isPush(opcode) ? opcode - PUSH_BASE + 1 : 1;
+  }
+
+  private static boolean isBlockOperation(
+      final int opcode, final boolean enableConstantinople, final boolean enableShanghai) {
+    return switch (opcode) {
+      case 0x01, 0x02, 0x03, 0x04, 0x06, 0x0b -> true; // ADD, MUL, SUB, DIV, MOD, SIGNEXTEND
+      case 0x10, 0x11, 0x12, 0x13, 0x14, 0x15, 0x16, 0x17, 0x18, 0x19, 0x1a -> true;
+      case 0x1b, 0x1c, 0x1d -> enableConstantinople; // SHL, SHR, SAR
+      case 0x50, 0x56, 0x57, 0x5b -> true; // POP, JUMP, JUMPI, JUMPDEST
+      case 0x5f -> enableShanghai; // PUSH0
+      default -> opcode >= 0x80 && opcode <= 0x9f; // DUP1-16, SWAP1-16
+    };
+  }
+
+  // The costs the operations charge, by opcode of the block operations and of the fused jumps.
+  private static int[] staticGasTable(final GasCalculator gasCalculator) {
+    final int veryLow = Math.toIntExact(gasCalculator.getVeryLowTierGasCost());
+    final int low = Math.toIntExact(gasCalculator.getLowTierGasCost());
+    final int base = Math.toIntExact(gasCalculator.getBaseTierGasCost());
+    final int mid = Math.toIntExact(gasCalculator.getMidTierGasCost());
+    final int high = Math.toIntExact(gasCalculator.getHighTierGasCost());
+    final int[] costs = new int[PUSH_JUMPI + 1];
+    Arrays.fill(costs, veryLow);
+    for (final int op : new int[] {0x02, 0x04, 0x06, 0x0b}) { // MUL, DIV, MOD, SIGNEXTEND
+      costs[op] = low;
+    }
+    costs[0x50] = base; // POP
+    costs[0x5f] = base; // PUSH0
+    costs[JUMP] = mid;
+    costs[JUMPI] = high;
+    costs[JumpDestOperation.OPCODE] = Math.toIntExact(gasCalculator.getJumpDestOperationGasCost());
+    costs[PUSH_JUMP] = veryLow + mid;
+    costs[PUSH_JUMPI] = veryLow + high;
+    return costs;
+  }
+
+  private static int stackItemsIn(final int op) {
+    if (isPush(op) || op == 0x5f || op == JumpDestOperation.OPCODE || op == PUSH_JUMP) {
+      return 0;
+    }
+    if (op >= 0x80 && op <= 0x8f) {
+      return op - 0x7f; // DUP1-16
+    }
+    if (op >= 0x90 && op <= 0x9f) {
+      return op - 0x8e; // SWAP1-16
+    }
+    return switch (op) {
+      case 0x15, 0x19, 0x50, JUMP, PUSH_JUMPI -> 1; // ISZERO, NOT, POP
+      default -> 2;
+    };
+  }
+
+  private static int stackItemsOut(final int op) {
+    if (op >= 0x80 && op <= 0x8f) {
+      return op - 0x7e; // DUP1-16
+    }
+    if (op >= 0x90 && op <= 0x9f) {
+      return op - 0x8e; // SWAP1-16
+    }
+    return switch (op) {
+      case 0x50, JUMP, JUMPI, 0x5b, PUSH_JUMP, PUSH_JUMPI -> 0; // POP, JUMPDEST
+      default -> 1;
+    };
+  }
+
+  /** Reads a PUSH immediate as a jump destination, -1 if it does not fit in an int. */
+  private static int readJumpDestination(final byte[] code, final int start, final int pushSize) {
+    long destination = 0;
+    for (int i = start; i < start + pushSize; i++) {
+      destination = (destination << 8) | (code[i] & 0xff);
+      if (destination > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return (int) destination;
+  }
+
+  /** Reads a PUSH immediate as limbs, bytes past the end of the code being read as zero. */
+  private static void readLimbs(
+      final byte[] code,
+      final int start,
+      final int pushSize,
+      final long[] limbs,
+      final int offset) {
+    final int end = Math.min(start + pushSize, code.length);
+    for (int i = start; i < end; i++) {
+      final int bytePos = pushSize - 1 - (i - start);
+      limbs[offset + LIMBS - 1 - (bytePos >>> 3)] |= (code[i] & 0xffL) << ((bytePos & 7) << 3);
+    }
+  }
+}
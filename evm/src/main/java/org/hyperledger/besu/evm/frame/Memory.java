@@ -16,6 +16,9 @@ package org.hyperledger.besu.evm.frame;
 
 import org.hyperledger.besu.evm.internal.Words;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -27,26 +30,45 @@ import org.apache.tuweni.bytes.MutableBytes;
  *
  * <p>Note: this is meant to map to I in Section 9.1 "Basics" and Section 9.4.1 "Machine State" in
  * the Yellow Paper Revision 59dccd.
+ *
+ * <p>The memory is held in pages of {@link #PAGE_SIZE} bytes, so that it grows by adding pages
+ * instead of reallocating and copying all of its content. Memories smaller than a page, as most
+ * are, live in a first page grown like a plain array. Reads, writes and copies go page by page
+ * with {@link System#arraycopy}, without intermediate buffers.
  */
 public class Memory {
 
   // See below.
   private static final long MAX_BYTES = Integer.MAX_VALUE;
 
+  private static final int PAGE_SHIFT = 12;
+
+  /** The size of the pages holding the memory, in bytes. */
+  public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final byte[][] NO_PAGES = new byte[0][];
+  private static final VarHandle LONG_BIG_ENDIAN =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final int WORD_LIMBS = Bytes32.SIZE / Long.BYTES;
+
   /**
-   * The data stored within the memory.
+   * The data stored within the memory, by page. Only the first {@link #pageCount} pages are
+   * allocated, and only the first page may be shorter than {@link #PAGE_SIZE}.
    *
    * <p>Note that the current Ethereum spec don't put a limit on memory, so we could theoretically
-   * overflow this. A byte array implementation limits us to 2 GiB. But that would cost over 51
+   * overflow this. An int based implementation limits us to 2 GiB. But that would cost over 51
    * trillion gas. So this is likely a reasonable limitation, at least at first.
    */
-  private byte[] memBytes;
+  private byte[][] pages;
+
+  private int pageCount;
 
   private int activeWords;
 
   /** Instantiates a new Memory. */
   public Memory() {
-    memBytes = new byte[0];
+    pages = NO_PAGES;
   }
 
   private static RuntimeException overflow(final long v) {
@@ -132,13 +154,22 @@ public class Memory {
   private void maybeExpandCapacity(final int newActiveWords) {
     if (activeWords >= newActiveWords) return;
 
-    int neededSize = newActiveWords * Bytes32.SIZE;
-    if (neededSize > memBytes.length) {
-      int newSize = Math.max(neededSize, memBytes.length * 2);
-      byte[] newMem = new byte[newSize];
-      System.arraycopy(memBytes, 0, newMem, 0, memBytes.length);
-      memBytes = newMem;
+    final int neededSize = newActiveWords * Bytes32.SIZE;
+    final int neededPages = ((neededSize - 1) >>> PAGE_SHIFT) + 1;
+    if (neededPages > pages.length) {
+      pages = Arrays.copyOf(pages, Math.max(neededPages, pages.length * 2));
     }
+    if (pageCount > 0 && pages[0].length < PAGE_SIZE) {
+      final int firstPageSize = neededPages > 1 ? PAGE_SIZE : neededSize;
+      if (pages[0].length < firstPageSize) {
+        final int grownSize = Math.max(firstPageSize, pages[0].length * 2);
+        pages[0] = Arrays.copyOf(pages[0], Math.min(PAGE_SIZE, grownSize));
+      }
+    }
+    for (int page = pageCount; page < neededPages; page++) {
+      pages[page] = new byte[page == 0 && neededPages == 1 ? neededSize : PAGE_SIZE];
+    }
+    pageCount = Math.max(pageCount, neededPages);
     activeWords = newActiveWords;
   }
 
@@ -154,12 +185,26 @@ public class Memory {
     if (other == this) return true;
     if (!(other instanceof Memory)) return false;
 
-    return Arrays.equals(memBytes, ((Memory) other).memBytes);
+    final Memory otherMemory = (Memory) other;
+    if (activeWords != otherMemory.activeWords) return false;
+    for (int page = 0; page < pageCount; page++) {
+      final int pageEnd = activeLength(page);
+      if (!Arrays.equals(pages[page], 0, pageEnd, otherMemory.pages[page], 0, pageEnd)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(memBytes);
+    int result = activeWords;
+    for (int page = 0; page < pageCount; page++) {
+      for (int i = 0; i < activeLength(page); i++) {
+        result = 31 * result + pages[page][i];
+      }
+    }
+    return result;
   }
 
   /**
@@ -200,7 +245,9 @@ public class Memory {
 
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, length);
-    return Bytes.wrap(Arrays.copyOfRange(memBytes, start, start + length));
+    final byte[] bytes = new byte[length];
+    read(start, bytes, 0, length);
+    return Bytes.wrap(bytes);
   }
 
   /**
@@ -223,23 +270,22 @@ public class Memory {
 
     final int start = asByteIndex(location);
 
-    // Arrays.copyOfRange would throw if start > memBytes.length, so just return the expected
-    // number of zeros without expanding the memory.
-    // Otherwise, just follow the happy path.
-    if (start > memBytes.length) {
-      return Bytes.wrap(new byte[(int) numBytes]);
-    } else {
-      return Bytes.wrap(Arrays.copyOfRange(memBytes, start, start + length));
+    // Bytes beyond the allocated pages are zeros, which the fresh array already holds.
+    final byte[] bytes = new byte[length];
+    final int allocatedEnd = allocatedBytes();
+    if (start < allocatedEnd) {
+      read(start, bytes, 0, Math.min(length, allocatedEnd - start));
     }
+    return Bytes.wrap(bytes);
   }
 
   /**
-   * Returns a copy of bytes from memory.
+   * Returns the bytes from memory. They are a view of the memory when they lie within a single
+   * page, and a copy otherwise, so writing to them does not reliably write to the memory.
    *
    * @param location The location in memory to start with.
    * @param numBytes The number of bytes to get.
-   * @return A fresh copy of the bytes from memory starting at {@code location} and extending {@code
-   *     numBytes}.
+   * @return The bytes from memory starting at {@code location} and extending {@code numBytes}.
    */
   public MutableBytes getMutableBytes(final long location, final long numBytes) {
     // Note: if length == 0, we don't require any memory expansion, whatever location is. So
@@ -254,7 +300,13 @@ public class Memory {
     final int start = asByteIndex(location);
 
     ensureCapacityForBytes(start, length);
-    return MutableBytes.wrap(memBytes, start, length);
+    final int pageOffset = start & PAGE_MASK;
+    if (pageOffset + length <= PAGE_SIZE) {
+      return MutableBytes.wrap(pages[start >>> PAGE_SHIFT], pageOffset, length);
+    }
+    final byte[] bytes = new byte[length];
+    read(start, bytes, 0, length);
+    return MutableBytes.wrap(bytes);
   }
 
   /**
@@ -282,10 +334,19 @@ public class Memory {
       clearBytes(memOffset, length);
       return;
     }
+    if (length == 0) {
+      return;
+    }
+
+    final int start = asByteIndex(memOffset);
+    final int numBytes = asByteLength(length);
+    final int srcOffset = (int) offset;
+    final int srcLength = Math.min(numBytes, bytes.size() - srcOffset);
 
-    final Bytes toCopy =
-        bytes.slice((int) offset, Math.min((int) length, bytes.size() - (int) offset));
-    setBytes(memOffset, length, toCopy);
+    ensureCapacityForBytes(start, numBytes);
+    // the source is read in place, without slicing it first
+    write(start, bytes.toArrayUnsafe(), srcOffset, srcLength);
+    fill(start + srcLength, numBytes - srcLength);
   }
 
   /**
@@ -313,15 +374,14 @@ public class Memory {
     final int start = asByteIndex(location);
     final int length = asByteLength(numBytes);
     final int srcLength = taintedValue.size();
-    final int end = Math.addExact(start, length);
 
     ensureCapacityForBytes(start, length);
     if (srcLength >= length) {
-      System.arraycopy(taintedValue.toArrayUnsafe(), 0, memBytes, start, length);
+      write(start, taintedValue.toArrayUnsafe(), 0, length);
     } else {
-      Arrays.fill(memBytes, start + srcLength, end, (byte) 0);
+      fill(start + srcLength, length - srcLength);
       if (srcLength > 0) {
-        System.arraycopy(taintedValue.toArrayUnsafe(), 0, memBytes, start, srcLength);
+        write(start, taintedValue.toArrayUnsafe(), 0, srcLength);
       }
     }
   }
@@ -357,12 +417,12 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
     if (srcLength >= length) {
-      System.arraycopy(value.toArrayUnsafe(), 0, memBytes, start, length);
+      write(start, value.toArrayUnsafe(), 0, length);
     } else {
       int divider = end - srcLength;
-      Arrays.fill(memBytes, start, divider, (byte) 0);
+      fill(start, divider - start);
       if (srcLength > 0) {
-        System.arraycopy(value.toArrayUnsafe(), 0, memBytes, divider, srcLength);
+        write(divider, value.toArrayUnsafe(), 0, srcLength);
       }
     }
   }
@@ -394,7 +454,7 @@ public class Memory {
     }
 
     ensureCapacityForBytes(location, numBytes);
-    Arrays.fill(memBytes, location, location + numBytes, (byte) 0);
+    fill(location, numBytes);
   }
 
   /**
@@ -406,7 +466,7 @@ public class Memory {
   void setByte(final long location, final byte value) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, 1);
-    memBytes[start] = value;
+    pages[start >>> PAGE_SHIFT][start & PAGE_MASK] = value;
   }
 
   /**
@@ -418,7 +478,9 @@ public class Memory {
   public Bytes32 getWord(final long location) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
-    return Bytes32.wrap(Arrays.copyOfRange(memBytes, start, start + Bytes32.SIZE));
+    final byte[] word = new byte[Bytes32.SIZE];
+    read(start, word, 0, Bytes32.SIZE);
+    return Bytes32.wrap(word);
   }
 
   /**
@@ -433,7 +495,42 @@ public class Memory {
   public void setWord(final long location, final Bytes32 bytes) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
-    System.arraycopy(bytes.toArrayUnsafe(), 0, memBytes, start, Bytes32.SIZE);
+    write(start, bytes.toArrayUnsafe(), 0, Bytes32.SIZE);
+  }
+
+  /**
+   * Reads the 32-bytes word that begins at the specified memory location as four big-endian longs,
+   * most significant first, without going through an intermediate byte array.
+   *
+   * @param location The memory location the 256-bit word begins at.
+   * @param dest the array the four longs are written to.
+   * @param destOffset the index in {@code dest} of the most significant long.
+   */
+  public void getWord(final long location, final long[] dest, final int destOffset) {
+    final int start = asByteIndex(location);
+    ensureCapacityForBytes(start, Bytes32.SIZE);
+    for (int limb = 0; limb < WORD_LIMBS; limb++) {
+      dest[destOffset + limb] = readLong(start + limb * Long.BYTES);
+    }
+  }
+
+  /**
+   * Sets a 32-bytes word given as four big-endian longs, most significant first, in memory at the
+   * provided location.
+   *
+   * <p>Note that this method will extend memory to accommodate the location assigned and bytes
+   * copied and so never fails.
+   *
+   * @param location the location at which to start setting the bytes.
+   * @param src the array holding the four longs.
+   * @param srcOffset the index in {@code src} of the most significant long.
+   */
+  public void setWord(final long location, final long[] src, final int srcOffset) {
+    final int start = asByteIndex(location);
+    ensureCapacityForBytes(start, Bytes32.SIZE);
+    for (int limb = 0; limb < WORD_LIMBS; limb++) {
+      writeLong(start + limb * Long.BYTES, src[srcOffset + limb]);
+    }
   }
 
   /**
@@ -447,11 +544,129 @@ public class Memory {
    */
   public void copy(final long dst, final long src, final long length) {
     ensureCapacityForBytes(Math.max(dst, src), length);
-    System.arraycopy(memBytes, asByteIndex(src), memBytes, asByteIndex(dst), asByteLength(length));
+    final int dstIndex = asByteIndex(dst);
+    final int srcIndex = asByteIndex(src);
+    final int numBytes = asByteLength(length);
+    if (dstIndex <= srcIndex) {
+      copyForward(dstIndex, srcIndex, numBytes);
+    } else {
+      copyBackward(dstIndex, srcIndex, numBytes);
+    }
   }
 
   @Override
   public String toString() {
-    return Bytes.wrap(memBytes).toHexString();
+    final byte[] bytes = new byte[getActiveBytes()];
+    read(0, bytes, 0, bytes.length);
+    return Bytes.wrap(bytes).toHexString();
+  }
+
+  // Bytes past the active words are always zero, so only the active ones are compared and printed.
+  private int activeLength(final int page) {
+    return Math.min(PAGE_SIZE, getActiveBytes() - (page << PAGE_SHIFT));
+  }
+
+  private int allocatedBytes() {
+    return pageCount == 0 ? 0 : ((pageCount - 1) << PAGE_SHIFT) + pages[pageCount - 1].length;
+  }
+
+  private void read(final int location, final byte[] dest, final int destOffset, final int length) {
+    int position = location;
+    int done = 0;
+    while (done < length) {
+      final byte[] page = pages[position >>> PAGE_SHIFT];
+      final int pageOffset = position & PAGE_MASK;
+      final int chunk = Math.min(length - done, page.length - pageOffset);
+      System.arraycopy(page, pageOffset, dest, destOffset + done, chunk);
+      position += chunk;
+      done += chunk;
+    }
+  }
+
+  private void write(final int location, final byte[] src, final int srcOffset, final int length) {
+    int position = location;
+    int done = 0;
+    while (done < length) {
+      final byte[] page = pages[position >>> PAGE_SHIFT];
+      final int pageOffset = position & PAGE_MASK;
+      final int chunk = Math.min(length - done, page.length - pageOffset);
+      System.arraycopy(src, srcOffset + done, page, pageOffset, chunk);
+      position += chunk;
+      done += chunk;
+    }
+  }
+
+  // A long lies within a single page unless the word crosses a page boundary.
+  private long readLong(final int position) {
+    final byte[] page = pages[position >>> PAGE_SHIFT];
+    final int pageOffset = position & PAGE_MASK;
+    if (pageOffset + Long.BYTES <= page.length) {
+      return (long) LONG_BIG_ENDIAN.get(page, pageOffset);
+    }
+    long value = 0;
+    for (int i = position; i < position + Long.BYTES; i++) {
+      value = (value << 8) | (pages[i >>> PAGE_SHIFT][i & PAGE_MASK] & 0xFFL);
+    }
+    return value;
+  }
+
+  private void writeLong(final int position, final long value) {
+    final byte[] page = pages[position >>> PAGE_SHIFT];
+    final int pageOffset = position & PAGE_MASK;
+    if (pageOffset + Long.BYTES <= page.length) {
+      LONG_BIG_ENDIAN.set(page, pageOffset, value);
+      return;
+    }
+    for (int i = 0; i < Long.BYTES; i++) {
+      final int p = position + i;
+      pages[p >>> PAGE_SHIFT][p & PAGE_MASK] = (byte) (value >>> (56 - (i << 3)));
+    }
+  }
+
+  private void fill(final int location, final int length) {
+    int position = location;
+    int done = 0;
+    while (done < length) {
+      final byte[] page = pages[position >>> PAGE_SHIFT];
+      final int pageOffset = position & PAGE_MASK;
+      final int chunk = Math.min(length - done, page.length - pageOffset);
+      Arrays.fill(page, pageOffset, pageOffset + chunk, (byte) 0);
+      position += chunk;
+      done += chunk;
+    }
+  }
+
+  // Copies from the start when the destination is before the source, so that overlapping bytes are
+  // read before they are overwritten.
+  private void copyForward(final int dst, final int src, final int length) {
+    int done = 0;
+    while (done < length) {
+      final int srcPosition = src + done;
+      final int dstPosition = dst + done;
+      final byte[] srcPage = pages[srcPosition >>> PAGE_SHIFT];
+      final byte[] dstPage = pages[dstPosition >>> PAGE_SHIFT];
+      final int srcOffset = srcPosition & PAGE_MASK;
+      final int dstOffset = dstPosition & PAGE_MASK;
+      final int chunk =
+          Math.min(length - done, Math.min(srcPage.length - srcOffset, dstPage.length - dstOffset));
+      System.arraycopy(srcPage, srcOffset, dstPage, dstOffset, chunk);
+      done += chunk;
+    }
+  }
+
+  // Copies from the end when the destination is after the source, for the same reason.
+  private void copyBackward(final int dst, final int src, final int length) {
+    int remaining = length;
+    while (remaining > 0) {
+      final int srcEnd = src + remaining;
+      final int dstEnd = dst + remaining;
+      final byte[] srcPage = pages[(srcEnd - 1) >>> PAGE_SHIFT];
+      final byte[] dstPage = pages[(dstEnd - 1) >>> PAGE_SHIFT];
+      final int srcEndOffset = ((srcEnd - 1) & PAGE_MASK) + 1;
+      final int dstEndOffset = ((dstEnd - 1) & PAGE_MASK) + 1;
+      final int chunk = Math.min(remaining, Math.min(srcEndOffset, dstEndOffset));
+      System.arraycopy(srcPage, srcEndOffset - chunk, dstPage, dstEndOffset - chunk, chunk);
+      remaining -= chunk;
+    }
   }
 }
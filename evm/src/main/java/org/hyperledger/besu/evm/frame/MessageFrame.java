@@ -26,11 +26,13 @@ import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 import org.hyperledger.besu.evm.internal.MemoryEntry;
 import org.hyperledger.besu.evm.internal.OperandStack;
 import org.hyperledger.besu.evm.internal.ReturnStack;
 import org.hyperledger.besu.evm.internal.StorageEntry;
 import org.hyperledger.besu.evm.internal.UnderflowException;
+import org.hyperledger.besu.evm.internal.WordStack;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -211,7 +213,7 @@ public class MessageFrame {
   private int pc;
   private int section = 0;
   private final Memory memory = new Memory();
-  private final OperandStack stack;
+  private final WordStack stack;
   private final Supplier<ReturnStack> returnStack;
   private Bytes output = Bytes.EMPTY;
   private Bytes returnData = Bytes.EMPTY;
@@ -276,7 +278,10 @@ public class MessageFrame {
     this.type = type;
     this.worldUpdater = worldUpdater;
     this.gasRemaining = initialGas;
-    this.stack = new OperandStack(txValues.maxStackSize());
+    this.stack =
+        txValues.limbOperandStack()
+            ? new LimbOperandStack(txValues.maxStackSize())
+            : new OperandStack(txValues.maxStackSize());
     this.returnStack = Suppliers.memoize(ReturnStack::new);
     this.pc = code.isValid() ? code.getCodeSection(0).getEntryPoint() : 0;
     this.recipient = recipient;
@@ -487,6 +492,17 @@ public class MessageFrame {
     stack.set(offset, value);
   }
 
+  /**
+   * Returns the operand stack backing this frame. Used by the interpreter to reach the primitive
+   * operations of a {@link LimbOperandStack}; everything else should go through the stack item
+   * accessors.
+   *
+   * @return the operand stack
+   */
+  public WordStack getOperandStack() {
+    return stack;
+  }
+
   /**
    * Return the current stack size.
    *
@@ -641,6 +657,51 @@ public class MessageFrame {
     return memBytes;
   }
 
+  /**
+   * Read the 32-bytes word at the specified offset in memory.
+   *
+   * @param offset The offset in memory
+   * @param explicitMemoryRead true if triggered by a memory opcode, false otherwise
+   * @return a copy of the word
+   */
+  public Bytes32 readMemoryWord(final long offset, final boolean explicitMemoryRead) {
+    final Bytes32 word = memory.getWord(offset);
+    if (explicitMemoryRead) {
+      setUpdatedMemory(offset, word);
+    }
+    return word;
+  }
+
+  /**
+   * Read the 32-bytes word at the specified offset in memory straight onto a limb stack.
+   *
+   * @param offset The offset in memory
+   * @param stack The stack to push the word to
+   * @param explicitMemoryRead true if triggered by a memory opcode, false otherwise
+   */
+  public void readMemoryWord(
+      final long offset, final LimbOperandStack stack, final boolean explicitMemoryRead) {
+    stack.pushFromMemory(memory, offset);
+    if (explicitMemoryRead) {
+      setUpdatedMemory(offset, stack.peek());
+    }
+  }
+
+  /**
+   * Pop the top word of a limb stack straight into memory at the specified offset.
+   *
+   * @param offset The offset in memory
+   * @param stack The stack to pop the word from
+   * @param explicitMemoryUpdate true if triggered by a memory opcode, false otherwise
+   */
+  public void writeMemoryWord(
+      final long offset, final LimbOperandStack stack, final boolean explicitMemoryUpdate) {
+    if (explicitMemoryUpdate) {
+      setUpdatedMemory(offset, stack.peek());
+    }
+    stack.popToMemory(memory, offset);
+  }
+
   /**
    * Write byte to memory
    *
@@ -1339,6 +1400,7 @@ public class MessageFrame {
     private Code code;
     private BlockValues blockValues;
     private int maxStackSize = DEFAULT_MAX_STACK_SIZE;
+    private boolean limbOperandStack = false;
     private boolean isStatic = false;
     private Consumer<MessageFrame> completer;
     private Address miningBeneficiary;
@@ -1521,6 +1583,18 @@ public class MessageFrame {
       return this;
     }
 
+    /**
+     * Sets whether frames of this transaction use a {@link LimbOperandStack}. Ignored if a parent
+     * message frame is set, child frames use the same kind of stack as their parent.
+     *
+     * @param limbOperandStack true to store stack words as primitive limbs
+     * @return the builder
+     */
+    public Builder limbOperandStack(final boolean limbOperandStack) {
+      this.limbOperandStack = limbOperandStack;
+      return this;
+    }
+
     /**
      * Sets Is static.
      *
@@ -1670,6 +1744,7 @@ public class MessageFrame {
             new TxValues(
                 blockHashLookup,
                 maxStackSize,
+                limbOperandStack,
                 UndoSet.of(new BytesTrieSet<>(Address.SIZE)),
                 UndoTable.of(HashBasedTable.create()),
                 originator,
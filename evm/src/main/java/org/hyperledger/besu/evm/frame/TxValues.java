@@ -35,6 +35,7 @@ import org.apache.tuweni.bytes.Bytes32;
  *
  * @param blockHashLookup The block hash lookup function
  * @param maxStackSize The maximum stack size
+ * @param limbOperandStack Whether frames store stack words as primitive limbs
  * @param warmedUpAddresses The warmed-up addresses
  * @param warmedUpStorage The warmed-up storage
  * @param originator The originator address
@@ -52,6 +53,7 @@ import org.apache.tuweni.bytes.Bytes32;
 public record TxValues(
     BlockHashLookup blockHashLookup,
     int maxStackSize,
+    boolean limbOperandStack,
     UndoSet<Address> warmedUpAddresses,
     UndoTable<Address, Bytes32, Boolean> warmedUpStorage,
     Address originator,
@@ -20,8 +20,25 @@ import org.hyperledger.besu.evm.Code;
 import com.github.benmanes.caffeine.cache.Weigher;
 
 class CodeScale implements Weigher<Hash, Code> {
+  // Upper bound of the decoded form, which is built lazily and cannot be measured here. PUSH1 is
+  // the densest case: every 2 code bytes decode to one instruction of 20 bytes in the ops, pcs,
+  // args, blockGas and blockStackItems arrays plus 4 PUSH limbs of 32 bytes, so 26 bytes per code
+  // byte, and the jump destination index adds 4 bytes per code byte. The 30 bytes are rounded up
+  // to 32.
+  private static final int DECODED_BYTES_PER_CODE_BYTE = 32;
+  // the trailing STOP instruction, the headers of the seven arrays and the decoded code itself
+  private static final int DECODED_FIXED_BYTES = 256;
+
+  private final boolean decodedCode;
+
+  CodeScale(final boolean decodedCode) {
+    this.decodedCode = decodedCode;
+  }
+
   @Override
   public int weigh(final Hash key, final Code code) {
-    return ((code.getSize() * 9 + 7) / 8) + key.size();
+    final int decodedSize =
+        decodedCode ? code.getSize() * DECODED_BYTES_PER_CODE_BYTE + DECODED_FIXED_BYTES : 0;
+    return ((code.getSize() * 9 + 7) / 8) + decodedSize + key.size();
   }
 }
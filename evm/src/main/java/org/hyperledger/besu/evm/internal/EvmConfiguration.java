@@ -28,13 +28,18 @@ import java.util.OptionalInt;
  * @param maxCodeSizeOverride An optional override of the maximum code size set by the EVM fork
  * @param maxInitcodeSizeOverride An optional override of the maximum initcode size set by the EVM
  *     fork
+ * @param limbOperandStack whether message frames store stack words as primitive long limbs
+ * @param decodedCode whether legacy code run on the limb operand stack is executed from its
+ *     decoded form, charging the static gas of a basic block at once
  */
 public record EvmConfiguration(
     long jumpDestCacheWeightKB,
     WorldUpdaterMode worldUpdaterMode,
     Integer evmStackSize,
     Optional<Integer> maxCodeSizeOverride,
-    Optional<Integer> maxInitcodeSizeOverride) {
+    Optional<Integer> maxInitcodeSizeOverride,
+    boolean limbOperandStack,
+    boolean decodedCode) {
 
   /** How should the world state update be handled within transactions? */
   public enum WorldUpdaterMode {
@@ -58,12 +63,44 @@ public record EvmConfiguration(
    */
   public EvmConfiguration(
       final Long jumpDestCacheWeightKilobytes, final WorldUpdaterMode worldstateUpdateMode) {
+    this(jumpDestCacheWeightKilobytes, worldstateUpdateMode, false);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the workd update mode
+   * @param limbOperandStack whether message frames store stack words as primitive long limbs
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean limbOperandStack) {
+    this(jumpDestCacheWeightKilobytes, worldstateUpdateMode, limbOperandStack, false);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the workd update mode
+   * @param limbOperandStack whether message frames store stack words as primitive long limbs
+   * @param decodedCode whether legacy code is executed from its decoded form
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean limbOperandStack,
+      final boolean decodedCode) {
     this(
         jumpDestCacheWeightKilobytes,
         worldstateUpdateMode,
         MessageFrame.DEFAULT_MAX_STACK_SIZE,
         Optional.empty(),
-        Optional.empty());
+        Optional.empty(),
+        limbOperandStack,
+        decodedCode);
   }
 
   /**
@@ -95,6 +132,8 @@ public record EvmConfiguration(
         newMaxCodeSize.isPresent() ? Optional.of(newMaxCodeSize.getAsInt()) : Optional.empty(),
         newMaxInitcodeSize.isPresent()
             ? Optional.of(newMaxInitcodeSize.getAsInt())
-            : Optional.empty());
+            : Optional.empty(),
+        limbOperandStack,
+        decodedCode);
   }
 }
@@ -0,0 +1,663 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.evm.frame.Memory;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An operand stack that stores each 256-bit word as four {@code long} limbs in a single primitive
+ * array, most significant limb first. Arithmetic, comparison and bitwise operations work directly
+ * on the limbs, so the hot opcodes do not allocate.
+ *
+ * <p>The {@link Bytes} based methods of {@link WordStack} remain available so that operations that
+ * have not been ported to limbs keep working unchanged; values are converted at that boundary.
+ */
+public class LimbOperandStack implements WordStack {
+
+  private static final int INCREMENT = 32;
+  private static final int LIMBS = 4;
+
+  private final int maxSize;
+  private final long[] scratch = new long[LIMBS];
+  private long[] limbs;
+  private int currentCapacity;
+  private int top;
+
+  /**
+   * Instantiates a new Limb operand stack.
+   *
+   * @param maxSize the max size
+   */
+  public LimbOperandStack(final int maxSize) {
+    checkArgument(maxSize > 0, "max size must be positive");
+    this.maxSize = maxSize;
+    this.currentCapacity = Math.min(INCREMENT, maxSize);
+    this.limbs = new long[currentCapacity * LIMBS];
+    this.top = -1;
+  }
+
+  // -- Bytes interop -------------------------------------------------------------------------
+
+  @Override
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset > top) {
+      throw new UnderflowException();
+    }
+    return toBytes32((top - offset) * LIMBS);
+  }
+
+  @Override
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    final Bytes removed = toBytes32(top * LIMBS);
+    top--;
+    return removed;
+  }
+
+  @Override
+  public Bytes peek() {
+    return top < 0 ? null : toBytes32(top * LIMBS);
+  }
+
+  @Override
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+    top -= items;
+  }
+
+  @Override
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        top = cutPoint - 1;
+      }
+    } else {
+      final int targetSize = cutPoint + itemsToKeep;
+      final int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(
+            limbs,
+            (currentSize - itemsToKeep) * LIMBS,
+            limbs,
+            cutPoint * LIMBS,
+            itemsToKeep * LIMBS);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  @Override
+  public void push(final Bytes operand) {
+    final int base = reserve();
+    final int size = operand.size();
+    int pos = size - 1;
+    for (int limb = LIMBS - 1; limb >= 0; limb--) {
+      long value = 0;
+      for (int shift = 0; shift < 64 && pos >= 0; shift += 8) {
+        value |= (operand.get(pos--) & 0xFFL) << shift;
+      }
+      limbs[base + limb] = value;
+    }
+    top++;
+  }
+
+  @Override
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset > top) {
+      throw new OverflowException();
+    }
+    final int savedTop = top;
+    top = top - offset - 1;
+    push(operand);
+    top = savedTop;
+  }
+
+  @Override
+  public int size() {
+    return top + 1;
+  }
+
+  @Override
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  // -- Primitive stack manipulation ----------------------------------------------------------
+
+  /**
+   * Push a word given as limbs, most significant first.
+   *
+   * @param l0 bits 255..192
+   * @param l1 bits 191..128
+   * @param l2 bits 127..64
+   * @param l3 bits 63..0
+   */
+  public void push(final long l0, final long l1, final long l2, final long l3) {
+    final int base = reserve();
+    limbs[base] = l0;
+    limbs[base + 1] = l1;
+    limbs[base + 2] = l2;
+    limbs[base + 3] = l3;
+    top++;
+  }
+
+  /**
+   * Push an unsigned 64 bit value.
+   *
+   * @param value the value
+   */
+  public void pushLong(final long value) {
+    push(0L, 0L, 0L, value);
+  }
+
+  /**
+   * Push the immediate of a PUSH operation read straight from the code. Bytes past the end of the
+   * code are read as zero, matching {@code PushOperation}.
+   *
+   * @param code the code
+   * @param start the first immediate byte
+   * @param pushSize the number of immediate bytes
+   */
+  public void pushFromCode(final byte[] code, final int start, final int pushSize) {
+    final int base = reserve();
+    limbs[base] = 0L;
+    limbs[base + 1] = 0L;
+    limbs[base + 2] = 0L;
+    limbs[base + 3] = 0L;
+    final int end = Math.min(start + pushSize, code.length);
+    for (int i = start; i < end; i++) {
+      final int bytePos = pushSize - 1 - (i - start);
+      limbs[base + LIMBS - 1 - (bytePos >>> 3)] |= (code[i] & 0xFFL) << ((bytePos & 7) << 3);
+    }
+    top++;
+  }
+
+  /**
+   * Duplicate the n-th word (1 is the top) onto the top of the stack.
+   *
+   * @param n the one based depth of the item to duplicate
+   */
+  public void dup(final int n) {
+    if (n > size()) {
+      throw new UnderflowException();
+    }
+    final int base = reserve();
+    System.arraycopy(limbs, (top - n + 1) * LIMBS, limbs, base, LIMBS);
+    top++;
+  }
+
+  /**
+   * Swap the top word with the word n below it.
+   *
+   * @param n the depth of the item to swap with
+   */
+  public void swap(final int n) {
+    if (n > top) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    final int b = (top - n) * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long tmp = limbs[a + i];
+      limbs[a + i] = limbs[b + i];
+      limbs[b + i] = tmp;
+    }
+  }
+
+  /**
+   * Pop the top word as a non-negative int, or -1 if it does not fit.
+   *
+   * @return the value, or -1 if it is larger than {@link Integer#MAX_VALUE}
+   */
+  public int popAsInt() {
+    requireItems(1);
+    final int a = top-- * LIMBS;
+    final long low = limbs[a + 3];
+    if ((limbs[a] | limbs[a + 1] | limbs[a + 2]) != 0 || low < 0 || low > Integer.MAX_VALUE) {
+      return -1;
+    }
+    return (int) low;
+  }
+
+  /**
+   * Pop the top word as a non-negative long, clamped to {@link Long#MAX_VALUE} if it does not fit,
+   * as memory offsets are.
+   *
+   * @return the value, or {@link Long#MAX_VALUE} if it is larger
+   */
+  public long popAsClampedLong() {
+    requireItems(1);
+    final int a = top-- * LIMBS;
+    final long low = limbs[a + 3];
+    return fitsInLong(a) && low >= 0 ? low : Long.MAX_VALUE;
+  }
+
+  /**
+   * Push the 32-bytes word read from memory at the given location.
+   *
+   * @param memory the memory
+   * @param location the location of the word
+   */
+  public void pushFromMemory(final Memory memory, final long location) {
+    final int base = reserve();
+    memory.getWord(location, limbs, base);
+    top++;
+  }
+
+  /**
+   * Pop the top word and write it to memory at the given location.
+   *
+   * @param memory the memory
+   * @param location the location of the word
+   */
+  public void popToMemory(final Memory memory, final long location) {
+    requireItems(1);
+    memory.setWord(location, limbs, top * LIMBS);
+    top--;
+  }
+
+  /**
+   * Pop the top word and report whether it was zero.
+   *
+   * @return true if the popped word was zero
+   */
+  public boolean popIsZero() {
+    requireItems(1);
+    final int a = top-- * LIMBS;
+    return (limbs[a] | limbs[a + 1] | limbs[a + 2] | limbs[a + 3]) == 0;
+  }
+
+  // -- Arithmetic ----------------------------------------------------------------------------
+
+  /** ADD: pops a, b and pushes a + b mod 2^256. */
+  public void add() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    long carry = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long y = limbs[b + i];
+      final long sum = x + y + carry;
+      carry = ((x & y) | ((x | y) & ~sum)) >>> 63;
+      limbs[b + i] = sum;
+    }
+  }
+
+  /** SUB: pops a, b and pushes a - b mod 2^256. */
+  public void sub() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    long borrow = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long y = limbs[b + i];
+      final long diff = x - y - borrow;
+      borrow = ((~x & y) | (~(x ^ y) & diff)) >>> 63;
+      limbs[b + i] = diff;
+    }
+  }
+
+  /** MUL: pops a, b and pushes a * b mod 2^256. */
+  public void mul() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    System.arraycopy(limbs, b, scratch, 0, LIMBS);
+    Arrays.fill(limbs, b, b + LIMBS, 0L);
+    // i and j count limbs from the least significant end
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + LIMBS - 1 - i];
+      if (x == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        final long y = scratch[LIMBS - 1 - j];
+        final int r = b + LIMBS - 1 - i - j;
+        final long lo = x * y;
+        final long hi = Math.unsignedMultiplyHigh(x, y);
+        final long t = lo + limbs[r];
+        final long c1 = Long.compareUnsigned(t, lo) < 0 ? 1 : 0;
+        final long t2 = t + carry;
+        final long c2 = Long.compareUnsigned(t2, t) < 0 ? 1 : 0;
+        limbs[r] = t2;
+        carry = hi + c1 + c2;
+      }
+    }
+  }
+
+  /**
+   * DIV fast path: pops a, b and pushes a / b when both operands fit in 64 bits.
+   *
+   * @return false, leaving the stack untouched, if either operand is wider than 64 bits
+   */
+  public boolean divSmall() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    if (!fitsInLong(a) || !fitsInLong(b)) {
+      top++;
+      return false;
+    }
+    final long divisor = limbs[b + 3];
+    limbs[b + 3] = divisor == 0 ? 0 : Long.divideUnsigned(limbs[a + 3], divisor);
+    return true;
+  }
+
+  /**
+   * MOD fast path: pops a, b and pushes a % b when both operands fit in 64 bits.
+   *
+   * @return false, leaving the stack untouched, if either operand is wider than 64 bits
+   */
+  public boolean modSmall() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    if (!fitsInLong(a) || !fitsInLong(b)) {
+      top++;
+      return false;
+    }
+    final long divisor = limbs[b + 3];
+    limbs[b + 3] = divisor == 0 ? 0 : Long.remainderUnsigned(limbs[a + 3], divisor);
+    return true;
+  }
+
+  /** SIGNEXTEND: pops b, x and pushes x sign extended from byte b. */
+  public void signExtend() {
+    final int a = binaryOperands();
+    final int x = a - LIMBS;
+    if (!fitsInLong(a) || Long.compareUnsigned(limbs[a + 3], 31) >= 0) {
+      return;
+    }
+    final int bitIndex = (int) limbs[a + 3] * 8 + 7;
+    final int limb = LIMBS - 1 - (bitIndex >>> 6);
+    final int bit = bitIndex & 63;
+    final boolean negative = ((limbs[x + limb] >>> bit) & 1) != 0;
+    final long mask = bit == 63 ? -1L : (1L << (bit + 1)) - 1;
+    limbs[x + limb] = negative ? limbs[x + limb] | ~mask : limbs[x + limb] & mask;
+    final long fill = negative ? -1L : 0L;
+    for (int i = 0; i < limb; i++) {
+      limbs[x + i] = fill;
+    }
+  }
+
+  // -- Comparison ----------------------------------------------------------------------------
+
+  /** LT: pops a, b and pushes 1 if a &lt; b (unsigned), 0 otherwise. */
+  public void lt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareUnsigned(a, a - LIMBS) < 0);
+  }
+
+  /** GT: pops a, b and pushes 1 if a &gt; b (unsigned), 0 otherwise. */
+  public void gt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareUnsigned(a, a - LIMBS) > 0);
+  }
+
+  /** SLT: pops a, b and pushes 1 if a &lt; b (signed), 0 otherwise. */
+  public void slt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareSigned(a, a - LIMBS) < 0);
+  }
+
+  /** SGT: pops a, b and pushes 1 if a &gt; b (signed), 0 otherwise. */
+  public void sgt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareSigned(a, a - LIMBS) > 0);
+  }
+
+  /** EQ: pops a, b and pushes 1 if a == b, 0 otherwise. */
+  public void eq() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    setBoolean(
+        b,
+        limbs[a] == limbs[b]
+            && limbs[a + 1] == limbs[b + 1]
+            && limbs[a + 2] == limbs[b + 2]
+            && limbs[a + 3] == limbs[b + 3]);
+  }
+
+  /** ISZERO: replaces the top word with 1 if it is zero, 0 otherwise. */
+  public void isZero() {
+    requireItems(1);
+    final int a = top * LIMBS;
+    setBoolean(a, (limbs[a] | limbs[a + 1] | limbs[a + 2] | limbs[a + 3]) == 0);
+  }
+
+  // -- Bitwise -------------------------------------------------------------------------------
+
+  /** AND: pops a, b and pushes a &amp; b. */
+  public void and() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] &= limbs[a + i];
+    }
+  }
+
+  /** OR: pops a, b and pushes a | b. */
+  public void or() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] |= limbs[a + i];
+    }
+  }
+
+  /** XOR: pops a, b and pushes a ^ b. */
+  public void xor() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] ^= limbs[a + i];
+    }
+  }
+
+  /** NOT: replaces the top word with its bitwise complement. */
+  public void not() {
+    requireItems(1);
+    final int a = top * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[a + i] = ~limbs[a + i];
+    }
+  }
+
+  /** BYTE: pops i, x and pushes the i-th most significant byte of x. */
+  public void byteOp() {
+    final int a = binaryOperands();
+    final int x = a - LIMBS;
+    if (!fitsInLong(a) || Long.compareUnsigned(limbs[a + 3], 32) >= 0) {
+      setLong(x, 0);
+      return;
+    }
+    final int index = (int) limbs[a + 3];
+    setLong(x, (limbs[x + (index >>> 3)] >>> ((7 - (index & 7)) << 3)) & 0xFFL);
+  }
+
+  /** SHL: pops shift, value and pushes value &lt;&lt; shift. */
+  public void shl() {
+    final int a = binaryOperands();
+    final int v = a - LIMBS;
+    if (!fitsInLong(a) || Long.compareUnsigned(limbs[a + 3], 256) >= 0) {
+      setLong(v, 0);
+      return;
+    }
+    final int shift = (int) limbs[a + 3];
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    for (int k = 0; k < LIMBS; k++) {
+      final long hi = limbAt(v, k + limbShift, 0L);
+      final long lo = limbAt(v, k + limbShift + 1, 0L);
+      limbs[v + k] = bitShift == 0 ? hi : (hi << bitShift) | (lo >>> (64 - bitShift));
+    }
+  }
+
+  /** SHR: pops shift, value and pushes value &gt;&gt;&gt; shift. */
+  public void shr() {
+    shiftRight(0L);
+  }
+
+  /** SAR: pops shift, value and pushes value &gt;&gt; shift (arithmetic). */
+  public void sar() {
+    requireItems(2);
+    shiftRight(limbs[(top - 1) * LIMBS] < 0 ? -1L : 0L);
+  }
+
+  private void shiftRight(final long fill) {
+    final int a = binaryOperands();
+    final int v = a - LIMBS;
+    if (!fitsInLong(a) || Long.compareUnsigned(limbs[a + 3], 256) >= 0) {
+      Arrays.fill(limbs, v, v + LIMBS, fill);
+      return;
+    }
+    final int shift = (int) limbs[a + 3];
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    for (int k = LIMBS - 1; k >= 0; k--) {
+      final long lo = limbAt(v, k - limbShift, fill);
+      final long hi = limbAt(v, k - limbShift - 1, fill);
+      limbs[v + k] = bitShift == 0 ? lo : (lo >>> bitShift) | (hi << (64 - bitShift));
+    }
+  }
+
+  // -- Helpers -------------------------------------------------------------------------------
+
+  private int reserve() {
+    final int nextTop = top + 1;
+    if (nextTop >= maxSize) {
+      throw new OverflowException();
+    }
+    if (nextTop >= currentCapacity) {
+      currentCapacity = Math.min(currentCapacity + INCREMENT, maxSize);
+      limbs = Arrays.copyOf(limbs, currentCapacity * LIMBS);
+    }
+    return nextTop * LIMBS;
+  }
+
+  private void requireItems(final int items) {
+    if (top + 1 < items) {
+      throw new UnderflowException();
+    }
+  }
+
+  /** Checks for two operands, pops the top one and returns its limb offset. */
+  private int binaryOperands() {
+    requireItems(2);
+    return top-- * LIMBS;
+  }
+
+  private boolean fitsInLong(final int base) {
+    return (limbs[base] | limbs[base + 1] | limbs[base + 2]) == 0;
+  }
+
+  private long limbAt(final int base, final int index, final long outOfRange) {
+    return index < 0 || index >= LIMBS ? outOfRange : limbs[base + index];
+  }
+
+  private void setLong(final int base, final long value) {
+    limbs[base] = 0L;
+    limbs[base + 1] = 0L;
+    limbs[base + 2] = 0L;
+    limbs[base + 3] = value;
+  }
+
+  private void setBoolean(final int base, final boolean value) {
+    setLong(base, value ? 1L : 0L);
+  }
+
+  private int compareUnsigned(final int x, final int y) {
+    for (int i = 0; i < LIMBS; i++) {
+      final int c = Long.compareUnsigned(limbs[x + i], limbs[y + i]);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return 0;
+  }
+
+  private int compareSigned(final int x, final int y) {
+    final int c = Long.compare(limbs[x], limbs[y]);
+    if (c != 0) {
+      return c;
+    }
+    for (int i = 1; i < LIMBS; i++) {
+      final int cu = Long.compareUnsigned(limbs[x + i], limbs[y + i]);
+      if (cu != 0) {
+        return cu;
+      }
+    }
+    return 0;
+  }
+
+  private Bytes32 toBytes32(final int base) {
+    final byte[] result = new byte[32];
+    for (int limb = 0; limb < LIMBS; limb++) {
+      final long value = limbs[base + limb];
+      for (int i = 0; i < 8; i++) {
+        result[limb * 8 + i] = (byte) (value >>> (56 - i * 8));
+      }
+    }
+    return Bytes32.wrap(result);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i <= top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(toBytes32(i * LIMBS));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size() * LIMBS; i++) {
+      result = 31 * result + Long.hashCode(limbs[i]);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof LimbOperandStack that)) {
+      return false;
+    }
+    return this.top == that.top
+        && Arrays.equals(this.limbs, 0, size() * LIMBS, that.limbs, 0, that.size() * LIMBS);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The operand stack of a message frame, holding 256-bit words. Implemented by the {@link Bytes}
+ * based {@link OperandStack} and by the {@link LimbOperandStack}, which share no storage.
+ */
+public interface WordStack {
+
+  /**
+   * Get operand.
+   *
+   * @param offset the offset from the top of the stack
+   * @return the operand
+   * @throws UnderflowException when the offset is not below the top of the stack
+   */
+  Bytes get(int offset);
+
+  /**
+   * Pop operand.
+   *
+   * @return the operand
+   * @throws UnderflowException when the stack is empty
+   */
+  Bytes pop();
+
+  /**
+   * Peek at the top of the stack.
+   *
+   * @return the operand at the top of the stack, or null if the stack is empty
+   */
+  Bytes peek();
+
+  /**
+   * Pops the specified number of operands from the stack.
+   *
+   * @param items the number of operands to pop off the stack
+   * @throws IllegalArgumentException if the items to pop is negative.
+   * @throws UnderflowException when the items to pop is greater than {@link #size()}
+   */
+  void bulkPop(int items);
+
+  /**
+   * Trims the "middle" section of items out of the stack. Items below the cutpoint remains, and of
+   * the items above only the itemsToKeep items remain. All items in the middle are removed.
+   *
+   * @param cutPoint Point at which to start removing items
+   * @param itemsToKeep itemsToKeep Number of items on top to place at the cutPoint
+   * @throws IllegalArgumentException if the cutPoint or items to keep is negative.
+   * @throws UnderflowException If there are less than itemsToKeep above the cutPoint
+   */
+  void preserveTop(int cutPoint, int itemsToKeep);
+
+  /**
+   * Push operand.
+   *
+   * @param operand the operand
+   * @throws OverflowException when the stack is full
+   */
+  void push(Bytes operand);
+
+  /**
+   * Set operand.
+   *
+   * @param offset the offset from the top of the stack
+   * @param operand the operand
+   */
+  void set(int offset, Bytes operand);
+
+  /**
+   * Size of the stack.
+   *
+   * @return the number of operands on the stack
+   */
+  int size();
+
+  /**
+   * Is stack full.
+   *
+   * @return the boolean
+   */
+  boolean isFull();
+
+  /**
+   * Is stack empty.
+   *
+   * @return the boolean
+   */
+  boolean isEmpty();
+}
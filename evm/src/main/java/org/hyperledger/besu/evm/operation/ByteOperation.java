@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -75,4 +76,15 @@ public class ByteOperation extends AbstractFixedCostOperation {
 
     return byteSuccess;
   }
+
+  /**
+   * Performs Byte operation directly on the limbs of a limb operand stack.
+   *
+   * @param stack the limb operand stack
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(final LimbOperandStack stack) {
+    stack.byteOp();
+    return byteSuccess;
+  }
 }
@@ -18,6 +18,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 /** The Dup operation. */
 public class DupOperation extends AbstractFixedCostOperation {
@@ -70,4 +71,16 @@ public class DupOperation extends AbstractFixedCostOperation {
 
     return dupSuccess;
   }
+
+  /**
+   * Performs Dup operation directly on the limbs of a limb operand stack.
+   *
+   * @param stack the limb operand stack
+   * @param index the index
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(final LimbOperandStack stack, final int index) {
+    stack.dup(index);
+    return dupSuccess;
+  }
 }
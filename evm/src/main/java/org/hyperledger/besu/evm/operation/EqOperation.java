@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -58,4 +59,15 @@ public class EqOperation extends AbstractFixedCostOperation {
 
     return eqSuccess;
   }
+
+  /**
+   * Performs EQ operation directly on the limbs of a limb operand stack.
+   *
+   * @param stack the limb operand stack
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(final LimbOperandStack stack) {
+    stack.eq();
+    return eqSuccess;
+  }
 }
@@ -19,6 +19,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -66,4 +67,21 @@ public class JumpOperation extends AbstractFixedCostOperation {
       return jumpResponse;
     }
   }
+
+  /**
+   * Performs Jump operation directly on the limbs of a limb operand stack.
+   *
+   * @param frame the frame
+   * @param stack the limb operand stack of the frame
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(
+      final MessageFrame frame, final LimbOperandStack stack) {
+    final int jumpDestination = stack.popAsInt();
+    if (jumpDestination < 0 || frame.getCode().isJumpDestInvalid(jumpDestination)) {
+      return invalidJumpResponse;
+    }
+    frame.setPC(jumpDestination);
+    return jumpResponse;
+  }
 }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -44,9 +45,34 @@ public class MLoadOperation extends AbstractOperation {
       return new OperationResult(cost, ExceptionalHaltReason.INSUFFICIENT_GAS);
     }
 
-    final Bytes value = frame.readMutableMemory(location, 32, true).copy();
+    final Bytes value = frame.readMemoryWord(location, true);
 
     frame.pushStackItem(value);
     return new OperationResult(cost, null);
   }
+
+  /**
+   * Performs MLOAD on a limb operand stack, reading the word from memory straight into limbs.
+   *
+   * @param frame the frame
+   * @param stack the limb operand stack of the frame
+   * @param gasCalculator the gas calculator
+   * @param traced whether the memory read is reported to a tracer
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(
+      final MessageFrame frame,
+      final LimbOperandStack stack,
+      final GasCalculator gasCalculator,
+      final boolean traced) {
+    final long location = stack.popAsClampedLong();
+
+    final long cost = gasCalculator.mLoadOperationGasCost(frame, location);
+    if (frame.getRemainingGas() < cost) {
+      return new OperationResult(cost, ExceptionalHaltReason.INSUFFICIENT_GAS);
+    }
+
+    frame.readMemoryWord(location, stack, traced);
+    return new OperationResult(cost, null);
+  }
 }
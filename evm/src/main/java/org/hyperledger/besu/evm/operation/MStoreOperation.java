@@ -20,6 +20,8 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
+import org.hyperledger.besu.evm.internal.UnderflowException;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -48,4 +50,34 @@ public class MStoreOperation extends AbstractOperation {
     frame.writeMemoryRightAligned(location, 32, value, true);
     return new OperationResult(cost, null);
   }
+
+  /**
+   * Performs MSTORE on a limb operand stack, writing the limbs straight into memory.
+   *
+   * @param frame the frame
+   * @param stack the limb operand stack of the frame
+   * @param gasCalculator the gas calculator
+   * @param traced whether the memory write is reported to a tracer
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(
+      final MessageFrame frame,
+      final LimbOperandStack stack,
+      final GasCalculator gasCalculator,
+      final boolean traced) {
+    final long location = stack.popAsClampedLong();
+    // both operands are popped before the gas check, as in execute
+    if (stack.isEmpty()) {
+      throw new UnderflowException();
+    }
+
+    final long cost = gasCalculator.mStoreOperationGasCost(frame, location);
+    if (frame.getRemainingGas() < cost) {
+      stack.bulkPop(1);
+      return new OperationResult(cost, ExceptionalHaltReason.INSUFFICIENT_GAS);
+    }
+
+    frame.writeMemoryWord(location, stack, traced);
+    return new OperationResult(cost, null);
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -73,4 +74,20 @@ public class ModOperation extends AbstractFixedCostOperation {
 
     return modSuccess;
   }
+
+  /**
+   * Performs Mod operation directly on the limbs of a limb operand stack when both operands fit
+   * in 64 bits, falling back to {@link #staticOperation(MessageFrame)} otherwise.
+   *
+   * @param frame the frame
+   * @param stack the limb operand stack of the frame
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(
+      final MessageFrame frame, final LimbOperandStack stack) {
+    if (stack.modSmall()) {
+      return modSuccess;
+    }
+    return staticOperation(frame);
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 /** The Pop operation. */
 public class PopOperation extends AbstractFixedCostOperation {
@@ -49,4 +50,15 @@ public class PopOperation extends AbstractFixedCostOperation {
     frame.popStackItem();
     return popSuccess;
   }
+
+  /**
+   * Performs Pop operation directly on the limbs of a limb operand stack.
+   *
+   * @param stack the limb operand stack
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(final LimbOperandStack stack) {
+    stack.bulkPop(1);
+    return popSuccess;
+  }
 }
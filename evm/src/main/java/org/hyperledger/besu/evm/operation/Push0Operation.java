@@ -19,6 +19,7 @@ import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -52,4 +53,15 @@ public class Push0Operation extends AbstractFixedCostOperation {
     frame.pushStackItem(Bytes.EMPTY);
     return push0Success;
   }
+
+  /**
+   * Performs Push0 operation directly on the limbs of a limb operand stack.
+   *
+   * @param stack the limb operand stack
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(final LimbOperandStack stack) {
+    stack.pushLong(0L);
+    return push0Success;
+  }
 }
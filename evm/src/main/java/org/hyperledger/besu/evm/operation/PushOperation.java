@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -88,4 +89,25 @@ public class PushOperation extends AbstractFixedCostOperation {
     frame.setPC(pc + pushSize);
     return pushSuccess;
   }
+
+  /**
+   * Performs Push operation directly on the limbs of a limb operand stack.
+   *
+   * @param frame the frame
+   * @param stack the limb operand stack of the frame
+   * @param code the bytes of the code
+   * @param pc the program counter
+   * @param pushSize the size of the push
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(
+      final MessageFrame frame,
+      final LimbOperandStack stack,
+      final byte[] code,
+      final int pc,
+      final int pushSize) {
+    stack.pushFromCode(code, pc + 1, pushSize);
+    frame.setPC(pc + pushSize);
+    return pushSuccess;
+  }
 }
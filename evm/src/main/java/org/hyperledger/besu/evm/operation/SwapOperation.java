@@ -18,6 +18,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.LimbOperandStack;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -74,4 +75,16 @@ public class SwapOperation extends AbstractFixedCostOperation {
 
     return swapSuccess;
   }
+
+  /**
+   * Performs Swap operation directly on the limbs of a limb operand stack.
+   *
+   * @param stack the limb operand stack
+   * @param index the index
+   * @return the operation result
+   */
+  public static OperationResult limbOperation(final LimbOperandStack stack, final int index) {
+    stack.swap(index);
+    return swapSuccess;
+  }
 }
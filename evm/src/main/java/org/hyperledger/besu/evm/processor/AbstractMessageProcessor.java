@@ -248,4 +248,13 @@ public abstract class AbstractMessageProcessor {
   public Code getCodeFromEVMForCreation(final Bytes codeBytes) {
     return evm.getCodeForCreation(codeBytes);
   }
+
+  /**
+   * Whether the evm expects message frames to be built with a limb operand stack.
+   *
+   * @return true if the limb operand stack is enabled in the evm configuration
+   */
+  public boolean isLimbOperandStackEnabled() {
+    return evm.isLimbOperandStackEnabled();
+  }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.EvmSpecVersion;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DecodedCodeTest {
+
+  // PUSH1 0x0a, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 2, JUMPI, STOP
+  private static final String LOOP = "0x600a5b600190038060025700";
+
+  private final GasCalculator gasCalculator = new CancunGasCalculator();
+  private final EVM limbEvm =
+      MainnetEVMs.futureEips(
+          new EvmConfiguration(32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true));
+  private final EVM decodedEvm =
+      MainnetEVMs.futureEips(
+          new EvmConfiguration(32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true, true));
+
+  @Test
+  void shouldFusePushJumpAndChargeBlocksOnTheirFirstInstruction() {
+    final DecodedCode decoded =
+        DecodedCode.decode(
+            Bytes.fromHexString(LOOP).toArrayUnsafe(), EvmSpecVersion.CANCUN, gasCalculator);
+
+    assertThat(decoded.getOps())
+        .containsExactly(
+            0x60,
+            0x5b,
+            0x60,
+            0x90,
+            0x03,
+            0x80,
+            DecodedCode.PUSH_JUMPI,
+            DecodedCode.GENERIC,
+            DecodedCode.GENERIC);
+    assertThat(decoded.getPcs()).containsExactly(0, 2, 3, 5, 6, 7, 8, 11, 12);
+    // PUSH1, then JUMPDEST, PUSH1, SWAP1, SUB, DUP1 and the fused PUSH1 JUMPI
+    assertThat(decoded.getBlockGas())
+        .containsExactly(3, 1 + 3 + 3 + 3 + 3 + 13, 0, 0, 0, 0, 0, 0, 0);
+    // SWAP1 needs the counter pushed before entering the loop
+    assertThat(decoded.getBlockStackItems()).containsExactly(0, 1, 0, 0, 0, 0, 0, 0, 0);
+    assertThat(decoded.getArgs()[6]).isEqualTo(1);
+    assertThat(decoded.jumpDestinationIndex(2)).isEqualTo(1);
+    assertThat(decoded.jumpDestinationIndex(3)).isEqualTo(-1);
+    assertThat(decoded.instructionIndex(12)).isEqualTo(8);
+  }
+
+  @Test
+  void shouldResolveInvalidFusedJumpDestinations() {
+    // PUSH1 0x01 JUMP, then PUSH32 of a destination that does not fit in an int followed by JUMPI
+    final DecodedCode decoded =
+        DecodedCode.decode(
+            Bytes.fromHexString("0x600156" + "7f" + "ff".repeat(32) + "57").toArrayUnsafe(),
+            EvmSpecVersion.CANCUN,
+            gasCalculator);
+
+    assertThat(decoded.getOps())
+        .containsExactly(DecodedCode.PUSH_JUMP, DecodedCode.PUSH_JUMPI, DecodedCode.GENERIC);
+    assertThat(decoded.getArgs()).containsExactly(-1, -1, 0);
+  }
+
+  @Test
+  void shouldLeaveOperationsOfLaterForksToTheRegistry() {
+    // PUSH0, SHL
+    final byte[] code = Bytes.fromHexString("0x5f1b").toArrayUnsafe();
+
+    assertThat(DecodedCode.decode(code, EvmSpecVersion.BYZANTIUM, gasCalculator).getOps())
+        .containsExactly(
+            DecodedCode.GENERIC | 0x5f, DecodedCode.GENERIC | 0x1b, DecodedCode.GENERIC);
+    assertThat(DecodedCode.decode(code, EvmSpecVersion.SHANGHAI, gasCalculator).getOps())
+        .containsExactly(0x5f, 0x1b, DecodedCode.GENERIC);
+  }
+
+  @Test
+  void shouldTakeTheBlockGasFromTheGasCalculator() {
+    final GasCalculator repriced =
+        new CancunGasCalculator() {
+          @Override
+          public long getVeryLowTierGasCost() {
+            return 4L;
+          }
+
+          @Override
+          public long getHighTierGasCost() {
+            return 20L;
+          }
+        };
+    final CodeV0 code = new CodeV0(Bytes.fromHexString(LOOP));
+
+    final DecodedCode decoded = code.getDecodedCode(EvmSpecVersion.CANCUN, repriced);
+
+    assertThat(decoded.getBlockGas())
+        .containsExactly(4, 1 + 4 + 4 + 4 + 4 + 24, 0, 0, 0, 0, 0, 0, 0);
+    assertThat(code.getDecodedCode(EvmSpecVersion.CANCUN, repriced)).isSameAs(decoded);
+    assertThat(code.getDecodedCode(EvmSpecVersion.CANCUN, gasCalculator)).isNotSameAs(decoded);
+  }
+
+  @Test
+  void shouldHaltOnStackUnderflowWhenTheBlockCostsMoreThanTheRemainingGas() {
+    // ADD on an empty stack, in a block costing more than the 5 gas given
+    final MessageFrame frame = run(decodedEvm, "0x01600160020100", 5L);
+
+    assertThat(frame.getExceptionalHaltReason())
+        .contains(ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        LOOP,
+        // GAS and PC between stack operations
+        "0x5a58600701900300",
+        // invalid jump destination
+        "0x60ff56",
+        // dynamic jump to a JUMPDEST, then falling off the end of the code
+        "0x6006805056005b6001",
+        // stack underflow in the middle of a block
+        "0x6001600201010100",
+        // stack underflow at the start of a block
+        "0x01600160020100",
+        // PUSH32 cut by the end of the code
+        "0x7f0102"
+      })
+  void shouldRunLikeTheLimbInterpreter(final String code) {
+    for (final long gas : new long[] {10_000L, 60L, 20L, 3L}) {
+      final MessageFrame expected = run(limbEvm, code, gas);
+      final MessageFrame actual = run(decodedEvm, code, gas);
+
+      assertThat(actual.getState()).isEqualTo(expected.getState());
+      assertThat(actual.getExceptionalHaltReason()).isEqualTo(expected.getExceptionalHaltReason());
+      if (expected.getState() != MessageFrame.State.EXCEPTIONAL_HALT) {
+        assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+        assertThat(actual.stackSize()).isEqualTo(expected.stackSize());
+        for (int i = 0; i < expected.stackSize(); i++) {
+          assertThat(actual.getStackItem(i)).isEqualTo(expected.getStackItem(i));
+        }
+      }
+    }
+  }
+
+  private static MessageFrame run(final EVM evm, final String code, final long gas) {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MESSAGE_CALL)
+            .worldUpdater(mock(WorldUpdater.class))
+            .initialGas(gas)
+            .address(Address.ZERO)
+            .originator(Address.ZERO)
+            .contract(Address.ZERO)
+            .gasPrice(Wei.ZERO)
+            .inputData(Bytes.EMPTY)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(evm.getCodeUncached(Bytes.fromHexString(code)))
+            .blockValues(mock(BlockValues.class))
+            .completer(f -> {})
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.EMPTY)
+            .limbOperandStack(true)
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+}
@@ -33,7 +33,7 @@ class CodeCacheTest {
     EVM evm = MainnetEVMs.futureEips(EvmConfiguration.DEFAULT);
     final Bytes contractBytes =
         Bytes.fromHexString("0xDEAD" + op + "BEEF" + op + "B0B0" + op + "C0DE" + op + "FACE");
-    final CodeScale scale = new CodeScale();
+    final CodeScale scale = new CodeScale(false);
     final Code contractCode = evm.getCodeUncached(contractBytes);
     final int weight = scale.weigh(contractCode.getCodeHash(), contractCode);
     assertThat(weight)
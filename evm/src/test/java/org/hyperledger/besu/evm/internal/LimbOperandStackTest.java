@@ -0,0 +1,274 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.evm.frame.Memory;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class LimbOperandStackTest {
+
+  private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(256);
+
+  @Test
+  void construction_NegativeMaximumSize() {
+    assertThatThrownBy(() -> new LimbOperandStack(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void push_StackOverflow() {
+    final LimbOperandStack stack = new LimbOperandStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    assertThatThrownBy(() -> stack.pushLong(2)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void binaryOperation_StackUnderflow() {
+    final LimbOperandStack stack = new LimbOperandStack(2);
+    stack.pushLong(1);
+    assertThatThrownBy(stack::add).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void bytesRoundTrip() {
+    final LimbOperandStack stack = new LimbOperandStack(3);
+    stack.push(Bytes.fromHexString("0x0102"));
+    stack.push(
+        Bytes32.fromHexString(
+            "0xff00000000000000000000000000000000000000000000000000000000000001"));
+    stack.push(Bytes.EMPTY);
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+    assertThat(stack.get(0))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xff00000000000000000000000000000000000000000000000000000000000001"));
+    assertThat(stack.get(1)).isEqualTo(UInt256.fromHexString("0x0102"));
+  }
+
+  @Test
+  void set() {
+    final LimbOperandStack stack = new LimbOperandStack(3);
+    stack.pushLong(1);
+    stack.pushLong(2);
+    stack.pushLong(3);
+    stack.set(2, UInt256.valueOf(4));
+    assertThat(stack.get(2)).isEqualTo(UInt256.valueOf(4));
+    assertThat(stack.get(0)).isEqualTo(UInt256.valueOf(3));
+    assertThat(stack.size()).isEqualTo(3);
+  }
+
+  @Test
+  void preserveTop() {
+    final LimbOperandStack stack = new LimbOperandStack(10);
+    for (int i = 0; i < 6; i++) {
+      stack.pushLong(i);
+    }
+    stack.preserveTop(1, 2);
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.get(0)).isEqualTo(UInt256.valueOf(5));
+    assertThat(stack.get(1)).isEqualTo(UInt256.valueOf(4));
+    assertThat(stack.get(2)).isEqualTo(UInt256.valueOf(0));
+  }
+
+  @Test
+  void growsPastInitialCapacity() {
+    final LimbOperandStack stack = new LimbOperandStack(1024);
+    for (int i = 0; i < 100; i++) {
+      stack.pushLong(i);
+    }
+    stack.dup(100);
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+    stack.swap(99);
+    assertThat(stack.get(0)).isEqualTo(UInt256.ZERO);
+    assertThat(stack.get(99)).isEqualTo(UInt256.valueOf(99));
+  }
+
+  @Test
+  void pushFromCodePadsTruncatedImmediate() {
+    final LimbOperandStack stack = new LimbOperandStack(2);
+    stack.pushFromCode(new byte[] {0x62, 0x01, 0x02}, 1, 3);
+    assertThat(stack.get(0)).isEqualTo(UInt256.fromHexString("0x010200"));
+  }
+
+  @Test
+  void popAsClampedLong() {
+    final LimbOperandStack stack = new LimbOperandStack(3);
+    stack.push(UInt256.ONE.shiftLeft(64));
+    stack.push(UInt256.valueOf(Long.MAX_VALUE).add(1));
+    stack.pushLong(42);
+    assertThat(stack.popAsClampedLong()).isEqualTo(42);
+    assertThat(stack.popAsClampedLong()).isEqualTo(Long.MAX_VALUE);
+    assertThat(stack.popAsClampedLong()).isEqualTo(Long.MAX_VALUE);
+    assertThatThrownBy(stack::popAsClampedLong).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void memoryRoundTrip() {
+    final Bytes32 value =
+        Bytes32.fromHexString("0x0102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f20");
+    final Memory memory = new Memory();
+    final LimbOperandStack stack = new LimbOperandStack(2);
+    stack.push(value);
+    stack.popToMemory(memory, Memory.PAGE_SIZE - 5);
+    assertThat(stack.isEmpty()).isTrue();
+    assertThat(memory.getWord(Memory.PAGE_SIZE - 5)).isEqualTo(value);
+
+    stack.pushFromMemory(memory, Memory.PAGE_SIZE - 5);
+    assertThat(stack.pop()).isEqualTo(value);
+    assertThatThrownBy(() -> stack.popToMemory(memory, 0)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void arithmeticMatchesBigInteger() {
+    checkBinary(LimbOperandStack::add, (a, b) -> a.add(b).mod(MODULUS));
+    checkBinary(LimbOperandStack::sub, (a, b) -> a.subtract(b).mod(MODULUS));
+    checkBinary(LimbOperandStack::mul, (a, b) -> a.multiply(b).mod(MODULUS));
+    checkBinary(LimbOperandStack::and, BigInteger::and);
+    checkBinary(LimbOperandStack::or, BigInteger::or);
+    checkBinary(LimbOperandStack::xor, BigInteger::xor);
+  }
+
+  @Test
+  void comparisonsMatchBigInteger() {
+    checkBinary(LimbOperandStack::lt, (a, b) -> bool(a.compareTo(b) < 0));
+    checkBinary(LimbOperandStack::gt, (a, b) -> bool(a.compareTo(b) > 0));
+    checkBinary(LimbOperandStack::slt, (a, b) -> bool(signed(a).compareTo(signed(b)) < 0));
+    checkBinary(LimbOperandStack::sgt, (a, b) -> bool(signed(a).compareTo(signed(b)) > 0));
+    checkBinary(LimbOperandStack::eq, (a, b) -> bool(a.equals(b)));
+  }
+
+  @Test
+  void shiftsMatchBigInteger() {
+    checkBinary(
+        LimbOperandStack::shl,
+        (shift, v) ->
+            shift.intValue() >= 256 ? BigInteger.ZERO : v.shiftLeft(shift.intValue()).mod(MODULUS),
+        true);
+    checkBinary(
+        LimbOperandStack::shr,
+        (shift, v) -> shift.intValue() >= 256 ? BigInteger.ZERO : v.shiftRight(shift.intValue()),
+        true);
+    checkBinary(
+        LimbOperandStack::sar,
+        (shift, v) -> signed(v).shiftRight(Math.min(shift.intValue(), 256)).mod(MODULUS),
+        true);
+  }
+
+  @Test
+  void byteAndSignExtend() {
+    final Bytes32 word =
+        Bytes32.fromHexString(
+            "0x000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f");
+    final LimbOperandStack stack = new LimbOperandStack(4);
+    stack.push(word);
+    stack.pushLong(13);
+    stack.byteOp();
+    assertThat(stack.pop()).isEqualTo(UInt256.valueOf(13));
+
+    stack.push(UInt256.fromHexString("0xff80"));
+    stack.pushLong(0);
+    stack.signExtend();
+    assertThat(stack.pop())
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff80"));
+
+    stack.push(UInt256.fromHexString("0xff80"));
+    stack.pushLong(1);
+    stack.signExtend();
+    assertThat(stack.pop())
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff80"));
+
+    stack.push(UInt256.fromHexString("0x7f80"));
+    stack.pushLong(1);
+    stack.signExtend();
+    assertThat(stack.pop()).isEqualTo(UInt256.fromHexString("0x7f80"));
+  }
+
+  @Test
+  void smallDivisionFallsBackForWideOperands() {
+    final LimbOperandStack stack = new LimbOperandStack(4);
+    stack.pushLong(3);
+    stack.pushLong(10);
+    assertThat(stack.divSmall()).isTrue();
+    assertThat(stack.pop()).isEqualTo(UInt256.valueOf(3));
+
+    stack.pushLong(0);
+    stack.pushLong(10);
+    assertThat(stack.modSmall()).isTrue();
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+
+    stack.pushLong(3);
+    stack.push(UInt256.MAX_VALUE);
+    assertThat(stack.divSmall()).isFalse();
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(stack.get(0)).isEqualTo(UInt256.MAX_VALUE);
+  }
+
+  private static void checkBinary(
+      final Consumer<LimbOperandStack> operation,
+      final BiFunction<BigInteger, BigInteger, BigInteger> expected) {
+    checkBinary(operation, expected, false);
+  }
+
+  private static void checkBinary(
+      final Consumer<LimbOperandStack> operation,
+      final BiFunction<BigInteger, BigInteger, BigInteger> expected,
+      final boolean smallFirstOperand) {
+    final Random random = new Random(42);
+    for (int i = 0; i < 2_000; i++) {
+      final BigInteger a =
+          smallFirstOperand ? BigInteger.valueOf(random.nextInt(300)) : randomWord(random);
+      final BigInteger b = randomWord(random);
+      final LimbOperandStack stack = new LimbOperandStack(2);
+      stack.push(UInt256.valueOf(b));
+      stack.push(UInt256.valueOf(a));
+      operation.accept(stack);
+      assertThat(stack.size()).isEqualTo(1);
+      assertThat(stack.pop()).isEqualTo(UInt256.valueOf(expected.apply(a, b)));
+    }
+  }
+
+  private static BigInteger randomWord(final Random random) {
+    return switch (random.nextInt(4)) {
+      case 0 -> BigInteger.valueOf(random.nextInt(1000));
+      case 1 -> MODULUS.subtract(BigInteger.valueOf(random.nextInt(1000) + 1L));
+      case 2 -> new BigInteger(64, random);
+      default -> new BigInteger(256, random);
+    };
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.testBit(255) ? value.subtract(MODULUS) : value;
+  }
+
+  private static BigInteger bool(final boolean value) {
+    return value ? BigInteger.ONE : BigInteger.ZERO;
+  }
+}
@@ -336,4 +336,28 @@ public class LayeredKeyValueStorageTest {
     assertArrayEquals(key3, resultList.get(2).getKey());
     assertArrayEquals(value3, resultList.get(2).getValue());
   }
+
+  @Test
+  void multiGetShouldOnlyAskParentForKeysMissingFromLayer() {
+    byte[] key1 = {1};
+    byte[] value1 = {10};
+    byte[] key2 = {2};
+    byte[] value2 = {20};
+    byte[] key3 = {3};
+
+    var hashValueStore = createSegmentMap();
+    hashValueStore.get(segmentId).put(Bytes.wrap(key1), Optional.of(value1));
+    hashValueStore.get(segmentId).put(Bytes.wrap(key3), Optional.empty());
+    layeredKeyValueStorage = new LayeredKeyValueStorage(hashValueStore, parentStorage);
+
+    when(parentStorage.multiGet(segmentId, List.of(key2))).thenReturn(List.of(Optional.of(value2)));
+
+    List<Optional<byte[]>> result =
+        layeredKeyValueStorage.multiGet(segmentId, List.of(key3, key2, key1));
+
+    assertEquals(3, result.size());
+    assertTrue(result.get(0).isEmpty());
+    assertArrayEquals(value2, result.get(1).orElseThrow());
+    assertArrayEquals(value1, result.get(2).orElseThrow());
+  }
 }
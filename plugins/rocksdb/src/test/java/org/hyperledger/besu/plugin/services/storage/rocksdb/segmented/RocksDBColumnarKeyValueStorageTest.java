@@ -111,6 +111,33 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     store.close();
   }
 
+  @Test
+  public void multiGetReturnsValuesInKeyOrder() throws Exception {
+    final SegmentedKeyValueStorage store = createSegmentedStore();
+
+    final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(TestSegment.FOO, bytesFromHexString("0001"), bytesFromHexString("0FFF"));
+    tx.put(TestSegment.FOO, bytesFromHexString("0003"), bytesFromHexString("1337"));
+    tx.put(TestSegment.BAR, bytesFromHexString("0002"), bytesFromHexString("BEEF"));
+    tx.commit();
+
+    final List<Optional<byte[]>> result =
+        store.multiGet(
+            TestSegment.FOO,
+            List.of(
+                bytesFromHexString("0003"),
+                bytesFromHexString("0002"),
+                bytesFromHexString("0001")));
+
+    assertThat(result).hasSize(3);
+    assertThat(result.get(0)).contains(bytesFromHexString("1337"));
+    assertThat(result.get(1)).isEmpty();
+    assertThat(result.get(2)).contains(bytesFromHexString("0FFF"));
+    assertThat(store.multiGet(TestSegment.FOO, List.of())).isEmpty();
+
+    store.close();
+  }
+
   @Test
   public void canRemoveThroughSegmentIteration() throws Exception {
     // we're looping this in order to catch intermittent failures when rocksdb objects are not close